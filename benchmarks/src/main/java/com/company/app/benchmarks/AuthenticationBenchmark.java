@@ -0,0 +1,92 @@
+package com.company.app.benchmarks;
+
+import com.company.app.infrastructure.security.JwtAuthenticationFilter;
+import com.company.app.infrastructure.security.JwtTokenService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticated request throughput through the security filters: the HTTP Basic filter, which
+ * BCrypt-verifies the password on every request, against the bearer filter, which only checks
+ * the JWT signature. Same account, encoder strength and filter entry point as SecurityConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AuthenticationBenchmark {
+
+    private static final String SECRET = "kbK2LDgoNrnCAVEtI659fc8mfK48nO9+A19wlL2p37A=";
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "admin123";
+
+    private BasicAuthenticationFilter basicFilter;
+    private JwtAuthenticationFilter bearerFilter;
+    private String basicHeader;
+    private String bearerHeader;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(User.builder()
+                .username(USERNAME)
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles("USER", "ADMIN")
+                .build()));
+        provider.setPasswordEncoder(passwordEncoder);
+        ProviderManager authenticationManager = new ProviderManager(provider);
+
+        JwtTokenService jwtTokenService = new JwtTokenService(SECRET, "user-management-app", Duration.ofMinutes(15));
+        String token = jwtTokenService.issue(authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD))).value();
+
+        basicFilter = new BasicAuthenticationFilter(authenticationManager);
+        bearerFilter = new JwtAuthenticationFilter(jwtTokenService, new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
+        basicHeader = "Basic " + Base64.getEncoder().encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        bearerHeader = "Bearer " + token;
+    }
+
+    @Benchmark
+    public Object basic() throws ServletException, IOException {
+        return authenticate(basicFilter, basicHeader);
+    }
+
+    @Benchmark
+    public Object bearer() throws ServletException, IOException {
+        return authenticate(bearerFilter, bearerHeader);
+    }
+
+    private Object authenticate(Filter filter, String authorization) throws ServletException, IOException {
+        // A fresh request each time, OncePerRequestFilter skips requests it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customers");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
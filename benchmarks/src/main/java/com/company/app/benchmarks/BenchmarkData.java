@@ -0,0 +1,80 @@
+package com.company.app.benchmarks;
+
+import com.company.app.domain.customer.Address;
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerStatus;
+import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserRole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic domain fixtures shared by the benchmarks
+ */
+final class BenchmarkData {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-01-01T10:00:00Z");
+    private static final Instant UPDATED_AT = Instant.parse("2024-02-01T10:00:00Z");
+
+    private BenchmarkData() {}
+
+    static Customer customer(int i) {
+        return Customer.rehydrate(
+                new UUID(0L, i),
+                "Company " + i,
+                "Contact " + i,
+                "contact" + i + "@company" + i + ".com",
+                "+1555000" + i,
+                new Address(i + " Main St", "New York", "NY", "10001", "USA"),
+                "Technology",
+                CustomerStatus.values()[i % CustomerStatus.values().length],
+                CREATED_AT,
+                UPDATED_AT,
+                0L);
+    }
+
+    static User user(int i) {
+        return User.rehydrate(
+                new UUID(1L, i),
+                "user" + i,
+                "user" + i + "@company.com",
+                "First" + i,
+                "Last" + i,
+                "$2a$10$DJJCgBeSDMJJLnN5sBJ9S.HTBaGKs1E8QjTW3vGZ5jYgLsz1J5v/e",
+                i % 10 == 0 ? UserRole.ADMIN : UserRole.USER,
+                true,
+                CREATED_AT,
+                UPDATED_AT,
+                0L);
+    }
+
+    static List<Customer> customers(int count) {
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(customer(i));
+        }
+        return customers;
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    static Page<Customer> customerPage(int size) {
+        return new PageImpl<>(customers(size), PageRequest.of(0, size), 10_000L);
+    }
+
+    static Page<User> userPage(int size) {
+        return new PageImpl<>(users(size), PageRequest.of(0, size), 10_000L);
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.app.benchmarks;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.infrastructure.persistence.CustomerEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row cost of the CustomerEntity persistence mapping in both directions
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CustomerEntityBenchmark {
+
+    private CustomerEntity entity;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        entity = new CustomerEntity(BenchmarkData.customer(1));
+        customer = BenchmarkData.customer(2);
+    }
+
+    @Benchmark
+    public Customer toDomain() {
+        return entity.toDomain();
+    }
+
+    /**
+     * The write path: inserts persist a new entity built from the domain object, while updates
+     * and deletes are single statements that never build one
+     */
+    @Benchmark
+    public CustomerEntity fromDomain() {
+        return new CustomerEntity(customer);
+    }
+}
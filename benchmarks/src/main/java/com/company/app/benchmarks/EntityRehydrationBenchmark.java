@@ -0,0 +1,63 @@
+package com.company.app.benchmarks;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.infrastructure.persistence.CustomerEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of turning a 100-row findAll page of CustomerEntity into domain objects.
+ * {@code setterRehydration} reproduces the previous no-arg constructor + setters path
+ * (random UUID and two clock reads thrown away per row), {@code rehydrate} is CustomerEntity.toDomain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class EntityRehydrationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private List<CustomerEntity> page;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(PAGE_SIZE);
+        for (Customer customer : BenchmarkData.customers(PAGE_SIZE)) {
+            page.add(new CustomerEntity(customer));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void rehydrate(Blackhole blackhole) {
+        for (CustomerEntity entity : page) {
+            blackhole.consume(entity.toDomain());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void setterRehydration(Blackhole blackhole) {
+        for (CustomerEntity entity : page) {
+            Customer customer = new Customer();
+            customer.setId(entity.getId());
+            customer.setCompanyName(entity.getCompanyName());
+            customer.setContactPerson(entity.getContactPerson());
+            customer.setEmail(entity.getEmail());
+            customer.setPhone(entity.getPhone());
+            customer.setAddress(entity.getAddress() != null ? entity.getAddress().toDomain() : null);
+            customer.setIndustry(entity.getIndustry());
+            customer.setStatus(entity.getStatus());
+            customer.setCreatedAt(entity.getCreatedAt());
+            customer.setUpdatedAt(entity.getUpdatedAt());
+            blackhole.consume(customer);
+        }
+    }
+}
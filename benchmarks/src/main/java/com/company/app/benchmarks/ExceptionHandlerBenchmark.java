@@ -0,0 +1,58 @@
+package com.company.app.benchmarks;
+
+import com.company.app.domain.customer.CustomerAlreadyExistsException;
+import com.company.app.domain.customer.CustomerNotFoundException;
+import com.company.app.infrastructure.web.GlobalExceptionHandler;
+import com.company.app.infrastructure.web.dto.Error;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error response construction in GlobalExceptionHandler. Logging is switched off for the
+ * handler in the benchmark logback.xml so only the response building is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private WebRequest request;
+    private CustomerNotFoundException notFound;
+    private CustomerAlreadyExistsException alreadyExists;
+    private IllegalArgumentException illegalArgument;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET",
+                "/api/v1/customers/00000000-0000-0000-0000-000000000042");
+        request = new ServletWebRequest(servletRequest);
+        notFound = new CustomerNotFoundException("Customer not found with id: 00000000-0000-0000-0000-000000000042");
+        alreadyExists = new CustomerAlreadyExistsException("Customer with email already exists: john.doe@acme.com");
+        illegalArgument = new IllegalArgumentException("No enum constant CustomerStatus.UNKNOWN");
+    }
+
+    @Benchmark
+    public ResponseEntity<Error> handleNotFound() {
+        return handler.handleNotFound(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Error> handleAlreadyExists() {
+        return handler.handleAlreadyExists(alreadyExists, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Error> handleIllegalArgument() {
+        return handler.handleIllegalArgument(illegalArgument, request);
+    }
+}
@@ -0,0 +1,169 @@
+package com.company.app.benchmarks;
+
+import com.company.app.infrastructure.persistence.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Request throughput of the two execution modes against a Hikari pool sized like production.
+ * Every simulated request first blocks outside the database (waiting for a password hash or
+ * another service) and then holds a connection for one query. {@code platform} serves requests
+ * on Tomcat's default 200 threads, {@code virtual} on one virtual thread each going straight to
+ * Hikari, and {@code virtual-limited} adds the ConnectionLimitingDataSource used in that mode.
+ * The database is a stub, so only pool hand-off and scheduling are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int POOL_SIZE = 50;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long CONNECTION_TIMEOUT_MILLIS = 30_000;
+    private static final int REQUESTS = 2_000;
+
+    @Param({"platform", "virtual", "virtual-limited"})
+    private String mode;
+
+    @Param({"20"})
+    private long outsideMillis;
+
+    @Param({"2"})
+    private long queryMillis;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(new StubDataSource());
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        config.setConnectionTimeout(CONNECTION_TIMEOUT_MILLIS);
+        pool = new HikariDataSource(config);
+
+        dataSource = mode.equals("virtual-limited")
+                ? new ConnectionLimitingDataSource(pool, "benchmark", POOL_SIZE, Duration.ofMillis(CONNECTION_TIMEOUT_MILLIS))
+                : pool;
+        executor = mode.equals("platform")
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void requests() throws Exception {
+        List<Future<?>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(executor.submit(() -> {
+                handleRequest();
+                return null;
+            }));
+        }
+        for (Future<?> response : responses) {
+            response.get();
+        }
+    }
+
+    private void handleRequest() throws InterruptedException, SQLException {
+        Thread.sleep(outsideMillis);
+        try (Connection connection = dataSource.getConnection()) {
+            Thread.sleep(queryMillis);
+        }
+    }
+
+    /**
+     * Hands out connections that accept every call; only what Hikari needs to validate them is answered
+     */
+    private static final class StubDataSource implements DataSource {
+
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "isValid" -> true;
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "toString" -> "StubConnection";
+                        default -> defaultValue(method.getReturnType());
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) throws SQLException {
+            throw new SQLException("Not a wrapper");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> type) {
+            return false;
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.company.app.benchmarks;
+
+import com.company.app.infrastructure.web.dto.CustomerPage;
+import com.company.app.infrastructure.web.dto.UserPage;
+import com.company.app.infrastructure.web.mapper.CustomerMapper;
+import com.company.app.infrastructure.web.mapper.UserMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the generated page DTOs, using an ObjectMapper configured
+ * the way Spring Boot configures the one behind the HTTP message converters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private CustomerPage customerPage;
+    private UserPage userPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new JsonNullableModule())
+                .build();
+        customerPage = new CustomerMapper().toCustomerPage(BenchmarkData.customerPage(pageSize));
+        userPage = new UserMapper().toUserPage(BenchmarkData.userPage(pageSize));
+    }
+
+    @Benchmark
+    public byte[] serializeCustomerPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customerPage);
+    }
+
+    @Benchmark
+    public byte[] serializeUserPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userPage);
+    }
+}
@@ -0,0 +1,56 @@
+package com.company.app.benchmarks;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.user.User;
+import com.company.app.infrastructure.web.dto.CustomerPage;
+import com.company.app.infrastructure.web.dto.UserPage;
+import com.company.app.infrastructure.web.mapper.CustomerMapper;
+import com.company.app.infrastructure.web.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain to DTO mapping cost for single customers and for list pages of the configured size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapperBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final CustomerMapper customerMapper = new CustomerMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private Customer customer;
+    private Page<Customer> customerPage;
+    private Page<User> userPage;
+
+    @Setup
+    public void setUp() {
+        customer = BenchmarkData.customer(42);
+        customerPage = BenchmarkData.customerPage(pageSize);
+        userPage = BenchmarkData.userPage(pageSize);
+    }
+
+    @Benchmark
+    public com.company.app.infrastructure.web.dto.Customer customerToDto() {
+        return customerMapper.toDto(customer);
+    }
+
+    @Benchmark
+    public CustomerPage toCustomerPage() {
+        return customerMapper.toCustomerPage(customerPage);
+    }
+
+    @Benchmark
+    public UserPage toUserPage() {
+        return userMapper.toUserPage(userPage);
+    }
+}
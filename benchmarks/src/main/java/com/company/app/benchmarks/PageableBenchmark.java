@@ -0,0 +1,44 @@
+package com.company.app.benchmarks;
+
+import com.company.app.infrastructure.web.PageableFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the list endpoints' page/size/sort query parameters into a Pageable
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PageableBenchmark {
+
+    private final List<String> singleSort = List.of("companyName,asc");
+    private final List<String> multiSort = List.of("status,desc", "companyName,asc", "createdAt,desc");
+
+    @Benchmark
+    public Pageable createPageableUnsorted() {
+        return PageableFactory.createPageable(3, 20, null);
+    }
+
+    @Benchmark
+    public Pageable createPageableSingleSort() {
+        return PageableFactory.createPageable(3, 20, singleSort);
+    }
+
+    @Benchmark
+    public Pageable createPageableMultiSort() {
+        return PageableFactory.createPageable(3, 20, multiSort);
+    }
+
+    @Benchmark
+    public Sort.Order parseSortString() {
+        return PageableFactory.parseSortString("companyName,desc");
+    }
+}
@@ -0,0 +1,4 @@
+#!/bin/bash
+# Lets the postgres-replica service stream from this server
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -8,14 +8,46 @@ export const API_BASE_URL =
         ? `${import.meta.env.VITE_API_BASE_URL.replace(/\/$/, '')}${API_BASE_PATH}`
         : API_BASE_PATH;
 
-// Basic auth credentials
-const AUTH_CREDENTIALS = btoa('admin:admin123');
+// API account credentials, exchanged once for a bearer token
+const AUTH_CREDENTIALS = { username: 'admin', password: 'admin123' };
+
+// Refresh the token this long before it expires
+const TOKEN_REFRESH_MARGIN_MS = 30_000;
+
+interface TokenResponse {
+  accessToken: string;
+  tokenType: string;
+  expiresIn: number;
+}
+
+let accessToken: string | null = null;
+let accessTokenExpiresAt = 0;
+let pendingToken: Promise<string> | null = null;
+
+// Returns a cached token, requesting a new one only when missing or about to expire
+const getAccessToken = async (): Promise<string> => {
+  if (accessToken && Date.now() < accessTokenExpiresAt - TOKEN_REFRESH_MARGIN_MS) {
+    return accessToken;
+  }
+  if (!pendingToken) {
+    pendingToken = axios
+      .post<TokenResponse>(`${API_BASE_URL}/auth/token`, AUTH_CREDENTIALS, { timeout: 10000 })
+      .then(({ data }) => {
+        accessToken = data.accessToken;
+        accessTokenExpiresAt = Date.now() + data.expiresIn * 1000;
+        return data.accessToken;
+      })
+      .finally(() => {
+        pendingToken = null;
+      });
+  }
+  return pendingToken;
+};
 
 // Create axios instance with default configuration
 export const apiClient = axios.create({
   baseURL: API_BASE_URL,
   headers: {
-    'Authorization': `Basic ${AUTH_CREDENTIALS}`,
     'Content-Type': 'application/json',
   },
   timeout: 10000, // 10 second timeout
@@ -23,7 +55,8 @@ export const apiClient = axios.create({
 
 // Request interceptor
 apiClient.interceptors.request.use(
-  (config) => {
+  async (config) => {
+    config.headers.Authorization = `Bearer ${await getAccessToken()}`;
     // Add timestamp to prevent caching
     config.params = {
       ...config.params,
@@ -50,6 +83,8 @@ apiClient.interceptors.response.use(
       
       switch (status) {
         case 401:
+          // Force a fresh token on the next request
+          accessToken = null;
           console.error('Authentication failed');
           break;
         case 403:
@@ -4,6 +4,8 @@ import { Button } from './Button';
 import { Select } from './Select';
 import { ModalPortal } from './ModalPortal';
 import toast from 'react-hot-toast';
+import { customerService } from '../../services/customerService';
+import { userService } from '../../services/userService';
 
 interface ReportsModalProps {
   isOpen: boolean;
@@ -24,6 +26,7 @@ export const ReportsModal: React.FC<ReportsModalProps> = ({ isOpen, onClose }) =
   const [activeReport, setActiveReport] = useState<ReportType>('overview');
   const [dateRange, setDateRange] = useState('30d');
   const [isRefreshing, setIsRefreshing] = useState(false);
+  const [isExporting, setIsExporting] = useState(false);
 
   const reportTypes = [
     { id: 'overview' as ReportType, label: 'Overview', icon: BarChart3 },
@@ -141,8 +144,27 @@ export const ReportsModal: React.FC<ReportsModalProps> = ({ isOpen, onClose }) =
     toast.success('Reports refreshed successfully!');
   };
 
-  const handleExport = () => {
-    toast.success(`Exporting ${activeReport} report...`);
+  const handleExport = async () => {
+    if (activeReport !== 'customers' && activeReport !== 'users') {
+      toast.success(`Exporting ${activeReport} report...`);
+      return;
+    }
+    setIsExporting(true);
+    try {
+      const file = activeReport === 'customers'
+        ? await customerService.exportCustomers('csv')
+        : await userService.exportUsers('csv');
+      const url = URL.createObjectURL(file);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `${activeReport}.csv`;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch {
+      toast.error(`Failed to export ${activeReport}. Please try again.`);
+    } finally {
+      setIsExporting(false);
+    }
   };
 
   const getCurrentMetrics = (): MetricCard[] => {
@@ -234,6 +256,7 @@ export const ReportsModal: React.FC<ReportsModalProps> = ({ isOpen, onClose }) =
                     variant="primary" 
                     size="sm" 
                     onClick={handleExport}
+                    loading={isExporting}
                     icon={Download}
                     className="flex-1 sm:flex-none"
                   >
@@ -375,7 +398,7 @@ export const ReportsModal: React.FC<ReportsModalProps> = ({ isOpen, onClose }) =
                 <Button variant="outline" onClick={onClose} fullWidth className="sm:w-auto">
                   Close
                 </Button>
-                <Button variant="primary" onClick={handleExport} fullWidth className="sm:w-auto">
+                <Button variant="primary" onClick={handleExport} loading={isExporting} fullWidth className="sm:w-auto">
                   Generate Full Report
                 </Button>
               </div>
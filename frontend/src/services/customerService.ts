@@ -64,4 +64,17 @@ export const customerService = {
     });
     return response.data;
   },
+
+  // Export customers as a file, streamed by the server; no timeout since large exports take a while
+  exportCustomers: async (format: 'csv' | 'ndjson' = 'csv', params?: Pick<CustomerFilterParams, 'status' | 'industry'>): Promise<Blob> => {
+    const response = await apiClient.get<Blob>('/customers/export', {
+      params: {
+        ...params,
+        format,
+      },
+      responseType: 'blob',
+      timeout: 0,
+    });
+    return response.data;
+  },
 };
\ No newline at end of file
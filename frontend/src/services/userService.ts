@@ -42,4 +42,14 @@ export const userService = {
     });
     return response.data;
   },
+
+  // Export users as a file, streamed by the server; no timeout since large exports take a while
+  exportUsers: async (format: 'csv' | 'ndjson' = 'csv'): Promise<Blob> => {
+    const response = await apiClient.get<Blob>('/users/export', {
+      params: { format },
+      responseType: 'blob',
+      timeout: 0,
+    });
+    return response.data;
+  },
 };
\ No newline at end of file
@@ -12,6 +12,7 @@ export interface PageInfo {
   totalPages: number;
   first: boolean;
   last: boolean;
+  nextCursor?: string;
 }
 
 export interface ApiError {
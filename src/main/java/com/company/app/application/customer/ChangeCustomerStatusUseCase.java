@@ -0,0 +1,44 @@
+package com.company.app.application.customer;
+
+import com.company.app.domain.customer.CustomerService;
+import com.company.app.domain.customer.CustomerStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Use case for changing the status of many customers at once, selected by id or by filter
+ */
+@Component
+public class ChangeCustomerStatusUseCase {
+    
+    private final CustomerService customerService;
+    
+    public ChangeCustomerStatusUseCase(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+    
+    /**
+     * @return the number of customers whose status changed
+     * @throws IllegalArgumentException unless exactly one of ids and a filter is given
+     */
+    public int execute(ChangeCustomerStatusCommand command) {
+        boolean filtered = command.currentStatus() != null || command.industry() != null;
+        if ((command.ids() != null) == filtered) {
+            throw new IllegalArgumentException("Select customers either by ids or by filter");
+        }
+        
+        if (command.ids() != null) {
+            return customerService.updateCustomerStatus(command.ids(), command.status());
+        }
+        return customerService.updateCustomerStatusWhere(command.currentStatus(), command.industry(), command.status());
+    }
+    
+    public record ChangeCustomerStatusCommand(
+        Set<UUID> ids,
+        CustomerStatus currentStatus,
+        String industry,
+        CustomerStatus status
+    ) {}
+}
\ No newline at end of file
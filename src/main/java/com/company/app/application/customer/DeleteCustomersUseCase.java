@@ -0,0 +1,29 @@
+package com.company.app.application.customer;
+
+import com.company.app.domain.customer.CustomerService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Use case for deleting many customers at once
+ */
+@Component
+public class DeleteCustomersUseCase {
+    
+    private final CustomerService customerService;
+    
+    public DeleteCustomersUseCase(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+    
+    /**
+     * @return the number of customers deleted
+     */
+    public int execute(DeleteCustomersCommand command) {
+        return customerService.deleteCustomers(command.ids());
+    }
+    
+    public record DeleteCustomersCommand(Set<UUID> ids) {}
+}
\ No newline at end of file
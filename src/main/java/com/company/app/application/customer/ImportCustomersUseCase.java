@@ -0,0 +1,105 @@
+package com.company.app.application.customer;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Use case for importing a stream of customers in bulk. Rows are consumed one at a time and
+ * inserted in fixed-size batches, each in its own transaction, so memory does not grow with the
+ * size of the upload. Only the first errors are reported in detail; all of them are counted.
+ */
+@Component
+public class ImportCustomersUseCase {
+    
+    private final CustomerService customerService;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    
+    public ImportCustomersUseCase(CustomerService customerService,
+                                  @Value("${app.customers.import.batch-size:5000}") int batchSize,
+                                  @Value("${app.customers.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.customerService = customerService;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    public ImportReport execute(ImportCustomersCommand command) {
+        Progress progress = new Progress();
+        Map<Long, Customer> batch = new LinkedHashMap<>();
+        Iterator<ImportRow> rows = command.rows();
+        while (rows.hasNext()) {
+            ImportRow row = rows.next();
+            progress.received++;
+            if (row.error() != null) {
+                progress.reject(row.row(), row.error());
+                continue;
+            }
+            batch.put(row.row(), row.customer());
+            if (batch.size() >= batchSize) {
+                insert(batch, progress);
+            }
+        }
+        insert(batch, progress);
+        
+        progress.errors.sort(Comparator.comparingLong(RowError::row));
+        return new ImportReport(progress.received, progress.imported, progress.rejected, progress.errors);
+    }
+    
+    private void insert(Map<Long, Customer> batch, Progress progress) {
+        Set<Long> skipped = customerService.importCustomers(batch);
+        progress.imported += batch.size() - skipped.size();
+        for (Long row : skipped) {
+            progress.reject(row, "Customer with email already exists: " + batch.get(row).getEmail());
+        }
+        batch.clear();
+    }
+    
+    public record ImportCustomersCommand(Iterator<ImportRow> rows) {}
+    
+    /**
+     * One row of the upload: either a customer ready to insert or the reason it was rejected.
+     */
+    public record ImportRow(long row, Customer customer, String error) {
+        
+        public static ImportRow valid(long row, Customer customer) {
+            return new ImportRow(row, customer, null);
+        }
+        
+        public static ImportRow invalid(long row, String error) {
+            return new ImportRow(row, null, error);
+        }
+    }
+    
+    public record ImportReport(long received, long imported, long rejected, List<RowError> errors) {
+        
+        public boolean errorsTruncated() {
+            return rejected > errors.size();
+        }
+    }
+    
+    public record RowError(long row, String message) {}
+    
+    private final class Progress {
+        private long received;
+        private long imported;
+        private long rejected;
+        private final List<RowError> errors = new ArrayList<>();
+        
+        private void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+}
\ No newline at end of file
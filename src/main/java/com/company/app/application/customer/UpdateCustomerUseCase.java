@@ -29,7 +29,8 @@ public class UpdateCustomerUseCase {
             command.phone(),
             command.address(),
             command.industry(),
-            command.status()
+            command.status(),
+            command.expectedVersion()
         );
     }
     
@@ -41,6 +42,7 @@ public class UpdateCustomerUseCase {
         String phone,
         Address address,
         String industry,
-        CustomerStatus status
+        CustomerStatus status,
+        Long expectedVersion
     ) {}
 }
\ No newline at end of file
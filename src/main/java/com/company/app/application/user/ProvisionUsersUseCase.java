@@ -0,0 +1,31 @@
+package com.company.app.application.user;
+
+import com.company.app.domain.user.NewUser;
+import com.company.app.domain.user.UserCreationResult;
+import com.company.app.domain.user.UserService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Use case for creating many users at once, e.g. from an HR export
+ */
+@Component
+public class ProvisionUsersUseCase {
+    
+    private final UserService userService;
+    
+    public ProvisionUsersUseCase(UserService userService) {
+        this.userService = userService;
+    }
+    
+    public List<UserCreationResult> execute(ProvisionUsersCommand command) {
+        List<NewUser> newUsers = command.users().stream()
+                .map(user -> new NewUser(user.username(), user.email(), user.firstName(), user.lastName(),
+                        user.password(), user.role()))
+                .toList();
+        return userService.createUsers(newUsers);
+    }
+    
+    public record ProvisionUsersCommand(List<CreateUserUseCase.CreateUserCommand> users) {}
+}
\ No newline at end of file
@@ -26,7 +26,8 @@ public class UpdateUserUseCase {
             command.firstName(),
             command.lastName(),
             command.role(),
-            command.isActive()
+            command.isActive(),
+            command.expectedVersion()
         );
     }
     
@@ -36,6 +37,7 @@ public class UpdateUserUseCase {
         String firstName,
         String lastName,
         UserRole role,
-        Boolean isActive
+        Boolean isActive,
+        Long expectedVersion
     ) {}
 }
\ No newline at end of file
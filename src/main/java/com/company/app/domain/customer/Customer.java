@@ -17,6 +17,8 @@ public class Customer {
     private CustomerStatus status;
     private Instant createdAt;
     private Instant updatedAt;
+    // Incremented by every write, so it identifies the exact state a client has seen
+    private long version;
 
     public Customer() {
         this.id = UUID.randomUUID();
@@ -34,6 +36,44 @@ public class Customer {
         this.address = address;
     }
 
+    private Customer(UUID id, String companyName, String contactPerson, String email, String phone,
+                     Address address, String industry, CustomerStatus status,
+                     Instant createdAt, Instant updatedAt, long version) {
+        this.id = id;
+        this.companyName = companyName;
+        this.contactPerson = contactPerson;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+        this.industry = industry;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    /**
+     * Rebuilds a customer from persisted state. Unlike the public constructors this
+     * neither generates an id nor reads the clock, so it is cheap enough for every row of a page.
+     */
+    public static Customer rehydrate(UUID id, String companyName, String contactPerson, String email, String phone,
+                                     Address address, String industry, CustomerStatus status,
+                                     Instant createdAt, Instant updatedAt, long version) {
+        return new Customer(id, companyName, contactPerson, email, phone, address, industry, status,
+                createdAt, updatedAt, version);
+    }
+
+    /**
+     * Creates a new customer with every field set at once, reading the clock a single time.
+     * A null status means {@link CustomerStatus#PROSPECT}.
+     */
+    public static Customer create(String companyName, String contactPerson, String email, String phone,
+                                  Address address, String industry, CustomerStatus status) {
+        Instant now = Instant.now();
+        return new Customer(UUID.randomUUID(), companyName, contactPerson, email, phone, address, industry,
+                status != null ? status : CustomerStatus.PROSPECT, now, now, 0);
+    }
+
     public void updateBasicInfo(String companyName, String contactPerson, String email, String phone) {
         if (companyName != null) this.companyName = companyName;
         if (contactPerson != null) this.contactPerson = contactPerson;
@@ -83,6 +123,7 @@ public class Customer {
     public CustomerStatus getStatus() { return status; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public long getVersion() { return version; }
 
     // Public setters for persistence (accessible from infrastructure layer)
     public void setId(UUID id) { this.id = id; }
@@ -95,4 +136,5 @@ public class Customer {
     public void setStatus(CustomerStatus status) { this.status = status; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public void setVersion(long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.company.app.domain.customer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.Supplier;
+
+/**
+ * Cache port for customer list pages, keyed by status and industry filter (null for none), sort and
+ * page. Entries are tagged with their filter, so a changed customer only evicts the lists it belongs to.
+ * Cached pages are shared between callers and must not be modified.
+ */
+public interface CustomerListCache {
+    
+    Page<Customer> getPage(CustomerStatus status, String industry, Pageable pageable, Supplier<Page<Customer>> loader);
+    
+    Slice<Customer> getSlice(CustomerStatus status, String industry, Pageable pageable, Supplier<Slice<Customer>> loader);
+    
+    /**
+     * Drops every list a customer with the given status and industry (null for none) belongs to, now
+     * and again once the current transaction commits.
+     */
+    void evict(CustomerStatus status, String industry);
+    
+    /**
+     * Drops every list, for writes whose affected customers are not known.
+     */
+    void evictAll();
+}
\ No newline at end of file
@@ -1,20 +1,71 @@
 package com.company.app.domain.customer;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Customer repository port (interface) following hexagonal architecture
  */
 public interface CustomerRepository {
     
-    Customer save(Customer customer);
+    /**
+     * Inserts a new customer in a single statement. Email uniqueness is enforced by the
+     * database constraint and surfaced as {@link CustomerAlreadyExistsException}.
+     */
+    Customer insert(Customer customer);
+    
+    /**
+     * Inserts many new customers at once, keyed by their row in the import. Customers whose email
+     * already exists, in the table or in an earlier row, are skipped instead of failing the batch.
+     *
+     * @return the rows that were skipped because of a duplicate email
+     */
+    Set<Long> bulkInsert(Map<Long, Customer> customersByRow);
+    
+    /**
+     * Applies the non-null fields to the customer in a single statement and returns the
+     * resulting state along with its previous status and industry, or empty when no customer
+     * exists with the given id. With an expected version the update only applies while the
+     * customer still has it, and is empty otherwise.
+     */
+    Optional<CustomerUpdateResult> update(UUID id, String companyName, String contactPerson, String email,
+                              String phone, Address address, String industry, CustomerStatus status,
+                              Long expectedVersion);
+    
+    /**
+     * Sets the status of the given customers in a single statement. Customers that already have
+     * the status, and ids that do not exist, are skipped.
+     *
+     * @return the number of customers whose status changed
+     */
+    int updateStatus(Collection<UUID> ids, CustomerStatus status);
+    
+    /**
+     * Sets the status of every customer matching the filters (null means no filter, but at least
+     * one is required) in a single statement. Customers that already have the status are skipped.
+     *
+     * @return the number of customers whose status changed
+     */
+    int updateStatus(CustomerStatus currentStatus, String industry, CustomerStatus status);
     
     Optional<Customer> findById(UUID id);
     
+    /**
+     * Reads only the customer's version, which a covering index answers without visiting the row.
+     */
+    Optional<Long> findVersionById(UUID id);
+    
     Optional<Customer> findByEmail(String email);
     
     Page<Customer> findAll(Pageable pageable);
@@ -27,13 +78,68 @@ public interface CustomerRepository {
     
     Page<Customer> findByCompanyNameContainingIgnoreCase(String companyName, Pageable pageable);
     
+    /**
+     * Relevance-ranked search over company name, contact person, email and city, matching whole
+     * words as well as substrings and near misses. Results are not counted.
+     */
+    Slice<Customer> search(String query, Pageable pageable);
+    
+    /**
+     * Returns the next {@code limit} customers after {@code position} using keyset pagination,
+     * optionally filtered by status and industry (null means no filter). The sort must be a
+     * single supported property; the id is always used as tie-breaker.
+     */
+    Window<Customer> scroll(CustomerStatus status, String industry, KeysetScrollPosition position, Sort sort, int limit);
+    
     boolean existsByEmail(String email);
     
     boolean existsByEmailAndIdNot(String email, UUID id);
     
-    void deleteById(UUID id);
+    /**
+     * Deletes the customer in a single statement.
+     *
+     * @return the deleted customer, or empty if no customer exists with the given id
+     */
+    Optional<Customer> deleteById(UUID id);
+    
+    /**
+     * Deletes the given customers in a single statement. Ids that do not exist are skipped.
+     *
+     * @return the number of customers deleted
+     */
+    int deleteAllById(Collection<UUID> ids);
     
     long count();
     
     long countByStatus(CustomerStatus status);
+    
+    /**
+     * Exact number of customers matching the optional filters (null means no filter).
+     */
+    long count(CustomerStatus status, String industry);
+    
+    /**
+     * Returns a page of customers, optionally filtered by status and industry (null means no
+     * filter), without counting the matching rows. Only whether a next page exists is known.
+     */
+    Slice<Customer> findSlice(CustomerStatus status, String industry, Pageable pageable);
+    
+    /**
+     * Ids and versions of the customers {@link #findSlice} returns for the same arguments, in the
+     * same order, without loading the customers themselves.
+     */
+    Slice<CustomerVersion> findVersionSlice(CustomerStatus status, String industry, Pageable pageable);
+    
+    /**
+     * Estimated number of customers matching the optional filters, taken from database statistics.
+     * Falls back to an exact count when no estimate is available.
+     */
+    long estimateCount(CustomerStatus status, String industry);
+    
+    /**
+     * Passes every customer matching the optional filters (null means no filter) to the action,
+     * reading them from the database in fixed-size batches instead of loading them all. Rows are
+     * returned in no particular order. Must be called inside a transaction.
+     */
+    void forEach(CustomerStatus status, String industry, Consumer<Customer> action);
 }
\ No newline at end of file
@@ -1,11 +1,21 @@
 package com.company.app.domain.customer;
 
+import com.company.app.domain.search.TypeaheadIndex;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Customer domain service containing business logic
@@ -15,26 +25,49 @@ import java.util.UUID;
 public class CustomerService {
     
     private final CustomerRepository customerRepository;
+    private final TypeaheadIndex typeaheadIndex;
+    private final CustomerListCache listCache;
     
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, TypeaheadIndex typeaheadIndex,
+                           CustomerListCache listCache) {
         this.customerRepository = customerRepository;
+        this.typeaheadIndex = typeaheadIndex;
+        this.listCache = listCache;
     }
     
     public Customer createCustomer(String companyName, String contactPerson, String email, 
                                  String phone, Address address, String industry, CustomerStatus status) {
         
-        if (customerRepository.existsByEmail(email)) {
-            throw new CustomerAlreadyExistsException("Customer with email already exists: " + email);
-        }
+        Customer customer = Customer.create(companyName, contactPerson, email, phone, address, industry, status);
         
-        Customer customer = new Customer(companyName, contactPerson, email, address);
-        customer.updateBasicInfo(companyName, contactPerson, email, phone);
-        customer.updateIndustry(industry);
-        if (status != null) {
-            customer.updateStatus(status);
+        // Email uniqueness is enforced by the unique constraint on insert
+        Customer created = customerRepository.insert(customer);
+        typeaheadIndex.indexCustomer(created);
+        listCache.evict(created.getStatus(), created.getIndustry());
+        return created;
+    }
+    
+    /**
+     * Inserts a batch of new customers keyed by their row in the import, skipping rows whose email
+     * already exists in the table or earlier in the batch.
+     *
+     * @return the rows that were skipped because of a duplicate email
+     */
+    public Set<Long> importCustomers(Map<Long, Customer> customersByRow) {
+        if (customersByRow.isEmpty()) {
+            return Set.of();
         }
-        
-        return customerRepository.save(customer);
+        Set<Long> skipped = customerRepository.bulkInsert(customersByRow);
+        customersByRow.forEach((row, customer) -> {
+            if (!skipped.contains(row)) {
+                typeaheadIndex.indexCustomer(customer);
+            }
+        });
+        // A batch usually spans most statuses and industries
+        if (skipped.size() < customersByRow.size()) {
+            listCache.evictAll();
+        }
+        return skipped;
     }
     
     @Transactional(readOnly = true)
@@ -43,75 +76,171 @@ public class CustomerService {
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with id: " + id));
     }
     
+    /**
+     * Current version of the customer, read without loading it, to check whether a copy the
+     * client already has is still current.
+     */
+    @Transactional(readOnly = true)
+    public long getCustomerVersion(UUID id) {
+        return customerRepository.findVersionById(id)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with id: " + id));
+    }
+    
     @Transactional(readOnly = true)
     public Customer getCustomerByEmail(String email) {
         return customerRepository.findByEmail(email)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with email: " + email));
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Served from the list cache. The lists run without a transaction of their own, so a cached page
+     * never takes a connection; on a miss the repository query runs in its own read-only transaction.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Customer> getAllCustomers(Pageable pageable) {
-        return customerRepository.findAll(pageable);
+        return listCache.getPage(null, null, pageable, () -> customerRepository.findAll(pageable));
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Customer> getCustomersByStatus(CustomerStatus status, Pageable pageable) {
-        return customerRepository.findByStatus(status, pageable);
+        return listCache.getPage(status, null, pageable, () -> customerRepository.findByStatus(status, pageable));
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Customer> getCustomersByIndustry(String industry, Pageable pageable) {
-        return customerRepository.findByIndustry(industry, pageable);
+        return listCache.getPage(null, industry, pageable, () -> customerRepository.findByIndustry(industry, pageable));
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Customer> getCustomersByStatusAndIndustry(CustomerStatus status, String industry, Pageable pageable) {
-        return customerRepository.findByStatusAndIndustry(status, industry, pageable);
+        return listCache.getPage(status, industry, pageable, () -> customerRepository.findByStatusAndIndustry(status, industry, pageable));
+    }
+    
+    @Transactional(readOnly = true)
+    public Slice<Customer> searchCustomers(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        return customerRepository.search(query.strip(), pageable);
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Customer> getCustomerSlice(CustomerStatus status, String industry, Pageable pageable) {
+        return listCache.getSlice(status, industry, pageable, () -> customerRepository.findSlice(status, industry, pageable));
+    }
+    
+    /**
+     * Ids and versions of the customers on the page, to check whether a copy the client already
+     * has is still current without loading the customers.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CustomerVersion> getCustomerVersions(CustomerStatus status, String industry, Pageable pageable) {
+        return customerRepository.findVersionSlice(status, industry, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public long countCustomers(CustomerStatus status, String industry) {
+        return customerRepository.count(status, industry);
+    }
+    
+    @Transactional(readOnly = true)
+    public long estimateCustomerCount(CustomerStatus status, String industry) {
+        return customerRepository.estimateCount(status, industry);
+    }
+    
+    @Transactional(readOnly = true)
+    public Window<Customer> scrollCustomers(CustomerStatus status, String industry, KeysetScrollPosition position,
+                                            Sort sort, int limit) {
+        return customerRepository.scroll(status, industry, position, sort, limit);
+    }
+    
+    /**
+     * Streams every customer matching the optional filters to the action. The transaction, and
+     * its connection, stays open until the last row has been handed over, at most for the
+     * configured export duration ({@code app.export.max-duration}).
+     */
+    @Transactional(readOnly = true)
+    public void exportCustomers(CustomerStatus status, String industry, Consumer<Customer> action) {
+        customerRepository.forEach(status, industry, action);
     }
     
+    /**
+     * Applies the non-null fields. With an expected version the update is only applied while the
+     * customer is still at that version, without reading or locking it beforehand.
+     */
     public Customer updateCustomer(UUID id, String companyName, String contactPerson, String email, 
-                                 String phone, Address address, String industry, CustomerStatus status) {
-        Customer customer = getCustomerById(id);
-        
-        if (email != null && !email.equals(customer.getEmail())) {
-            if (customerRepository.existsByEmailAndIdNot(email, id)) {
-                throw new CustomerAlreadyExistsException("Email already exists: " + email);
-            }
+                                 String phone, Address address, String industry, CustomerStatus status,
+                                 Long expectedVersion) {
+        // Existence comes from the affected row, email uniqueness from the unique constraint
+        CustomerUpdateResult result = customerRepository.update(id, companyName, contactPerson, email, phone, address, industry, status,
+                        expectedVersion)
+                .orElseThrow(() -> notUpdated(id, expectedVersion));
+        Customer updated = result.customer();
+        typeaheadIndex.indexCustomer(updated);
+        // The lists the customer left and the ones it now appears in
+        listCache.evict(result.previousStatus(), result.previousIndustry());
+        listCache.evict(updated.getStatus(), updated.getIndustry());
+        return updated;
+    }
+    
+    // Only looked up once no row matched, so successful updates still take a single statement
+    private RuntimeException notUpdated(UUID id, Long expectedVersion) {
+        if (expectedVersion != null && customerRepository.findVersionById(id).isPresent()) {
+            return new CustomerVersionConflictException("Customer " + id + " is no longer at version " + expectedVersion);
         }
-        
-        customer.updateBasicInfo(companyName, contactPerson, email, phone);
-        
-        if (address != null) {
-            customer.updateAddress(address);
+        return new CustomerNotFoundException("Customer not found with id: " + id);
+    }
+    
+    public void deleteCustomer(UUID id) {
+        Customer deleted = customerRepository.deleteById(id)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with id: " + id));
+        typeaheadIndex.remove(id);
+        listCache.evict(deleted.getStatus(), deleted.getIndustry());
+    }
+    
+    public int updateCustomerStatus(Collection<UUID> ids, CustomerStatus status) {
+        if (ids.isEmpty()) {
+            return 0;
         }
-        
-        if (industry != null) {
-            customer.updateIndustry(industry);
+        int updated = customerRepository.updateStatus(ids, status);
+        listCache.evictAll();
+        return updated;
+    }
+    
+    /**
+     * Sets the status of every customer with the current status and industry. At least one filter
+     * is required so a missing filter never changes every customer.
+     */
+    public int updateCustomerStatusWhere(CustomerStatus currentStatus, String industry, CustomerStatus status) {
+        if (currentStatus == null && industry == null) {
+            throw new IllegalArgumentException("A status or industry filter is required");
         }
-        
-        if (status != null) {
-            customer.updateStatus(status);
+        int updated = customerRepository.updateStatus(currentStatus, industry, status);
+        if (currentStatus != null && industry != null) {
+            listCache.evict(currentStatus, industry);
+            listCache.evict(status, industry);
+        } else {
+            listCache.evictAll();
         }
-        
-        return customerRepository.save(customer);
+        return updated;
     }
     
-    public void deleteCustomer(UUID id) {
-        if (!customerRepository.findById(id).isPresent()) {
-            throw new CustomerNotFoundException("Customer not found with id: " + id);
+    public int deleteCustomers(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
         }
-        customerRepository.deleteById(id);
+        int deleted = customerRepository.deleteAllById(ids);
+        // Removing an id that was never indexed is a no-op
+        ids.forEach(typeaheadIndex::remove);
+        listCache.evictAll();
+        return deleted;
     }
     
     public Customer activateCustomer(UUID id) {
-        Customer customer = getCustomerById(id);
-        customer.activate();
-        return customerRepository.save(customer);
+        return updateCustomer(id, null, null, null, null, null, null, CustomerStatus.ACTIVE, null);
     }
     
     public Customer deactivateCustomer(UUID id) {
-        Customer customer = getCustomerById(id);
-        customer.deactivate();
-        return customerRepository.save(customer);
+        return updateCustomer(id, null, null, null, null, null, null, CustomerStatus.INACTIVE, null);
     }
 }
\ No newline at end of file
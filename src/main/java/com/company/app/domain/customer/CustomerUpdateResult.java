@@ -0,0 +1,8 @@
+package com.company.app.domain.customer;
+
+/**
+ * Outcome of updating a customer: its new state and the status and industry it had before,
+ * which decide the customer lists it may have left
+ */
+public record CustomerUpdateResult(Customer customer, CustomerStatus previousStatus, String previousIndustry) {
+}
\ No newline at end of file
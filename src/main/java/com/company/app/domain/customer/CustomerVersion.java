@@ -0,0 +1,9 @@
+package com.company.app.domain.customer;
+
+import java.util.UUID;
+
+/**
+ * A customer's id and current version, all a list page's entity tag is built from
+ */
+public record CustomerVersion(UUID id, long version) {
+}
\ No newline at end of file
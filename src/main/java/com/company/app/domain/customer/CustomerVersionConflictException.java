@@ -0,0 +1,15 @@
+package com.company.app.domain.customer;
+
+/**
+ * Exception thrown when a conditional update finds the customer at a different version than expected
+ */
+public class CustomerVersionConflictException extends RuntimeException {
+    
+    public CustomerVersionConflictException(String message) {
+        super(message);
+    }
+    
+    public CustomerVersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
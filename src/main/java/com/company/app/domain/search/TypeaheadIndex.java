@@ -0,0 +1,26 @@
+package com.company.app.domain.search;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.user.User;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Typeahead index port (interface) over customer and user names following hexagonal architecture.
+ * Writes made inside a transaction become visible once it commits.
+ */
+public interface TypeaheadIndex {
+    
+    void indexCustomer(Customer customer);
+    
+    void indexUser(User user);
+    
+    void remove(UUID id);
+    
+    /**
+     * Returns up to {@code limit} customers and users with a name or word starting with the prefix,
+     * closest matches first.
+     */
+    List<TypeaheadMatch> lookup(String prefix, int limit);
+}
\ No newline at end of file
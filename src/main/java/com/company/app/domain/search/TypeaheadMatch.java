@@ -0,0 +1,14 @@
+package com.company.app.domain.search;
+
+import java.util.UUID;
+
+/**
+ * A typeahead suggestion: the matched customer or user with its display label and secondary detail
+ */
+public record TypeaheadMatch(Type type, UUID id, String label, String detail) {
+    
+    public enum Type {
+        CUSTOMER,
+        USER
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.company.app.domain.user;
+
+import java.util.List;
+
+/**
+ * Hashes many passwords at once, spreading the work over the available cores
+ */
+public interface BulkPasswordEncoder {
+    
+    /**
+     * Encodes every password and returns the hashes in the same order.
+     */
+    List<String> encodeAll(List<String> rawPasswords);
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.company.app.domain.user;
+
+/**
+ * Data for a user to be created, with the password still in plain text
+ */
+public record NewUser(
+    String username,
+    String email,
+    String firstName,
+    String lastName,
+    String password,
+    UserRole role
+) {}
\ No newline at end of file
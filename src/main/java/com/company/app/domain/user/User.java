@@ -17,6 +17,8 @@ public class User {
     private boolean isActive;
     private Instant createdAt;
     private Instant updatedAt;
+    // Incremented by every write, so it identifies the exact state a client has seen
+    private long version;
 
     public User() {
         this.id = UUID.randomUUID();
@@ -36,6 +38,33 @@ public class User {
         this.role = role;
     }
 
+    private User(UUID id, String username, String email, String firstName, String lastName,
+                 String passwordHash, UserRole role, boolean isActive, Instant createdAt, Instant updatedAt,
+                 long version) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.passwordHash = passwordHash;
+        this.role = role;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    /**
+     * Rebuilds a user from persisted state. Unlike the public constructors this
+     * neither generates an id nor reads the clock, so it is cheap enough for every row of a page.
+     */
+    public static User rehydrate(UUID id, String username, String email, String firstName, String lastName,
+                                 String passwordHash, UserRole role, boolean isActive,
+                                 Instant createdAt, Instant updatedAt, long version) {
+        return new User(id, username, email, firstName, lastName, passwordHash, role, isActive,
+                createdAt, updatedAt, version);
+    }
+
     public void updateProfile(String email, String firstName, String lastName) {
         if (email != null) this.email = email;
         if (firstName != null) this.firstName = firstName;
@@ -74,6 +103,7 @@ public class User {
     public boolean isActive() { return isActive; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public long getVersion() { return version; }
 
     // Public setters for persistence (accessible from infrastructure layer)
     public void setId(UUID id) { this.id = id; }
@@ -86,4 +116,5 @@ public class User {
     public void setActive(boolean active) { this.isActive = active; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public void setVersion(long version) { this.version = version; }
 }
\ No newline at end of file
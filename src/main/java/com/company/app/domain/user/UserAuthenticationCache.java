@@ -0,0 +1,16 @@
+package com.company.app.domain.user;
+
+import java.util.UUID;
+
+/**
+ * Port for caches holding authentication state derived from a user (verified credentials,
+ * loaded principals). The user service evicts a user whenever its credentials, role or
+ * active flag may have changed.
+ */
+public interface UserAuthenticationCache {
+    
+    /**
+     * Drops everything cached for the user, now and again once the current transaction commits.
+     */
+    void evict(UUID userId);
+}
\ No newline at end of file
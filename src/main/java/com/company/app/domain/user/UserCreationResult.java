@@ -0,0 +1,19 @@
+package com.company.app.domain.user;
+
+/**
+ * Outcome of creating one user of a bulk request: the created user, or why it was not created
+ */
+public record UserCreationResult(User user, String error) {
+    
+    public static UserCreationResult created(User user) {
+        return new UserCreationResult(user, null);
+    }
+    
+    public static UserCreationResult failed(String error) {
+        return new UserCreationResult(null, error);
+    }
+    
+    public boolean isCreated() {
+        return user != null;
+    }
+}
\ No newline at end of file
@@ -1,26 +1,77 @@
 package com.company.app.domain.user;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * User repository port (interface) following hexagonal architecture
  */
 public interface UserRepository {
     
-    User save(User user);
+    /**
+     * Inserts a new user in a single statement. Username and email uniqueness are enforced by
+     * the database constraints and surfaced as {@link UserAlreadyExistsException}.
+     */
+    User insert(User user);
+    
+    /**
+     * Applies the non-null fields to the user in a single statement and returns the resulting
+     * state, or empty when no user exists with the given id. With an expected version the update
+     * only applies while the user still has it, and is empty otherwise.
+     */
+    Optional<User> update(UUID id, String email, String firstName, String lastName, UserRole role, Boolean isActive,
+                          Long expectedVersion);
+    
+    /**
+     * Replaces the password hash in a single statement.
+     *
+     * @return {@code true} if a row was updated, {@code false} if no user exists with the given id
+     */
+    boolean updatePasswordHash(UUID id, String passwordHash);
+    
+    /**
+     * Inserts the users with batched statements in one transaction, skipping any whose username is
+     * already taken instead of failing the batch. Emails are expected to have been checked by the caller.
+     *
+     * @return for each user, in order, whether it was inserted
+     * @throws UserAlreadyExistsException if an email was taken concurrently; nothing is inserted
+     */
+    boolean[] insertAll(List<User> users);
     
     Optional<User> findById(UUID id);
     
+    /**
+     * Reads only the user's version, which a covering index answers without visiting the row.
+     */
+    Optional<Long> findVersionById(UUID id);
+    
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
     
+    /**
+     * Users holding any of the usernames or emails, found in a single query over the unique indexes.
+     */
+    List<User> findByUsernameInOrEmailIn(Collection<String> usernames, Collection<String> emails);
+    
     Page<User> findAll(Pageable pageable);
     
+    /**
+     * Returns the next {@code limit} users after {@code position} using keyset pagination.
+     * The sort must be a single supported property; the id is always used as tie-breaker.
+     */
+    Window<User> scroll(KeysetScrollPosition position, Sort sort, int limit);
+    
     Page<User> findByRole(UserRole role, Pageable pageable);
     
     Page<User> findByIsActive(boolean isActive, Pageable pageable);
@@ -31,7 +82,30 @@ public interface UserRepository {
     
     boolean existsByEmailAndIdNot(String email, UUID id);
     
-    void deleteById(UUID id);
+    /**
+     * Deletes the user in a single statement.
+     *
+     * @return {@code true} if a row was deleted, {@code false} if no user exists with the given id
+     */
+    boolean deleteById(UUID id);
     
     long count();
+    
+    /**
+     * Returns a page of users without counting all rows. Only whether a next page exists is known.
+     */
+    Slice<User> findSlice(Pageable pageable);
+    
+    /**
+     * Estimated number of users, taken from database statistics. Falls back to an exact count
+     * when no estimate is available.
+     */
+    long estimateCount();
+    
+    /**
+     * Passes every user to the action, reading them from the database in fixed-size batches
+     * instead of loading them all. Rows are returned in no particular order. Must be called
+     * inside a transaction.
+     */
+    void forEach(Consumer<User> action);
 }
\ No newline at end of file
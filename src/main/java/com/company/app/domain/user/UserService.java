@@ -1,12 +1,23 @@
 package com.company.app.domain.user;
 
+import com.company.app.domain.search.TypeaheadIndex;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * User domain service containing business logic
@@ -17,27 +28,106 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TypeaheadIndex typeaheadIndex;
+    private final BulkPasswordEncoder bulkPasswordEncoder;
+    private final UserAuthenticationCache authenticationCache;
     
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       BulkPasswordEncoder bulkPasswordEncoder, TypeaheadIndex typeaheadIndex,
+                       UserAuthenticationCache authenticationCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.bulkPasswordEncoder = bulkPasswordEncoder;
+        this.typeaheadIndex = typeaheadIndex;
+        this.authenticationCache = authenticationCache;
     }
     
+    /**
+     * Creates a user. Runs without a surrounding transaction so no connection is held while the
+     * password is hashed, and a taken username or email is rejected before paying for the hash.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(String username, String email, String firstName, 
                           String lastName, String password, UserRole role) {
         
-        if (userRepository.existsByUsername(username)) {
+        List<User> existing = userRepository.findByUsernameInOrEmailIn(Set.of(username), Set.of(email));
+        if (existing.stream().anyMatch(user -> user.getUsername().equals(username))) {
             throw new UserAlreadyExistsException("Username already exists: " + username);
         }
-        
-        if (userRepository.existsByEmail(email)) {
+        if (!existing.isEmpty()) {
             throw new UserAlreadyExistsException("Email already exists: " + email);
         }
         
         String passwordHash = passwordEncoder.encode(password);
         User user = new User(username, email, firstName, lastName, passwordHash, role);
         
-        return userRepository.save(user);
+        // The unique constraints still catch a user created concurrently since the check
+        User created = userRepository.insert(user);
+        typeaheadIndex.indexUser(created);
+        return created;
+    }
+    
+    /**
+     * Creates many users at once and reports the outcome per user, in request order. Usernames and
+     * emails are checked for the whole batch in one query, passwords are hashed in parallel and the
+     * rows are inserted with batched statements. Runs without a surrounding transaction so no
+     * connection is held while hashing; the insert commits once.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UserCreationResult> createUsers(List<NewUser> newUsers) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (NewUser newUser : newUsers) {
+            usernames.add(newUser.username());
+            emails.add(newUser.email());
+        }
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (User existing : userRepository.findByUsernameInOrEmailIn(usernames, emails)) {
+            takenUsernames.add(existing.getUsername());
+            takenEmails.add(existing.getEmail());
+        }
+        
+        // Existing users and earlier rows of the same batch both make a row fail
+        UserCreationResult[] results = new UserCreationResult[newUsers.size()];
+        List<Integer> accepted = new ArrayList<>(newUsers.size());
+        for (int i = 0; i < newUsers.size(); i++) {
+            NewUser newUser = newUsers.get(i);
+            if (takenUsernames.contains(newUser.username())) {
+                results[i] = UserCreationResult.failed("Username already exists: " + newUser.username());
+            } else if (takenEmails.contains(newUser.email())) {
+                results[i] = UserCreationResult.failed("Email already exists: " + newUser.email());
+            } else {
+                takenUsernames.add(newUser.username());
+                takenEmails.add(newUser.email());
+                accepted.add(i);
+            }
+        }
+        
+        if (!accepted.isEmpty()) {
+            List<String> hashes = bulkPasswordEncoder.encodeAll(
+                    accepted.stream().map(i -> newUsers.get(i).password()).toList());
+            List<User> users = new ArrayList<>(accepted.size());
+            for (int j = 0; j < accepted.size(); j++) {
+                NewUser newUser = newUsers.get(accepted.get(j));
+                users.add(new User(newUser.username(), newUser.email(), newUser.firstName(), newUser.lastName(),
+                        hashes.get(j), newUser.role()));
+            }
+            
+            boolean[] inserted = userRepository.insertAll(users);
+            for (int j = 0; j < users.size(); j++) {
+                User user = users.get(j);
+                if (inserted[j]) {
+                    typeaheadIndex.indexUser(user);
+                    results[accepted.get(j)] = UserCreationResult.created(user);
+                } else {
+                    // Username taken by a concurrent request since the check
+                    results[accepted.get(j)] = UserCreationResult.failed(
+                            "Username already exists: " + user.getUsername());
+                }
+            }
+        }
+        return List.of(results);
     }
     
     @Transactional(readOnly = true)
@@ -46,6 +136,16 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
     }
     
+    /**
+     * Current version of the user, read without loading it, to check whether a copy the client
+     * already has is still current.
+     */
+    @Transactional(readOnly = true)
+    public long getUserVersion(UUID id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+    }
+    
     @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
@@ -57,43 +157,70 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
     
-    public User updateUser(UUID id, String email, String firstName, String lastName, UserRole role, Boolean isActive) {
-        User user = getUserById(id);
-        
-        if (email != null && !email.equals(user.getEmail())) {
-            if (userRepository.existsByEmailAndIdNot(email, id)) {
-                throw new UserAlreadyExistsException("Email already exists: " + email);
-            }
-        }
-        
-        user.updateProfile(email, firstName, lastName);
-        
-        if (role != null) {
-            user.updateRole(role);
-        }
-        
-        if (isActive != null) {
-            if (isActive) {
-                user.activate();
-            } else {
-                user.deactivate();
-            }
+    @Transactional(readOnly = true)
+    public Slice<User> getUserSlice(Pageable pageable) {
+        return userRepository.findSlice(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public long estimateUserCount() {
+        return userRepository.estimateCount();
+    }
+    
+    @Transactional(readOnly = true)
+    public Window<User> scrollUsers(KeysetScrollPosition position, Sort sort, int limit) {
+        return userRepository.scroll(position, sort, limit);
+    }
+    
+    /**
+     * Streams every user to the action. The transaction, and its connection, stays open until
+     * the last row has been handed over, at most for the configured export duration
+     * ({@code app.export.max-duration}).
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<User> action) {
+        userRepository.forEach(action);
+    }
+    
+    /**
+     * Applies the non-null fields. With an expected version the update is only applied while the
+     * user is still at that version, without reading or locking it beforehand.
+     */
+    public User updateUser(UUID id, String email, String firstName, String lastName, UserRole role, Boolean isActive,
+                           Long expectedVersion) {
+        // Existence comes from the affected row, email uniqueness from the unique constraint
+        User updated = userRepository.update(id, email, firstName, lastName, role, isActive, expectedVersion)
+                .orElseThrow(() -> notUpdated(id, expectedVersion));
+        typeaheadIndex.indexUser(updated);
+        authenticationCache.evict(id);
+        return updated;
+    }
+    
+    // Only looked up once no row matched, so successful updates still take a single statement
+    private RuntimeException notUpdated(UUID id, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.findVersionById(id).isPresent()) {
+            return new UserVersionConflictException("User " + id + " is no longer at version " + expectedVersion);
         }
-        
-        return userRepository.save(user);
+        return new UserNotFoundException("User not found with id: " + id);
     }
     
     public void deleteUser(UUID id) {
-        if (!userRepository.findById(id).isPresent()) {
+        if (!userRepository.deleteById(id)) {
             throw new UserNotFoundException("User not found with id: " + id);
         }
-        userRepository.deleteById(id);
+        typeaheadIndex.remove(id);
+        authenticationCache.evict(id);
     }
     
+    /**
+     * Runs without a surrounding transaction so no connection is held while the password is hashed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void changePassword(UUID id, String newPassword) {
-        User user = getUserById(id);
         String newPasswordHash = passwordEncoder.encode(newPassword);
-        user.changePassword(newPasswordHash);
-        userRepository.save(user);
+        if (!userRepository.updatePasswordHash(id, newPasswordHash)) {
+            throw new UserNotFoundException("User not found with id: " + id);
+        }
+        authenticationCache.evict(id);
     }
 }
\ No newline at end of file
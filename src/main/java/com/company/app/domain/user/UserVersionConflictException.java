@@ -0,0 +1,15 @@
+package com.company.app.domain.user;
+
+/**
+ * Exception thrown when a conditional update finds the user at a different version than expected
+ */
+public class UserVersionConflictException extends RuntimeException {
+    
+    public UserVersionConflictException(String message) {
+        super(message);
+    }
+    
+    public UserVersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
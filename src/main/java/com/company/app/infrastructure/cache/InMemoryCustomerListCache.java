@@ -0,0 +1,124 @@
+package com.company.app.infrastructure.cache;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerListCache;
+import com.company.app.domain.customer.CustomerStatus;
+import com.company.app.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of customer list pages.
+ * Every filter is a tag with a generation; entries remember the generation they were loaded at and
+ * evicting a tag moves it on, so a page loaded concurrently with a write is never served afterwards.
+ * Pages are always loaded from the primary database.
+ */
+@Component
+public class InMemoryCustomerListCache implements CustomerListCache {
+    
+    private final Cache<Key, Entry> entries;
+    private final Cache<Filter, Long> generations;
+    private final AtomicLong clock = new AtomicLong();
+    
+    public InMemoryCustomerListCache(@Value("${app.customers.list-cache.maximum-size:1000}") long maximumSize,
+                                     @Value("${app.customers.list-cache.time-to-live:PT30S}") Duration timeToLive,
+                                     MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        // A tag dropped here comes back with a newer generation, which only turns its entries into misses
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(timeToLive)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "customer-lists");
+    }
+    
+    @Override
+    public Page<Customer> getPage(CustomerStatus status, String industry, Pageable pageable,
+                                  Supplier<Page<Customer>> loader) {
+        return get(new Key(new Filter(status, industry), pageable, true), loader);
+    }
+    
+    @Override
+    public Slice<Customer> getSlice(CustomerStatus status, String industry, Pageable pageable,
+                                    Supplier<Slice<Customer>> loader) {
+        return get(new Key(new Filter(status, industry), pageable, false), loader);
+    }
+    
+    @Override
+    public void evict(CustomerStatus status, String industry) {
+        invalidate(filter -> filter.contains(status, industry));
+    }
+    
+    @Override
+    public void evictAll() {
+        invalidate(filter -> true);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Supplier<T> loader) {
+        // Read before loading, so an eviction during the load leaves the entry behind
+        long generation = generations.get(key.filter(), filter -> clock.incrementAndGet());
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.generation() == generation) {
+            return (T) entry.value();
+        }
+        // A lagging replica could hand back a list the eviction was meant to drop
+        T value = ReplicaRoutingDataSource.readFromPrimary(loader);
+        entries.put(key, new Entry(generation, value));
+        return value;
+    }
+    
+    private void invalidate(Predicate<Filter> affected) {
+        invalidateNow(affected);
+        // Again after commit so a list loaded while the change was uncommitted is not served
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(affected);
+                }
+            });
+        }
+    }
+    
+    private void invalidateNow(Predicate<Filter> affected) {
+        generations.asMap().replaceAll((filter, generation) -> affected.test(filter) ? clock.incrementAndGet() : generation);
+        entries.asMap().keySet().removeIf(key -> affected.test(key.filter()));
+    }
+    
+    /**
+     * Status and industry a list is filtered by, null for no filter.
+     */
+    private record Filter(CustomerStatus status, String industry) {
+        
+        boolean contains(CustomerStatus customerStatus, String customerIndustry) {
+            return (status == null || status == customerStatus)
+                    && (industry == null || Objects.equals(industry, customerIndustry));
+        }
+    }
+    
+    private record Key(Filter filter, Pageable pageable, boolean counted) {
+    }
+    
+    private record Entry(long generation, Object value) {
+    }
+}
\ No newline at end of file
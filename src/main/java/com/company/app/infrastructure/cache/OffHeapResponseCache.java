@@ -0,0 +1,176 @@
+package com.company.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serialized responses kept outside the heap, so even millions of them add nothing for the
+ * garbage collector to copy or scan but a small index entry each. Bytes are appended to fixed-size
+ * direct buffer slabs; once every slab is allocated the oldest one is recycled with all entries in it.
+ * Each entry is stored with an optional gzipped variant and the resource's version, and only a lookup
+ * with the same version hits.
+ */
+public class OffHeapResponseCache implements MeterBinder {
+    
+    private final int slabSize;
+    private final int maxEntrySize;
+    private final ByteBuffer[] slabs;
+    private final List<List<UUID>> slabKeys;
+    // Moved on whenever a slab is recycled, invalidating every entry written to it before
+    private final AtomicLongArray slabGenerations;
+    private final Map<UUID, Entry> index = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Not a monitor, so virtual threads storing responses do not pin their carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    private volatile int allocatedSlabs;
+    private int currentSlab = -1;
+    private int writeOffset;
+    
+    /**
+     * @param capacity total off-heap bytes, rounded down to whole slabs
+     * @param maxEntrySize largest response, both variants together, that is cached
+     */
+    public OffHeapResponseCache(long capacity, int slabSize, int maxEntrySize) {
+        if (maxEntrySize > slabSize) {
+            throw new IllegalArgumentException("Entries of " + maxEntrySize + " bytes do not fit in a " + slabSize + " byte slab");
+        }
+        int slabCount = (int) Math.max(1, capacity / slabSize);
+        this.slabSize = slabSize;
+        this.maxEntrySize = maxEntrySize;
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabKeys = new ArrayList<>(slabCount);
+        for (int i = 0; i < slabCount; i++) {
+            slabKeys.add(new ArrayList<>());
+        }
+        this.slabGenerations = new AtomicLongArray(slabCount);
+    }
+    
+    public int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+    
+    /**
+     * Copies the cached response into the buffer, which must hold {@link #getMaxEntrySize()} bytes.
+     *
+     * @param gzipped whether the gzipped variant is wanted
+     * @return the number of bytes copied, or -1 when nothing is cached for this version and variant
+     */
+    public int get(UUID key, long version, boolean gzipped, byte[] buffer) {
+        Entry entry = index.get(key);
+        if (entry == null || entry.version() != version || (gzipped && entry.gzipLength() == 0)
+                || slabGenerations.get(entry.slab()) != entry.generation()) {
+            misses.increment();
+            return -1;
+        }
+        int offset = gzipped ? entry.offset() + entry.length() : entry.offset();
+        int length = gzipped ? entry.gzipLength() : entry.length();
+        slabs[entry.slab()].get(offset, buffer, 0, length);
+        // The slab may have been recycled while copying; the bytes only count if it was not
+        VarHandle.acquireFence();
+        if (slabGenerations.get(entry.slab()) != entry.generation()) {
+            misses.increment();
+            return -1;
+        }
+        hits.increment();
+        return length;
+    }
+    
+    /**
+     * Stores the response for this version, replacing any other version. Responses larger than
+     * the maximum entry size are not cached.
+     *
+     * @param gzipped the gzipped variant, or null to store the plain one only
+     */
+    public void put(UUID key, long version, byte[] body, byte[] gzipped) {
+        int gzipLength = gzipped != null ? gzipped.length : 0;
+        if (body.length + gzipLength > maxEntrySize) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (currentSlab < 0 || writeOffset + body.length + gzipLength > slabSize) {
+                nextSlab();
+            }
+            ByteBuffer slab = slabs[currentSlab];
+            slab.put(writeOffset, body);
+            if (gzipped != null) {
+                slab.put(writeOffset + body.length, gzipped);
+            }
+            // Publishing through the index makes the bytes visible to readers
+            index.put(key, new Entry(version, currentSlab, slabGenerations.get(currentSlab), writeOffset,
+                    body.length, gzipLength));
+            slabKeys.get(currentSlab).add(key);
+            writeOffset += body.length + gzipLength;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public void invalidate(UUID key) {
+        index.remove(key);
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", "customer-responses", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", "customer-responses", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tags("cache", "customer-responses")
+                .register(registry);
+        Gauge.builder("cache.size", index, Map::size)
+                .tags("cache", "customer-responses")
+                .register(registry);
+        Gauge.builder("cache.offheap.bytes", this, cache -> (double) cache.allocatedSlabs * cache.slabSize)
+                .tags("cache", "customer-responses")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+    
+    private void nextSlab() {
+        currentSlab = (currentSlab + 1) % slabs.length;
+        writeOffset = 0;
+        if (allocatedSlabs < slabs.length) {
+            slabs[currentSlab] = ByteBuffer.allocateDirect(slabSize);
+            allocatedSlabs++;
+            return;
+        }
+        // Recycle: invalidate before overwriting, so readers copying from the slab notice
+        int slab = currentSlab;
+        long generation = slabGenerations.getAndIncrement(slab);
+        VarHandle.storeStoreFence();
+        List<UUID> keys = slabKeys.get(slab);
+        for (UUID key : keys) {
+            index.computeIfPresent(key, (k, entry) -> {
+                if (entry.slab() == slab && entry.generation() == generation) {
+                    evictions.increment();
+                    return null;
+                }
+                return entry;
+            });
+        }
+        keys.clear();
+    }
+    
+    private record Entry(long version, int slab, long generation, int offset, int length, int gzipLength) {
+    }
+}
\ No newline at end of file
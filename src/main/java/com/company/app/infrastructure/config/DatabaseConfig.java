@@ -1,9 +1,53 @@
 package com.company.app.infrastructure.config;
 
+import com.company.app.infrastructure.persistence.ConnectionLimitingDataSource;
+import com.company.app.infrastructure.persistence.CustomerEntity;
+import com.company.app.infrastructure.persistence.QueryProfiler;
+import com.company.app.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.company.app.infrastructure.persistence.StatementCountingDataSource;
+import com.company.app.infrastructure.persistence.UserEntity;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
 /**
  * Database configuration
  */
@@ -11,4 +55,176 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableJpaRepositories(basePackages = "com.company.app.infrastructure.persistence")
 @EnableTransactionManagement
 public class DatabaseConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
+    
+    // The one JPA and the JDBC templates use, whether created by Spring Boot or by this class
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+    
+    private static final List<String> ENTITY_CACHE_REGIONS = List.of(
+            CustomerEntity.CACHE_REGION, CustomerEntity.NATURAL_ID_CACHE_REGION,
+            UserEntity.CACHE_REGION, UserEntity.NATURAL_ID_CACHE_REGION);
+    
+    /**
+     * Bounded Caffeine caches backing Hibernate's second-level cache, one per entity and natural id
+     * region. Hits, misses and evictions are published as {@code cache.*} metrics tagged with the region.
+     */
+    @Bean(destroyMethod = "close")
+    CacheManager entityCacheManager(@Value("${app.persistence.entity-cache.maximum-size:10000}") long maximumSize,
+                                    @Value("${app.persistence.entity-cache.time-to-live:PT10M}") Duration timeToLive,
+                                    MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : ENTITY_CACHE_REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            configuration.setNativeStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            if (cache == null) {
+                cache = cacheManager.createCache(region, configuration);
+            }
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                    cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, region);
+        }
+        return cacheManager;
+    }
+    
+    /**
+     * Enables the second-level cache for the entities annotated with {@code @Cache}, backed by
+     * {@link #entityCacheManager}. Regions that were not created there fail startup instead of
+     * silently getting an unbounded cache.
+     */
+    @Bean
+    HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+    
+    /**
+     * On virtual threads, where the number of concurrent requests is no longer capped by the
+     * servlet thread pool, lets at most as many callers into the connection pool as it has
+     * connections. Permits are waited for up to the pool's connection timeout.
+     * The application's data source then counts, and profiles, the statements executed through it,
+     * which is done last so this covers whatever the data source routes to.
+     */
+    @Bean
+    static BeanPostProcessor dataSourcePostProcessor(Environment environment,
+                                                     ObjectProvider<QueryProfiler> queryProfiler) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean countStatements = environment.getProperty("app.persistence.statement-budget.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Object processed = bean;
+                if (virtualThreads && bean instanceof HikariDataSource pool) {
+                    processed = limitConnections(pool, beanName);
+                }
+                if (countStatements && APPLICATION_DATA_SOURCE.equals(beanName)) {
+                    processed = new StatementCountingDataSource((DataSource) processed, queryProfiler.getIfAvailable());
+                }
+                return processed;
+            }
+        };
+    }
+    
+    /**
+     * Aggregates statements by shape for {@code /actuator/queries}. Needs statement counting.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.persistence.query-profiler.enabled", havingValue = "true", matchIfMissing = true)
+    static QueryProfiler queryProfiler(
+            @Value("${app.persistence.query-profiler.max-shapes:1000}") int maxShapes,
+            @Value("${app.persistence.query-profiler.sql-comments:false}") boolean sqlComments) {
+        return new QueryProfiler(maxShapes, sqlComments);
+    }
+    
+    /**
+     * The primary's connection pool, configured from {@code spring.datasource} like the one Spring Boot
+     * creates when replicas are disabled. Migrations always run here.
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnProperty(name = "app.persistence.read-replicas.enabled", havingValue = "true")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    /**
+     * Routes read-only transactions to one pool per replica URL and everything else to the primary.
+     * Replica pools copy the primary's settings and credentials, and on virtual threads are limited
+     * like the primary.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.persistence.read-replicas.enabled", havingValue = "true")
+    ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Value("${app.persistence.read-replicas.urls}") String[] replicaUrls,
+                                               @Value("${app.persistence.read-replicas.read-your-writes:PT5S}") Duration readYourWrites,
+                                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                               MeterRegistry meterRegistry) throws SQLException {
+        HikariConfig primaryConfig = primaryDataSource.unwrap(HikariConfig.class);
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariConfig config = new HikariConfig();
+            primaryConfig.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            HikariDataSource pool = new HikariDataSource(config);
+            if (virtualThreads) {
+                // Not a bean, so not bound to the registry like the primary's
+                ConnectionLimitingDataSource limited = limitConnections(pool, config.getPoolName());
+                limited.bindTo(meterRegistry);
+                replicas.add(limited);
+            } else {
+                replicas.add(pool);
+            }
+        }
+        logger.info("Routing read-only transactions to {} replica(s), read-your-writes window {}",
+                replicas.size(), readYourWrites);
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, DatabaseConfig::currentClient, readYourWrites);
+    }
+    
+    /**
+     * The data source used by JPA and JDBC when replicas are enabled. Connections are only taken
+     * from the routing data source at the first statement, once the transaction's read-only flag
+     * is known.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.persistence.read-replicas.enabled", havingValue = "true")
+    DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+    
+    /**
+     * @param name the pool's name for metrics, unless it was configured with one, which Hikari tags its own with
+     */
+    private static ConnectionLimitingDataSource limitConnections(HikariDataSource pool, String name) {
+        String poolName = pool.getPoolName() != null ? pool.getPoolName() : name;
+        logger.info("Limiting concurrent database access to {} connections of pool {}",
+                pool.getMaximumPoolSize(), poolName);
+        return new ConnectionLimitingDataSource(pool, poolName, pool.getMaximumPoolSize(),
+                Duration.ofMillis(pool.getConnectionTimeout()));
+    }
+    
+    /**
+     * The authenticated user for read-your-writes, null for anonymous and background work.
+     */
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.company.app.infrastructure.config;
+
+import com.company.app.domain.customer.CustomerRepository;
+import com.company.app.domain.user.UserRepository;
+import com.company.app.infrastructure.metrics.MethodTimingPostProcessor;
+import com.company.app.infrastructure.metrics.MethodTimingPostProcessor.Layer;
+import com.company.app.infrastructure.metrics.QueryProfilerEndpoint;
+import com.company.app.infrastructure.persistence.QueryProfiler;
+import com.company.app.infrastructure.web.mapper.CustomerMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Metrics configuration
+ */
+@Configuration
+public class MetricsConfig {
+    
+    private static final String USE_CASE_PACKAGE = "com.company.app.application";
+    
+    /**
+     * Times use cases as {@code app.use-case}, repository port methods as {@code app.repository}
+     * and web mappers as {@code app.mapper}, each with a percentile histogram, along with the SQL
+     * statements they execute while statements are counted. Repository methods are also the origin
+     * the query profiler reports. When disabled the beans are not proxied at all.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.metrics.layer-timers.enabled", havingValue = "true", matchIfMissing = true)
+    static MethodTimingPostProcessor layerTimingPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.persistence.statement-budget.enabled:true}") boolean countStatements,
+            @Value("${app.persistence.query-profiler.enabled:true}") boolean profileQueries) {
+        return new MethodTimingPostProcessor(meterRegistry, List.of(
+                new Layer("app.use-case", type -> type.getPackageName().startsWith(USE_CASE_PACKAGE)
+                        && type.getSimpleName().endsWith("UseCase") ? type : null, false),
+                new Layer("app.repository", MetricsConfig::repositoryPort, countStatements && profileQueries),
+                new Layer("app.mapper", type -> type.getPackageName().equals(CustomerMapper.class.getPackageName())
+                        ? type : null, false)),
+                countStatements);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "app.persistence.query-profiler.enabled", havingValue = "true", matchIfMissing = true)
+    QueryProfilerEndpoint queryProfilerEndpoint(QueryProfiler queryProfiler) {
+        return new QueryProfilerEndpoint(queryProfiler);
+    }
+    
+    private static Class<?> repositoryPort(Class<?> type) {
+        if (CustomerRepository.class.isAssignableFrom(type)) {
+            return CustomerRepository.class;
+        }
+        if (UserRepository.class.isAssignableFrom(type)) {
+            return UserRepository.class;
+        }
+        return null;
+    }
+}
\ No newline at end of file
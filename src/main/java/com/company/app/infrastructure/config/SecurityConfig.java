@@ -1,22 +1,42 @@
 package com.company.app.infrastructure.config;
 
+import com.company.app.domain.user.UserAuthenticationCache;
+import com.company.app.domain.user.UserRepository;
+import com.company.app.infrastructure.security.AuthenticationCacheEvictor;
+import com.company.app.infrastructure.security.BoundedPasswordEncoder;
+import com.company.app.infrastructure.security.CachingAuthenticationProvider;
+import com.company.app.infrastructure.security.CachingUserDetailsService;
+import com.company.app.infrastructure.security.JwtAuthenticationFilter;
+import com.company.app.infrastructure.security.JwtTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -32,37 +52,111 @@ public class SecurityConfig {
     @Value("${spring.security.user.password:admin123}")
     private String password;
 
+    @Value("${app.security.basic-auth.enabled:false}")
+    private boolean basicAuthEnabled;
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtTokenService jwtTokenService,
+                                           AuthenticationManager authenticationManager) throws Exception {
+        AuthenticationEntryPoint entryPoint = authenticationEntryPoint();
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .httpBasic(httpBasic -> {})
+            .authenticationManager(authenticationManager)
+            .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(entryPoint))
+            // Bearer tokens are verified without password hashing; credentials are checked once at /auth/token
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenService, entryPoint), BasicAuthenticationFilter.class)
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/v1/auth/token").permitAll()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                // Metrics, migrations and the query profiler, which can also be reset, are for operators only
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .anyRequest().authenticated()
             );
 
+        // HTTP Basic verifies the password hash on every cache miss, so it is only an opt-in fallback
+        if (basicAuthEnabled) {
+            http.httpBasic(httpBasic -> httpBasic.authenticationEntryPoint(entryPoint));
+        }
+
         return http.build();
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
-        UserDetails user = User.builder()
+    public AuthenticationManager authenticationManager(CachingAuthenticationProvider credentialCache) {
+        return new ProviderManager(credentialCache);
+    }
+
+    /**
+     * Password verification with a short-lived cache of already verified credentials, so repeated
+     * Basic requests and token exchanges skip BCrypt
+     */
+    @Bean
+    public CachingAuthenticationProvider credentialCache(
+            CachingUserDetailsService userDetailsService, PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${app.security.credential-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.credential-cache.time-to-live:PT5M}") Duration timeToLive) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        // Rehash on login when the stored hash used a lower work factor than the calibrated one
+        provider.setUserDetailsPasswordService(userDetailsService);
+        return new CachingAuthenticationProvider(provider, maximumSize, timeToLive, meterRegistry);
+    }
+
+    private AuthenticationEntryPoint authenticationEntryPoint() {
+        return (request, response, authException) -> {
+            response.addHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            if (basicAuthEnabled) {
+                response.addHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"user-management-app\"");
+            }
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), HttpStatus.UNAUTHORIZED.getReasonPhrase());
+        };
+    }
+
+    /**
+     * Principals from the users table, cached in process. The configured account remains available
+     * as a bootstrap login for usernames that are not in the table.
+     */
+    @Bean
+    public CachingUserDetailsService userDetailsService(
+            UserRepository userRepository, PasswordEncoder passwordEncoder,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.security.user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.user-cache.time-to-live:PT5M}") Duration timeToLive) {
+        UserDetails bootstrapUser = User.builder()
                 .username(username)
-                .password(passwordEncoder().encode(password))
+                .password(passwordEncoder.encode(password))
                 .roles("USER", "ADMIN")
                 .build();
 
-        return new InMemoryUserDetailsManager(user);
+        return new CachingUserDetailsService(userRepository, new InMemoryUserDetailsManager(bootstrapUser),
+                new TransactionTemplate(transactionManager), maximumSize, timeToLive, meterRegistry);
+    }
+
+    @Bean
+    public UserAuthenticationCache userAuthenticationCache(CachingUserDetailsService userDetailsService,
+                                                           CachingAuthenticationProvider credentialCache) {
+        return new AuthenticationCacheEvictor(userDetailsService, credentialCache);
     }
 
+    /**
+     * BCrypt on a dedicated bounded pool, so bursts of sign-ups and logins cannot take every request
+     * thread. Without a fixed strength the work factor is calibrated against the target time at startup.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.password-hashing.target-time:PT0.25S}") Duration targetTime,
+            @Value("${app.security.password-hashing.min-strength:10}") int minStrength,
+            @Value("${app.security.password-hashing.max-strength:14}") int maxStrength,
+            @Value("${app.security.password-hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int strength = BoundedPasswordEncoder.calibrate(targetTime, minStrength, maxStrength);
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -71,6 +165,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(HttpHeaders.ETAG));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
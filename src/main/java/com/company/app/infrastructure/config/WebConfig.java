@@ -0,0 +1,44 @@
+package com.company.app.infrastructure.config;
+
+import com.company.app.infrastructure.cache.OffHeapResponseCache;
+import com.company.app.infrastructure.web.CustomerResponseCacheInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC configuration
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CustomerResponseCacheInterceptor customerResponseCacheInterceptor;
+
+    @Value("${app.customers.response-cache.enabled:true}")
+    private boolean customerResponseCacheEnabled;
+
+    public WebConfig(CustomerResponseCacheInterceptor customerResponseCacheInterceptor) {
+        this.customerResponseCacheInterceptor = customerResponseCacheInterceptor;
+    }
+
+    /**
+     * Slabs are allocated on first use, so a disabled cache reserves no memory.
+     */
+    @Bean
+    public static OffHeapResponseCache customerResponseCache(
+            @Value("${app.customers.response-cache.capacity:64MB}") DataSize capacity,
+            @Value("${app.customers.response-cache.slab-size:1MB}") DataSize slabSize,
+            @Value("${app.customers.response-cache.max-entry-size:16KB}") DataSize maxEntrySize) {
+        return new OffHeapResponseCache(capacity.toBytes(), (int) slabSize.toBytes(), (int) maxEntrySize.toBytes());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (customerResponseCacheEnabled) {
+            registry.addInterceptor(customerResponseCacheInterceptor).addPathPatterns("/api/v1/customers/*");
+        }
+    }
+}
\ No newline at end of file
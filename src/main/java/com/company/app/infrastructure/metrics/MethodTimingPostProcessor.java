@@ -0,0 +1,182 @@
+package com.company.app.infrastructure.metrics;
+
+import com.company.app.infrastructure.persistence.QueryProfiler;
+import com.company.app.infrastructure.persistence.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Times the public methods of the beans in the given layers, one timer per layer tagged with the
+ * class, the method and the exception thrown, if any. Optionally the SQL statements each call
+ * executes are recorded as well, as {@code <layer>.statements} and {@code <layer>.jdbc}, and layers
+ * can name themselves as the origin of their statements in the {@link QueryProfiler}. Runs after
+ * the other proxy creators, so the time spent in their advice, such as transactions, is included.
+ * Beans outside the layers are not proxied, so there is nothing to pay for them or when this post
+ * processor is not registered.
+ */
+public class MethodTimingPostProcessor implements BeanPostProcessor, Ordered {
+    
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final List<Layer> layers;
+    private final boolean countStatements;
+    
+    /**
+     * @param countStatements whether to record statements too, which needs them to be counted in the
+     *                        {@link StatementCounter}
+     */
+    public MethodTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, List<Layer> layers,
+                                     boolean countStatements) {
+        this.meterRegistry = meterRegistry;
+        this.layers = List.copyOf(layers);
+        this.countStatements = countStatements;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        for (Layer layer : layers) {
+            Class<?> timedType = layer.timedType().apply(targetClass);
+            if (timedType != null) {
+                return timed(bean, layer, timedType);
+            }
+        }
+        return bean;
+    }
+    
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+    
+    private Object timed(Object bean, Layer layer, Class<?> timedType) {
+        Set<String> methodNames = Arrays.stream(timedType.getDeclaredMethods())
+                .filter(method -> Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()))
+                .map(Method::getName)
+                .collect(Collectors.toUnmodifiableSet());
+        Advisor advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class && methodNames.contains(method.getName());
+            }
+        }, new TimingInterceptor(meterRegistry.getObject(), layer.metricName(), timedType.getSimpleName(),
+                countStatements, layer.queryOrigin()));
+        if (bean instanceof Advised advised) {
+            if (!advised.isFrozen()) {
+                // Outermost, so the timer sees what callers see
+                advised.addAdvisor(0, advisor);
+            }
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        // Use cases and mappers are injected by class
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy();
+    }
+    
+    /**
+     * @param metricName the name of the layer's timer
+     * @param timedType the type whose public methods are timed for beans of the given class, which may
+     *                  be an interface it implements, or null when the class is not in the layer
+     * @param queryOrigin whether statements are profiled as coming from the layer's methods
+     */
+    public record Layer(String metricName, Function<Class<?>, Class<?>> timedType, boolean queryOrigin) {
+    }
+    
+    private static final class TimingInterceptor implements MethodInterceptor {
+        
+        private final MeterRegistry registry;
+        private final String metricName;
+        private final String className;
+        private final boolean countStatements;
+        private final boolean queryOrigin;
+        // Meters of calls that returned normally, the common case, so it does not go through the registry
+        private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+        
+        TimingInterceptor(MeterRegistry registry, String metricName, String className, boolean countStatements,
+                          boolean queryOrigin) {
+            this.registry = registry;
+            this.metricName = metricName;
+            this.className = className;
+            this.countStatements = countStatements;
+            this.queryOrigin = queryOrigin;
+        }
+        
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            Meters succeeded = meters.computeIfAbsent(method, m -> meters(m, "none"));
+            String previousOrigin = queryOrigin ? QueryProfiler.enterOrigin(succeeded.origin()) : null;
+            StatementCounter.Snapshot statements = countStatements ? StatementCounter.snapshot() : null;
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                succeeded.record(start, statements);
+                return result;
+            } catch (Throwable ex) {
+                meters(method, ex.getClass().getSimpleName()).record(start, statements);
+                throw ex;
+            } finally {
+                if (queryOrigin) {
+                    QueryProfiler.exitOrigin(previousOrigin);
+                }
+            }
+        }
+        
+        private Meters meters(Method method, String exception) {
+            String[] tags = {"class", className, "method", method.getName(), "exception", exception};
+            Timer timer = Timer.builder(metricName)
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            String origin = className + "." + method.getName();
+            if (!countStatements) {
+                return new Meters(origin, timer, null, null);
+            }
+            return new Meters(origin, timer,
+                    DistributionSummary.builder(metricName + ".statements")
+                            .tags(tags)
+                            .publishPercentileHistogram()
+                            .register(registry),
+                    Timer.builder(metricName + ".jdbc")
+                            .tags(tags)
+                            .publishPercentileHistogram()
+                            .register(registry));
+        }
+    }
+    
+    private record Meters(String origin, Timer timer, DistributionSummary statements, Timer jdbc) {
+        
+        void record(long start, StatementCounter.Snapshot statementsAtStart) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (statementsAtStart != null) {
+                StatementCounter.Snapshot executed = StatementCounter.snapshot().since(statementsAtStart);
+                statements.record(executed.statements());
+                jdbc.record(executed.nanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.company.app.infrastructure.metrics;
+
+import com.company.app.infrastructure.persistence.QueryProfiler;
+import com.company.app.infrastructure.persistence.QueryProfiler.QueryView;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/queries}: the SQL shapes that dominate database time, with the repository method
+ * and endpoint they come from. Sorted by total time unless {@code sort} names another column.
+ * A DELETE starts a new measurement.
+ */
+@Endpoint(id = "queries")
+public class QueryProfilerEndpoint {
+    
+    private static final int DEFAULT_LIMIT = 20;
+    
+    private static final Map<String, Comparator<QueryView>> ORDERS = Map.of(
+            "total", Comparator.comparingDouble(QueryView::totalMs),
+            "count", Comparator.comparingLong(QueryView::count),
+            "mean", Comparator.comparingDouble(QueryView::meanMs),
+            "p99", Comparator.comparingDouble(QueryView::p99Ms),
+            "rows", Comparator.comparingLong(QueryView::rows));
+    
+    private final QueryProfiler profiler;
+    
+    public QueryProfilerEndpoint(QueryProfiler profiler) {
+        this.profiler = profiler;
+    }
+    
+    @ReadOperation
+    public List<QueryView> queries(@Nullable String sort, @Nullable Integer limit) {
+        Comparator<QueryView> order = ORDERS.get(sort != null ? sort : "total");
+        if (order == null) {
+            throw new InvalidEndpointRequestException("Unknown sort " + sort + ", expected one of " + ORDERS.keySet(),
+                    "Unknown sort");
+        }
+        return profiler.top(order, limit != null ? Math.max(limit, 0) : DEFAULT_LIMIT);
+    }
+    
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
\ No newline at end of file
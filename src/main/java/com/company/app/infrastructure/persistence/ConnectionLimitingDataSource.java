@@ -0,0 +1,145 @@
+package com.company.app.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most as many callers into the connection pool as it has connections. With virtual
+ * threads every request can reach the pool at once and most would wait inside it until its
+ * connection timeout; here they wait in arrival order on a fair semaphore instead, and a
+ * connection is only requested from the pool once one is known to be free.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements MeterBinder, AutoCloseable {
+    
+    private final String pool;
+    private final Semaphore permits;
+    private final Duration timeout;
+    private volatile Timer waitTimer;
+    
+    /**
+     * @param pool the pool's name, which tags the metrics
+     * @param permits the pool's maximum size
+     * @param timeout how long to wait for a permit before failing like an exhausted pool would
+     */
+    public ConnectionLimitingDataSource(DataSource target, String pool, int permits, Duration timeout) {
+        super(target);
+        this.pool = pool;
+        this.permits = new Semaphore(permits, true);
+        this.timeout = timeout;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.connection.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.connection.permits.available", permits, Semaphore::availablePermits)
+                .description("Database connection permits not in use")
+                .tag("pool", pool)
+                .register(registry);
+        waitTimer = Timer.builder("db.connection.permits.wait")
+                .description("Time spent waiting for a database connection permit")
+                .tag("pool", pool)
+                .register(registry);
+    }
+    
+    /**
+     * Closes the pool when it is closeable. Replacing the pool's bean with this one also replaces
+     * the destroy method Spring infers for it.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+    
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+        }
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException(
+                    "No database connection available, request timed out after " + timeout.toMillis() + "ms");
+        }
+    }
+    
+    /**
+     * Wraps the connection so closing it, which returns it to the pool, also releases the permit.
+     * Closing twice releases only once.
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            if (!released.compareAndSet(false, true)) {
+                                return null;
+                            }
+                            try {
+                                connection.close();
+                            } finally {
+                                permits.release();
+                            }
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException ex) {
+                                throw ex.getTargetException();
+                            }
+                    }
+                });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.company.app.infrastructure.persistence;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Helpers for interpreting constraint violations reported by the database
+ */
+final class ConstraintViolations {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private ConstraintViolations() {}
+
+    /**
+     * Whether the exception was caused by a unique constraint violation on the given column.
+     * Matches both the PostgreSQL default constraint name ({@code <table>_<column>_key}) and
+     * the key detail ({@code (<column>)}) so it also works against H2.
+     */
+    static boolean isUniqueViolationOn(DataIntegrityViolationException ex, String column) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                String message = sqlException.getMessage();
+                if (message == null) {
+                    return false;
+                }
+                String normalized = message.toLowerCase(Locale.ROOT);
+                return normalized.contains("_" + column + "_key") || normalized.contains("(" + column);
+            }
+        }
+        return false;
+    }
+}
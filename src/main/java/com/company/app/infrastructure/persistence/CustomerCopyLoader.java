@@ -0,0 +1,158 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.domain.customer.Address;
+import com.company.app.domain.customer.Customer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk customer inserts through the PostgreSQL COPY protocol. A batch is streamed into a
+ * session-local staging table and merged into {@code customers} with one INSERT ... SELECT that
+ * skips rows whose email already exists, either in the table or earlier in the batch.
+ */
+@Component
+class CustomerCopyLoader {
+    
+    // Temporary, so it is private to the connection; emptied by every commit
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE IF NOT EXISTS customer_import (" +
+            "line BIGINT NOT NULL, id UUID NOT NULL, company_name VARCHAR(255), contact_person VARCHAR(255), " +
+            "email VARCHAR(255), phone VARCHAR(20), address_street VARCHAR(255), address_city VARCHAR(100), " +
+            "address_state VARCHAR(100), address_zip_code VARCHAR(20), address_country VARCHAR(100), " +
+            "industry VARCHAR(100), status VARCHAR(20), created_at TIMESTAMP WITH TIME ZONE, " +
+            "updated_at TIMESTAMP WITH TIME ZONE) ON COMMIT DELETE ROWS";
+    
+    private static final String COPY_SQL = "COPY customer_import (line, id, company_name, contact_person, email, " +
+            "phone, address_street, address_city, address_state, address_zip_code, address_country, industry, " +
+            "status, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    
+    // DISTINCT ON keeps the first row per email; later duplicates and existing emails are reported back
+    private static final String MERGE_SQL = "WITH inserted AS (" +
+            "INSERT INTO customers (id, company_name, contact_person, email, phone, address_street, address_city, " +
+            "address_state, address_zip_code, address_country, industry, status, created_at, updated_at) " +
+            "SELECT DISTINCT ON (email) id, company_name, contact_person, email, phone, address_street, address_city, " +
+            "address_state, address_zip_code, address_country, industry, status, created_at, updated_at " +
+            "FROM customer_import ORDER BY email, line " +
+            "ON CONFLICT (email) DO NOTHING RETURNING id) " +
+            "SELECT s.line FROM customer_import s WHERE NOT EXISTS (SELECT 1 FROM inserted i WHERE i.id = s.id) " +
+            "ORDER BY s.line";
+    
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    CustomerCopyLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Inserts the batch and returns the line numbers that were skipped because of a duplicate email.
+     * Must run inside a transaction so the staging rows are cleared on commit.
+     */
+    Set<Long> load(Map<Long, Customer> customersByLine) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<Long>>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new IllegalStateException("Bulk customer import requires PostgreSQL");
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_SQL);
+            }
+            copy(connection, customersByLine);
+            return merge(connection);
+        });
+    }
+    
+    private void copy(Connection connection, Map<Long, Customer> customersByLine) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+            for (Map.Entry<Long, Customer> entry : customersByLine.entrySet()) {
+                appendRow(buffer, entry.getKey(), entry.getValue());
+                if (buffer.length() >= FLUSH_THRESHOLD) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+    
+    private Set<Long> merge(Connection connection) throws SQLException {
+        Set<Long> skipped = new LinkedHashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(MERGE_SQL);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                skipped.add(resultSet.getLong(1));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            // Several batches may share one transaction
+            statement.execute("TRUNCATE customer_import");
+        }
+        return skipped;
+    }
+    
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+    
+    private static void appendRow(StringBuilder buffer, long line, Customer customer) {
+        Address address = customer.getAddress();
+        buffer.append(line).append(',').append(customer.getId());
+        appendField(buffer, customer.getCompanyName());
+        appendField(buffer, customer.getContactPerson());
+        appendField(buffer, customer.getEmail());
+        appendField(buffer, customer.getPhone());
+        appendField(buffer, address != null ? address.getStreet() : null);
+        appendField(buffer, address != null ? address.getCity() : null);
+        appendField(buffer, address != null ? address.getState() : null);
+        appendField(buffer, address != null ? address.getZipCode() : null);
+        appendField(buffer, address != null ? address.getCountry() : null);
+        appendField(buffer, customer.getIndustry());
+        appendField(buffer, customer.getStatus().name());
+        appendField(buffer, customer.getCreatedAt().toString());
+        appendField(buffer, customer.getUpdatedAt().toString());
+        buffer.append('\n');
+    }
+    
+    /**
+     * CSV field for COPY: null as an unquoted empty field, everything else quoted so an empty
+     * string stays distinct from null.
+     */
+    private static void appendField(StringBuilder buffer, String value) {
+        buffer.append(',');
+        if (value == null) {
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+}
\ No newline at end of file
@@ -4,8 +4,13 @@ import com.company.app.domain.customer.Address;
 import com.company.app.domain.customer.Customer;
 import com.company.app.domain.customer.CustomerStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -14,13 +19,20 @@ import java.util.UUID;
  * JPA entity for Customer persistence
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CustomerEntity.CACHE_REGION)
+@NaturalIdCache(region = CustomerEntity.NATURAL_ID_CACHE_REGION)
 @Table(name = "customers", uniqueConstraints = {
     @UniqueConstraint(columnNames = "email")
 })
-public class CustomerEntity {
+public class CustomerEntity implements Persistable<UUID> {
     
+    public static final String CACHE_REGION = "customers";
+    public static final String NATURAL_ID_CACHE_REGION = "customers-by-email";
+    
+    // Ids are always assigned by the domain, so new entities are flagged explicitly
+    // to let Spring Data persist them instead of merging (which selects first)
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @Column(name = "company_name", nullable = false, length = 255)
@@ -29,6 +41,7 @@ public class CustomerEntity {
     @Column(name = "contact_person", nullable = false, length = 255)
     private String contactPerson;
     
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 255)
     private String email;
     
@@ -53,6 +66,14 @@ public class CustomerEntity {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
     
+    // Checked by Hibernate on entity updates; native and JDBC updates bump it themselves
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
+    @Transient
+    private boolean isNew;
+    
     protected CustomerEntity() {}
     
     public CustomerEntity(Customer customer) {
@@ -66,35 +87,38 @@ public class CustomerEntity {
         this.status = customer.getStatus();
         this.createdAt = customer.getCreatedAt();
         this.updatedAt = customer.getUpdatedAt();
+        this.version = customer.getVersion();
+        this.isNew = true;
     }
     
-    public Customer toDomain() {
-        Customer customer = new Customer();
-        customer.setId(this.id);
-        customer.setCompanyName(this.companyName);
-        customer.setContactPerson(this.contactPerson);
-        customer.setEmail(this.email);
-        customer.setPhone(this.phone);
-        customer.setAddress(this.address != null ? this.address.toDomain() : null);
-        customer.setIndustry(this.industry);
-        customer.setStatus(this.status);
-        customer.setCreatedAt(this.createdAt);
-        customer.setUpdatedAt(this.updatedAt);
-        return customer;
+    @Override
+    public boolean isNew() {
+        return isNew;
     }
     
-    public void updateFromDomain(Customer customer) {
-        this.companyName = customer.getCompanyName();
-        this.contactPerson = customer.getContactPerson();
-        this.email = customer.getEmail();
-        this.phone = customer.getPhone();
-        this.address = customer.getAddress() != null ? new AddressEmbeddable(customer.getAddress()) : null;
-        this.industry = customer.getIndustry();
-        this.status = customer.getStatus();
-        this.updatedAt = customer.getUpdatedAt();
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+    
+    public Customer toDomain() {
+        return Customer.rehydrate(
+                this.id,
+                this.companyName,
+                this.contactPerson,
+                this.email,
+                this.phone,
+                this.address != null ? this.address.toDomain() : null,
+                this.industry,
+                this.status,
+                this.createdAt,
+                this.updatedAt,
+                this.version);
     }
     
     // Getters and setters
+    @Override
     public UUID getId() { return id; }
     public String getCompanyName() { return companyName; }
     public String getContactPerson() { return contactPerson; }
@@ -105,6 +129,7 @@ public class CustomerEntity {
     public CustomerStatus getStatus() { return status; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public long getVersion() { return version; }
     
     @Embeddable
     public static class AddressEmbeddable {
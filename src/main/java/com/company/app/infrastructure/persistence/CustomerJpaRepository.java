@@ -1,22 +1,51 @@
 package com.company.app.infrastructure.persistence;
 
+import com.company.app.domain.customer.Address;
 import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerAlreadyExistsException;
 import com.company.app.domain.customer.CustomerRepository;
 import com.company.app.domain.customer.CustomerStatus;
+import com.company.app.domain.customer.CustomerUpdateResult;
+import com.company.app.domain.customer.CustomerVersion;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * JPA repository interface for CustomerEntity
  */
 @Repository
 interface CustomerJpaRepositoryInterface extends JpaRepository<CustomerEntity, UUID> {
-    Optional<CustomerEntity> findByEmail(String email);
     Page<CustomerEntity> findByStatus(CustomerStatus status, Pageable pageable);
     Page<CustomerEntity> findByIndustry(String industry, Pageable pageable);
     Page<CustomerEntity> findByStatusAndIndustry(CustomerStatus status, String industry, Pageable pageable);
@@ -24,6 +53,50 @@ interface CustomerJpaRepositoryInterface extends JpaRepository<CustomerEntity, U
     boolean existsByEmail(String email);
     boolean existsByEmailAndIdNot(String email, UUID id);
     long countByStatus(CustomerStatus status);
+    long countByIndustry(String industry);
+    long countByStatusAndIndustry(CustomerStatus status, String industry);
+    Slice<CustomerEntity> findSliceBy(Pageable pageable);
+    Slice<CustomerEntity> findSliceByStatus(CustomerStatus status, Pageable pageable);
+    Slice<CustomerEntity> findSliceByIndustry(String industry, Pageable pageable);
+    Slice<CustomerEntity> findSliceByStatusAndIndustry(CustomerStatus status, String industry, Pageable pageable);
+    // Projections selecting only the id and version columns
+    Slice<CustomerVersion> findVersionsBy(Pageable pageable);
+    Slice<CustomerVersion> findVersionsByStatus(CustomerStatus status, Pageable pageable);
+    Slice<CustomerVersion> findVersionsByIndustry(String industry, Pageable pageable);
+    Slice<CustomerVersion> findVersionsByStatusAndIndustry(CustomerStatus status, String industry, Pageable pageable);
+    
+    @Query("SELECT c.version FROM CustomerEntity c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+    
+    @Modifying
+    @Query("DELETE FROM CustomerEntity c WHERE c.id IN :ids")
+    int deleteEntitiesByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    // Rows already in the target status are skipped so they are neither rewritten nor counted
+    @Modifying
+    @Query("UPDATE CustomerEntity c SET c.status = :status, c.updatedAt = :updatedAt, c.version = c.version + 1 " +
+            "WHERE c.id IN :ids AND c.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<UUID> ids, @Param("status") CustomerStatus status,
+                           @Param("updatedAt") Instant updatedAt);
+    
+    @Modifying
+    @Query("UPDATE CustomerEntity c SET c.status = :status, c.updatedAt = :updatedAt, c.version = c.version + 1 " +
+            "WHERE c.status = :currentStatus AND c.status <> :status")
+    int updateStatusByStatus(@Param("currentStatus") CustomerStatus currentStatus,
+                             @Param("status") CustomerStatus status, @Param("updatedAt") Instant updatedAt);
+    
+    @Modifying
+    @Query("UPDATE CustomerEntity c SET c.status = :status, c.updatedAt = :updatedAt, c.version = c.version + 1 " +
+            "WHERE c.industry = :industry AND c.status <> :status")
+    int updateStatusByIndustry(@Param("industry") String industry, @Param("status") CustomerStatus status,
+                               @Param("updatedAt") Instant updatedAt);
+    
+    @Modifying
+    @Query("UPDATE CustomerEntity c SET c.status = :status, c.updatedAt = :updatedAt, c.version = c.version + 1 " +
+            "WHERE c.status = :currentStatus AND c.industry = :industry AND c.status <> :status")
+    int updateStatusByStatusAndIndustry(@Param("currentStatus") CustomerStatus currentStatus,
+                                        @Param("industry") String industry, @Param("status") CustomerStatus status,
+                                        @Param("updatedAt") Instant updatedAt);
 }
 
 /**
@@ -33,33 +106,160 @@ interface CustomerJpaRepositoryInterface extends JpaRepository<CustomerEntity, U
 public class CustomerJpaRepository implements CustomerRepository {
     
     private final CustomerJpaRepositoryInterface jpaRepository;
+    // Each predicate is served by its own index (GIN tsvector, GIN trigram) and combined with a BitmapOr
+    private static final String SEARCH_SQL = "SELECT c.* FROM customers c, websearch_to_tsquery('english', :query) tsq " +
+            "WHERE c.search_vector @@ tsq " +
+            "OR :query <% c.search_text " +
+            "OR c.search_text LIKE :pattern ESCAPE '!' " +
+            "ORDER BY ts_rank_cd(c.search_vector, tsq) DESC, word_similarity(:query, c.search_text) DESC, c.id " +
+            "LIMIT :limit OFFSET :offset";
+    
+    private static final String EXPORT_SQL = "SELECT id, company_name, contact_person, email, phone, address_street, " +
+            "address_city, address_state, address_zip_code, address_country, industry, status, created_at, updated_at, " +
+            "version FROM customers";
     
-    public CustomerJpaRepository(CustomerJpaRepositoryInterface jpaRepository) {
+    // The locked pre-update row supplies the previous status and industry in the same statement. With an
+    // expected version only that version is locked and updated, so a stale write matches no row
+    private static final String UPDATE_SQL = "WITH previous AS (SELECT id, status, industry FROM customers " +
+            "WHERE id = :id AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion) FOR UPDATE) " +
+            "UPDATE customers c SET " +
+            "company_name = COALESCE(CAST(:companyName AS VARCHAR), c.company_name), " +
+            "contact_person = COALESCE(CAST(:contactPerson AS VARCHAR), c.contact_person), " +
+            "email = COALESCE(CAST(:email AS VARCHAR), c.email), " +
+            "phone = COALESCE(CAST(:phone AS VARCHAR), c.phone), " +
+            "address_street = CASE WHEN :replaceAddress THEN CAST(:street AS VARCHAR) ELSE c.address_street END, " +
+            "address_city = CASE WHEN :replaceAddress THEN CAST(:city AS VARCHAR) ELSE c.address_city END, " +
+            "address_state = CASE WHEN :replaceAddress THEN CAST(:state AS VARCHAR) ELSE c.address_state END, " +
+            "address_zip_code = CASE WHEN :replaceAddress THEN CAST(:zipCode AS VARCHAR) ELSE c.address_zip_code END, " +
+            "address_country = CASE WHEN :replaceAddress THEN CAST(:country AS VARCHAR) ELSE c.address_country END, " +
+            "industry = COALESCE(CAST(:industry AS VARCHAR), c.industry), " +
+            "status = COALESCE(CAST(:status AS VARCHAR), c.status), " +
+            "updated_at = CURRENT_TIMESTAMP, " +
+            "version = c.version + 1 " +
+            "FROM previous p WHERE c.id = p.id " +
+            "RETURNING c.id, c.company_name, c.contact_person, c.email, c.phone, c.address_street, c.address_city, " +
+            "c.address_state, c.address_zip_code, c.address_country, c.industry, c.status, c.created_at, c.updated_at, " +
+            "c.version, p.status AS previous_status, p.industry AS previous_industry";
+    
+    private static final String DELETE_SQL = "DELETE FROM customers WHERE id = :id " +
+            "RETURNING id, company_name, contact_person, email, phone, address_street, address_city, address_state, " +
+            "address_zip_code, address_country, industry, status, created_at, updated_at, version";
+    
+    private final EntityManager entityManager;
+    private final KeysetScroller<CustomerEntity> scroller;
+    private final RowCountEstimator rowCountEstimator;
+    private final CustomerCopyLoader copyLoader;
+    private final ResultSetStreamer resultSetStreamer;
+    private final EntityCacheEvictor cacheEvictor;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public CustomerJpaRepository(CustomerJpaRepositoryInterface jpaRepository, EntityManager entityManager,
+                                 RowCountEstimator rowCountEstimator, CustomerCopyLoader copyLoader,
+                                 ResultSetStreamer resultSetStreamer, EntityCacheEvictor cacheEvictor,
+                                 NamedParameterJdbcTemplate jdbcTemplate) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.rowCountEstimator = rowCountEstimator;
+        this.copyLoader = copyLoader;
+        this.resultSetStreamer = resultSetStreamer;
+        this.cacheEvictor = cacheEvictor;
+        this.jdbcTemplate = jdbcTemplate;
+        this.scroller = new KeysetScroller<>(entityManager, CustomerEntity.class, CustomerEntity::getId)
+                .sortableBy("createdAt", CustomerEntity::getCreatedAt, Instant::parse)
+                .sortableBy("companyName", CustomerEntity::getCompanyName, value -> value);
     }
     
     @Override
-    public Customer save(Customer customer) {
-        CustomerEntity entity = jpaRepository.findById(customer.getId())
-                .map(existing -> {
-                    existing.updateFromDomain(customer);
-                    return existing;
-                })
-                .orElse(new CustomerEntity(customer));
-        
-        CustomerEntity saved = jpaRepository.save(entity);
-        return saved.toDomain();
+    public Customer insert(Customer customer) {
+        try {
+            return jpaRepository.saveAndFlush(new CustomerEntity(customer)).toDomain();
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isUniqueViolationOn(ex, "email")) {
+                throw new CustomerAlreadyExistsException("Customer with email already exists: " + customer.getEmail(), ex);
+            }
+            throw ex;
+        }
+    }
+    
+    @Override
+    public int updateStatus(Collection<UUID> ids, CustomerStatus status) {
+        return jpaRepository.updateStatusByIdIn(ids, status, Instant.now());
+    }
+    
+    @Override
+    public int updateStatus(CustomerStatus currentStatus, String industry, CustomerStatus status) {
+        Instant now = Instant.now();
+        if (currentStatus != null && industry != null) {
+            return jpaRepository.updateStatusByStatusAndIndustry(currentStatus, industry, status, now);
+        } else if (currentStatus != null) {
+            return jpaRepository.updateStatusByStatus(currentStatus, status, now);
+        } else if (industry != null) {
+            return jpaRepository.updateStatusByIndustry(industry, status, now);
+        }
+        throw new IllegalArgumentException("A status or industry filter is required");
+    }
+    
+    @Override
+    public Set<Long> bulkInsert(Map<Long, Customer> customersByRow) {
+        return copyLoader.load(customersByRow);
+    }
+    
+    @Override
+    public Optional<CustomerUpdateResult> update(UUID id, String companyName, String contactPerson, String email,
+                                                 String phone, Address address, String industry, CustomerStatus status,
+                                                 Long expectedVersion) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("companyName", companyName, Types.VARCHAR)
+                .addValue("contactPerson", contactPerson, Types.VARCHAR)
+                .addValue("email", email, Types.VARCHAR)
+                .addValue("phone", phone, Types.VARCHAR)
+                .addValue("replaceAddress", address != null, Types.BOOLEAN)
+                .addValue("street", address != null ? address.getStreet() : null, Types.VARCHAR)
+                .addValue("city", address != null ? address.getCity() : null, Types.VARCHAR)
+                .addValue("state", address != null ? address.getState() : null, Types.VARCHAR)
+                .addValue("zipCode", address != null ? address.getZipCode() : null, Types.VARCHAR)
+                .addValue("country", address != null ? address.getCountry() : null, Types.VARCHAR)
+                .addValue("industry", industry, Types.VARCHAR)
+                .addValue("status", status != null ? status.name() : null, Types.VARCHAR)
+                .addValue("expectedVersion", expectedVersion, Types.BIGINT);
+        try {
+            Optional<CustomerUpdateResult> updated = jdbcTemplate.query(UPDATE_SQL, parameters, (resultSet, rowNum) ->
+                            new CustomerUpdateResult(mapRow(resultSet, rowNum),
+                                    CustomerStatus.valueOf(resultSet.getString("previous_status")),
+                                    resultSet.getString("previous_industry")))
+                    .stream()
+                    .findFirst();
+            cacheEvictor.evict(CustomerEntity.class, id, email != null);
+            return updated;
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isUniqueViolationOn(ex, "email")) {
+                throw new CustomerAlreadyExistsException("Email already exists: " + email, ex);
+            }
+            throw ex;
+        }
     }
     
     @Override
     public Optional<Customer> findById(UUID id) {
-        return jpaRepository.findById(id)
+        // Fills the entity cache, so never from a replica that may not have the latest write yet
+        return ReplicaRoutingDataSource.readFromPrimary(() -> jpaRepository.findById(id))
                 .map(CustomerEntity::toDomain);
     }
     
     @Override
+    public Optional<Long> findVersionById(UUID id) {
+        // Always read from the table, so it also sees changes the entity cache has not caught up with
+        return jpaRepository.findVersionById(id);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Customer> findByEmail(String email) {
-        return jpaRepository.findByEmail(email)
+        // Resolved through the natural id and entity caches before falling back to a query on the primary
+        return ReplicaRoutingDataSource.readFromPrimary(() -> entityManager.unwrap(Session.class)
+                        .bySimpleNaturalId(CustomerEntity.class)
+                        .loadOptional(email))
                 .map(CustomerEntity::toDomain);
     }
     
@@ -93,6 +293,42 @@ public class CustomerJpaRepository implements CustomerRepository {
                 .map(CustomerEntity::toDomain);
     }
     
+    @Override
+    @SuppressWarnings("unchecked")
+    public Slice<Customer> search(String query, Pageable pageable) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        String pattern = "%" + normalized.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        
+        List<CustomerEntity> rows = entityManager.createNativeQuery(SEARCH_SQL, CustomerEntity.class)
+                .setParameter("query", normalized)
+                .setParameter("pattern", pattern)
+                .setParameter("limit", pageable.getPageSize() + 1)
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+        
+        // One extra row tells whether another page exists
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Customer> content = rows.stream()
+                .limit(pageable.getPageSize())
+                .map(CustomerEntity::toDomain)
+                .toList();
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+    
+    @Override
+    public Window<Customer> scroll(CustomerStatus status, String industry, KeysetScrollPosition position,
+                                   Sort sort, int limit) {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        if (status != null) {
+            filters.put("status", status);
+        }
+        if (industry != null) {
+            filters.put("industry", industry);
+        }
+        return scroller.scroll(filters, position, sort, limit)
+                .map(CustomerEntity::toDomain);
+    }
+    
     @Override
     public boolean existsByEmail(String email) {
         return jpaRepository.existsByEmail(email);
@@ -104,8 +340,19 @@ public class CustomerJpaRepository implements CustomerRepository {
     }
     
     @Override
-    public void deleteById(UUID id) {
-        jpaRepository.deleteById(id);
+    public Optional<Customer> deleteById(UUID id) {
+        Optional<Customer> deleted = jdbcTemplate.query(DELETE_SQL, new MapSqlParameterSource("id", id),
+                        CustomerJpaRepository::mapRow)
+                .stream()
+                .findFirst();
+        // The email is free again, so its cached natural id has to go as well
+        cacheEvictor.evict(CustomerEntity.class, id, true);
+        return deleted;
+    }
+    
+    @Override
+    public int deleteAllById(Collection<UUID> ids) {
+        return jpaRepository.deleteEntitiesByIdIn(ids);
     }
     
     @Override
@@ -117,4 +364,97 @@ public class CustomerJpaRepository implements CustomerRepository {
     public long countByStatus(CustomerStatus status) {
         return jpaRepository.countByStatus(status);
     }
+    
+    @Override
+    public Slice<Customer> findSlice(CustomerStatus status, String industry, Pageable pageable) {
+        Slice<CustomerEntity> slice;
+        if (status != null && industry != null) {
+            slice = jpaRepository.findSliceByStatusAndIndustry(status, industry, pageable);
+        } else if (status != null) {
+            slice = jpaRepository.findSliceByStatus(status, pageable);
+        } else if (industry != null) {
+            slice = jpaRepository.findSliceByIndustry(industry, pageable);
+        } else {
+            slice = jpaRepository.findSliceBy(pageable);
+        }
+        return slice.map(CustomerEntity::toDomain);
+    }
+    
+    @Override
+    public Slice<CustomerVersion> findVersionSlice(CustomerStatus status, String industry, Pageable pageable) {
+        if (status != null && industry != null) {
+            return jpaRepository.findVersionsByStatusAndIndustry(status, industry, pageable);
+        } else if (status != null) {
+            return jpaRepository.findVersionsByStatus(status, pageable);
+        } else if (industry != null) {
+            return jpaRepository.findVersionsByIndustry(industry, pageable);
+        }
+        return jpaRepository.findVersionsBy(pageable);
+    }
+    
+    @Override
+    public long estimateCount(CustomerStatus status, String industry) {
+        OptionalLong estimate;
+        if (status != null && industry != null) {
+            estimate = rowCountEstimator.estimate("SELECT 1 FROM customers WHERE status = ? AND industry = ?",
+                    status.name(), industry);
+        } else if (status != null) {
+            estimate = rowCountEstimator.estimate("SELECT 1 FROM customers WHERE status = ?", status.name());
+        } else if (industry != null) {
+            estimate = rowCountEstimator.estimate("SELECT 1 FROM customers WHERE industry = ?", industry);
+        } else {
+            estimate = rowCountEstimator.estimate("SELECT 1 FROM customers");
+        }
+        return estimate.orElseGet(() -> count(status, industry));
+    }
+    
+    @Override
+    public long count(CustomerStatus status, String industry) {
+        if (status != null && industry != null) {
+            return jpaRepository.countByStatusAndIndustry(status, industry);
+        } else if (status != null) {
+            return jpaRepository.countByStatus(status);
+        } else if (industry != null) {
+            return jpaRepository.countByIndustry(industry);
+        }
+        return jpaRepository.count();
+    }
+    
+    @Override
+    public void forEach(CustomerStatus status, String industry, Consumer<Customer> action) {
+        if (status != null && industry != null) {
+            resultSetStreamer.forEach(EXPORT_SQL + " WHERE status = ? AND industry = ?", CustomerJpaRepository::mapRow,
+                    action, status.name(), industry);
+        } else if (status != null) {
+            resultSetStreamer.forEach(EXPORT_SQL + " WHERE status = ?", CustomerJpaRepository::mapRow, action, status.name());
+        } else if (industry != null) {
+            resultSetStreamer.forEach(EXPORT_SQL + " WHERE industry = ?", CustomerJpaRepository::mapRow, action, industry);
+        } else {
+            resultSetStreamer.forEach(EXPORT_SQL, CustomerJpaRepository::mapRow, action);
+        }
+    }
+    
+    private static Customer mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        String street = resultSet.getString("address_street");
+        String city = resultSet.getString("address_city");
+        String state = resultSet.getString("address_state");
+        String zipCode = resultSet.getString("address_zip_code");
+        String country = resultSet.getString("address_country");
+        // Same as the embedded address: all columns null means no address
+        Address address = street != null || city != null || state != null || zipCode != null || country != null
+                ? new Address(street, city, state, zipCode, country)
+                : null;
+        return Customer.rehydrate(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getString("company_name"),
+                resultSet.getString("contact_person"),
+                resultSet.getString("email"),
+                resultSet.getString("phone"),
+                address,
+                resultSet.getString("industry"),
+                CustomerStatus.valueOf(resultSet.getString("status")),
+                resultSet.getTimestamp("created_at").toInstant(),
+                resultSet.getTimestamp("updated_at").toInstant(),
+                resultSet.getLong("version"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.company.app.infrastructure.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts entities from the second-level cache after writes Hibernate does not see, such as
+ * UPDATE ... RETURNING statements run as native queries or through JDBC. JPQL bulk statements
+ * invalidate the affected regions themselves.
+ */
+@Component
+class EntityCacheEvictor {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    
+    EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+    
+    /**
+     * Evicts the entity with the given id. When its natural id may have changed, all cached natural
+     * ids of the type are evicted too, since the old one would otherwise still resolve to this entity.
+     */
+    void evict(Class<?> entityClass, Object id, boolean naturalIdChanged) {
+        evictNow(entityClass, id, naturalIdChanged);
+        // Evict again after commit so a reader racing with the change cannot re-cache the old state
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(entityClass, id, naturalIdChanged);
+                }
+            });
+        }
+    }
+    
+    private void evictNow(Class<?> entityClass, Object id, boolean naturalIdChanged) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (naturalIdChanged) {
+            cache.evictNaturalIdData(entityClass);
+        }
+        cache.evictEntityData(entityClass, id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.company.app.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over one sort property with the id as tie-breaker.
+ * The seek predicate is a row-value comparison, {@code (sortKey, id) > (:sortKey, :id)}, which
+ * PostgreSQL turns into a range scan on the matching (column, id) index, so every page costs the
+ * same no matter how deep it is. Spring Data's built-in keyset scrolling expands this into an OR
+ * that cannot be used as an index bound.
+ */
+final class KeysetScroller<E> {
+
+    static final String ID_KEY = "id";
+
+    private final EntityManager entityManager;
+    private final Class<E> entityType;
+    private final Function<E, UUID> idExtractor;
+    private final Map<String, SortKey<E>> sortKeys = new LinkedHashMap<>();
+
+    KeysetScroller(EntityManager entityManager, Class<E> entityType, Function<E, UUID> idExtractor) {
+        this.entityManager = entityManager;
+        this.entityType = entityType;
+        this.idExtractor = idExtractor;
+    }
+
+    /**
+     * Registers a sortable property. The parser converts the string form carried by
+     * decoded cursors back into the property type.
+     */
+    KeysetScroller<E> sortableBy(String property, Function<E, Object> extractor, Function<String, Object> parser) {
+        sortKeys.put(property, new SortKey<>(extractor, parser));
+        return this;
+    }
+
+    /**
+     * Returns up to {@code limit} entities after {@code position} in {@code sort} order.
+     *
+     * @param filters equality filters by entity property; null values must be left out by the caller
+     */
+    Window<E> scroll(Map<String, Object> filters, KeysetScrollPosition position, Sort sort, int limit) {
+        Sort.Order order = resolveOrder(sort);
+        String property = order.getProperty();
+        SortKey<E> sortKey = sortKeys.get(property);
+        String direction = order.isAscending() ? "asc" : "desc";
+
+        List<String> predicates = new ArrayList<>();
+        filters.keySet().forEach(name -> predicates.add("e." + name + " = :" + name));
+        if (!position.isInitial()) {
+            predicates.add("(e." + property + ", e.id) " + (order.isAscending() ? ">" : "<") + " (:sortKey, :id)");
+        }
+
+        StringBuilder jpql = new StringBuilder("select e from ").append(entityType.getSimpleName()).append(" e");
+        if (!predicates.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", predicates));
+        }
+        jpql.append(" order by e.").append(property).append(' ').append(direction)
+            .append(", e.id ").append(direction);
+
+        TypedQuery<E> query = entityManager.createQuery(jpql.toString(), entityType);
+        filters.forEach(query::setParameter);
+        if (!position.isInitial()) {
+            Map<String, Object> keys = position.getKeys();
+            query.setParameter("sortKey", sortKey.parse(requireKey(keys, property)));
+            query.setParameter("id", toUuid(requireKey(keys, ID_KEY)));
+        }
+
+        // Fetch one extra row to learn whether another page exists without counting
+        List<E> rows = query.setMaxResults(limit + 1).getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<E> content = hasNext ? rows.subList(0, limit) : rows;
+
+        return Window.from(content, index -> {
+            E entity = content.get(index);
+            return ScrollPosition.forward(Map.of(
+                    property, sortKey.extractor().apply(entity),
+                    ID_KEY, idExtractor.apply(entity)));
+        }, hasNext);
+    }
+
+    private Sort.Order resolveOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1 || !sortKeys.containsKey(orders.get(0).getProperty())) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by exactly one of " + sortKeys.keySet());
+        }
+        return orders.get(0);
+    }
+
+    private static Object requireKey(Map<String, Object> keys, String name) {
+        Object value = keys.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+        return value;
+    }
+
+    private static UUID toUuid(Object value) {
+        try {
+            return value instanceof UUID uuid ? uuid : UUID.fromString(value.toString());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+
+    private record SortKey<E>(Function<E, Object> extractor, Function<String, Object> parser) {
+
+        Object parse(Object value) {
+            if (!(value instanceof String text)) {
+                return value;
+            }
+            // Parsers throw their own exception types (e.g. DateTimeParseException), report them as a bad cursor
+            try {
+                return parser.apply(text);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Invalid cursor", ex);
+            }
+        }
+    }
+}
\ No newline at end of file
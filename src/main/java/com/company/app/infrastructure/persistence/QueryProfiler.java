@@ -0,0 +1,231 @@
+package com.company.app.infrastructure.persistence;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregates the statements executed through a {@link StatementCountingDataSource} by their shape,
+ * the SQL with literals replaced by placeholders, and by the repository method and endpoint that ran
+ * them. Optionally the repository method is also prepended to the SQL as a comment, so it shows up in
+ * the database's own views such as pg_stat_activity. Recording is a few adder increments; shapes are
+ * normalized once per distinct SQL string, and the number of tracked shapes is bounded.
+ */
+public class QueryProfiler {
+    
+    private static final String NONE = "none";
+    private static final String OTHER = "(other)";
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+    
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private final int maxShapes;
+    private final boolean sqlComments;
+    // Raw SQL to its shape, so each distinct statement is normalized once
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final Map<Key, QueryStats> stats = new ConcurrentHashMap<>();
+    
+    public QueryProfiler(int maxShapes) {
+        this(maxShapes, false);
+    }
+    
+    /**
+     * @param maxShapes how many distinct combinations of shape, origin and endpoint are tracked in total;
+     *                  statements beyond them are counted together as {@code (other)}
+     * @param sqlComments whether to prepend the origin to the SQL as a comment. The comment is part of the
+     *                    statement text, so the driver caches a server-side prepared statement per shape
+     *                    and origin rather than per shape. The endpoint is left out, as it would multiply
+     *                    them by the number of routes
+     */
+    public QueryProfiler(int maxShapes, boolean sqlComments) {
+        this.maxShapes = maxShapes;
+        this.sqlComments = sqlComments;
+    }
+    
+    /**
+     * Marks the statements the current thread executes from now on as coming from the given repository
+     * method.
+     *
+     * @return the previous origin, to be restored with {@link #exitOrigin(String)}
+     */
+    public static String enterOrigin(String origin) {
+        Context context = CONTEXT.get();
+        String previous = context.origin;
+        context.origin = origin;
+        return previous;
+    }
+    
+    public static void exitOrigin(String previous) {
+        CONTEXT.get().origin = previous;
+    }
+    
+    /**
+     * Sets the endpoint the current thread serves, resolved when a statement is prepared since the
+     * route may only be known by then; null when the thread no longer serves one.
+     */
+    public static void setEndpoint(Supplier<String> endpoint) {
+        CONTEXT.get().endpoint = endpoint;
+    }
+    
+    /**
+     * The statistics the given statement is recorded in, for the current thread's origin and endpoint.
+     */
+    QueryStats statsFor(String sql) {
+        Context context = CONTEXT.get();
+        String origin = context.origin != null ? context.origin : NONE;
+        String endpoint = context.endpoint != null ? context.endpoint.get() : NONE;
+        Key key = new Key(shape(sql), origin, endpoint);
+        QueryStats queryStats = stats.get(key);
+        if (queryStats != null) {
+            return queryStats;
+        }
+        if (stats.size() >= maxShapes) {
+            key = new Key(OTHER, NONE, NONE);
+        }
+        return stats.computeIfAbsent(key, k -> new QueryStats(k, sqlComments));
+    }
+    
+    /**
+     * @param limit how many shapes to return
+     * @return the shapes ranking highest by the given order
+     */
+    public List<QueryView> top(Comparator<QueryView> order, int limit) {
+        return stats.values().stream()
+                .map(QueryStats::view)
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+    
+    public void reset() {
+        stats.clear();
+    }
+    
+    private String shape(String sql) {
+        String shape = shapes.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = normalize(sql);
+        // Statements built with literals could otherwise grow this without bound
+        if (shapes.size() < maxShapes * 4) {
+            shapes.put(sql, shape);
+        }
+        return shape;
+    }
+    
+    private static String normalize(String sql) {
+        String shape = COMMENT.matcher(sql).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").strip();
+    }
+    
+    /**
+     * A shape as reported, times in milliseconds. The 99th percentile is accurate to within a quarter
+     * of its magnitude.
+     */
+    public record QueryView(String sql, String origin, String endpoint, long count, double totalMs,
+                            double meanMs, double p99Ms, double maxMs, long rows) {
+    }
+    
+    private record Key(String shape, String origin, String endpoint) {
+    }
+    
+    static final class QueryStats {
+        
+        // Four buckets per power of two of the execution time in nanoseconds
+        private static final int BUCKETS = 256;
+        
+        private final Key key;
+        private final String comment;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder rows = new LongAdder();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        
+        private QueryStats(Key key, boolean sqlComment) {
+            this.key = key;
+            // Origins are free-form and PostgreSQL comments nest, so delimiters must not end it early
+            this.comment = sqlComment ? "/* origin=" + key.origin().replace("/*", "/ *").replace("*/", "* /") + " */ "
+                    : null;
+        }
+        
+        /**
+         * @return the SQL to execute, with the origin prepended as a comment when enabled
+         */
+        String comment(String sql) {
+            return comment != null ? comment + sql : sql;
+        }
+        
+        void recordExecution(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            buckets.incrementAndGet(bucket(nanos));
+        }
+        
+        void recordRows(long rowCount) {
+            rows.add(rowCount);
+        }
+        
+        QueryView view() {
+            long executions = count.sum();
+            long total = totalNanos.sum();
+            return new QueryView(key.shape(), key.origin(), key.endpoint(), executions, millis(total),
+                    executions > 0 ? millis(total / executions) : 0, millis(percentile(executions, 0.99)),
+                    millis(maxNanos.get()), rows.sum());
+        }
+        
+        private long percentile(long executions, double percentile) {
+            long rank = (long) Math.ceil(executions * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank && seen > 0) {
+                    return Math.min(upperBound(i), maxNanos.get());
+                }
+            }
+            return maxNanos.get();
+        }
+        
+        private static int bucket(long nanos) {
+            if (nanos < 4) {
+                return (int) Math.max(nanos, 0);
+            }
+            int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+            return (magnitude << 2) | (int) ((nanos >>> (magnitude - 2)) & 3);
+        }
+        
+        private static long upperBound(int bucket) {
+            if (bucket < 4) {
+                return bucket;
+            }
+            int magnitude = bucket >>> 2;
+            return ((5L + (bucket & 3)) << (magnitude - 2)) - 1;
+        }
+        
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+    
+    private static final class Context {
+        
+        private String origin;
+        private Supplier<String> endpoint;
+    }
+}
\ No newline at end of file
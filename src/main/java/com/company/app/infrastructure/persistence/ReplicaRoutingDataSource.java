@@ -0,0 +1,168 @@
+package com.company.app.infrastructure.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replicas in turn and everything else to the primary. Has to
+ * sit behind a {@link LazyConnectionDataSourceProxy}: transaction managers take the connection before
+ * the transaction is marked read-only, and the proxy defers that until the first statement.
+ * After a client's write commits its reads stay on the primary for a while, so it does not see the
+ * replicas lag behind its own change.
+ *
+ * <p>Caches are evicted when a write commits, and a replica that has not caught up yet would put
+ * the old state straight back. So loads that fill caches read from the primary through
+ * {@link #readFromPrimary}, and transactions that do read from a replica only read from the
+ * entity cache without adding to it.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    private static final String PRIMARY = "primary";
+    private static final long MAX_TRACKED_CLIENTS = 100_000;
+    // Set while the current thread runs a load whose result is cached
+    private static final ThreadLocal<Boolean> primaryReads = new ThreadLocal<>();
+    
+    private final List<DataSource> replicas;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Supplier<String> currentClient;
+    // Clients that wrote within the read-your-writes window, null when there is no window
+    private final Cache<String, Boolean> recentWriters;
+    
+    /**
+     * @param currentClient the client the current thread works for, or null when there is none
+     * @param readYourWrites how long a client's reads go to the primary after its writes, zero for not at all
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Supplier<String> currentClient,
+                                    Duration readYourWrites) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + (i + 1);
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.replicas = List.copyOf(replicas);
+        this.currentClient = currentClient;
+        this.recentWriters = readYourWrites.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterWrite(readYourWrites)
+                .build();
+    }
+    
+    /**
+     * Runs the loader with its read-only transactions on the primary, for loads whose results are
+     * cached. Only affects transactions whose first statement runs inside the loader; without
+     * replicas it just runs the loader.
+     */
+    public static <T> T readFromPrimary(Supplier<T> loader) {
+        if (primaryReads.get() != null) {
+            return loader.get();
+        }
+        primaryReads.set(Boolean.TRUE);
+        try {
+            return loader.get();
+        } finally {
+            primaryReads.remove();
+        }
+    }
+    
+    /**
+     * Closes the replica pools. The primary is closed by whoever created it.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Connections outside of transactions, such as migrations, go to the primary without counting as writes
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite();
+            }
+            return PRIMARY;
+        }
+        if (primaryReads.get() != null || wroteRecently()) {
+            return PRIMARY;
+        }
+        skipEntityCachePuts();
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+    
+    private void recordWrite() {
+        String client = recentWriters != null ? currentClient.get() : null;
+        if (client == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // The window starts at commit, which is when the replicas can start catching up
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        });
+    }
+    
+    /**
+     * Stops the transaction's session from putting what it loads into the entity cache, until the
+     * transaction completes. The connection is taken at the first statement, before its rows are read
+     * and cached, so this also covers the load that caused the routing.
+     */
+    private static void skipEntityCachePuts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                Session session = holder.getEntityManager().unwrap(Session.class);
+                CacheMode previous = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+                // The session can outlive the transaction, such as with open session in view
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (session.isOpen()) {
+                            session.setCacheMode(previous);
+                        }
+                    }
+                });
+            }
+        }
+    }
+    
+    private boolean wroteRecently() {
+        if (recentWriters == null) {
+            return false;
+        }
+        String client = currentClient.get();
+        return client != null && recentWriters.getIfPresent(client) != null;
+    }
+}
\ No newline at end of file
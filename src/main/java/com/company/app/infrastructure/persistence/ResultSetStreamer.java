@@ -0,0 +1,76 @@
+package com.company.app.infrastructure.persistence;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Reads large result sets through a server-side cursor, one fetch-size batch of rows at a time.
+ * The PostgreSQL driver only uses a cursor when auto-commit is off, so callers must run inside a
+ * transaction; rows are mapped and handed over one by one without being collected.
+ *
+ * <p>The transaction, its connection and its pool permit are held until the last row has been
+ * handed over, so a slow reader on the other end holds them too. Every query is therefore cut off
+ * after {@code app.export.max-duration}, both while the database prepares the first rows and
+ * between rows, rather than letting one stalled download pin a connection indefinitely.
+ */
+@Component
+class ResultSetStreamer {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    private final Duration maxDuration;
+    private final Clock clock;
+    
+    @Autowired
+    ResultSetStreamer(JdbcTemplate jdbcTemplate,
+                      @Value("${app.export.fetch-size:1000}") int fetchSize,
+                      @Value("${app.export.max-duration:15m}") Duration maxDuration) {
+        this(jdbcTemplate, fetchSize, maxDuration, Clock.systemUTC());
+    }
+    
+    ResultSetStreamer(JdbcTemplate jdbcTemplate, int fetchSize, Duration maxDuration, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        this.maxDuration = maxDuration;
+        this.clock = clock;
+    }
+    
+    /**
+     * Runs the query and passes every row to the action as it is read. Exceptions thrown by the
+     * action stop the query and close the cursor.
+     *
+     * @param sql a SELECT with positional parameters
+     * @throws QueryTimeoutException if the rows are not all handed over within the maximum duration
+     */
+    <T> void forEach(String sql, RowMapper<T> rowMapper, Consumer<? super T> action, Object... args) {
+        Instant deadline = clock.instant().plus(maxDuration);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            // Bounds the wait for the first batch; the check below covers the time spent streaming
+            statement.setQueryTimeout(Math.toIntExact(Math.max(1, maxDuration.toSeconds())));
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            if (clock.instant().isAfter(deadline)) {
+                throw new QueryTimeoutException("Export did not finish within " + maxDuration);
+            }
+            action.accept(rowMapper.mapRow(resultSet, resultSet.getRow()));
+        });
+    }
+}
\ No newline at end of file
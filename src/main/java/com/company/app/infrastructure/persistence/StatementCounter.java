@@ -0,0 +1,45 @@
+package com.company.app.infrastructure.persistence;
+
+/**
+ * Running count of the SQL statements the current thread has executed and the time spent executing
+ * them. Never reset: a scope takes a {@link #snapshot()} when it starts and subtracts it when it ends,
+ * so nested scopes, such as a use case within a request, each see their own share.
+ */
+public final class StatementCounter {
+    
+    private static final ThreadLocal<Tally> TALLY = ThreadLocal.withInitial(Tally::new);
+    
+    private StatementCounter() {
+    }
+    
+    public static Snapshot snapshot() {
+        Tally tally = TALLY.get();
+        return new Snapshot(tally.statements, tally.nanos);
+    }
+    
+    static void record(long nanos) {
+        Tally tally = TALLY.get();
+        tally.statements++;
+        tally.nanos += nanos;
+    }
+    
+    /**
+     * @param statements statements executed, a batch counting as one
+     * @param nanos time spent in executing them, not in reading their results
+     */
+    public record Snapshot(long statements, long nanos) {
+        
+        /**
+         * @return what was executed between the given snapshot and this one
+         */
+        public Snapshot since(Snapshot start) {
+            return new Snapshot(statements - start.statements, nanos - start.nanos);
+        }
+    }
+    
+    private static final class Tally {
+        
+        private long statements;
+        private long nanos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.company.app.infrastructure.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Counts every statement executed through its connections in the {@link StatementCounter}, whether it
+ * comes from Hibernate or from a JDBC template. Only execution is timed; rows streamed from a result set
+ * afterwards are not. With a {@link QueryProfiler}, statements are also recorded there, along with the
+ * rows they returned or changed, and their SQL is prefixed with the profiler's comment if it adds one.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource implements MeterBinder, AutoCloseable {
+    
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    
+    private static final Set<String> EXECUTIONS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    
+    private final QueryProfiler profiler;
+    
+    public StatementCountingDataSource(DataSource target) {
+        this(target, null);
+    }
+    
+    /**
+     * @param profiler where statements are profiled, or null to only count them
+     */
+    public StatementCountingDataSource(DataSource target, QueryProfiler profiler) {
+        super(target);
+        this.profiler = profiler;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+    
+    /**
+     * Binds the metrics of the wrapped data source, which is no longer a bean of its own.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (getTargetDataSource() instanceof MeterBinder binder) {
+            binder.bindTo(registry);
+        }
+    }
+    
+    /**
+     * Closes the wrapped data source when it is closeable, like its own bean would have been.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+    
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            if (!STATEMENT_FACTORIES.contains(method.getName())) {
+                                return invoke(connection, method, args);
+                            }
+                            // Prepared statements are profiled by the SQL they were prepared with
+                            QueryProfiler.QueryStats stats = null;
+                            if (profiler != null && args != null && args.length > 0 && args[0] instanceof String sql) {
+                                stats = profiler.statsFor(sql);
+                                args[0] = stats.comment(sql);
+                            }
+                            return counting((Statement) invoke(connection, method, args), stats);
+                    }
+                });
+    }
+    
+    private Statement counting(Statement statement, QueryProfiler.QueryStats preparedStats) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        // The statistics of the last execution, which the result set fetched afterwards belongs to
+        QueryProfiler.QueryStats[] executedStats = {preparedStats};
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "getResultSet":
+                            return profiled((ResultSet) invoke(statement, method, args), executedStats[0]);
+                        default:
+                            if (!EXECUTIONS.contains(method.getName())) {
+                                return invoke(statement, method, args);
+                            }
+                            QueryProfiler.QueryStats stats = preparedStats;
+                            // Plain statements are profiled by the SQL they execute
+                            if (profiler != null && args != null && args.length > 0 && args[0] instanceof String sql) {
+                                stats = profiler.statsFor(sql);
+                                args[0] = stats.comment(sql);
+                            }
+                            executedStats[0] = stats;
+                            long start = System.nanoTime();
+                            Object result;
+                            try {
+                                result = invoke(statement, method, args);
+                            } finally {
+                                long nanos = System.nanoTime() - start;
+                                StatementCounter.record(nanos);
+                                if (stats != null) {
+                                    stats.recordExecution(nanos);
+                                }
+                            }
+                            return profiled(result, stats);
+                    }
+                });
+    }
+    
+    /**
+     * Records the rows a statement changed, or wraps the result set it returned to count the rows read.
+     */
+    private static Object profiled(Object result, QueryProfiler.QueryStats stats) {
+        if (stats == null) {
+            return result;
+        }
+        if (result instanceof ResultSet resultSet) {
+            return counting(resultSet, stats);
+        }
+        if (result instanceof Number rowCount) {
+            stats.recordRows(rowCount.longValue());
+        } else if (result instanceof int[] rowCounts) {
+            for (int rowCount : rowCounts) {
+                stats.recordRows(Math.max(rowCount, 0));
+            }
+        } else if (result instanceof long[] rowCounts) {
+            for (long rowCount : rowCounts) {
+                stats.recordRows(Math.max(rowCount, 0));
+            }
+        }
+        return result;
+    }
+    
+    private static ResultSet counting(ResultSet resultSet, QueryProfiler.QueryStats stats) {
+        if (resultSet == null) {
+            return null;
+        }
+        long[] rows = new long[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "next":
+                            boolean hasRow = (boolean) invoke(resultSet, method, args);
+                            if (hasRow) {
+                                rows[0]++;
+                            }
+                            return hasRow;
+                        case "close":
+                            // Recorded once, however often it is closed
+                            if (!resultSet.isClosed()) {
+                                stats.recordRows(rows[0]);
+                            }
+                            return invoke(resultSet, method, args);
+                        default:
+                            return invoke(resultSet, method, args);
+                    }
+                });
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
\ No newline at end of file
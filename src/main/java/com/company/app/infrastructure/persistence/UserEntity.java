@@ -3,8 +3,13 @@ package com.company.app.infrastructure.persistence;
 import com.company.app.domain.user.User;
 import com.company.app.domain.user.UserRole;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -13,16 +18,24 @@ import java.util.UUID;
  * JPA entity for User persistence
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.NATURAL_ID_CACHE_REGION)
 @Table(name = "users", uniqueConstraints = {
     @UniqueConstraint(columnNames = "username"),
     @UniqueConstraint(columnNames = "email")
 })
-public class UserEntity {
+public class UserEntity implements Persistable<UUID> {
     
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-username";
+    
+    // Ids are always assigned by the domain, so new entities are flagged explicitly
+    // to let Spring Data persist them instead of merging (which selects first)
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
+    @NaturalId
     @Column(nullable = false, unique = true, length = 50)
     private String username;
     
@@ -53,6 +66,14 @@ public class UserEntity {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
     
+    // Checked by Hibernate on entity updates; native and JDBC updates bump it themselves
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
+    @Transient
+    private boolean isNew;
+    
     protected UserEntity() {}
     
     public UserEntity(User user) {
@@ -66,35 +87,38 @@ public class UserEntity {
         this.isActive = user.isActive();
         this.createdAt = user.getCreatedAt();
         this.updatedAt = user.getUpdatedAt();
+        this.version = user.getVersion();
+        this.isNew = true;
     }
     
-    public User toDomain() {
-        User user = new User();
-        user.setId(this.id);
-        user.setUsername(this.username);
-        user.setEmail(this.email);
-        user.setFirstName(this.firstName);
-        user.setLastName(this.lastName);
-        user.setPasswordHash(this.passwordHash);
-        user.setRole(this.role);
-        user.setActive(this.isActive);
-        user.setCreatedAt(this.createdAt);
-        user.setUpdatedAt(this.updatedAt);
-        return user;
+    @Override
+    public boolean isNew() {
+        return isNew;
     }
     
-    public void updateFromDomain(User user) {
-        this.username = user.getUsername();
-        this.email = user.getEmail();
-        this.firstName = user.getFirstName();
-        this.lastName = user.getLastName();
-        this.passwordHash = user.getPasswordHash();
-        this.role = user.getRole();
-        this.isActive = user.isActive();
-        this.updatedAt = user.getUpdatedAt();
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+    
+    public User toDomain() {
+        return User.rehydrate(
+                this.id,
+                this.username,
+                this.email,
+                this.firstName,
+                this.lastName,
+                this.passwordHash,
+                this.role,
+                this.isActive,
+                this.createdAt,
+                this.updatedAt,
+                this.version);
     }
     
     // Getters and setters
+    @Override
     public UUID getId() { return id; }
     public String getUsername() { return username; }
     public String getEmail() { return email; }
@@ -105,4 +129,5 @@ public class UserEntity {
     public boolean isActive() { return isActive; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public long getVersion() { return version; }
 }
\ No newline at end of file
@@ -1,28 +1,70 @@
 package com.company.app.infrastructure.persistence;
 
 import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserAlreadyExistsException;
 import com.company.app.domain.user.UserRepository;
 import com.company.app.domain.user.UserRole;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * JPA repository interface for UserEntity
  */
 @Repository
 interface UserJpaRepositoryInterface extends JpaRepository<UserEntity, UUID> {
-    Optional<UserEntity> findByUsername(String username);
     Optional<UserEntity> findByEmail(String email);
     Page<UserEntity> findByRole(UserRole role, Pageable pageable);
     Page<UserEntity> findByIsActive(boolean isActive, Pageable pageable);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByEmailAndIdNot(String email, UUID id);
+    Slice<UserEntity> findSliceBy(Pageable pageable);
+    List<UserEntity> findByUsernameInOrEmailIn(Collection<String> usernames, Collection<String> emails);
+    
+    @Query("SELECT u.version FROM UserEntity u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+    
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.passwordHash = :passwordHash, u.updatedAt = :updatedAt, " +
+            "u.version = u.version + 1 WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") UUID id, @Param("passwordHash") String passwordHash,
+                           @Param("updatedAt") Instant updatedAt);
+    
+    @Modifying
+    @Query("DELETE FROM UserEntity u WHERE u.id = :id")
+    int deleteEntityById(@Param("id") UUID id);
 }
 
 /**
@@ -31,34 +73,175 @@ interface UserJpaRepositoryInterface extends JpaRepository<UserEntity, UUID> {
 @Repository
 public class UserJpaRepository implements UserRepository {
     
+    // A taken username makes the row a no-op with an update count of 0. Emails are checked by the caller
+    // beforehand, so only an email taken concurrently since then trips its constraint and fails the batch
+    private static final String INSERT_SQL = "INSERT INTO users (id, username, email, first_name, last_name, " +
+            "password_hash, role, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (username) DO NOTHING";
+    
+    private static final String INSERTED_IDS_SQL = "SELECT id FROM users WHERE id IN (:ids)";
+    
+    private static final String EXPORT_SQL = "SELECT id, username, email, first_name, last_name, password_hash, " +
+            "role, is_active, created_at, updated_at, version FROM users";
+    
+    // Runs over JDBC rather than as a native JPA query, so the returned row is mapped straight to the domain
+    // and never merged into a managed entity the persistence context may already hold
+    private static final String UPDATE_SQL = "UPDATE users SET " +
+            "email = COALESCE(CAST(:email AS VARCHAR), email), " +
+            "first_name = COALESCE(CAST(:firstName AS VARCHAR), first_name), " +
+            "last_name = COALESCE(CAST(:lastName AS VARCHAR), last_name), " +
+            "role = COALESCE(CAST(:role AS VARCHAR), role), " +
+            "is_active = COALESCE(CAST(:isActive AS BOOLEAN), is_active), " +
+            "updated_at = CURRENT_TIMESTAMP, " +
+            "version = version + 1 " +
+            "WHERE id = :id AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion) " +
+            "RETURNING id, username, email, first_name, last_name, password_hash, role, is_active, created_at, " +
+            "updated_at, version";
+    
     private final UserJpaRepositoryInterface jpaRepository;
+    private final EntityManager entityManager;
+    private final KeysetScroller<UserEntity> scroller;
+    private final RowCountEstimator rowCountEstimator;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ResultSetStreamer resultSetStreamer;
+    private final EntityCacheEvictor cacheEvictor;
     
-    public UserJpaRepository(UserJpaRepositoryInterface jpaRepository) {
+    public UserJpaRepository(UserJpaRepositoryInterface jpaRepository, EntityManager entityManager,
+                             RowCountEstimator rowCountEstimator, NamedParameterJdbcTemplate jdbcTemplate,
+                             ResultSetStreamer resultSetStreamer, EntityCacheEvictor cacheEvictor) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.rowCountEstimator = rowCountEstimator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.resultSetStreamer = resultSetStreamer;
+        this.cacheEvictor = cacheEvictor;
+        this.scroller = new KeysetScroller<>(entityManager, UserEntity.class, UserEntity::getId)
+                .sortableBy("createdAt", UserEntity::getCreatedAt, Instant::parse)
+                .sortableBy("username", UserEntity::getUsername, value -> value);
+    }
+    
+    @Override
+    public User insert(User user) {
+        try {
+            return jpaRepository.saveAndFlush(new UserEntity(user)).toDomain();
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isUniqueViolationOn(ex, "username")) {
+                throw new UserAlreadyExistsException("Username already exists: " + user.getUsername(), ex);
+            }
+            if (ConstraintViolations.isUniqueViolationOn(ex, "email")) {
+                throw new UserAlreadyExistsException("Email already exists: " + user.getEmail(), ex);
+            }
+            throw ex;
+        }
     }
     
     @Override
-    public User save(User user) {
-        UserEntity entity = jpaRepository.findById(user.getId())
-                .map(existing -> {
-                    existing.updateFromDomain(user);
-                    return existing;
-                })
-                .orElse(new UserEntity(user));
+    public Optional<User> update(UUID id, String email, String firstName, String lastName, UserRole role, Boolean isActive,
+                                 Long expectedVersion) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("email", email, Types.VARCHAR)
+                .addValue("firstName", firstName, Types.VARCHAR)
+                .addValue("lastName", lastName, Types.VARCHAR)
+                .addValue("role", role != null ? role.name() : null, Types.VARCHAR)
+                .addValue("isActive", isActive, Types.BOOLEAN)
+                .addValue("expectedVersion", expectedVersion, Types.BIGINT);
+        try {
+            Optional<User> updated = jdbcTemplate.query(UPDATE_SQL, parameters, UserJpaRepository::mapRow)
+                    .stream()
+                    .findFirst();
+            // The username is the natural id and never changes
+            cacheEvictor.evict(UserEntity.class, id, false);
+            return updated;
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isUniqueViolationOn(ex, "email")) {
+                throw new UserAlreadyExistsException("Email already exists: " + email, ex);
+            }
+            throw ex;
+        }
+    }
+    
+    @Override
+    @Transactional
+    public boolean[] insertAll(List<User> users) {
+        int[] counts;
+        try {
+            counts = batchInsert(users);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isUniqueViolationOn(ex, "email")) {
+                throw new UserAlreadyExistsException("An email in the batch was taken concurrently, retry the request", ex);
+            }
+            throw ex;
+        }
         
-        UserEntity saved = jpaRepository.save(entity);
-        return saved.toDomain();
+        boolean[] inserted = new boolean[counts.length];
+        boolean unknown = false;
+        for (int i = 0; i < counts.length; i++) {
+            unknown |= counts[i] == Statement.SUCCESS_NO_INFO;
+            inserted[i] = counts[i] > 0;
+        }
+        if (unknown) {
+            // Rewritten batches (reWriteBatchedInserts) report no per-row counts, the ids we generated tell
+            // which rows made it
+            Set<UUID> ids = new HashSet<>(jdbcTemplate.queryForList(INSERTED_IDS_SQL,
+                    new MapSqlParameterSource("ids", users.stream().map(User::getId).toList()), UUID.class));
+            for (int i = 0; i < inserted.length; i++) {
+                inserted[i] = ids.contains(users.get(i).getId());
+            }
+        }
+        return inserted;
+    }
+    
+    private int[] batchInsert(List<User> users) {
+        return jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                User user = users.get(i);
+                statement.setObject(1, user.getId());
+                statement.setString(2, user.getUsername());
+                statement.setString(3, user.getEmail());
+                statement.setString(4, user.getFirstName());
+                statement.setString(5, user.getLastName());
+                statement.setString(6, user.getPasswordHash());
+                statement.setString(7, user.getRole().name());
+                statement.setBoolean(8, user.isActive());
+                statement.setTimestamp(9, Timestamp.from(user.getCreatedAt()));
+                statement.setTimestamp(10, Timestamp.from(user.getUpdatedAt()));
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return users.size();
+            }
+        });
+    }
+    
+    @Override
+    @Transactional
+    public boolean updatePasswordHash(UUID id, String passwordHash) {
+        return jpaRepository.updatePasswordHash(id, passwordHash, Instant.now()) > 0;
     }
     
     @Override
     public Optional<User> findById(UUID id) {
-        return jpaRepository.findById(id)
+        // Fills the entity cache, so never from a replica that may not have the latest write yet
+        return ReplicaRoutingDataSource.readFromPrimary(() -> jpaRepository.findById(id))
                 .map(UserEntity::toDomain);
     }
     
     @Override
+    public Optional<Long> findVersionById(UUID id) {
+        // Always read from the table, so it also sees changes the entity cache has not caught up with
+        return jpaRepository.findVersionById(id);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
-        return jpaRepository.findByUsername(username)
+        // Resolved through the natural id and entity caches before falling back to a query on the primary
+        return ReplicaRoutingDataSource.readFromPrimary(() -> entityManager.unwrap(Session.class)
+                        .bySimpleNaturalId(UserEntity.class)
+                        .loadOptional(username))
                 .map(UserEntity::toDomain);
     }
     
@@ -68,12 +251,25 @@ public class UserJpaRepository implements UserRepository {
                 .map(UserEntity::toDomain);
     }
     
+    @Override
+    public List<User> findByUsernameInOrEmailIn(Collection<String> usernames, Collection<String> emails) {
+        return jpaRepository.findByUsernameInOrEmailIn(usernames, emails).stream()
+                .map(UserEntity::toDomain)
+                .toList();
+    }
+    
     @Override
     public Page<User> findAll(Pageable pageable) {
         return jpaRepository.findAll(pageable)
                 .map(UserEntity::toDomain);
     }
     
+    @Override
+    public Window<User> scroll(KeysetScrollPosition position, Sort sort, int limit) {
+        return scroller.scroll(Map.of(), position, sort, limit)
+                .map(UserEntity::toDomain);
+    }
+    
     @Override
     public Page<User> findByRole(UserRole role, Pageable pageable) {
         return jpaRepository.findByRole(role, pageable)
@@ -102,12 +298,44 @@ public class UserJpaRepository implements UserRepository {
     }
     
     @Override
-    public void deleteById(UUID id) {
-        jpaRepository.deleteById(id);
+    public boolean deleteById(UUID id) {
+        return jpaRepository.deleteEntityById(id) > 0;
     }
     
     @Override
     public long count() {
         return jpaRepository.count();
     }
+    
+    @Override
+    public Slice<User> findSlice(Pageable pageable) {
+        return jpaRepository.findSliceBy(pageable)
+                .map(UserEntity::toDomain);
+    }
+    
+    @Override
+    public long estimateCount() {
+        return rowCountEstimator.estimate("SELECT 1 FROM users")
+                .orElseGet(() -> jpaRepository.count());
+    }
+    
+    @Override
+    public void forEach(Consumer<User> action) {
+        resultSetStreamer.forEach(EXPORT_SQL, UserJpaRepository::mapRow, action);
+    }
+    
+    private static User mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return User.rehydrate(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getString("username"),
+                resultSet.getString("email"),
+                resultSet.getString("first_name"),
+                resultSet.getString("last_name"),
+                resultSet.getString("password_hash"),
+                UserRole.valueOf(resultSet.getString("role")),
+                resultSet.getBoolean("is_active"),
+                resultSet.getTimestamp("created_at").toInstant(),
+                resultSet.getTimestamp("updated_at").toInstant(),
+                resultSet.getLong("version"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,339 @@
+package com.company.app.infrastructure.search;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerRepository;
+import com.company.app.domain.search.TypeaheadIndex;
+import com.company.app.domain.search.TypeaheadMatch;
+import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * In-process prefix index over customer and user names.
+ * Most terms live in a packed {@link PrefixSnapshot}; changes since the last rebuild go to a small
+ * sorted overlay that lookups merge in, and superseded snapshot entries are skipped by identity.
+ * The snapshot is rebuilt in the background once enough changes have accumulated.
+ */
+@Component
+public class InMemoryTypeaheadIndex implements TypeaheadIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTypeaheadIndex.class);
+    
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MIN_REBUILD_THRESHOLD = 10_000;
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[\\s\\p{Punct}]+");
+    
+    private final CustomerRepository customerRepository;
+    private final UserRepository userRepository;
+    
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "typeahead-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private volatile State state = new State(PrefixSnapshot.empty(), new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>());
+    
+    public InMemoryTypeaheadIndex(CustomerRepository customerRepository, UserRepository userRepository) {
+        this.customerRepository = customerRepository;
+        this.userRepository = userRepository;
+    }
+    
+    @Override
+    public void indexCustomer(Customer customer) {
+        Entry entry = customerEntry(customer);
+        afterCommit(() -> put(entry));
+    }
+    
+    @Override
+    public void indexUser(User user) {
+        Entry entry = userEntry(user);
+        afterCommit(() -> put(entry));
+    }
+    
+    @Override
+    public void remove(UUID id) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                Entry previous = entries.remove(id);
+                if (previous != null) {
+                    removeFromOverlays(previous);
+                    changed();
+                }
+            }
+        });
+    }
+    
+    @Override
+    public List<TypeaheadMatch> lookup(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        
+        State current = state;
+        List<Candidate> candidates = new ArrayList<>();
+        collect(current.snapshot(), normalized, limit, candidates);
+        collect(current.frozenOverlay(), normalized, limit, candidates);
+        collect(current.overlay(), normalized, limit, candidates);
+        
+        // Alphabetical by matched term, the same order each source was cut off in, so the merged head is exact.
+        // A term equal to the prefix sorts before its extensions, which puts exact matches on top
+        candidates.sort(Comparator.comparing(Candidate::term).thenComparing(candidate -> candidate.entry().match().label()));
+        Set<UUID> seen = new HashSet<>();
+        List<TypeaheadMatch> matches = new ArrayList<>(limit);
+        for (Candidate candidate : candidates) {
+            if (seen.add(candidate.entry().match().id())) {
+                matches.add(candidate.entry().match());
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * Loads every customer and user once the application is up. Entries written by the services
+     * in the meantime are newer and are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        Sort order = Sort.by("createdAt");
+        scrollAll(position -> customerRepository.scroll(null, null, position, order, LOAD_BATCH_SIZE),
+                customer -> entries.putIfAbsent(customer.getId(), customerEntry(customer)));
+        scrollAll(position -> userRepository.scroll(position, order, LOAD_BATCH_SIZE),
+                user -> entries.putIfAbsent(user.getId(), userEntry(user)));
+        rebuild();
+        logger.info("Typeahead index loaded {} entries in {} ms", entries.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+    
+    private <T> void scrollAll(Function<KeysetScrollPosition, Window<T>> fetch, Consumer<T> consumer) {
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<T> window;
+        do {
+            window = fetch.apply(position);
+            window.forEach(consumer);
+            if (window.hasNext()) {
+                position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+    }
+    
+    private void put(Entry entry) {
+        synchronized (writeLock) {
+            Entry previous = entries.put(entry.match().id(), entry);
+            if (previous != null) {
+                removeFromOverlays(previous);
+            }
+            NavigableMap<String, Entry> overlay = state.overlay();
+            for (String term : entry.terms()) {
+                overlay.put(overlayKey(term, entry), entry);
+            }
+            changed();
+        }
+    }
+    
+    private void removeFromOverlays(Entry entry) {
+        State current = state;
+        for (String term : entry.terms()) {
+            String key = overlayKey(term, entry);
+            current.overlay().remove(key);
+            current.frozenOverlay().remove(key);
+        }
+    }
+    
+    private void changed() {
+        int threshold = Math.max(MIN_REBUILD_THRESHOLD, state.snapshot().size() / 10);
+        if (pendingChanges.incrementAndGet() >= threshold && rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    logger.error("Typeahead index rebuild failed", ex);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+    
+    private void rebuild() {
+        synchronized (rebuildLock) {
+            List<Entry> live;
+            synchronized (writeLock) {
+                // Writes from here on land in a fresh overlay, the current one stays readable until the swap
+                State current = state;
+                live = new ArrayList<>(entries.values());
+                state = new State(current.snapshot(), current.overlay(), new ConcurrentSkipListMap<>());
+                pendingChanges.set(0);
+            }
+            
+            List<Map.Entry<String, Entry>> postings = new ArrayList<>();
+            for (Entry entry : live) {
+                for (String term : entry.terms()) {
+                    postings.add(new AbstractMap.SimpleImmutableEntry<>(term, entry));
+                }
+            }
+            PrefixSnapshot<Entry> snapshot = PrefixSnapshot.build(postings);
+            
+            synchronized (writeLock) {
+                state = new State(snapshot, new ConcurrentSkipListMap<>(), state.overlay());
+            }
+        }
+    }
+    
+    private void collect(PrefixSnapshot<Entry> snapshot, String prefix, int limit, List<Candidate> candidates) {
+        Set<UUID> seen = new HashSet<>();
+        for (int i = snapshot.lowerBound(prefix); i < snapshot.size() && snapshot.startsWith(i, prefix); i++) {
+            Entry entry = snapshot.value(i);
+            if (isLive(entry) && seen.add(entry.match().id())) {
+                candidates.add(new Candidate(snapshot.term(i), entry));
+                if (seen.size() == limit) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void collect(NavigableMap<String, Entry> overlay, String prefix, int limit, List<Candidate> candidates) {
+        Set<UUID> seen = new HashSet<>();
+        for (Map.Entry<String, Entry> posting : overlay.tailMap(prefix, true).entrySet()) {
+            String key = posting.getKey();
+            if (!key.startsWith(prefix)) {
+                return;
+            }
+            Entry entry = posting.getValue();
+            if (isLive(entry) && seen.add(entry.match().id())) {
+                candidates.add(new Candidate(key.substring(0, key.indexOf(KEY_SEPARATOR)), entry));
+                if (seen.size() == limit) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private boolean isLive(Entry entry) {
+        return entries.get(entry.match().id()) == entry;
+    }
+    
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+    
+    private Entry customerEntry(Customer customer) {
+        TypeaheadMatch match = new TypeaheadMatch(TypeaheadMatch.Type.CUSTOMER, customer.getId(),
+                customer.getCompanyName(), customer.getContactPerson());
+        return new Entry(match, terms(customer.getCompanyName(), customer.getContactPerson()), versions.incrementAndGet());
+    }
+    
+    private Entry userEntry(User user) {
+        String fullName = user.getFirstName() + " " + user.getLastName();
+        TypeaheadMatch match = new TypeaheadMatch(TypeaheadMatch.Type.USER, user.getId(), fullName, user.getUsername());
+        return new Entry(match, terms(fullName, user.getUsername()), versions.incrementAndGet());
+    }
+    
+    /**
+     * Each name is indexed whole and from every later word, so "acme widgets" is found by "wid".
+     */
+    private static String[] terms(String... names) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String name : names) {
+            String normalized = normalize(name);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            terms.add(normalized);
+            String[] words = WORD_SEPARATORS.split(normalized);
+            for (int i = 1; i < words.length; i++) {
+                if (!words[i].isEmpty()) {
+                    terms.add(words[i]);
+                }
+            }
+        }
+        return terms.toArray(String[]::new);
+    }
+    
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace(KEY_SEPARATOR, ' ')
+                .strip();
+    }
+    
+    private static String overlayKey(String term, Entry entry) {
+        return term + KEY_SEPARATOR + entry.version();
+    }
+    
+    private record Entry(TypeaheadMatch match, String[] terms, long version) {
+    }
+    
+    private record Candidate(String term, Entry entry) {
+    }
+    
+    private record State(PrefixSnapshot<Entry> snapshot,
+                         NavigableMap<String, Entry> frozenOverlay,
+                         NavigableMap<String, Entry> overlay) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.company.app.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable sorted term dictionary for prefix lookups.
+ * All terms are packed into one {@code char[]} addressed by an {@code int[]} of offsets, so a few
+ * million terms cost a handful of arrays instead of millions of String objects, and a prefix
+ * range is found with a binary search over the packed characters.
+ */
+final class PrefixSnapshot<T> {
+    
+    private static final PrefixSnapshot<?> EMPTY = new PrefixSnapshot<>(new char[0], new int[] {0}, new Object[0]);
+    
+    private final char[] chars;
+    private final int[] offsets;
+    private final Object[] values;
+    
+    private PrefixSnapshot(char[] chars, int[] offsets, Object[] values) {
+        this.chars = chars;
+        this.offsets = offsets;
+        this.values = values;
+    }
+    
+    @SuppressWarnings("unchecked")
+    static <T> PrefixSnapshot<T> empty() {
+        return (PrefixSnapshot<T>) EMPTY;
+    }
+    
+    /**
+     * Builds a snapshot from (term, value) postings; a term may appear once per value.
+     */
+    static <T> PrefixSnapshot<T> build(List<Map.Entry<String, T>> postings) {
+        List<Map.Entry<String, T>> sorted = new ArrayList<>(postings);
+        sorted.sort(Map.Entry.comparingByKey());
+        
+        int totalChars = 0;
+        for (Map.Entry<String, T> posting : sorted) {
+            totalChars += posting.getKey().length();
+        }
+        
+        char[] chars = new char[totalChars];
+        int[] offsets = new int[sorted.size() + 1];
+        Object[] values = new Object[sorted.size()];
+        int position = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            String term = sorted.get(i).getKey();
+            term.getChars(0, term.length(), chars, position);
+            offsets[i] = position;
+            values[i] = sorted.get(i).getValue();
+            position += term.length();
+        }
+        offsets[sorted.size()] = position;
+        return new PrefixSnapshot<>(chars, offsets, values);
+    }
+    
+    int size() {
+        return values.length;
+    }
+    
+    /**
+     * Index of the first term that is not lexicographically smaller than {@code prefix}.
+     * All terms starting with the prefix follow contiguously from there.
+     */
+    int lowerBound(String prefix) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    boolean startsWith(int index, String prefix) {
+        int start = offsets[index];
+        if (offsets[index + 1] - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (chars[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    String term(int index) {
+        return new String(chars, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+    
+    @SuppressWarnings("unchecked")
+    T value(int index) {
+        return (T) values[index];
+    }
+    
+    private int compare(int index, String other) {
+        int start = offsets[index];
+        int length = offsets[index + 1] - start;
+        int common = Math.min(length, other.length());
+        for (int i = 0; i < common; i++) {
+            int diff = chars[start + i] - other.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - other.length();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.company.app.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Spring Security principal that remembers which row of the users table it came from,
+ * so cached authentication state can be evicted by user id. The id is null for accounts
+ * that are not stored in the database.
+ */
+public class AuthenticatedUser extends User {
+    
+    private final UUID id;
+    
+    public AuthenticatedUser(UUID id, String username, String password, boolean enabled,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.id = id;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    /**
+     * User id of an authenticated principal, or null when it is not backed by the users table.
+     */
+    static UUID idOf(Object principal) {
+        return principal instanceof AuthenticatedUser user ? user.getId() : null;
+    }
+}
\ No newline at end of file
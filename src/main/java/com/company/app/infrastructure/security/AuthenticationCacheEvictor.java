@@ -0,0 +1,42 @@
+package com.company.app.infrastructure.security;
+
+import com.company.app.domain.user.UserAuthenticationCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Evicts a user from the user details and verified-credential caches when the user changes.
+ */
+public class AuthenticationCacheEvictor implements UserAuthenticationCache {
+    
+    private final CachingUserDetailsService userDetailsCache;
+    private final CachingAuthenticationProvider credentialCache;
+    
+    public AuthenticationCacheEvictor(CachingUserDetailsService userDetailsCache,
+                                      CachingAuthenticationProvider credentialCache) {
+        this.userDetailsCache = userDetailsCache;
+        this.credentialCache = credentialCache;
+    }
+    
+    @Override
+    public void evict(UUID userId) {
+        evictNow(userId);
+        // Evict again after commit so a login racing with the change cannot re-cache the old state
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+    
+    private void evictNow(UUID userId) {
+        // User details first, so a credential re-verified in between sees the new state
+        userDetailsCache.evict(userId);
+        credentialCache.evict(userId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.company.app.infrastructure.security;
+
+import com.company.app.domain.user.BulkPasswordEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt password encoder that runs every hash on a dedicated, bounded pool. At most {@code threads}
+ * hashes run at once and at most {@code queueCapacity} wait; anything beyond that is rejected
+ * immediately with {@link PasswordHashingRejectedException} instead of tying up more request threads.
+ * The work factor is calibrated at startup so one hash takes about the target time on this machine.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, BulkPasswordEncoder, AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+    
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+    
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        
+        Gauge.builder("security.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("security.password.hashing.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejected = Counter.builder("security.password.hashing.rejected")
+                .description("Password hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Picks the highest BCrypt strength between {@code minStrength} and {@code maxStrength} whose
+     * hash time stays within {@code targetTime}, never going below {@code minStrength}. Each step
+     * doubles the cost, so calibration itself takes at most about twice the target time.
+     */
+    public static int calibrate(Duration targetTime, int minStrength, int maxStrength) {
+        long target = targetTime.toNanos();
+        int strength = minStrength;
+        // Warm up once so the first measurement does not include class loading and JIT
+        new BCryptPasswordEncoder(minStrength).encode("calibration");
+        long elapsed = measure(strength);
+        while (strength < maxStrength && elapsed * 2 <= target) {
+            strength++;
+            elapsed = measure(strength);
+        }
+        logger.info("Calibrated BCrypt strength {} ({} ms per hash, target {} ms)",
+                strength, TimeUnit.NANOSECONDS.toMillis(elapsed), targetTime.toMillis());
+        return strength;
+    }
+    
+    public int getStrength() {
+        return strength;
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(schedule(encodeTimer, () -> delegate.encode(rawPassword)));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(schedule(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword)));
+    }
+    
+    /**
+     * Hashes on every pool thread at once. At most one hash per thread is in flight, so a large
+     * batch keeps the queue free for concurrent single-password requests.
+     */
+    @Override
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<Future<String>> pending = new ArrayList<>(rawPasswords.size());
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                if (pending.size() - hashes.size() >= window) {
+                    hashes.add(await(pending.get(hashes.size())));
+                }
+                pending.add(schedule(encodeTimer, () -> delegate.encode(rawPassword)));
+            }
+            while (hashes.size() < pending.size()) {
+                hashes.add(await(pending.get(hashes.size())));
+            }
+            return hashes;
+        } catch (RuntimeException ex) {
+            pending.forEach(future -> future.cancel(true));
+            throw ex;
+        }
+    }
+    
+    /**
+     * True for hashes created with a lower strength than the calibrated one, so they are
+     * rehashed on the next successful login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+    
+    private <T> Future<T> schedule(Timer hashTimer, Callable<T> hash) {
+        long submitted = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Too many concurrent password operations, try again later");
+        }
+    }
+    
+    private static <T> T await(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+    
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long started = System.nanoTime();
+        encoder.encode("calibration");
+        return System.nanoTime() - started;
+    }
+    
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("security.password.hashing.duration")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+    
+    private static final class HashingThreadFactory implements ThreadFactory {
+        
+        private final AtomicInteger counter = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
\ No newline at end of file
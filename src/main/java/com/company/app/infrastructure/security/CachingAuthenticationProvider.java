@@ -0,0 +1,124 @@
+package com.company.app.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Username/password authentication provider that remembers successfully verified credentials.
+ * Entries are keyed by an HMAC-SHA256 of username and password under a random per-process key,
+ * so a repeated login costs one HMAC instead of a BCrypt verification and the cache never holds
+ * plain passwords or a digest that can be brute-forced offline. Failed attempts are never cached.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    
+    private final AuthenticationProvider delegate;
+    private final Cache<String, VerifiedCredential> cache;
+    private final SecretKeySpec digestKey;
+    private final ThreadLocal<Mac> macs;
+    private final Timer hitTimer;
+    private final Timer missTimer;
+    
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, long maximumSize, Duration timeToLive,
+                                         MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified-credentials");
+        this.hitTimer = verificationTimer(meterRegistry, "hit");
+        this.missTimer = verificationTimer(meterRegistry, "miss");
+    }
+    
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        long started = System.nanoTime();
+        String key = digest(authentication.getName(), Objects.toString(authentication.getCredentials(), ""));
+        VerifiedCredential cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return cached.authentication();
+        }
+        
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            if (result != null && result.isAuthenticated()) {
+                // Copy without credentials, the cached instance is handed out to many requests
+                Authentication verified = UsernamePasswordAuthenticationToken.authenticated(
+                        result.getPrincipal(), null, result.getAuthorities());
+                cache.put(key, new VerifiedCredential(verified, AuthenticatedUser.idOf(result.getPrincipal())));
+                return verified;
+            }
+            return result;
+        } finally {
+            missTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+    
+    /**
+     * Drops every verified credential of the user.
+     */
+    public void evict(UUID userId) {
+        cache.asMap().values().removeIf(credential -> userId.equals(credential.userId()));
+    }
+    
+    private String digest(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+    
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("security.credentials.verification")
+                .description("Time to verify username/password credentials")
+                .tag("cache", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+    
+    private record VerifiedCredential(Authentication authentication, UUID userId) {
+    }
+}
\ No newline at end of file
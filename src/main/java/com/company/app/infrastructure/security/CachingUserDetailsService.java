@@ -0,0 +1,91 @@
+package com.company.app.infrastructure.security;
+
+import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserRepository;
+import com.company.app.domain.user.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Loads principals from the users table through {@link UserRepository}, keeping recently used
+ * users in a bounded in-process cache. Unknown usernames are not cached, so newly created users
+ * can log in immediately; changed and deleted users are evicted through {@link AuthenticationCacheEvictor}.
+ * Usernames missing from the table fall back to the configured bootstrap account, if any.
+ * Password hashes created with an older work factor are replaced after a successful login.
+ */
+public class CachingUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    
+    private final UserRepository userRepository;
+    private final UserDetailsService fallback;
+    private final TransactionOperations transactions;
+    private final Cache<String, User> cache;
+    
+    public CachingUserDetailsService(UserRepository userRepository, UserDetailsService fallback,
+                                     TransactionOperations transactions, long maximumSize, Duration timeToLive,
+                                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.fallback = fallback;
+        this.transactions = transactions;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-details");
+    }
+    
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        User user = cache.get(username, key -> userRepository.findByUsername(key).orElse(null));
+        if (user == null) {
+            if (fallback != null) {
+                return fallback.loadUserByUsername(username);
+            }
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        // A fresh principal per call: authentication erases the password of the instance it returns
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPasswordHash(), user.isActive(),
+                AuthorityUtils.createAuthorityList(roles(user.getRole())));
+    }
+    
+    /**
+     * Stores the hash computed with the current work factor for a user that just logged in.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UUID userId = AuthenticatedUser.idOf(user);
+        if (userId == null) {
+            return fallback instanceof UserDetailsPasswordService passwords
+                    ? passwords.updatePassword(user, newPassword)
+                    : user;
+        }
+        transactions.executeWithoutResult(status -> userRepository.updatePasswordHash(userId, newPassword));
+        evict(userId);
+        return new AuthenticatedUser(userId, user.getUsername(), newPassword, user.isEnabled(), user.getAuthorities());
+    }
+    
+    /**
+     * Drops the cached user with the given id.
+     */
+    public void evict(UUID userId) {
+        cache.asMap().values().removeIf(user -> userId.equals(user.getId()));
+    }
+    
+    private static String[] roles(UserRole role) {
+        return switch (role) {
+            case ADMIN -> new String[] {"ROLE_ADMIN", "ROLE_USER"};
+            case USER -> new String[] {"ROLE_USER"};
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.company.app.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying an {@code Authorization: Bearer} token.
+ * Requests without a bearer token pass through untouched so other mechanisms (or the
+ * authorization rules) can handle them; an invalid token is rejected straight away.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final JwtTokenService jwtTokenService;
+    private final AuthenticationEntryPoint authenticationEntryPoint;
+    
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, AuthenticationEntryPoint authenticationEntryPoint) {
+        this.jwtTokenService = jwtTokenService;
+        this.authenticationEntryPoint = authenticationEntryPoint;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        try {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(jwtTokenService.authenticate(header.substring(BEARER_PREFIX.length()).strip()));
+            SecurityContextHolder.setContext(context);
+        } catch (AuthenticationException ex) {
+            SecurityContextHolder.clearContext();
+            authenticationEntryPoint.commence(request, response, ex);
+            return;
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+}
\ No newline at end of file
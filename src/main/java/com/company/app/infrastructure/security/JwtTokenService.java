@@ -0,0 +1,119 @@
+package com.company.app.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Issues and verifies HMAC-signed JWT access tokens.
+ * Verification is a signature check and a few claim comparisons, with no password hashing or
+ * database access, so bearer-authenticated requests stay cheap.
+ * Without a configured secret a random key is generated per process, so tokens do not survive
+ * a restart and are not accepted by other instances.
+ */
+@Component
+public class JwtTokenService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenService.class);
+    
+    private static final String AUTHORITIES_CLAIM = "authorities";
+    
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final String issuer;
+    private final Duration timeToLive;
+    private final Clock clock;
+    
+    @Autowired
+    public JwtTokenService(@Value("${app.security.jwt.secret:}") String secret,
+                           @Value("${app.security.jwt.issuer:user-management-app}") String issuer,
+                           @Value("${app.security.jwt.time-to-live:PT15M}") Duration timeToLive) {
+        this(secret, issuer, timeToLive, Clock.systemUTC());
+    }
+    
+    JwtTokenService(String secret, String issuer, Duration timeToLive, Clock clock) {
+        this.signingKey = signingKey(secret);
+        this.issuer = issuer;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .requireIssuer(issuer)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+    }
+    
+    private static SecretKey signingKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("app.security.jwt.secret is not set, signing tokens with a random per-process key");
+            return Jwts.SIG.HS256.key().build();
+        }
+        // HS256 needs at least 256 bits of key material, Keys.hmacShaKeyFor rejects anything shorter
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+    
+    /**
+     * Issues a token for an already authenticated principal.
+     */
+    public IssuedToken issue(Authentication authentication) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(timeToLive);
+        List<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        
+        String token = Jwts.builder()
+                .issuer(issuer)
+                .subject(authentication.getName())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(expiresAt))
+                .claim(AUTHORITIES_CLAIM, authorities)
+                .signWith(signingKey)
+                .compact();
+        return new IssuedToken(token, timeToLive.toSeconds());
+    }
+    
+    /**
+     * Verifies the token and returns the authentication it carries.
+     *
+     * @throws BadCredentialsException if the token is malformed, expired or not signed by us
+     */
+    public Authentication authenticate(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new BadCredentialsException("Invalid bearer token", ex);
+        }
+        
+        Collection<?> authorities = claims.get(AUTHORITIES_CLAIM, Collection.class);
+        List<GrantedAuthority> grantedAuthorities = authorities == null ? List.of() : authorities.stream()
+                .map(authority -> (GrantedAuthority) new SimpleGrantedAuthority(authority.toString()))
+                .toList();
+        return UsernamePasswordAuthenticationToken.authenticated(claims.getSubject(), null, grantedAuthorities);
+    }
+    
+    public record IssuedToken(String value, long expiresInSeconds) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.company.app.infrastructure.security;
+
+/**
+ * Thrown when the password hashing pool and its queue are full and a hash cannot be scheduled.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
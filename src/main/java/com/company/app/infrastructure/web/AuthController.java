@@ -0,0 +1,44 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.infrastructure.security.JwtTokenService;
+import com.company.app.infrastructure.web.api.AuthApi;
+import com.company.app.infrastructure.web.dto.TokenRequest;
+import com.company.app.infrastructure.web.dto.TokenResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller implementing the generated AuthApi interface
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class AuthController implements AuthApi {
+    
+    private static final String TOKEN_TYPE = "Bearer";
+    
+    private final AuthenticationManager authenticationManager;
+    private final JwtTokenService jwtTokenService;
+    
+    public AuthController(AuthenticationManager authenticationManager, JwtTokenService jwtTokenService) {
+        this.authenticationManager = authenticationManager;
+        this.jwtTokenService = jwtTokenService;
+    }
+    
+    @Override
+    public ResponseEntity<TokenResponse> _authTokenPost(TokenRequest tokenRequest) {
+        Authentication authentication = authenticationManager.authenticate(
+            UsernamePasswordAuthenticationToken.unauthenticated(tokenRequest.getUsername(), tokenRequest.getPassword())
+        );
+        JwtTokenService.IssuedToken token = jwtTokenService.issue(authentication);
+        
+        TokenResponse response = new TokenResponse();
+        response.setAccessToken(token.value());
+        response.setTokenType(TOKEN_TYPE);
+        response.setExpiresIn(token.expiresInSeconds());
+        return ResponseEntity.ok(response);
+    }
+}
\ No newline at end of file
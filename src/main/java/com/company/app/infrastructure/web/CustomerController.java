@@ -1,24 +1,29 @@
 package com.company.app.infrastructure.web;
 
+import com.company.app.application.customer.ChangeCustomerStatusUseCase;
 import com.company.app.application.customer.CreateCustomerUseCase;
 import com.company.app.application.customer.DeleteCustomerUseCase;
+import com.company.app.application.customer.DeleteCustomersUseCase;
 import com.company.app.application.customer.UpdateCustomerUseCase;
 import com.company.app.domain.customer.Customer;
 import com.company.app.domain.customer.CustomerService;
 import com.company.app.domain.customer.CustomerStatus;
+import com.company.app.domain.customer.CustomerVersion;
+import com.company.app.infrastructure.cache.OffHeapResponseCache;
 import com.company.app.infrastructure.web.api.CustomersApi;
 import com.company.app.infrastructure.web.dto.*;
 import com.company.app.infrastructure.web.mapper.CustomerMapper;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -31,31 +36,68 @@ public class CustomerController implements CustomersApi {
     private final CreateCustomerUseCase createCustomerUseCase;
     private final UpdateCustomerUseCase updateCustomerUseCase;
     private final DeleteCustomerUseCase deleteCustomerUseCase;
+    private final ChangeCustomerStatusUseCase changeCustomerStatusUseCase;
+    private final DeleteCustomersUseCase deleteCustomersUseCase;
     private final CustomerService customerService;
     private final CustomerMapper customerMapper;
+    private final OffHeapResponseCache responseCache;
     
     public CustomerController(CreateCustomerUseCase createCustomerUseCase,
                             UpdateCustomerUseCase updateCustomerUseCase,
                             DeleteCustomerUseCase deleteCustomerUseCase,
+                            ChangeCustomerStatusUseCase changeCustomerStatusUseCase,
+                            DeleteCustomersUseCase deleteCustomersUseCase,
                             CustomerService customerService,
-                            CustomerMapper customerMapper) {
+                            CustomerMapper customerMapper,
+                            OffHeapResponseCache responseCache) {
         this.createCustomerUseCase = createCustomerUseCase;
         this.updateCustomerUseCase = updateCustomerUseCase;
         this.deleteCustomerUseCase = deleteCustomerUseCase;
+        this.changeCustomerStatusUseCase = changeCustomerStatusUseCase;
+        this.deleteCustomersUseCase = deleteCustomersUseCase;
         this.customerService = customerService;
         this.customerMapper = customerMapper;
+        this.responseCache = responseCache;
     }
     
     @Override
-    public ResponseEntity<CustomerPage> _customersGet(Integer page, Integer size, List<String> sort, String status, String industry) {
-        Pageable pageable = createPageable(page, size, sort);
+    public ResponseEntity<CustomerPage> _customersGet(Integer page, Integer size, List<String> sort, String status, String industry, String cursor, String countMode, String ifNoneMatch) {
+        if (cursor != null) {
+            return scrollCustomers(size, sort, status, industry, cursor, ifNoneMatch);
+        }
+        
+        Pageable pageable = PageableFactory.createPageable(page, size, sort);
+        PageInfo.CountModeEnum mode = PageableFactory.parseCountMode(countMode);
+        CustomerStatus customerStatus = status != null ? CustomerStatus.valueOf(status) : null;
+        if (mode != PageInfo.CountModeEnum.EXACT) {
+            Long estimatedTotal = mode == PageInfo.CountModeEnum.ESTIMATED
+                    ? customerService.estimateCustomerCount(customerStatus, industry)
+                    : null;
+            if (ifNoneMatch != null) {
+                String etag = versionsTag(customerStatus, industry, pageable, estimatedTotal);
+                if (EntityTags.matches(ifNoneMatch, etag)) {
+                    return EntityTags.notModified(etag);
+                }
+            }
+            Slice<Customer> slice = customerService.getCustomerSlice(customerStatus, industry, pageable);
+            String etag = pageTag(slice, estimatedTotal);
+            return ResponseEntity.ok().eTag(etag).body(customerMapper.toCustomerPage(slice, estimatedTotal));
+        }
+        
+        // Validated from ids and versions alone, so an unchanged page loads and maps no customers
+        if (ifNoneMatch != null) {
+            long total = customerService.countCustomers(customerStatus, industry);
+            String etag = versionsTag(customerStatus, industry, pageable, total);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return EntityTags.notModified(etag);
+            }
+        }
+        
         Page<Customer> customerPage;
         
         if (status != null && industry != null) {
-            CustomerStatus customerStatus = CustomerStatus.valueOf(status);
             customerPage = customerService.getCustomersByStatusAndIndustry(customerStatus, industry, pageable);
         } else if (status != null) {
-            CustomerStatus customerStatus = CustomerStatus.valueOf(status);
             customerPage = customerService.getCustomersByStatus(customerStatus, pageable);
         } else if (industry != null) {
             customerPage = customerService.getCustomersByIndustry(industry, pageable);
@@ -63,10 +105,50 @@ public class CustomerController implements CustomersApi {
             customerPage = customerService.getAllCustomers(pageable);
         }
         
+        String etag = pageTag(customerPage, customerPage.getTotalElements());
         CustomerPage response = customerMapper.toCustomerPage(customerPage);
+        return ResponseEntity.ok().eTag(etag).body(response);
+    }
+    
+    @Override
+    public ResponseEntity<CustomerPage> _customersSearchGet(String q, Integer page, Integer size) {
+        Pageable pageable = PageableFactory.createPageable(page, size, null);
+        Slice<Customer> results = customerService.searchCustomers(q, pageable);
+        CustomerPage response = customerMapper.toCustomerPage(results, null);
         return ResponseEntity.ok(response);
     }
     
+    private ResponseEntity<CustomerPage> scrollCustomers(Integer size, List<String> sort, String status, String industry,
+                                                         String cursor, String ifNoneMatch) {
+        boolean first = cursor.isBlank();
+        KeysetCursor keyset = first ? KeysetCursor.first(PageableFactory.createSort(sort)) : KeysetCursor.decode(cursor);
+        int limit = size != null ? size : PageableFactory.DEFAULT_PAGE_SIZE;
+        CustomerStatus customerStatus = status != null ? CustomerStatus.valueOf(status) : null;
+        
+        Window<Customer> window = customerService.scrollCustomers(
+                customerStatus, industry, keyset.position(), keyset.sort(), limit);
+        String nextCursor = window.hasNext() ? keyset.encode(window.positionAt(window.size() - 1)) : null;
+        String etag = EntityTags.forPage(window.getContent(), Customer::getId, Customer::getVersion, limit, first, nextCursor);
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return EntityTags.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(customerMapper.toCustomerPage(window, limit, first, nextCursor));
+    }
+    
+    private static String pageTag(Slice<Customer> slice, Long total) {
+        return EntityTags.forPage(slice.getContent(), Customer::getId, Customer::getVersion,
+                slice.getNumber(), slice.getSize(), slice.hasNext(), total);
+    }
+    
+    /**
+     * The same tag as {@link #pageTag} gives the page, built from a projection of its ids and versions.
+     */
+    private String versionsTag(CustomerStatus status, String industry, Pageable pageable, Long total) {
+        Slice<CustomerVersion> versions = customerService.getCustomerVersions(status, industry, pageable);
+        return EntityTags.forPage(versions.getContent(), CustomerVersion::id, CustomerVersion::version,
+                versions.getNumber(), versions.getSize(), versions.hasNext(), total);
+    }
+    
     @Override
     public ResponseEntity<com.company.app.infrastructure.web.dto.Customer> _customersPost(CreateCustomerRequest createCustomerRequest) {
         CreateCustomerUseCase.CreateCustomerCommand command = new CreateCustomerUseCase.CreateCustomerCommand(
@@ -89,14 +171,21 @@ public class CustomerController implements CustomersApi {
     }
     
     @Override
-    public ResponseEntity<com.company.app.infrastructure.web.dto.Customer> _customersIdGet(UUID id) {
+    public ResponseEntity<com.company.app.infrastructure.web.dto.Customer> _customersIdGet(UUID id, String ifNoneMatch) {
+        // Usually answered by CustomerResponseCacheInterceptor; this serves requests it leaves through
+        if (ifNoneMatch != null) {
+            String etag = EntityTags.forVersion(customerService.getCustomerVersion(id));
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return EntityTags.notModified(etag);
+            }
+        }
         Customer customer = customerService.getCustomerById(id);
         com.company.app.infrastructure.web.dto.Customer response = customerMapper.toDto(customer);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EntityTags.forVersion(customer.getVersion())).body(response);
     }
     
     @Override
-    public ResponseEntity<com.company.app.infrastructure.web.dto.Customer> _customersIdPut(UUID id, UpdateCustomerRequest updateCustomerRequest) {
+    public ResponseEntity<com.company.app.infrastructure.web.dto.Customer> _customersIdPut(UUID id, UpdateCustomerRequest updateCustomerRequest, String ifMatch) {
         UpdateCustomerUseCase.UpdateCustomerCommand command = new UpdateCustomerUseCase.UpdateCustomerCommand(
             id,
             updateCustomerRequest.getCompanyName(),
@@ -107,41 +196,47 @@ public class CustomerController implements CustomersApi {
                 customerMapper.toAddress(updateCustomerRequest.getAddress()) : null,
             updateCustomerRequest.getIndustry(),
             updateCustomerRequest.getStatus() != null ? 
-                CustomerStatus.valueOf(updateCustomerRequest.getStatus().getValue()) : null
+                CustomerStatus.valueOf(updateCustomerRequest.getStatus().getValue()) : null,
+            EntityTags.expectedVersion(ifMatch)
         );
         
         Customer updatedCustomer = updateCustomerUseCase.execute(command);
+        // Also covered by the new version; this just frees the stale entry early
+        responseCache.invalidate(id);
         com.company.app.infrastructure.web.dto.Customer response = customerMapper.toDto(updatedCustomer);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EntityTags.forVersion(updatedCustomer.getVersion())).body(response);
     }
     
     @Override
     public ResponseEntity<Void> _customersIdDelete(UUID id) {
         DeleteCustomerUseCase.DeleteCustomerCommand command = new DeleteCustomerUseCase.DeleteCustomerCommand(id);
         deleteCustomerUseCase.execute(command);
+        responseCache.invalidate(id);
         return ResponseEntity.noContent().build();
     }
     
-    private Pageable createPageable(Integer page, Integer size, List<String> sort) {
-        int pageNumber = page != null ? page : 0;
-        int pageSize = size != null ? size : 20;
-        
-        if (sort != null && !sort.isEmpty()) {
-            List<Sort.Order> orders = sort.stream()
-                .map(this::parseSortString)
-                .toList();
-            return PageRequest.of(pageNumber, pageSize, Sort.by(orders));
-        }
+    @Override
+    public ResponseEntity<BulkOperationResult> _customersBulkStatusPost(BulkCustomerStatusRequest bulkCustomerStatusRequest) {
+        // An omitted id list may be deserialized as an empty one
+        Set<UUID> ids = bulkCustomerStatusRequest.getIds();
+        CustomerFilter filter = bulkCustomerStatusRequest.getFilter();
+        ChangeCustomerStatusUseCase.ChangeCustomerStatusCommand command = new ChangeCustomerStatusUseCase.ChangeCustomerStatusCommand(
+            ids != null && !ids.isEmpty() ? ids : null,
+            filter != null && filter.getStatus() != null ? CustomerStatus.valueOf(filter.getStatus().getValue()) : null,
+            filter != null ? filter.getIndustry() : null,
+            CustomerStatus.valueOf(bulkCustomerStatusRequest.getStatus().getValue())
+        );
         
-        return PageRequest.of(pageNumber, pageSize);
+        int updated = changeCustomerStatusUseCase.execute(command);
+        return ResponseEntity.ok(customerMapper.toBulkOperationResult(updated));
     }
     
-    private Sort.Order parseSortString(String sortStr) {
-        String[] parts = sortStr.split(",");
-        String property = parts[0];
-        Sort.Direction direction = parts.length > 1 && "desc".equalsIgnoreCase(parts[1]) 
-            ? Sort.Direction.DESC 
-            : Sort.Direction.ASC;
-        return new Sort.Order(direction, property);
+    @Override
+    public ResponseEntity<BulkOperationResult> _customersBulkDeletePost(BulkDeleteCustomersRequest bulkDeleteCustomersRequest) {
+        DeleteCustomersUseCase.DeleteCustomersCommand command = new DeleteCustomersUseCase.DeleteCustomersCommand(
+            bulkDeleteCustomersRequest.getIds());
+        int deleted = deleteCustomersUseCase.execute(command);
+        command.ids().forEach(responseCache::invalidate);
+        return ResponseEntity.ok(customerMapper.toBulkOperationResult(deleted));
     }
 }
\ No newline at end of file
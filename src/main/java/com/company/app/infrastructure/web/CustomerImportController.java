@@ -0,0 +1,112 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.application.customer.ImportCustomersUseCase;
+import com.company.app.application.customer.ImportCustomersUseCase.ImportRow;
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerStatus;
+import com.company.app.infrastructure.web.dto.CreateCustomerRequest;
+import com.company.app.infrastructure.web.dto.CustomerImportReport;
+import com.company.app.infrastructure.web.mapper.CustomerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for the bulk customer import. Written by hand rather than generated from the
+ * spec because generated binary request bodies are read fully into memory, while this endpoint
+ * reads the upload as a stream.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class CustomerImportController {
+    
+    private final ImportCustomersUseCase importCustomersUseCase;
+    private final CustomerMapper customerMapper;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    
+    public CustomerImportController(ImportCustomersUseCase importCustomersUseCase, CustomerMapper customerMapper,
+                                    Validator validator, ObjectMapper objectMapper) {
+        this.importCustomersUseCase = importCustomersUseCase;
+        this.customerMapper = customerMapper;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(CreateCustomerRequest.class);
+    }
+    
+    @PostMapping(value = "/customers/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CustomerImportReport> importCustomers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            CustomerImportReader rows = mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    ? CustomerImportReader.ndjson(reader, requestReader)
+                    : CustomerImportReader.csv(reader);
+            
+            ImportCustomersUseCase.ImportReport report = importCustomersUseCase.execute(
+                    new ImportCustomersUseCase.ImportCustomersCommand(toImportRows(rows)));
+            return ResponseEntity.ok(customerMapper.toImportReport(report));
+        }
+    }
+    
+    private Iterator<ImportRow> toImportRows(CustomerImportReader rows) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+            
+            @Override
+            public ImportRow next() {
+                return toImportRow(rows.next());
+            }
+        };
+    }
+    
+    private ImportRow toImportRow(CustomerImportReader.ParsedRow row) {
+        if (row.error() != null) {
+            return ImportRow.invalid(row.row(), row.error());
+        }
+        
+        CreateCustomerRequest request = row.request();
+        Set<ConstraintViolation<CreateCustomerRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return ImportRow.invalid(row.row(), message);
+        }
+        
+        Customer customer = Customer.create(
+            request.getCompanyName(),
+            request.getContactPerson(),
+            request.getEmail(),
+            request.getPhone(),
+            customerMapper.toAddress(request.getAddress()),
+            request.getIndustry(),
+            request.getStatus() != null ? CustomerStatus.valueOf(request.getStatus().getValue()) : CustomerStatus.PROSPECT
+        );
+        return ImportRow.valid(row.row(), customer);
+    }
+}
\ No newline at end of file
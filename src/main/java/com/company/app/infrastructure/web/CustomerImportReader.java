@@ -0,0 +1,300 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.infrastructure.web.dto.Address;
+import com.company.app.infrastructure.web.dto.CreateCustomerRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Reads a customer import upload one row at a time as {@link CreateCustomerRequest}s, so only the
+ * current row is ever held in memory. Rows that cannot be parsed are returned with an error
+ * instead of ending the upload. A row longer than {@link #MAX_ROW_LENGTH} characters is reported
+ * as an error and skipped up to the next line break, so a stray quote cannot make the reader
+ * buffer the rest of the upload.
+ */
+abstract class CustomerImportReader implements Iterator<CustomerImportReader.ParsedRow> {
+    
+    static final int MAX_ROW_LENGTH = 64 * 1024;
+    
+    private static final String ROW_TOO_LONG = "Row exceeds " + MAX_ROW_LENGTH + " characters";
+    
+    record ParsedRow(long row, CreateCustomerRequest request, String error) {}
+    
+    private ParsedRow next;
+    
+    /**
+     * One JSON object per line; blank lines are skipped but still counted.
+     */
+    static CustomerImportReader ndjson(BufferedReader reader, ObjectReader objectReader) {
+        return new NdjsonReader(reader, objectReader);
+    }
+    
+    /**
+     * RFC 4180 CSV with a header row naming the columns. Empty unquoted fields are null.
+     *
+     * @throws IllegalArgumentException if the header is missing or names an unknown column
+     */
+    static CustomerImportReader csv(BufferedReader reader) {
+        return new CsvReader(reader);
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = read();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return next != null;
+    }
+    
+    @Override
+    public ParsedRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ParsedRow row = next;
+        next = null;
+        return row;
+    }
+    
+    /**
+     * The next row, or null at the end of the upload.
+     */
+    abstract ParsedRow read() throws IOException;
+    
+    private static final class NdjsonReader extends CustomerImportReader {
+        
+        private final BufferedReader reader;
+        private final ObjectReader objectReader;
+        private final StringBuilder buffer = new StringBuilder();
+        private boolean tooLong;
+        private long line;
+        
+        private NdjsonReader(BufferedReader reader, ObjectReader objectReader) {
+            this.reader = reader;
+            this.objectReader = objectReader;
+        }
+        
+        @Override
+        ParsedRow read() throws IOException {
+            String text;
+            do {
+                text = readLine();
+                line++;
+            } while (text != null && !tooLong && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            if (tooLong) {
+                return new ParsedRow(line, null, ROW_TOO_LONG);
+            }
+            try {
+                return new ParsedRow(line, objectReader.readValue(text), null);
+            } catch (JsonProcessingException ex) {
+                return new ParsedRow(line, null, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+        
+        /**
+         * Like {@link BufferedReader#readLine()}, but keeps at most {@link #MAX_ROW_LENGTH} characters
+         * and discards the rest of a longer line.
+         */
+        private String readLine() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            buffer.setLength(0);
+            tooLong = false;
+            while (c != '\n' && c != -1) {
+                if (buffer.length() < MAX_ROW_LENGTH) {
+                    buffer.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+                c = reader.read();
+            }
+            if (!buffer.isEmpty() && buffer.charAt(buffer.length() - 1) == '\r') {
+                buffer.setLength(buffer.length() - 1);
+            }
+            return buffer.toString();
+        }
+    }
+    
+    private static final class CsvReader extends CustomerImportReader {
+        
+        private static final Set<String> COLUMNS = Set.of("companyName", "contactPerson", "email", "phone",
+                "street", "city", "state", "zipCode", "country", "industry", "status");
+        
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final StringBuilder field = new StringBuilder();
+        private boolean unterminated;
+        private boolean tooLong;
+        private long row;
+        
+        private CsvReader(BufferedReader reader) {
+            this.reader = reader;
+            try {
+                readHeader();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        
+        @Override
+        ParsedRow read() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+            } while (fields != null && fields.size() == 1 && fields.get(0) == null);
+            if (fields == null) {
+                return null;
+            }
+            row++;
+            if (tooLong) {
+                return new ParsedRow(row, null, ROW_TOO_LONG);
+            }
+            if (unterminated) {
+                return new ParsedRow(row, null, "Unterminated quoted field");
+            }
+            if (fields.size() != columns.size()) {
+                return new ParsedRow(row, null,
+                        "Expected " + columns.size() + " fields but found " + fields.size());
+            }
+            try {
+                return new ParsedRow(row, toRequest(fields), null);
+            } catch (IllegalArgumentException ex) {
+                // Unknown status value
+                return new ParsedRow(row, null, "status: " + ex.getMessage());
+            }
+        }
+        
+        private void readHeader() throws IOException {
+            List<String> header = readRecord();
+            if (header == null || unterminated || tooLong) {
+                throw new IllegalArgumentException("CSV upload must start with a header row");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i) != null ? header.get(i).strip() : "";
+                if (!COLUMNS.contains(name)) {
+                    throw new IllegalArgumentException("Unknown CSV column: '" + name + "', expected any of " + COLUMNS);
+                }
+                if (columns.putIfAbsent(name, i) != null) {
+                    throw new IllegalArgumentException("Duplicate CSV column: " + name);
+                }
+            }
+        }
+        
+        private CreateCustomerRequest toRequest(List<String> fields) {
+            CreateCustomerRequest request = new CreateCustomerRequest();
+            request.setCompanyName(value(fields, "companyName"));
+            request.setContactPerson(value(fields, "contactPerson"));
+            request.setEmail(value(fields, "email"));
+            request.setPhone(value(fields, "phone"));
+            request.setIndustry(value(fields, "industry"));
+            String status = value(fields, "status");
+            if (status != null) {
+                request.setStatus(CreateCustomerRequest.StatusEnum.fromValue(status));
+            }
+            
+            String street = value(fields, "street");
+            String city = value(fields, "city");
+            String state = value(fields, "state");
+            String zipCode = value(fields, "zipCode");
+            String country = value(fields, "country");
+            if (street != null || city != null || state != null || zipCode != null || country != null) {
+                Address address = new Address();
+                address.setStreet(street);
+                address.setCity(city);
+                address.setState(state);
+                address.setZipCode(zipCode);
+                address.setCountry(country);
+                request.setAddress(address);
+            }
+            return request;
+        }
+        
+        private String value(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            return index != null ? fields.get(index) : null;
+        }
+        
+        /**
+         * The fields of the next record, or null at the end of the input. Quoted fields may
+         * contain separators, line breaks and doubled quotes. A record longer than
+         * {@link #MAX_ROW_LENGTH} is dropped up to the next line break and returned without fields.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            boolean inQuotes = false;
+            boolean quoted = false;
+            unterminated = false;
+            tooLong = false;
+            field.setLength(0);
+            for (int length = 1; ; length++) {
+                if (length > MAX_ROW_LENGTH && c != '\n' && c != -1) {
+                    // Most likely an unbalanced quote; resume at the next physical line
+                    while (c != '\n' && c != -1) {
+                        c = reader.read();
+                    }
+                    tooLong = true;
+                    field.setLength(0);
+                    return List.of();
+                }
+                if (inQuotes) {
+                    if (c == -1) {
+                        unterminated = true;
+                        break;
+                    }
+                    if (c == '"') {
+                        int following = reader.read();
+                        if (following != '"') {
+                            inQuotes = false;
+                            c = following;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == ',') {
+                    fields.add(fieldValue(quoted));
+                    quoted = false;
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '"' && field.isEmpty() && !quoted) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(fieldValue(quoted));
+            return fields;
+        }
+        
+        private String fieldValue(boolean quoted) {
+            String value = field.isEmpty() && !quoted ? null : field.toString();
+            field.setLength(0);
+            return value;
+        }
+    }
+}
\ No newline at end of file
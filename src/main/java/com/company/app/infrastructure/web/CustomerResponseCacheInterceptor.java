@@ -0,0 +1,165 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerService;
+import com.company.app.infrastructure.cache.OffHeapResponseCache;
+import com.company.app.infrastructure.web.mapper.CustomerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Answers {@code GET /api/v1/customers/{id}} from the off-heap response cache. The customer is
+ * still loaded (usually from the entity cache) because its version is the cache version, but on
+ * a hit the stored JSON is written as is, skipping the DTO mapping and Jackson. Misses are serialized
+ * with the MVC object mapper, so cached and uncached responses are byte for byte the same.
+ * Conditional requests are checked first and answered with 304 without loading the customer.
+ */
+@Component
+public class CustomerResponseCacheInterceptor implements HandlerInterceptor {
+    
+    static final String CUSTOMER_PATH = "/api/v1/customers/{id}";
+    
+    private static final int MAX_POOLED_BUFFERS = 64;
+    
+    private final CustomerService customerService;
+    private final CustomerMapper customerMapper;
+    private final ObjectMapper objectMapper;
+    private final OffHeapResponseCache responseCache;
+    private final boolean gzip;
+    // Copy buffers are reused so hits allocate nothing, also on virtual threads where thread locals would not help
+    private final BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+    
+    public CustomerResponseCacheInterceptor(CustomerService customerService, CustomerMapper customerMapper,
+                                            ObjectMapper objectMapper, OffHeapResponseCache customerResponseCache,
+                                            @Value("${app.customers.response-cache.gzip:true}") boolean gzip) {
+        this.customerService = customerService;
+        this.customerMapper = customerMapper;
+        this.objectMapper = objectMapper;
+        this.responseCache = customerResponseCache;
+        this.gzip = gzip;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || !CUSTOMER_PATH.equals(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                || !acceptsJson(request)) {
+            return true;
+        }
+        UUID id;
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            id = UUID.fromString(variables.get("id"));
+        } catch (IllegalArgumentException ex) {
+            // Left to the controller, which rejects it like any other malformed id
+            return true;
+        }
+    
+        boolean gzipped = gzip && acceptsGzip(request);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        // Not found propagates to the exception handler like it would from the controller
+        if (ifNoneMatch != null) {
+            // Validated against the table, without loading the customer
+            String etag = etag(customerService.getCustomerVersion(id), gzipped);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                response.setHeader(HttpHeaders.ETAG, etag);
+                writeVary(response);
+                return false;
+            }
+        }
+    
+        Customer customer = customerService.getCustomerById(id);
+        long version = customer.getVersion();
+        String etag = etag(version, gzipped);
+    
+        byte[] buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new byte[responseCache.getMaxEntrySize()];
+        }
+        try {
+            int length = responseCache.get(id, version, gzipped, buffer);
+            if (length >= 0) {
+                write(response, buffer, length, gzipped, etag);
+            } else {
+                byte[] body = objectMapper.writeValueAsBytes(customerMapper.toDto(customer));
+                byte[] compressed = gzip ? gzip(body) : null;
+                responseCache.put(id, version, body, compressed);
+                if (gzipped) {
+                    write(response, compressed, compressed.length, true, etag);
+                } else {
+                    write(response, body, body.length, false, etag);
+                }
+            }
+        } finally {
+            buffers.offer(buffer);
+        }
+        return false;
+    }
+    
+    private void write(HttpServletResponse response, byte[] body, int length, boolean gzipped, String etag) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(length);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        writeVary(response);
+        if (gzipped) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.getOutputStream().write(body, 0, length);
+    }
+    
+    private void writeVary(HttpServletResponse response) {
+        if (gzip) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+    
+    private static String etag(long version, boolean gzipped) {
+        String etag = EntityTags.forVersion(version);
+        return gzipped ? EntityTags.gzipped(etag) : etag;
+    }
+    
+    private static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(MediaType.APPLICATION_JSON::isCompatibleWith);
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+    
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+    
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.company.app.infrastructure.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Strong entity tags for single resources and list pages. A resource is tagged with its version;
+ * a page with a digest of its rows' ids and versions plus the paging details it reports, so the
+ * tag changes whenever the response would.
+ */
+final class EntityTags {
+    
+    private static final String GZIP_SUFFIX = "-gzip";
+    private static final int PAGE_TAG_BYTES = 16;
+    // Versions start at 0, so no row ever has it
+    private static final long UNMATCHABLE_VERSION = -1;
+    
+    private EntityTags() {
+    }
+    
+    static String forVersion(long version) {
+        return quote(Long.toString(version));
+    }
+    
+    /**
+     * Tag of the gzip-encoded representation, which has different bytes and so needs its own strong tag.
+     */
+    static String gzipped(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+    
+    /**
+     * @param page everything else in the response that describes the page, such as its number,
+     *             size and total, in a fixed order
+     */
+    static <T> String forPage(List<T> content, Function<T, UUID> id, ToLongFunction<T> version, Object... page) {
+        MessageDigest digest = sha256();
+        ByteBuffer row = ByteBuffer.allocate(3 * Long.BYTES);
+        for (T element : content) {
+            UUID elementId = id.apply(element);
+            row.clear();
+            row.putLong(elementId.getMostSignificantBits())
+                    .putLong(elementId.getLeastSignificantBits())
+                    .putLong(version.applyAsLong(element));
+            digest.update(row.array());
+        }
+        digest.update(Arrays.toString(page).getBytes(StandardCharsets.UTF_8));
+        byte[] hash = Arrays.copyOf(digest.digest(), PAGE_TAG_BYTES);
+        return quote(Base64.getUrlEncoder().withoutPadding().encodeToString(hash));
+    }
+    
+    /**
+     * Whether an If-None-Match header lists the tag. As the header requires, weak tags compare
+     * equal to the strong tag with the same value.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The version an If-Match header requires, or null when it requires none (absent or {@code *}).
+     * The header must hold a single strong tag as handed out by this API, either representation;
+     * anything else cannot match and yields a version no row has.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return UNMATCHABLE_VERSION;
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        if (value.endsWith(GZIP_SUFFIX)) {
+            value = value.substring(0, value.length() - GZIP_SUFFIX.length());
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+    
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
\ No newline at end of file
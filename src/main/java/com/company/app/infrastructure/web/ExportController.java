@@ -0,0 +1,126 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.domain.customer.Address;
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerService;
+import com.company.app.domain.customer.CustomerStatus;
+import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserService;
+import com.company.app.infrastructure.web.ExportWriter.Column;
+import com.company.app.infrastructure.web.mapper.CustomerMapper;
+import com.company.app.infrastructure.web.mapper.UserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * REST controller for the customer and user exports. Written by hand rather than generated from
+ * the spec because rows are written to the response while they are read from the database,
+ * instead of being collected into a response body first.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class ExportController {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final List<Column<Customer>> CUSTOMER_COLUMNS = List.of(
+        new Column<>("id", Customer::getId),
+        new Column<>("companyName", Customer::getCompanyName),
+        new Column<>("contactPerson", Customer::getContactPerson),
+        new Column<>("email", Customer::getEmail),
+        new Column<>("phone", Customer::getPhone),
+        new Column<>("street", customer -> addressField(customer, Address::getStreet)),
+        new Column<>("city", customer -> addressField(customer, Address::getCity)),
+        new Column<>("state", customer -> addressField(customer, Address::getState)),
+        new Column<>("zipCode", customer -> addressField(customer, Address::getZipCode)),
+        new Column<>("country", customer -> addressField(customer, Address::getCountry)),
+        new Column<>("industry", Customer::getIndustry),
+        new Column<>("status", Customer::getStatus),
+        new Column<>("createdAt", Customer::getCreatedAt),
+        new Column<>("updatedAt", Customer::getUpdatedAt)
+    );
+    
+    private static final List<Column<User>> USER_COLUMNS = List.of(
+        new Column<>("id", User::getId),
+        new Column<>("username", User::getUsername),
+        new Column<>("email", User::getEmail),
+        new Column<>("firstName", User::getFirstName),
+        new Column<>("lastName", User::getLastName),
+        new Column<>("role", User::getRole),
+        new Column<>("isActive", User::isActive),
+        new Column<>("createdAt", User::getCreatedAt),
+        new Column<>("updatedAt", User::getUpdatedAt)
+    );
+    
+    private final CustomerService customerService;
+    private final UserService userService;
+    private final CustomerMapper customerMapper;
+    private final UserMapper userMapper;
+    private final ObjectWriter objectWriter;
+    
+    public ExportController(CustomerService customerService, UserService userService,
+                            CustomerMapper customerMapper, UserMapper userMapper, ObjectMapper objectMapper) {
+        this.customerService = customerService;
+        this.userService = userService;
+        this.customerMapper = customerMapper;
+        this.userMapper = userMapper;
+        this.objectWriter = objectMapper.writer();
+    }
+    
+    @GetMapping("/customers/export")
+    public void exportCustomers(@RequestParam(defaultValue = "csv") String format,
+                                @RequestParam(required = false) String status,
+                                @RequestParam(required = false) String industry,
+                                HttpServletResponse response) throws IOException {
+        ExportWriter.Format exportFormat = ExportWriter.Format.parse(format);
+        CustomerStatus customerStatus = status != null ? CustomerStatus.valueOf(status) : null;
+        
+        ExportWriter<Customer> writer = open(response, "customers", exportFormat, CUSTOMER_COLUMNS, customerMapper::toDto);
+        customerService.exportCustomers(customerStatus, industry, writer);
+        writer.finish();
+    }
+    
+    @GetMapping("/users/export")
+    public void exportUsers(@RequestParam(defaultValue = "csv") String format,
+                            HttpServletResponse response) throws IOException {
+        ExportWriter.Format exportFormat = ExportWriter.Format.parse(format);
+        
+        ExportWriter<User> writer = open(response, "users", exportFormat, USER_COLUMNS, userMapper::toDto);
+        userService.exportUsers(writer);
+        writer.finish();
+    }
+    
+    private <T> ExportWriter<T> open(HttpServletResponse response, String name, ExportWriter.Format format,
+                                     List<Column<T>> columns, Function<T, ?> toDto) throws IOException {
+        response.setContentType(format.mediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.extension())
+                .build()
+                .toString());
+        
+        BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+        return format == ExportWriter.Format.CSV
+                ? ExportWriter.csv(writer, columns)
+                : ExportWriter.ndjson(writer, objectWriter, toDto);
+    }
+    
+    private static Object addressField(Customer customer, Function<Address, String> field) {
+        return customer.getAddress() != null ? field.apply(customer.getAddress()) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.company.app.infrastructure.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes exported rows to the response as they arrive, in CSV or NDJSON. Nothing is buffered
+ * beyond the underlying writer, so memory use does not depend on the number of rows.
+ */
+abstract class ExportWriter<T> implements Consumer<T> {
+    
+    enum Format {
+        CSV(new MediaType("text", "csv"), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+        
+        private final MediaType mediaType;
+        private final String extension;
+        
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+        
+        MediaType mediaType() {
+            return mediaType;
+        }
+        
+        String extension() {
+            return extension;
+        }
+        
+        /**
+         * @throws IllegalArgumentException if the value names no format
+         */
+        static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: '" + value + "', expected any of "
+                    + Arrays.stream(values()).map(Format::extension).toList());
+        }
+    }
+    
+    /**
+     * A named CSV column and how to read its value from a row; null values are written as empty fields.
+     */
+    record Column<T>(String name, Function<T, Object> value) {}
+    
+    protected final Writer writer;
+    
+    private ExportWriter(Writer writer) {
+        this.writer = writer;
+    }
+    
+    /**
+     * RFC 4180 CSV with a header row naming the columns.
+     */
+    static <T> ExportWriter<T> csv(Writer writer, List<Column<T>> columns) throws IOException {
+        return new CsvWriter<>(writer, columns);
+    }
+    
+    /**
+     * One JSON object per line, each row converted with {@code toDto} first so the objects match
+     * the regular API representation.
+     */
+    static <T> ExportWriter<T> ndjson(Writer writer, ObjectWriter objectWriter, Function<T, ?> toDto) throws IOException {
+        return new NdjsonWriter<>(writer, objectWriter, toDto);
+    }
+    
+    @Override
+    public void accept(T row) {
+        try {
+            write(row);
+        } catch (IOException ex) {
+            // Usually the client went away; stops reading from the database
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    abstract void write(T row) throws IOException;
+    
+    /**
+     * Writes out anything still buffered. Not called when the export fails, so a broken export
+     * ends with an aborted response rather than a truncated file that looks complete.
+     */
+    void finish() throws IOException {
+        writer.flush();
+    }
+    
+    private static final class CsvWriter<T> extends ExportWriter<T> {
+        
+        private final List<Column<T>> columns;
+        
+        private CsvWriter(Writer writer, List<Column<T>> columns) throws IOException {
+            super(writer);
+            this.columns = columns;
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+        
+        @Override
+        void write(T row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+        
+        private void writeField(String value) throws IOException {
+            if (!needsQuotes(value)) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+        
+        private static boolean needsQuotes(String value) {
+            // Quoted empty strings stay distinct from null, which is written as an empty field
+            if (value.isEmpty()) {
+                return true;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    private static final class NdjsonWriter<T> extends ExportWriter<T> {
+        
+        private final ObjectWriter objectWriter;
+        private final Function<T, ?> toDto;
+        private final JsonGenerator generator;
+        
+        private NdjsonWriter(Writer writer, ObjectWriter objectWriter, Function<T, ?> toDto) throws IOException {
+            super(writer);
+            // Flushing after every row would send one tiny chunk per row
+            this.objectWriter = objectWriter.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.toDto = toDto;
+            this.generator = this.objectWriter.createGenerator(writer);
+            // Lines are separated explicitly, not with the default space between root values
+            this.generator.setRootValueSeparator(null);
+        }
+        
+        @Override
+        void write(T row) throws IOException {
+            objectWriter.writeValue(generator, toDto.apply(row));
+            generator.writeRaw('\n');
+        }
+        
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
\ No newline at end of file
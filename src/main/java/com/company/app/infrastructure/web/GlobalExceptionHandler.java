@@ -2,16 +2,22 @@ package com.company.app.infrastructure.web;
 
 import com.company.app.domain.customer.CustomerAlreadyExistsException;
 import com.company.app.domain.customer.CustomerNotFoundException;
+import com.company.app.domain.customer.CustomerVersionConflictException;
 import com.company.app.domain.user.UserAlreadyExistsException;
 import com.company.app.domain.user.UserNotFoundException;
+import com.company.app.domain.user.UserVersionConflictException;
+import com.company.app.infrastructure.security.PasswordHashingRejectedException;
 import com.company.app.infrastructure.web.dto.Error;
 import com.company.app.infrastructure.web.dto.ValidationError;
 import com.company.app.infrastructure.web.dto.ValidationErrorFieldErrorsInner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -55,6 +61,47 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
     
+    @ExceptionHandler({UserVersionConflictException.class, CustomerVersionConflictException.class})
+    public ResponseEntity<Error> handleVersionConflict(RuntimeException ex, WebRequest request) {
+        logger.warn("Precondition failed: {}", ex.getMessage());
+        
+        Error error = new Error();
+        error.setMessage(ex.getMessage());
+        error.setCode("PRECONDITION_FAILED");
+        error.setTimestamp(OffsetDateTime.now(ZoneOffset.UTC));
+        error.setPath(getRequestPath(request));
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Error> handleAuthentication(AuthenticationException ex, WebRequest request) {
+        logger.warn("Authentication failed: {}", ex.getMessage());
+        
+        Error error = new Error();
+        error.setMessage("Invalid username or password");
+        error.setCode("UNAUTHORIZED");
+        error.setTimestamp(OffsetDateTime.now(ZoneOffset.UTC));
+        error.setPath(getRequestPath(request));
+        
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+    
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Error> handlePasswordHashingRejected(PasswordHashingRejectedException ex, WebRequest request) {
+        logger.warn("Password hashing rejected: {}", ex.getMessage());
+        
+        Error error = new Error();
+        error.setMessage(ex.getMessage());
+        error.setCode("SERVICE_UNAVAILABLE");
+        error.setTimestamp(OffsetDateTime.now(ZoneOffset.UTC));
+        error.setPath(getRequestPath(request));
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationError> handleValidationException(MethodArgumentNotValidException ex, WebRequest request) {
         logger.warn("Validation error: {}", ex.getMessage());
@@ -88,6 +135,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<Error> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex, WebRequest request) {
+        logger.warn("Unsupported media type: {}", ex.getMessage());
+        
+        Error error = new Error();
+        error.setMessage(ex.getMessage());
+        error.setCode("UNSUPPORTED_MEDIA_TYPE");
+        error.setTimestamp(OffsetDateTime.now(ZoneOffset.UTC));
+        error.setPath(getRequestPath(request));
+        
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(error);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Error> handleGenericException(Exception ex, WebRequest request) {
         logger.error("Unexpected error", ex);
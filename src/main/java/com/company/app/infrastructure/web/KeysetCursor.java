@@ -0,0 +1,58 @@
+package com.company.app.infrastructure.web;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Opaque continuation token for keyset pagination. It carries the sort order and the
+ * last row's sort key and id, so clients only echo back {@code page.nextCursor}.
+ */
+record KeysetCursor(Sort sort, KeysetScrollPosition position) {
+    
+    private static final String ID_KEY = "id";
+    private static final String SEPARATOR = "|";
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.ASC, "createdAt");
+    
+    /**
+     * Cursor for the first page in the given order, creation time ascending when unsorted.
+     */
+    static KeysetCursor first(Sort sort) {
+        return new KeysetCursor(sort.isSorted() ? sort : DEFAULT_SORT, ScrollPosition.keyset());
+    }
+    
+    static KeysetCursor decode(String token) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+        
+        String[] parts = decoded.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4 || parts[1].isEmpty() || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        
+        Sort.Direction direction = Sort.Direction.fromOptionalString(parts[0])
+                .orElseThrow(() -> new IllegalArgumentException("Invalid cursor"));
+        return new KeysetCursor(
+                Sort.by(direction, parts[1]),
+                ScrollPosition.forward(Map.of(parts[1], parts[3], ID_KEY, parts[2])));
+    }
+    
+    /**
+     * Encodes the position after the last row of a page, using the single sort order of this cursor.
+     */
+    String encode(ScrollPosition next) {
+        Sort.Order order = sort.iterator().next();
+        Map<String, Object> keys = ((KeysetScrollPosition) next).getKeys();
+        String token = order.getDirection().name() + SEPARATOR + order.getProperty()
+                + SEPARATOR + keys.get(ID_KEY) + SEPARATOR + keys.get(order.getProperty());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
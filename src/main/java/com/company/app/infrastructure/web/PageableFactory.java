@@ -0,0 +1,49 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.infrastructure.web.dto.PageInfo;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Builds Spring Data pageables from the page/size/sort query parameters shared by the list endpoints
+ */
+public final class PageableFactory {
+    
+    static final int DEFAULT_PAGE_SIZE = 20;
+    
+    private PageableFactory() {}
+    
+    public static Pageable createPageable(Integer page, Integer size, List<String> sort) {
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        return PageRequest.of(pageNumber, pageSize, createSort(sort));
+    }
+    
+    public static Sort createSort(List<String> sort) {
+        if (sort == null || sort.isEmpty()) {
+            return Sort.unsorted();
+        }
+        return Sort.by(sort.stream()
+            .map(PageableFactory::parseSortString)
+            .toList());
+    }
+    
+    /**
+     * Parses the countMode query parameter, exact when absent. Unknown values are rejected with a 400.
+     */
+    public static PageInfo.CountModeEnum parseCountMode(String countMode) {
+        return countMode != null ? PageInfo.CountModeEnum.fromValue(countMode) : PageInfo.CountModeEnum.EXACT;
+    }
+    
+    public static Sort.Order parseSortString(String sortStr) {
+        String[] parts = sortStr.split(",");
+        String property = parts[0];
+        Sort.Direction direction = parts.length > 1 && "desc".equalsIgnoreCase(parts[1]) 
+            ? Sort.Direction.DESC 
+            : Sort.Direction.ASC;
+        return new Sort.Order(direction, property);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.domain.search.TypeaheadIndex;
+import com.company.app.infrastructure.web.api.SearchApi;
+import com.company.app.infrastructure.web.dto.TypeaheadResult;
+import com.company.app.infrastructure.web.mapper.SearchMapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller implementing the generated SearchApi interface
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class SearchController implements SearchApi {
+    
+    private static final int DEFAULT_TYPEAHEAD_LIMIT = 10;
+    
+    private final TypeaheadIndex typeaheadIndex;
+    private final SearchMapper searchMapper;
+    
+    public SearchController(TypeaheadIndex typeaheadIndex, SearchMapper searchMapper) {
+        this.typeaheadIndex = typeaheadIndex;
+        this.searchMapper = searchMapper;
+    }
+    
+    @Override
+    public ResponseEntity<TypeaheadResult> _searchTypeaheadGet(String q, Integer limit) {
+        int maxResults = limit != null ? limit : DEFAULT_TYPEAHEAD_LIMIT;
+        TypeaheadResult response = searchMapper.toTypeaheadResult(typeaheadIndex.lookup(q, maxResults));
+        return ResponseEntity.ok(response);
+    }
+}
\ No newline at end of file
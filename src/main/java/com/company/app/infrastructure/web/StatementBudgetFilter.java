@@ -0,0 +1,83 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.infrastructure.persistence.QueryProfiler;
+import com.company.app.infrastructure.persistence.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many SQL statements each request executes and how long they take, per route, and
+ * logs requests that execute more than the budget. Runs before the security filters so loading the
+ * authenticated user is counted too. Work handed to other threads, such as streamed exports, is not.
+ * Also tells the {@link QueryProfiler} which endpoint the request's statements come from.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.persistence.statement-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StatementBudgetFilter.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    
+    public StatementBudgetFilter(MeterRegistry meterRegistry,
+                                 @Value("${app.persistence.statement-budget.per-request:20}") int budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.Snapshot start = StatementCounter.snapshot();
+        QueryProfiler.setEndpoint(() -> request.getMethod() + " " + route(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryProfiler.setEndpoint(null);
+            StatementCounter.Snapshot executed = StatementCounter.snapshot().since(start);
+            String uri = route(request);
+            DistributionSummary.builder("app.request.statements")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(executed.statements());
+            Timer.builder("app.request.jdbc")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(executed.nanos(), TimeUnit.NANOSECONDS);
+            if (executed.statements() > budget) {
+                logger.warn("{} {} executed {} SQL statements in {} ms, over the budget of {}", request.getMethod(),
+                        request.getRequestURI(), executed.statements(),
+                        TimeUnit.NANOSECONDS.toMillis(executed.nanos()), budget);
+            }
+        }
+    }
+    
+    /**
+     * The route, not the path, so ids do not become tags. Unknown until the request has been mapped.
+     */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
\ No newline at end of file
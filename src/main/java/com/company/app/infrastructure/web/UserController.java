@@ -2,17 +2,19 @@ package com.company.app.infrastructure.web;
 
 import com.company.app.application.user.CreateUserUseCase;
 import com.company.app.application.user.DeleteUserUseCase;
+import com.company.app.application.user.ProvisionUsersUseCase;
 import com.company.app.application.user.UpdateUserUseCase;
 import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserCreationResult;
 import com.company.app.domain.user.UserRole;
 import com.company.app.domain.user.UserService;
 import com.company.app.infrastructure.web.api.UsersApi;
 import com.company.app.infrastructure.web.dto.*;
 import com.company.app.infrastructure.web.mapper.UserMapper;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -31,27 +33,69 @@ public class UserController implements UsersApi {
     private final CreateUserUseCase createUserUseCase;
     private final UpdateUserUseCase updateUserUseCase;
     private final DeleteUserUseCase deleteUserUseCase;
+    private final ProvisionUsersUseCase provisionUsersUseCase;
     private final UserService userService;
     private final UserMapper userMapper;
     
     public UserController(CreateUserUseCase createUserUseCase,
                          UpdateUserUseCase updateUserUseCase,
                          DeleteUserUseCase deleteUserUseCase,
+                         ProvisionUsersUseCase provisionUsersUseCase,
                          UserService userService,
                          UserMapper userMapper) {
         this.createUserUseCase = createUserUseCase;
         this.updateUserUseCase = updateUserUseCase;
         this.deleteUserUseCase = deleteUserUseCase;
+        this.provisionUsersUseCase = provisionUsersUseCase;
         this.userService = userService;
         this.userMapper = userMapper;
     }
     
     @Override
-    public ResponseEntity<UserPage> _usersGet(Integer page, Integer size, List<String> sort) {
-        Pageable pageable = createPageable(page, size, sort);
+    public ResponseEntity<UserPage> _usersGet(Integer page, Integer size, List<String> sort, String cursor, String countMode, String ifNoneMatch) {
+        if (cursor != null) {
+            return scrollUsers(size, sort, cursor, ifNoneMatch);
+        }
+        
+        Pageable pageable = PageableFactory.createPageable(page, size, sort);
+        PageInfo.CountModeEnum mode = PageableFactory.parseCountMode(countMode);
+        if (mode != PageInfo.CountModeEnum.EXACT) {
+            Slice<User> slice = userService.getUserSlice(pageable);
+            Long estimatedTotal = mode == PageInfo.CountModeEnum.ESTIMATED ? userService.estimateUserCount() : null;
+            String etag = pageTag(slice, estimatedTotal);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return EntityTags.notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).body(userMapper.toUserPage(slice, estimatedTotal));
+        }
+        
         Page<User> userPage = userService.getAllUsers(pageable);
+        // Checked before mapping, so an unchanged page costs no DTOs or serialization
+        String etag = pageTag(userPage, userPage.getTotalElements());
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return EntityTags.notModified(etag);
+        }
         UserPage response = userMapper.toUserPage(userPage);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).body(response);
+    }
+    
+    private ResponseEntity<UserPage> scrollUsers(Integer size, List<String> sort, String cursor, String ifNoneMatch) {
+        boolean first = cursor.isBlank();
+        KeysetCursor keyset = first ? KeysetCursor.first(PageableFactory.createSort(sort)) : KeysetCursor.decode(cursor);
+        int limit = size != null ? size : PageableFactory.DEFAULT_PAGE_SIZE;
+        
+        Window<User> window = userService.scrollUsers(keyset.position(), keyset.sort(), limit);
+        String nextCursor = window.hasNext() ? keyset.encode(window.positionAt(window.size() - 1)) : null;
+        String etag = EntityTags.forPage(window.getContent(), User::getId, User::getVersion, limit, first, nextCursor);
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return EntityTags.notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(userMapper.toUserPage(window, limit, first, nextCursor));
+    }
+    
+    private static String pageTag(Slice<User> slice, Long total) {
+        return EntityTags.forPage(slice.getContent(), User::getId, User::getVersion,
+                slice.getNumber(), slice.getSize(), slice.hasNext(), total);
     }
     
     @Override
@@ -73,26 +117,50 @@ public class UserController implements UsersApi {
     }
     
     @Override
-    public ResponseEntity<com.company.app.infrastructure.web.dto.User> _usersIdGet(UUID id) {
+    public ResponseEntity<BulkCreateUsersResponse> _usersBulkPost(BulkCreateUsersRequest bulkCreateUsersRequest) {
+        List<CreateUserUseCase.CreateUserCommand> users = bulkCreateUsersRequest.getUsers().stream()
+                .map(request -> new CreateUserUseCase.CreateUserCommand(
+                    request.getUsername(),
+                    request.getEmail(),
+                    request.getFirstName(),
+                    request.getLastName(),
+                    request.getPassword(),
+                    UserRole.valueOf(request.getRole().getValue())
+                ))
+                .toList();
+        
+        List<UserCreationResult> results = provisionUsersUseCase.execute(new ProvisionUsersUseCase.ProvisionUsersCommand(users));
+        return ResponseEntity.ok(userMapper.toBulkCreateUsersResponse(results));
+    }
+    
+    @Override
+    public ResponseEntity<com.company.app.infrastructure.web.dto.User> _usersIdGet(UUID id, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = EntityTags.forVersion(userService.getUserVersion(id));
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return EntityTags.notModified(etag);
+            }
+        }
         User user = userService.getUserById(id);
         com.company.app.infrastructure.web.dto.User response = userMapper.toDto(user);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EntityTags.forVersion(user.getVersion())).body(response);
     }
     
     @Override
-    public ResponseEntity<com.company.app.infrastructure.web.dto.User> _usersIdPut(UUID id, UpdateUserRequest updateUserRequest) {
+    public ResponseEntity<com.company.app.infrastructure.web.dto.User> _usersIdPut(UUID id, UpdateUserRequest updateUserRequest, String ifMatch) {
         UpdateUserUseCase.UpdateUserCommand command = new UpdateUserUseCase.UpdateUserCommand(
             id,
             updateUserRequest.getEmail(),
             updateUserRequest.getFirstName(),
             updateUserRequest.getLastName(),
             updateUserRequest.getRole() != null ? UserRole.valueOf(updateUserRequest.getRole().getValue()) : null,
-            updateUserRequest.getIsActive()
+            updateUserRequest.getIsActive(),
+            EntityTags.expectedVersion(ifMatch)
         );
         
         User updatedUser = updateUserUseCase.execute(command);
         com.company.app.infrastructure.web.dto.User response = userMapper.toDto(updatedUser);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EntityTags.forVersion(updatedUser.getVersion())).body(response);
     }
     
     @Override
@@ -101,27 +169,4 @@ public class UserController implements UsersApi {
         deleteUserUseCase.execute(command);
         return ResponseEntity.noContent().build();
     }
-    
-    private Pageable createPageable(Integer page, Integer size, List<String> sort) {
-        int pageNumber = page != null ? page : 0;
-        int pageSize = size != null ? size : 20;
-        
-        if (sort != null && !sort.isEmpty()) {
-            List<Sort.Order> orders = sort.stream()
-                .map(this::parseSortString)
-                .toList();
-            return PageRequest.of(pageNumber, pageSize, Sort.by(orders));
-        }
-        
-        return PageRequest.of(pageNumber, pageSize);
-    }
-    
-    private Sort.Order parseSortString(String sortStr) {
-        String[] parts = sortStr.split(",");
-        String property = parts[0];
-        Sort.Direction direction = parts.length > 1 && "desc".equalsIgnoreCase(parts[1]) 
-            ? Sort.Direction.DESC 
-            : Sort.Direction.ASC;
-        return new Sort.Order(direction, property);
-    }
 }
\ No newline at end of file
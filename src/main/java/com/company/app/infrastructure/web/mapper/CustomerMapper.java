@@ -1,10 +1,16 @@
 package com.company.app.infrastructure.web.mapper;
 
+import com.company.app.application.customer.ImportCustomersUseCase;
 import com.company.app.domain.customer.Address;
 import com.company.app.domain.customer.Customer;
+import com.company.app.infrastructure.web.dto.BulkOperationResult;
+import com.company.app.infrastructure.web.dto.CustomerImportError;
+import com.company.app.infrastructure.web.dto.CustomerImportReport;
 import com.company.app.infrastructure.web.dto.CustomerPage;
 import com.company.app.infrastructure.web.dto.PageInfo;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
@@ -71,14 +77,95 @@ public class CustomerMapper {
         return customerPage;
     }
     
+    /**
+     * Maps a page fetched without a COUNT query, with an estimated total or none at all.
+     */
+    public CustomerPage toCustomerPage(Slice<Customer> slice, Long estimatedTotal) {
+        var customerPage = new CustomerPage();
+        customerPage.setContent(toDtoList(slice.getContent()));
+        customerPage.setPage(toPageInfo(slice, estimatedTotal));
+        return customerPage;
+    }
+    
+    /**
+     * Maps a keyset window. Totals and page numbers are not known in cursor mode and are left out.
+     */
+    public CustomerPage toCustomerPage(Window<Customer> window, int size, boolean first, String nextCursor) {
+        var customerPage = new CustomerPage();
+        customerPage.setContent(toDtoList(window.getContent()));
+        customerPage.setPage(toPageInfo(window, size, first, nextCursor));
+        return customerPage;
+    }
+    
+    public CustomerImportReport toImportReport(ImportCustomersUseCase.ImportReport report) {
+        var dto = new CustomerImportReport();
+        dto.setReceived(report.received());
+        dto.setImported(report.imported());
+        dto.setRejected(report.rejected());
+        dto.setErrors(report.errors().stream()
+                .map(error -> {
+                    var errorDto = new CustomerImportError();
+                    errorDto.setRow(error.row());
+                    errorDto.setMessage(error.message());
+                    return errorDto;
+                })
+                .toList());
+        dto.setErrorsTruncated(report.errorsTruncated());
+        return dto;
+    }
+    
+    public BulkOperationResult toBulkOperationResult(int affected) {
+        var dto = new BulkOperationResult();
+        dto.setAffected((long) affected);
+        return dto;
+    }
+    
     private PageInfo toPageInfo(Page<?> page) {
         var pageInfo = new PageInfo();
         pageInfo.setNumber(page.getNumber());
         pageInfo.setSize(page.getSize());
-        pageInfo.setTotalElements((int) page.getTotalElements());
+        pageInfo.setTotalElements(page.getTotalElements());
         pageInfo.setTotalPages(page.getTotalPages());
         pageInfo.setFirst(page.isFirst());
         pageInfo.setLast(page.isLast());
+        pageInfo.setCountMode(PageInfo.CountModeEnum.EXACT);
+        return pageInfo;
+    }
+    
+    private PageInfo toPageInfo(Slice<?> slice, Long estimatedTotal) {
+        var pageInfo = new PageInfo();
+        pageInfo.setNumber(slice.getNumber());
+        pageInfo.setSize(slice.getSize());
+        pageInfo.setFirst(slice.isFirst());
+        pageInfo.setLast(slice.isLast());
+        if (estimatedTotal == null) {
+            pageInfo.setCountMode(PageInfo.CountModeEnum.NONE);
+            return pageInfo;
+        }
+        
+        // Statistics can lag behind; keep the estimate consistent with the rows actually seen
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(estimatedTotal, seen + 1);
+        } else if (slice.hasContent()) {
+            total = seen;
+        } else {
+            total = Math.min(estimatedTotal, seen);
+        }
+        pageInfo.setTotalElements(total);
+        pageInfo.setTotalPages((int) ((total + slice.getSize() - 1) / slice.getSize()));
+        pageInfo.setCountMode(PageInfo.CountModeEnum.ESTIMATED);
+        return pageInfo;
+    }
+    
+    private PageInfo toPageInfo(Window<?> window, int size, boolean first, String nextCursor) {
+        var pageInfo = new PageInfo();
+        pageInfo.setSize(size);
+        pageInfo.setFirst(first);
+        pageInfo.setLast(!window.hasNext());
+        pageInfo.setNextCursor(nextCursor);
+        pageInfo.setCountMode(PageInfo.CountModeEnum.NONE);
         return pageInfo;
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.company.app.infrastructure.web.mapper;
+
+import com.company.app.domain.search.TypeaheadMatch;
+import com.company.app.infrastructure.web.dto.TypeaheadItem;
+import com.company.app.infrastructure.web.dto.TypeaheadResult;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Mapper for converting search results to DTOs
+ */
+@Component
+public class SearchMapper {
+    
+    public TypeaheadItem toDto(TypeaheadMatch match) {
+        if (match == null) return null;
+        
+        var dto = new TypeaheadItem();
+        dto.setType(TypeaheadItem.TypeEnum.fromValue(match.type().name()));
+        dto.setId(match.id());
+        dto.setLabel(match.label());
+        dto.setDetail(match.detail());
+        return dto;
+    }
+    
+    public TypeaheadResult toTypeaheadResult(List<TypeaheadMatch> matches) {
+        var result = new TypeaheadResult();
+        result.setItems(matches.stream()
+                .map(this::toDto)
+                .toList());
+        return result;
+    }
+}
\ No newline at end of file
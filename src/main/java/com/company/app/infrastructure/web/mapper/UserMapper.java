@@ -1,9 +1,14 @@
 package com.company.app.infrastructure.web.mapper;
 
 import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserCreationResult;
+import com.company.app.infrastructure.web.dto.BulkCreateUserResult;
+import com.company.app.infrastructure.web.dto.BulkCreateUsersResponse;
 import com.company.app.infrastructure.web.dto.PageInfo;
 import com.company.app.infrastructure.web.dto.UserPage;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
@@ -38,6 +43,28 @@ public class UserMapper {
                 .toList();
     }
     
+    public BulkCreateUsersResponse toBulkCreateUsersResponse(List<UserCreationResult> results) {
+        var response = new BulkCreateUsersResponse();
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            UserCreationResult result = results.get(i);
+            var dto = new BulkCreateUserResult();
+            dto.setIndex(i);
+            if (result.isCreated()) {
+                created++;
+                dto.setStatus(BulkCreateUserResult.StatusEnum.CREATED);
+                dto.setUser(toDto(result.user()));
+            } else {
+                dto.setStatus(BulkCreateUserResult.StatusEnum.FAILED);
+                dto.setError(result.error());
+            }
+            response.addResultsItem(dto);
+        }
+        response.setCreated(created);
+        response.setFailed(results.size() - created);
+        return response;
+    }
+    
     public UserPage toUserPage(Page<User> page) {
         var userPage = new UserPage();
         userPage.setContent(toDtoList(page.getContent()));
@@ -45,14 +72,72 @@ public class UserMapper {
         return userPage;
     }
     
+    /**
+     * Maps a page fetched without a COUNT query, with an estimated total or none at all.
+     */
+    public UserPage toUserPage(Slice<User> slice, Long estimatedTotal) {
+        var userPage = new UserPage();
+        userPage.setContent(toDtoList(slice.getContent()));
+        userPage.setPage(toPageInfo(slice, estimatedTotal));
+        return userPage;
+    }
+    
+    /**
+     * Maps a keyset window. Totals and page numbers are not known in cursor mode and are left out.
+     */
+    public UserPage toUserPage(Window<User> window, int size, boolean first, String nextCursor) {
+        var userPage = new UserPage();
+        userPage.setContent(toDtoList(window.getContent()));
+        userPage.setPage(toPageInfo(window, size, first, nextCursor));
+        return userPage;
+    }
+    
     private PageInfo toPageInfo(Page<?> page) {
         var pageInfo = new PageInfo();
         pageInfo.setNumber(page.getNumber());
         pageInfo.setSize(page.getSize());
-        pageInfo.setTotalElements((int) page.getTotalElements());
+        pageInfo.setTotalElements(page.getTotalElements());
         pageInfo.setTotalPages(page.getTotalPages());
         pageInfo.setFirst(page.isFirst());
         pageInfo.setLast(page.isLast());
+        pageInfo.setCountMode(PageInfo.CountModeEnum.EXACT);
+        return pageInfo;
+    }
+    
+    private PageInfo toPageInfo(Slice<?> slice, Long estimatedTotal) {
+        var pageInfo = new PageInfo();
+        pageInfo.setNumber(slice.getNumber());
+        pageInfo.setSize(slice.getSize());
+        pageInfo.setFirst(slice.isFirst());
+        pageInfo.setLast(slice.isLast());
+        if (estimatedTotal == null) {
+            pageInfo.setCountMode(PageInfo.CountModeEnum.NONE);
+            return pageInfo;
+        }
+        
+        // Statistics can lag behind; keep the estimate consistent with the rows actually seen
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(estimatedTotal, seen + 1);
+        } else if (slice.hasContent()) {
+            total = seen;
+        } else {
+            total = Math.min(estimatedTotal, seen);
+        }
+        pageInfo.setTotalElements(total);
+        pageInfo.setTotalPages((int) ((total + slice.getSize() - 1) / slice.getSize()));
+        pageInfo.setCountMode(PageInfo.CountModeEnum.ESTIMATED);
+        return pageInfo;
+    }
+    
+    private PageInfo toPageInfo(Window<?> window, int size, boolean first, String nextCursor) {
+        var pageInfo = new PageInfo();
+        pageInfo.setSize(size);
+        pageInfo.setFirst(first);
+        pageInfo.setLast(!window.hasNext());
+        pageInfo.setNextCursor(nextCursor);
+        pageInfo.setCountMode(PageInfo.CountModeEnum.NONE);
         return pageInfo;
     }
 }
\ No newline at end of file
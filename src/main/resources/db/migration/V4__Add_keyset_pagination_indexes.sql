@@ -0,0 +1,11 @@
+-- Composite (sort key, id) indexes for keyset pagination.
+-- A row-value seek such as (created_at, id) > (?, ?) becomes an index range scan,
+-- so every page costs the same regardless of depth. They supersede the single-column indexes.
+DROP INDEX IF EXISTS idx_customers_created_at;
+DROP INDEX IF EXISTS idx_customers_company_name;
+DROP INDEX IF EXISTS idx_users_created_at;
+
+CREATE INDEX idx_customers_created_at_id ON customers(created_at, id);
+CREATE INDEX idx_customers_company_name_id ON customers(company_name, id);
+CREATE INDEX idx_users_created_at_id ON users(created_at, id);
+CREATE INDEX idx_users_username_id ON users(username, id);
\ No newline at end of file
@@ -0,0 +1,21 @@
+-- Indexed customer search: weighted full-text vector plus trigram text over
+-- company name, contact person, email and city. Both are stored generated columns,
+-- so they are maintained by the database on every insert and update.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE customers
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', company_name), 'A') ||
+        setweight(to_tsvector('english', contact_person), 'B') ||
+        setweight(to_tsvector('simple', email), 'B') ||
+        setweight(to_tsvector('simple', COALESCE(address_city, '')), 'C')
+    ) STORED,
+    ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+        lower(company_name || ' ' || contact_person || ' ' || email || ' ' || COALESCE(address_city, ''))
+    ) STORED;
+
+CREATE INDEX idx_customers_search_vector ON customers USING gin(search_vector);
+CREATE INDEX idx_customers_search_text_trgm ON customers USING gin(search_text gin_trgm_ops);
+
+-- Superseded by idx_customers_search_vector, it was never used by any query
+DROP INDEX IF EXISTS idx_customers_company_name_search;
\ No newline at end of file
@@ -0,0 +1,8 @@
+-- Optimistic concurrency: every write bumps the version, and conditional updates
+-- (If-Match) only apply while it still holds the value the client read.
+ALTER TABLE customers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- ETag checks read the version instead of the update time
+CREATE INDEX idx_customers_id_version ON customers(id) INCLUDE (version);
+CREATE INDEX idx_users_id_version ON users(id) INCLUDE (version);
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.company.app.domain.customer;
+
+import com.company.app.infrastructure.persistence.StatementBudgetExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Guards the number of SQL statements behind the main customer operations against PostgreSQL, so
+ * a hidden extra query, such as a lookup before an update, fails the build.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@ExtendWith(StatementBudgetExtension.class)
+@DisplayName("CustomerService Statement Budget Tests")
+class CustomerServiceStatementBudgetTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private CustomerService customerService;
+
+    private final String industry = "Industry " + UUID.randomUUID();
+
+    @Test
+    @DisplayName("should_ExecuteOneStatement_When_CreatingCustomer")
+    void should_ExecuteOneStatement_When_CreatingCustomer(StatementBudgetExtension.Budget statements) {
+        // Act
+        Customer created = statements.atMost(1, () -> createCustomer());
+
+        // Assert
+        assertThat(created.getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should_ExecuteOneStatement_When_UpdatingCustomer")
+    void should_ExecuteOneStatement_When_UpdatingCustomer(StatementBudgetExtension.Budget statements) {
+        // Arrange
+        Customer customer = createCustomer();
+
+        // Act
+        Customer updated = statements.atMost(1, () -> customerService.updateCustomer(customer.getId(),
+                "Renamed Corporation", null, null, null, null, null, null, customer.getVersion()));
+
+        // Assert
+        assertThat(updated.getCompanyName()).isEqualTo("Renamed Corporation");
+        assertThat(updated.getVersion()).isEqualTo(customer.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("should_ExecuteAtMostTwoStatements_When_ListingCustomerPage")
+    void should_ExecuteAtMostTwoStatements_When_ListingCustomerPage(StatementBudgetExtension.Budget statements) {
+        // Arrange
+        createCustomer();
+
+        // Act
+        Page<Customer> page = statements.atMost(2, () ->
+                customerService.getCustomersByIndustry(industry, PageRequest.of(0, 20)));
+
+        // Assert
+        assertThat(page.getContent()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should_ExecuteOneStatement_When_ListingCustomerSlice")
+    void should_ExecuteOneStatement_When_ListingCustomerSlice(StatementBudgetExtension.Budget statements) {
+        // Arrange
+        createCustomer();
+
+        // Act
+        Slice<Customer> slice = statements.atMost(1, () ->
+                customerService.getCustomerSlice(null, industry, PageRequest.of(0, 20)));
+
+        // Assert
+        assertThat(slice.getContent()).hasSize(1);
+    }
+
+    private Customer createCustomer() {
+        return customerService.createCustomer("ACME Corporation", "John Doe",
+                "john.doe+" + UUID.randomUUID() + "@acme.com", "+1-555-0123",
+                new Address("123 Main St", "New York", "NY", "10001", "USA"), industry, CustomerStatus.ACTIVE);
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.company.app.domain.customer;
 
+import com.company.app.domain.search.TypeaheadIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,14 +9,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,6 +41,12 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private TypeaheadIndex typeaheadIndex;
+
+    @Mock
+    private CustomerListCache listCache;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -49,6 +68,12 @@ class CustomerServiceTest {
         testCustomer.setPhone(phone);
         testCustomer.setIndustry(industry);
         testCustomer.setStatus(status);
+
+        // Every list is a cache miss unless a test says otherwise
+        lenient().when(listCache.getPage(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Page<Customer>>>getArgument(3).get());
+        lenient().when(listCache.getSlice(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Slice<Customer>>>getArgument(3).get());
     }
 
     @Nested
@@ -59,8 +84,7 @@ class CustomerServiceTest {
         @DisplayName("should_CreateCustomer_When_ValidDataProvided")
         void should_CreateCustomer_When_ValidDataProvided() {
             // Arrange
-            when(customerRepository.existsByEmail(email)).thenReturn(false);
-            when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+            when(customerRepository.insert(any(Customer.class))).thenReturn(testCustomer);
 
             // Act
             Customer result = customerService.createCustomer(companyName, contactPerson, email, 
@@ -76,16 +100,16 @@ class CustomerServiceTest {
             assertThat(result.getIndustry()).isEqualTo(industry);
             assertThat(result.getStatus()).isEqualTo(status);
 
-            verify(customerRepository).existsByEmail(email);
-            verify(customerRepository).save(any(Customer.class));
+            verify(customerRepository).insert(any(Customer.class));
+            verify(customerRepository, never()).existsByEmail(anyString());
+            verify(typeaheadIndex).indexCustomer(testCustomer);
         }
 
         @Test
         @DisplayName("should_CreateCustomerWithDefaultStatus_When_StatusIsNull")
         void should_CreateCustomerWithDefaultStatus_When_StatusIsNull() {
             // Arrange
-            when(customerRepository.existsByEmail(email)).thenReturn(false);
-            when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+            when(customerRepository.insert(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // Act
             Customer result = customerService.createCustomer(companyName, contactPerson, email, 
@@ -93,15 +117,16 @@ class CustomerServiceTest {
 
             // Assert
             assertThat(result).isNotNull();
-            verify(customerRepository).existsByEmail(email);
-            verify(customerRepository).save(any(Customer.class));
+            assertThat(result.getStatus()).isEqualTo(CustomerStatus.PROSPECT);
+            verify(customerRepository).insert(any(Customer.class));
         }
 
         @Test
         @DisplayName("should_ThrowException_When_EmailAlreadyExists")
         void should_ThrowException_When_EmailAlreadyExists() {
             // Arrange
-            when(customerRepository.existsByEmail(email)).thenReturn(true);
+            when(customerRepository.insert(any(Customer.class)))
+                    .thenThrow(new CustomerAlreadyExistsException("Customer with email already exists: " + email));
 
             // Act & Assert
             assertThatThrownBy(() -> customerService.createCustomer(companyName, contactPerson, email, 
@@ -109,8 +134,43 @@ class CustomerServiceTest {
                     .isInstanceOf(CustomerAlreadyExistsException.class)
                     .hasMessage("Customer with email already exists: " + email);
 
-            verify(customerRepository).existsByEmail(email);
-            verify(customerRepository, never()).save(any(Customer.class));
+            verify(customerRepository).insert(any(Customer.class));
+            verifyNoInteractions(typeaheadIndex);
+        }
+    }
+
+    @Nested
+    @DisplayName("Import Customers Tests")
+    class ImportCustomersTests {
+
+        @Test
+        @DisplayName("should_IndexOnlyInsertedCustomers_When_SomeRowsAreSkipped")
+        void should_IndexOnlyInsertedCustomers_When_SomeRowsAreSkipped() {
+            // Arrange
+            Customer duplicate = Customer.create("Other Corp", "Jane Roe", email, null, testAddress, null, null);
+            Map<Long, Customer> batch = new LinkedHashMap<>();
+            batch.put(1L, testCustomer);
+            batch.put(2L, duplicate);
+            when(customerRepository.bulkInsert(batch)).thenReturn(Set.of(2L));
+
+            // Act
+            Set<Long> skipped = customerService.importCustomers(batch);
+
+            // Assert
+            assertThat(skipped).containsExactly(2L);
+            verify(typeaheadIndex).indexCustomer(testCustomer);
+            verify(typeaheadIndex, never()).indexCustomer(duplicate);
+        }
+
+        @Test
+        @DisplayName("should_NotTouchRepository_When_BatchIsEmpty")
+        void should_NotTouchRepository_When_BatchIsEmpty() {
+            // Act
+            Set<Long> skipped = customerService.importCustomers(Map.of());
+
+            // Assert
+            assertThat(skipped).isEmpty();
+            verifyNoInteractions(customerRepository, typeaheadIndex);
         }
     }
 
@@ -146,6 +206,32 @@ class CustomerServiceTest {
             verify(customerRepository).findById(customerId);
         }
 
+        @Test
+        @DisplayName("should_ReturnVersion_When_CustomerExists")
+        void should_ReturnVersion_When_CustomerExists() {
+            // Arrange
+            when(customerRepository.findVersionById(customerId)).thenReturn(Optional.of(4L));
+
+            // Act
+            long result = customerService.getCustomerVersion(customerId);
+
+            // Assert
+            assertThat(result).isEqualTo(4L);
+            verify(customerRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("should_ThrowException_When_VersionRequestedForMissingCustomer")
+        void should_ThrowException_When_VersionRequestedForMissingCustomer() {
+            // Arrange
+            when(customerRepository.findVersionById(customerId)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> customerService.getCustomerVersion(customerId))
+                    .isInstanceOf(CustomerNotFoundException.class)
+                    .hasMessage("Customer not found with id: " + customerId);
+        }
+
         @Test
         @DisplayName("should_ReturnCustomer_When_CustomerExistsByEmail")
         void should_ReturnCustomer_When_CustomerExistsByEmail() {
@@ -249,6 +335,88 @@ class CustomerServiceTest {
             assertThat(result.getContent().get(0)).isEqualTo(testCustomer);
             verify(customerRepository).findByStatusAndIndustry(status, industry, pageable);
         }
+
+        @Test
+        @DisplayName("should_ReturnSliceWithoutCounting_When_GetCustomerSliceCalled")
+        void should_ReturnSliceWithoutCounting_When_GetCustomerSliceCalled() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<Customer> expectedSlice = new SliceImpl<>(List.of(testCustomer), pageable, false);
+            when(customerRepository.findSlice(status, industry, pageable)).thenReturn(expectedSlice);
+
+            // Act
+            Slice<Customer> result = customerService.getCustomerSlice(status, industry, pageable);
+
+            // Assert
+            assertThat(result).isEqualTo(expectedSlice);
+            assertThat(result.hasNext()).isFalse();
+            verify(customerRepository).findSlice(status, industry, pageable);
+            verify(customerRepository, never()).count();
+        }
+
+        @Test
+        @DisplayName("should_SearchWithStrippedQuery_When_SearchCustomersCalled")
+        void should_SearchWithStrippedQuery_When_SearchCustomersCalled() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<Customer> expectedSlice = new SliceImpl<>(List.of(testCustomer), pageable, false);
+            when(customerRepository.search("acme", pageable)).thenReturn(expectedSlice);
+
+            // Act
+            Slice<Customer> result = customerService.searchCustomers("  acme ", pageable);
+
+            // Assert
+            assertThat(result.getContent()).containsExactly(testCustomer);
+            verify(customerRepository).search("acme", pageable);
+        }
+
+        @Test
+        @DisplayName("should_ThrowException_When_SearchQueryIsBlank")
+        void should_ThrowException_When_SearchQueryIsBlank() {
+            // Act & Assert
+            assertThatThrownBy(() -> customerService.searchCustomers("   ", PageRequest.of(0, 10)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Search query must not be blank");
+
+            verify(customerRepository, never()).search(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("should_ReturnCustomerWindow_When_ScrollCustomersCalled")
+        void should_ReturnCustomerWindow_When_ScrollCustomersCalled() {
+            // Arrange
+            KeysetScrollPosition position = ScrollPosition.keyset();
+            Sort sort = Sort.by("createdAt");
+            Window<Customer> expectedWindow = Window.from(List.of(testCustomer), index -> position, true);
+            when(customerRepository.scroll(status, industry, position, sort, 10)).thenReturn(expectedWindow);
+
+            // Act
+            Window<Customer> result = customerService.scrollCustomers(status, industry, position, sort, 10);
+
+            // Assert
+            assertThat(result).isEqualTo(expectedWindow);
+            assertThat(result.getContent()).containsExactly(testCustomer);
+            assertThat(result.hasNext()).isTrue();
+            verify(customerRepository).scroll(status, industry, position, sort, 10);
+        }
+
+        @Test
+        @DisplayName("should_StreamFilteredCustomers_When_ExportCustomersCalled")
+        void should_StreamFilteredCustomers_When_ExportCustomersCalled() {
+            // Arrange
+            List<Customer> exported = new ArrayList<>();
+            doAnswer(invocation -> {
+                Consumer<Customer> action = invocation.getArgument(2);
+                action.accept(testCustomer);
+                return null;
+            }).when(customerRepository).forEach(eq(status), eq(industry), any());
+
+            // Act
+            customerService.exportCustomers(status, industry, exported::add);
+
+            // Assert
+            assertThat(exported).containsExactly(testCustomer);
+        }
     }
 
     @Nested
@@ -267,19 +435,19 @@ class CustomerServiceTest {
             String newIndustry = "Manufacturing";
             CustomerStatus newStatus = CustomerStatus.INACTIVE;
 
-            when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
-            when(customerRepository.existsByEmailAndIdNot(newEmail, customerId)).thenReturn(false);
-            when(customerRepository.save(testCustomer)).thenReturn(testCustomer);
+            when(customerRepository.update(customerId, newCompanyName, newContactPerson, newEmail, newPhone,
+                    newAddress, newIndustry, newStatus, null)).thenReturn(Optional.of(new CustomerUpdateResult(testCustomer, status, industry)));
 
             // Act
             Customer result = customerService.updateCustomer(customerId, newCompanyName, newContactPerson, 
-                    newEmail, newPhone, newAddress, newIndustry, newStatus);
+                    newEmail, newPhone, newAddress, newIndustry, newStatus, null);
 
             // Assert
             assertThat(result).isEqualTo(testCustomer);
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository).existsByEmailAndIdNot(newEmail, customerId);
-            verify(customerRepository).save(testCustomer);
+            verify(customerRepository).update(customerId, newCompanyName, newContactPerson, newEmail, newPhone,
+                    newAddress, newIndustry, newStatus, null);
+            verify(customerRepository, never()).findById(any(UUID.class));
+            verify(customerRepository, never()).existsByEmailAndIdNot(anyString(), any(UUID.class));
         }
 
         @Test
@@ -288,17 +456,16 @@ class CustomerServiceTest {
             // Arrange
             String newCompanyName = "Beta Industries";
 
-            when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
-            when(customerRepository.save(testCustomer)).thenReturn(testCustomer);
+            when(customerRepository.update(customerId, newCompanyName, null, null, null, null, null, null, null))
+                    .thenReturn(Optional.of(new CustomerUpdateResult(testCustomer, status, industry)));
 
             // Act
             Customer result = customerService.updateCustomer(customerId, newCompanyName, null, 
-                    null, null, null, null, null);
+                    null, null, null, null, null, null);
 
             // Assert
             assertThat(result).isEqualTo(testCustomer);
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository).save(testCustomer);
+            verify(customerRepository).update(customerId, newCompanyName, null, null, null, null, null, null, null);
         }
 
         @Test
@@ -307,52 +474,66 @@ class CustomerServiceTest {
             // Arrange
             String newEmail = "existing@example.com";
 
-            when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
-            when(customerRepository.existsByEmailAndIdNot(newEmail, customerId)).thenReturn(true);
+            when(customerRepository.update(customerId, null, null, newEmail, null, null, null, null, null))
+                    .thenThrow(new CustomerAlreadyExistsException("Email already exists: " + newEmail));
 
             // Act & Assert
             assertThatThrownBy(() -> customerService.updateCustomer(customerId, null, null, 
-                    newEmail, null, null, null, null))
+                    newEmail, null, null, null, null, null))
                     .isInstanceOf(CustomerAlreadyExistsException.class)
                     .hasMessage("Email already exists: " + newEmail);
 
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository).existsByEmailAndIdNot(newEmail, customerId);
-            verify(customerRepository, never()).save(any(Customer.class));
+            verify(customerRepository).update(customerId, null, null, newEmail, null, null, null, null, null);
         }
 
         @Test
-        @DisplayName("should_NotCheckEmailUniqueness_When_EmailUnchanged")
-        void should_NotCheckEmailUniqueness_When_EmailUnchanged() {
+        @DisplayName("should_ThrowException_When_CustomerNotFoundForUpdate")
+        void should_ThrowException_When_CustomerNotFoundForUpdate() {
             // Arrange
-            when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
-            when(customerRepository.save(testCustomer)).thenReturn(testCustomer);
+            when(customerRepository.update(customerId, "New Company", null, null, null, null, null, null, null))
+                    .thenReturn(Optional.empty());
 
-            // Act
-            Customer result = customerService.updateCustomer(customerId, null, null, 
-                    email, null, null, null, null);
+            // Act & Assert
+            assertThatThrownBy(() -> customerService.updateCustomer(customerId, "New Company", null, 
+                    null, null, null, null, null, null))
+                    .isInstanceOf(CustomerNotFoundException.class)
+                    .hasMessage("Customer not found with id: " + customerId);
 
-            // Assert
-            assertThat(result).isEqualTo(testCustomer);
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository, never()).existsByEmailAndIdNot(anyString(), any(UUID.class));
-            verify(customerRepository).save(testCustomer);
+            verify(customerRepository).update(customerId, "New Company", null, null, null, null, null, null, null);
+            verify(customerRepository, never()).findVersionById(any());
         }
 
         @Test
-        @DisplayName("should_ThrowException_When_CustomerNotFoundForUpdate")
-        void should_ThrowException_When_CustomerNotFoundForUpdate() {
+        @DisplayName("should_ThrowVersionConflict_When_CustomerChangedSinceExpectedVersion")
+        void should_ThrowVersionConflict_When_CustomerChangedSinceExpectedVersion() {
             // Arrange
-            when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+            when(customerRepository.update(customerId, "New Company", null, null, null, null, null, null, 2L))
+                    .thenReturn(Optional.empty());
+            when(customerRepository.findVersionById(customerId)).thenReturn(Optional.of(3L));
 
             // Act & Assert
-            assertThatThrownBy(() -> customerService.updateCustomer(customerId, "New Company", null, 
-                    null, null, null, null, null))
+            assertThatThrownBy(() -> customerService.updateCustomer(customerId, "New Company", null,
+                    null, null, null, null, null, 2L))
+                    .isInstanceOf(CustomerVersionConflictException.class)
+                    .hasMessage("Customer " + customerId + " is no longer at version 2");
+
+            verify(customerRepository, never()).findById(any(UUID.class));
+            verifyNoInteractions(listCache);
+        }
+
+        @Test
+        @DisplayName("should_ThrowNotFound_When_ExpectedVersionGivenForMissingCustomer")
+        void should_ThrowNotFound_When_ExpectedVersionGivenForMissingCustomer() {
+            // Arrange
+            when(customerRepository.update(customerId, "New Company", null, null, null, null, null, null, 2L))
+                    .thenReturn(Optional.empty());
+            when(customerRepository.findVersionById(customerId)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> customerService.updateCustomer(customerId, "New Company", null,
+                    null, null, null, null, null, 2L))
                     .isInstanceOf(CustomerNotFoundException.class)
                     .hasMessage("Customer not found with id: " + customerId);
-
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository, never()).save(any(Customer.class));
         }
     }
 
@@ -364,29 +545,29 @@ class CustomerServiceTest {
         @DisplayName("should_DeleteCustomer_When_CustomerExists")
         void should_DeleteCustomer_When_CustomerExists() {
             // Arrange
-            when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
+            when(customerRepository.deleteById(customerId)).thenReturn(Optional.of(testCustomer));
 
             // Act
             customerService.deleteCustomer(customerId);
 
             // Assert
-            verify(customerRepository).findById(customerId);
             verify(customerRepository).deleteById(customerId);
+            verify(customerRepository, never()).findById(any(UUID.class));
+            verify(typeaheadIndex).remove(customerId);
         }
 
         @Test
         @DisplayName("should_ThrowException_When_CustomerNotFoundForDeletion")
         void should_ThrowException_When_CustomerNotFoundForDeletion() {
             // Arrange
-            when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+            when(customerRepository.deleteById(customerId)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> customerService.deleteCustomer(customerId))
                     .isInstanceOf(CustomerNotFoundException.class)
                     .hasMessage("Customer not found with id: " + customerId);
 
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository, never()).deleteById(any(UUID.class));
+            verify(customerRepository).deleteById(customerId);
         }
     }
 
@@ -398,62 +579,166 @@ class CustomerServiceTest {
         @DisplayName("should_ActivateCustomer_When_CustomerExists")
         void should_ActivateCustomer_When_CustomerExists() {
             // Arrange
-            when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
-            when(customerRepository.save(testCustomer)).thenReturn(testCustomer);
+            when(customerRepository.update(customerId, null, null, null, null, null, null, CustomerStatus.ACTIVE, null))
+                    .thenReturn(Optional.of(new CustomerUpdateResult(testCustomer, status, industry)));
 
             // Act
             Customer result = customerService.activateCustomer(customerId);
 
             // Assert
             assertThat(result).isEqualTo(testCustomer);
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository).save(testCustomer);
+            verify(customerRepository).update(customerId, null, null, null, null, null, null, CustomerStatus.ACTIVE, null);
         }
 
         @Test
         @DisplayName("should_DeactivateCustomer_When_CustomerExists")
         void should_DeactivateCustomer_When_CustomerExists() {
             // Arrange
-            when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
-            when(customerRepository.save(testCustomer)).thenReturn(testCustomer);
+            when(customerRepository.update(customerId, null, null, null, null, null, null, CustomerStatus.INACTIVE, null))
+                    .thenReturn(Optional.of(new CustomerUpdateResult(testCustomer, status, industry)));
 
             // Act
             Customer result = customerService.deactivateCustomer(customerId);
 
             // Assert
             assertThat(result).isEqualTo(testCustomer);
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository).save(testCustomer);
+            verify(customerRepository).update(customerId, null, null, null, null, null, null, CustomerStatus.INACTIVE, null);
         }
 
         @Test
         @DisplayName("should_ThrowException_When_CustomerNotFoundForActivation")
         void should_ThrowException_When_CustomerNotFoundForActivation() {
             // Arrange
-            when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+            when(customerRepository.update(customerId, null, null, null, null, null, null, CustomerStatus.ACTIVE, null))
+                    .thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> customerService.activateCustomer(customerId))
                     .isInstanceOf(CustomerNotFoundException.class)
                     .hasMessage("Customer not found with id: " + customerId);
-
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository, never()).save(any(Customer.class));
         }
 
         @Test
         @DisplayName("should_ThrowException_When_CustomerNotFoundForDeactivation")
         void should_ThrowException_When_CustomerNotFoundForDeactivation() {
             // Arrange
-            when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+            when(customerRepository.update(customerId, null, null, null, null, null, null, CustomerStatus.INACTIVE, null))
+                    .thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> customerService.deactivateCustomer(customerId))
                     .isInstanceOf(CustomerNotFoundException.class)
                     .hasMessage("Customer not found with id: " + customerId);
+        }
+    }
 
-            verify(customerRepository).findById(customerId);
-            verify(customerRepository, never()).save(any(Customer.class));
+    @Nested
+    @DisplayName("Bulk Customer Operations Tests")
+    class BulkCustomerOperationsTests {
+
+        @Test
+        @DisplayName("should_UpdateStatusInOneStatement_When_IdsProvided")
+        void should_UpdateStatusInOneStatement_When_IdsProvided() {
+            // Arrange
+            Set<UUID> ids = Set.of(customerId, UUID.randomUUID());
+            when(customerRepository.updateStatus(ids, CustomerStatus.INACTIVE)).thenReturn(2);
+
+            // Act
+            int updated = customerService.updateCustomerStatus(ids, CustomerStatus.INACTIVE);
+
+            // Assert
+            assertThat(updated).isEqualTo(2);
+            verify(customerRepository).updateStatus(ids, CustomerStatus.INACTIVE);
+        }
+
+        @Test
+        @DisplayName("should_UpdateMatchingCustomers_When_FilterProvided")
+        void should_UpdateMatchingCustomers_When_FilterProvided() {
+            // Arrange
+            when(customerRepository.updateStatus(CustomerStatus.PROSPECT, industry, CustomerStatus.INACTIVE)).thenReturn(40);
+
+            // Act
+            int updated = customerService.updateCustomerStatusWhere(CustomerStatus.PROSPECT, industry, CustomerStatus.INACTIVE);
+
+            // Assert
+            assertThat(updated).isEqualTo(40);
+        }
+
+        @Test
+        @DisplayName("should_ThrowException_When_NoFilterProvided")
+        void should_ThrowException_When_NoFilterProvided() {
+            // Act & Assert
+            assertThatThrownBy(() -> customerService.updateCustomerStatusWhere(null, null, CustomerStatus.INACTIVE))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(customerRepository);
+        }
+
+        @Test
+        @DisplayName("should_DeleteAndUnindexCustomers_When_IdsProvided")
+        void should_DeleteAndUnindexCustomers_When_IdsProvided() {
+            // Arrange
+            UUID missingId = UUID.randomUUID();
+            Set<UUID> ids = Set.of(customerId, missingId);
+            when(customerRepository.deleteAllById(ids)).thenReturn(1);
+
+            // Act
+            int deleted = customerService.deleteCustomers(ids);
+
+            // Assert
+            assertThat(deleted).isEqualTo(1);
+            verify(typeaheadIndex).remove(customerId);
+            verify(typeaheadIndex).remove(missingId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Customer List Cache Tests")
+    class CustomerListCacheTests {
+
+        @Test
+        @DisplayName("should_ServeCachedPage_When_ListCached")
+        void should_ServeCachedPage_When_ListCached() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 20);
+            Page<Customer> cachedPage = new PageImpl<>(List.of(testCustomer), pageable, 1);
+            doReturn(cachedPage).when(listCache).getPage(eq(status), isNull(), eq(pageable), any());
+
+            // Act
+            Page<Customer> result = customerService.getCustomersByStatus(status, pageable);
+
+            // Assert
+            assertThat(result).isSameAs(cachedPage);
+            verify(customerRepository, never()).findByStatus(any(CustomerStatus.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should_EvictPreviousAndNewLists_When_CustomerUpdated")
+        void should_EvictPreviousAndNewLists_When_CustomerUpdated() {
+            // Arrange
+            when(customerRepository.update(customerId, null, null, null, null, null, "Retail", status, null))
+                    .thenReturn(Optional.of(new CustomerUpdateResult(testCustomer, CustomerStatus.PROSPECT, "Retail")));
+
+            // Act
+            customerService.updateCustomer(customerId, null, null, null, null, null, "Retail", status, null);
+
+            // Assert
+            verify(listCache).evict(CustomerStatus.PROSPECT, "Retail");
+            verify(listCache).evict(status, industry);
+            verify(listCache, never()).evictAll();
+        }
+
+        @Test
+        @DisplayName("should_EvictDeletedCustomerLists_When_CustomerDeleted")
+        void should_EvictDeletedCustomerLists_When_CustomerDeleted() {
+            // Arrange
+            when(customerRepository.deleteById(customerId)).thenReturn(Optional.of(testCustomer));
+
+            // Act
+            customerService.deleteCustomer(customerId);
+
+            // Assert
+            verify(listCache).evict(status, industry);
+            verify(listCache, never()).evictAll();
         }
     }
 }
\ No newline at end of file
@@ -70,6 +70,32 @@ class CustomerTest {
             // Assert
             assertThat(customer1.getId()).isNotEqualTo(customer2.getId());
         }
+
+        @Test
+        @DisplayName("should_RestorePersistedState_When_Rehydrated")
+        void should_RestorePersistedState_When_Rehydrated() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            Instant createdAt = Instant.parse("2024-01-01T10:00:00Z");
+            Instant updatedAt = Instant.parse("2024-02-01T10:00:00Z");
+
+            // Act
+            Customer customer = Customer.rehydrate(id, companyName, contactPerson, email, "+1-555-0123",
+                    address, "Technology", CustomerStatus.INACTIVE, createdAt, updatedAt, 3);
+
+            // Assert
+            assertThat(customer.getId()).isEqualTo(id);
+            assertThat(customer.getCompanyName()).isEqualTo(companyName);
+            assertThat(customer.getContactPerson()).isEqualTo(contactPerson);
+            assertThat(customer.getEmail()).isEqualTo(email);
+            assertThat(customer.getPhone()).isEqualTo("+1-555-0123");
+            assertThat(customer.getAddress()).isEqualTo(address);
+            assertThat(customer.getIndustry()).isEqualTo("Technology");
+            assertThat(customer.getStatus()).isEqualTo(CustomerStatus.INACTIVE);
+            assertThat(customer.getCreatedAt()).isEqualTo(createdAt);
+            assertThat(customer.getUpdatedAt()).isEqualTo(updatedAt);
+            assertThat(customer.getVersion()).isEqualTo(3);
+        }
     }
 
     @Nested
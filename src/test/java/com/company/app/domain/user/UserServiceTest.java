@@ -1,5 +1,6 @@
 package com.company.app.domain.user;
 
+import com.company.app.domain.search.TypeaheadIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -32,6 +34,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private BulkPasswordEncoder bulkPasswordEncoder;
+
+    @Mock
+    private TypeaheadIndex typeaheadIndex;
+
+    @Mock
+    private UserAuthenticationCache authenticationCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -59,10 +70,8 @@ class UserServiceTest {
         @DisplayName("should_CreateUser_When_ValidDataProvided")
         void should_CreateUser_When_ValidDataProvided() {
             // Arrange
-            when(userRepository.existsByUsername(username)).thenReturn(false);
-            when(userRepository.existsByEmail(email)).thenReturn(false);
             when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
-            when(userRepository.save(any(User.class))).thenReturn(testUser);
+            when(userRepository.insert(any(User.class))).thenReturn(testUser);
 
             // Act
             User result = userService.createUser(username, email, firstName, lastName, password, role);
@@ -76,45 +85,121 @@ class UserServiceTest {
             assertThat(result.getPasswordHash()).isEqualTo(encodedPassword);
             assertThat(result.getRole()).isEqualTo(role);
 
-            verify(userRepository).existsByUsername(username);
-            verify(userRepository).existsByEmail(email);
             verify(passwordEncoder).encode(password);
-            verify(userRepository).save(any(User.class));
+            verify(userRepository).insert(any(User.class));
+            verify(userRepository, never()).existsByUsername(anyString());
+            verify(userRepository, never()).existsByEmail(anyString());
+            verify(typeaheadIndex).indexUser(testUser);
         }
 
         @Test
         @DisplayName("should_ThrowException_When_UsernameAlreadyExists")
         void should_ThrowException_When_UsernameAlreadyExists() {
             // Arrange
-            when(userRepository.existsByUsername(username)).thenReturn(true);
+            when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
+            when(userRepository.insert(any(User.class)))
+                    .thenThrow(new UserAlreadyExistsException("Username already exists: " + username));
 
             // Act & Assert
             assertThatThrownBy(() -> userService.createUser(username, email, firstName, lastName, password, role))
                     .isInstanceOf(UserAlreadyExistsException.class)
                     .hasMessage("Username already exists: " + username);
 
-            verify(userRepository).existsByUsername(username);
-            verify(userRepository, never()).existsByEmail(anyString());
-            verify(passwordEncoder, never()).encode(anyString());
-            verify(userRepository, never()).save(any(User.class));
+            verify(userRepository).insert(any(User.class));
         }
 
         @Test
         @DisplayName("should_ThrowException_When_EmailAlreadyExists")
         void should_ThrowException_When_EmailAlreadyExists() {
             // Arrange
-            when(userRepository.existsByUsername(username)).thenReturn(false);
-            when(userRepository.existsByEmail(email)).thenReturn(true);
+            when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
+            when(userRepository.insert(any(User.class)))
+                    .thenThrow(new UserAlreadyExistsException("Email already exists: " + email));
 
             // Act & Assert
             assertThatThrownBy(() -> userService.createUser(username, email, firstName, lastName, password, role))
                     .isInstanceOf(UserAlreadyExistsException.class)
                     .hasMessage("Email already exists: " + email);
 
-            verify(userRepository).existsByUsername(username);
-            verify(userRepository).existsByEmail(email);
-            verify(passwordEncoder, never()).encode(anyString());
-            verify(userRepository, never()).save(any(User.class));
+            verify(userRepository).insert(any(User.class));
+        }
+
+        @Test
+        @DisplayName("should_RejectWithoutHashing_When_UsernameTaken")
+        void should_RejectWithoutHashing_When_UsernameTaken() {
+            // Arrange
+            when(userRepository.findByUsernameInOrEmailIn(Set.of(username), Set.of(email)))
+                    .thenReturn(List.of(testUser));
+
+            // Act & Assert
+            assertThatThrownBy(() -> userService.createUser(username, email, firstName, lastName, password, role))
+                    .isInstanceOf(UserAlreadyExistsException.class)
+                    .hasMessage("Username already exists: " + username);
+            verifyNoInteractions(passwordEncoder);
+            verify(userRepository, never()).insert(any(User.class));
+        }
+
+        @Test
+        @DisplayName("should_RejectWithoutHashing_When_EmailTaken")
+        void should_RejectWithoutHashing_When_EmailTaken() {
+            // Arrange
+            User sameEmail = new User("someoneelse", email, firstName, lastName, encodedPassword, role);
+            when(userRepository.findByUsernameInOrEmailIn(Set.of(username), Set.of(email)))
+                    .thenReturn(List.of(sameEmail));
+
+            // Act & Assert
+            assertThatThrownBy(() -> userService.createUser(username, email, firstName, lastName, password, role))
+                    .isInstanceOf(UserAlreadyExistsException.class)
+                    .hasMessage("Email already exists: " + email);
+            verifyNoInteractions(passwordEncoder);
+            verify(userRepository, never()).insert(any(User.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Create Users In Bulk Tests")
+    class CreateUsersTests {
+
+        @Test
+        @DisplayName("should_ReportConflictsPerRow_When_UsernamesOrEmailsAreTaken")
+        void should_ReportConflictsPerRow_When_UsernamesOrEmailsAreTaken() {
+            // Arrange
+            NewUser existing = new NewUser(username, "other@example.com", firstName, lastName, password, role);
+            NewUser fresh = new NewUser("fresh", "fresh@example.com", firstName, lastName, password, role);
+            NewUser duplicateInBatch = new NewUser("fresh2", "fresh@example.com", firstName, lastName, password, role);
+            when(userRepository.findByUsernameInOrEmailIn(anyCollection(), anyCollection())).thenReturn(List.of(testUser));
+            when(bulkPasswordEncoder.encodeAll(List.of(password))).thenReturn(List.of(encodedPassword));
+            when(userRepository.insertAll(anyList())).thenReturn(new boolean[] {true});
+
+            // Act
+            List<UserCreationResult> results = userService.createUsers(List.of(existing, fresh, duplicateInBatch));
+
+            // Assert
+            assertThat(results).hasSize(3);
+            assertThat(results.get(0).error()).isEqualTo("Username already exists: " + username);
+            assertThat(results.get(1).isCreated()).isTrue();
+            assertThat(results.get(1).user().getPasswordHash()).isEqualTo(encodedPassword);
+            assertThat(results.get(2).error()).isEqualTo("Email already exists: fresh@example.com");
+            verify(typeaheadIndex).indexUser(results.get(1).user());
+            verifyNoInteractions(passwordEncoder);
+        }
+
+        @Test
+        @DisplayName("should_ReportFailure_When_RowLosesRaceOnInsert")
+        void should_ReportFailure_When_RowLosesRaceOnInsert() {
+            // Arrange
+            NewUser newUser = new NewUser(username, email, firstName, lastName, password, role);
+            when(userRepository.findByUsernameInOrEmailIn(anyCollection(), anyCollection())).thenReturn(List.of());
+            when(bulkPasswordEncoder.encodeAll(List.of(password))).thenReturn(List.of(encodedPassword));
+            when(userRepository.insertAll(anyList())).thenReturn(new boolean[] {false});
+
+            // Act
+            List<UserCreationResult> results = userService.createUsers(List.of(newUser));
+
+            // Assert
+            assertThat(results.get(0).isCreated()).isFalse();
+            assertThat(results.get(0).error()).isEqualTo("Username already exists: " + username);
+            verifyNoInteractions(typeaheadIndex);
         }
     }
 
@@ -150,6 +235,32 @@ class UserServiceTest {
             verify(userRepository).findById(userId);
         }
 
+        @Test
+        @DisplayName("should_ReturnVersion_When_UserExists")
+        void should_ReturnVersion_When_UserExists() {
+            // Arrange
+            when(userRepository.findVersionById(userId)).thenReturn(Optional.of(4L));
+
+            // Act
+            long result = userService.getUserVersion(userId);
+
+            // Assert
+            assertThat(result).isEqualTo(4L);
+            verify(userRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("should_ThrowException_When_VersionRequestedForMissingUser")
+        void should_ThrowException_When_VersionRequestedForMissingUser() {
+            // Arrange
+            when(userRepository.findVersionById(userId)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> userService.getUserVersion(userId))
+                    .isInstanceOf(UserNotFoundException.class)
+                    .hasMessage("User not found with id: " + userId);
+        }
+
         @Test
         @DisplayName("should_ReturnUser_When_UserExistsByUsername")
         void should_ReturnUser_When_UserExistsByUsername() {
@@ -212,18 +323,18 @@ class UserServiceTest {
             UserRole newRole = UserRole.ADMIN;
             Boolean newActive = false;
 
-            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.existsByEmailAndIdNot(newEmail, userId)).thenReturn(false);
-            when(userRepository.save(testUser)).thenReturn(testUser);
+            when(userRepository.update(userId, newEmail, newFirstName, newLastName, newRole, newActive, null))
+                    .thenReturn(Optional.of(testUser));
 
             // Act
-            User result = userService.updateUser(userId, newEmail, newFirstName, newLastName, newRole, newActive);
+            User result = userService.updateUser(userId, newEmail, newFirstName, newLastName, newRole, newActive, null);
 
             // Assert
             assertThat(result).isEqualTo(testUser);
-            verify(userRepository).findById(userId);
-            verify(userRepository).existsByEmailAndIdNot(newEmail, userId);
-            verify(userRepository).save(testUser);
+            verify(userRepository).update(userId, newEmail, newFirstName, newLastName, newRole, newActive, null);
+            verify(userRepository, never()).findById(any(UUID.class));
+            verify(userRepository, never()).existsByEmailAndIdNot(anyString(), any(UUID.class));
+            verify(authenticationCache).evict(userId);
         }
 
         @Test
@@ -232,18 +343,14 @@ class UserServiceTest {
             // Arrange
             String newEmail = "newemail@example.com";
 
-            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.existsByEmailAndIdNot(newEmail, userId)).thenReturn(false);
-            when(userRepository.save(testUser)).thenReturn(testUser);
+            when(userRepository.update(userId, newEmail, null, null, null, null, null)).thenReturn(Optional.of(testUser));
 
             // Act
-            User result = userService.updateUser(userId, newEmail, null, null, null, null);
+            User result = userService.updateUser(userId, newEmail, null, null, null, null, null);
 
             // Assert
             assertThat(result).isEqualTo(testUser);
-            verify(userRepository).findById(userId);
-            verify(userRepository).existsByEmailAndIdNot(newEmail, userId);
-            verify(userRepository).save(testUser);
+            verify(userRepository).update(userId, newEmail, null, null, null, null, null);
         }
 
         @Test
@@ -252,49 +359,45 @@ class UserServiceTest {
             // Arrange
             String newEmail = "existing@example.com";
 
-            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.existsByEmailAndIdNot(newEmail, userId)).thenReturn(true);
+            when(userRepository.update(userId, newEmail, null, null, null, null, null))
+                    .thenThrow(new UserAlreadyExistsException("Email already exists: " + newEmail));
 
             // Act & Assert
-            assertThatThrownBy(() -> userService.updateUser(userId, newEmail, null, null, null, null))
+            assertThatThrownBy(() -> userService.updateUser(userId, newEmail, null, null, null, null, null))
                     .isInstanceOf(UserAlreadyExistsException.class)
                     .hasMessage("Email already exists: " + newEmail);
 
-            verify(userRepository).findById(userId);
-            verify(userRepository).existsByEmailAndIdNot(newEmail, userId);
-            verify(userRepository, never()).save(any(User.class));
+            verify(userRepository).update(userId, newEmail, null, null, null, null, null);
         }
 
         @Test
-        @DisplayName("should_NotCheckEmailUniqueness_When_EmailUnchanged")
-        void should_NotCheckEmailUniqueness_When_EmailUnchanged() {
+        @DisplayName("should_ThrowException_When_UserNotFoundForUpdate")
+        void should_ThrowException_When_UserNotFoundForUpdate() {
             // Arrange
-            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-            when(userRepository.save(testUser)).thenReturn(testUser);
+            when(userRepository.update(userId, "new@example.com", null, null, null, null, null)).thenReturn(Optional.empty());
 
-            // Act
-            User result = userService.updateUser(userId, email, null, null, null, null);
+            // Act & Assert
+            assertThatThrownBy(() -> userService.updateUser(userId, "new@example.com", null, null, null, null, null))
+                    .isInstanceOf(UserNotFoundException.class)
+                    .hasMessage("User not found with id: " + userId);
 
-            // Assert
-            assertThat(result).isEqualTo(testUser);
-            verify(userRepository).findById(userId);
-            verify(userRepository, never()).existsByEmailAndIdNot(anyString(), any(UUID.class));
-            verify(userRepository).save(testUser);
+            verify(userRepository).update(userId, "new@example.com", null, null, null, null, null);
+            verify(userRepository, never()).findVersionById(any());
         }
 
         @Test
-        @DisplayName("should_ThrowException_When_UserNotFoundForUpdate")
-        void should_ThrowException_When_UserNotFoundForUpdate() {
+        @DisplayName("should_ThrowVersionConflict_When_UserChangedSinceExpectedVersion")
+        void should_ThrowVersionConflict_When_UserChangedSinceExpectedVersion() {
             // Arrange
-            when(userRepository.findById(userId)).thenReturn(Optional.empty());
+            when(userRepository.update(userId, "new@example.com", null, null, null, null, 2L)).thenReturn(Optional.empty());
+            when(userRepository.findVersionById(userId)).thenReturn(Optional.of(3L));
 
             // Act & Assert
-            assertThatThrownBy(() -> userService.updateUser(userId, "new@example.com", null, null, null, null))
-                    .isInstanceOf(UserNotFoundException.class)
-                    .hasMessage("User not found with id: " + userId);
+            assertThatThrownBy(() -> userService.updateUser(userId, "new@example.com", null, null, null, null, 2L))
+                    .isInstanceOf(UserVersionConflictException.class)
+                    .hasMessage("User " + userId + " is no longer at version 2");
 
-            verify(userRepository).findById(userId);
-            verify(userRepository, never()).save(any(User.class));
+            verify(authenticationCache, never()).evict(any());
         }
     }
 
@@ -306,29 +409,30 @@ class UserServiceTest {
         @DisplayName("should_DeleteUser_When_UserExists")
         void should_DeleteUser_When_UserExists() {
             // Arrange
-            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+            when(userRepository.deleteById(userId)).thenReturn(true);
 
             // Act
             userService.deleteUser(userId);
 
             // Assert
-            verify(userRepository).findById(userId);
             verify(userRepository).deleteById(userId);
+            verify(userRepository, never()).findById(any(UUID.class));
+            verify(typeaheadIndex).remove(userId);
+            verify(authenticationCache).evict(userId);
         }
 
         @Test
         @DisplayName("should_ThrowException_When_UserNotFoundForDeletion")
         void should_ThrowException_When_UserNotFoundForDeletion() {
             // Arrange
-            when(userRepository.findById(userId)).thenReturn(Optional.empty());
+            when(userRepository.deleteById(userId)).thenReturn(false);
 
             // Act & Assert
             assertThatThrownBy(() -> userService.deleteUser(userId))
                     .isInstanceOf(UserNotFoundException.class)
                     .hasMessage("User not found with id: " + userId);
 
-            verify(userRepository).findById(userId);
-            verify(userRepository, never()).deleteById(any(UUID.class));
+            verify(userRepository).deleteById(userId);
         }
     }
 
@@ -343,17 +447,17 @@ class UserServiceTest {
             String newPassword = "newPassword123";
             String newEncodedPassword = "newEncodedPassword123";
 
-            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
             when(passwordEncoder.encode(newPassword)).thenReturn(newEncodedPassword);
-            when(userRepository.save(testUser)).thenReturn(testUser);
+            when(userRepository.updatePasswordHash(userId, newEncodedPassword)).thenReturn(true);
 
             // Act
             userService.changePassword(userId, newPassword);
 
             // Assert
-            verify(userRepository).findById(userId);
             verify(passwordEncoder).encode(newPassword);
-            verify(userRepository).save(testUser);
+            verify(userRepository).updatePasswordHash(userId, newEncodedPassword);
+            verify(userRepository, never()).findById(any(UUID.class));
+            verify(authenticationCache).evict(userId);
         }
 
         @Test
@@ -361,16 +465,16 @@ class UserServiceTest {
         void should_ThrowException_When_UserNotFoundForPasswordChange() {
             // Arrange
             String newPassword = "newPassword123";
-            when(userRepository.findById(userId)).thenReturn(Optional.empty());
+            String newEncodedPassword = "newEncodedPassword123";
+            when(passwordEncoder.encode(newPassword)).thenReturn(newEncodedPassword);
+            when(userRepository.updatePasswordHash(userId, newEncodedPassword)).thenReturn(false);
 
             // Act & Assert
             assertThatThrownBy(() -> userService.changePassword(userId, newPassword))
                     .isInstanceOf(UserNotFoundException.class)
                     .hasMessage("User not found with id: " + userId);
 
-            verify(userRepository).findById(userId);
-            verify(passwordEncoder, never()).encode(anyString());
-            verify(userRepository, never()).save(any(User.class));
+            verify(userRepository).updatePasswordHash(userId, newEncodedPassword);
         }
     }
 }
\ No newline at end of file
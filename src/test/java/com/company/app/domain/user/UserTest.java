@@ -73,6 +73,32 @@ class UserTest {
             // Assert
             assertThat(user1.getId()).isNotEqualTo(user2.getId());
         }
+
+        @Test
+        @DisplayName("should_RestorePersistedState_When_Rehydrated")
+        void should_RestorePersistedState_When_Rehydrated() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            Instant createdAt = Instant.parse("2024-01-01T10:00:00Z");
+            Instant updatedAt = Instant.parse("2024-02-01T10:00:00Z");
+
+            // Act
+            User user = User.rehydrate(id, username, email, firstName, lastName, passwordHash, role,
+                    false, createdAt, updatedAt, 3);
+
+            // Assert
+            assertThat(user.getId()).isEqualTo(id);
+            assertThat(user.getUsername()).isEqualTo(username);
+            assertThat(user.getEmail()).isEqualTo(email);
+            assertThat(user.getFirstName()).isEqualTo(firstName);
+            assertThat(user.getLastName()).isEqualTo(lastName);
+            assertThat(user.getPasswordHash()).isEqualTo(passwordHash);
+            assertThat(user.getRole()).isEqualTo(role);
+            assertThat(user.isActive()).isFalse();
+            assertThat(user.getCreatedAt()).isEqualTo(createdAt);
+            assertThat(user.getUpdatedAt()).isEqualTo(updatedAt);
+            assertThat(user.getVersion()).isEqualTo(3);
+        }
     }
 
     @Nested
@@ -0,0 +1,255 @@
+package com.company.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OffHeapResponseCache Tests")
+class OffHeapResponseCacheTest {
+
+    private static final int SLAB_SIZE = 100;
+    private static final int MAX_ENTRY_SIZE = 40;
+
+    private OffHeapResponseCache cache;
+    private SimpleMeterRegistry registry;
+    private final byte[] buffer = new byte[MAX_ENTRY_SIZE];
+
+    @BeforeEach
+    void setUp() {
+        // Two slabs of 100 bytes
+        cache = new OffHeapResponseCache(2 * SLAB_SIZE, SLAB_SIZE, MAX_ENTRY_SIZE);
+        registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] filled(int length, char c) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) c);
+        return bytes;
+    }
+
+    private String read(UUID key, long version, boolean gzipped) {
+        int length = cache.get(key, version, gzipped, buffer);
+        return length < 0 ? null : new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private double counter(String name, String result) {
+        return registry.get(name).tag("result", result).functionCounter().count();
+    }
+
+    @Nested
+    @DisplayName("Version Tests")
+    class VersionTests {
+
+        @Test
+        @DisplayName("should_ReturnBody_When_VersionMatches")
+        void should_ReturnBody_When_VersionMatches() {
+            // Arrange
+            UUID key = UUID.randomUUID();
+            cache.put(key, 3, bytes("{\"v\":3}"), null);
+
+            // Act
+            String body = read(key, 3, false);
+
+            // Assert
+            assertThat(body).isEqualTo("{\"v\":3}");
+            assertThat(counter("cache.gets", "hit")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should_Miss_When_VersionDiffers")
+        void should_Miss_When_VersionDiffers() {
+            // Arrange
+            UUID key = UUID.randomUUID();
+            cache.put(key, 3, bytes("{\"v\":3}"), null);
+
+            // Act & Assert
+            assertThat(cache.get(key, 4, false, buffer)).isEqualTo(-1);
+            assertThat(cache.get(key, 2, false, buffer)).isEqualTo(-1);
+            assertThat(counter("cache.gets", "miss")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should_Miss_When_KeyUnknown")
+        void should_Miss_When_KeyUnknown() {
+            // Act & Assert
+            assertThat(cache.get(UUID.randomUUID(), 0, false, buffer)).isEqualTo(-1);
+        }
+
+        @Test
+        @DisplayName("should_ReplaceOlderVersion_When_NewVersionStored")
+        void should_ReplaceOlderVersion_When_NewVersionStored() {
+            // Arrange
+            UUID key = UUID.randomUUID();
+            cache.put(key, 1, bytes("old"), null);
+
+            // Act
+            cache.put(key, 2, bytes("new"), null);
+
+            // Assert
+            assertThat(read(key, 1, false)).isNull();
+            assertThat(read(key, 2, false)).isEqualTo("new");
+        }
+
+        @Test
+        @DisplayName("should_Miss_When_Invalidated")
+        void should_Miss_When_Invalidated() {
+            // Arrange
+            UUID key = UUID.randomUUID();
+            cache.put(key, 1, bytes("body"), null);
+
+            // Act
+            cache.invalidate(key);
+
+            // Assert
+            assertThat(read(key, 1, false)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Gzip Variant Tests")
+    class GzipVariantTests {
+
+        @Test
+        @DisplayName("should_ReturnEachVariant_When_BothStored")
+        void should_ReturnEachVariant_When_BothStored() {
+            // Arrange
+            UUID key = UUID.randomUUID();
+            cache.put(key, 1, bytes("plain body"), bytes("gz"));
+
+            // Act & Assert
+            assertThat(read(key, 1, false)).isEqualTo("plain body");
+            assertThat(read(key, 1, true)).isEqualTo("gz");
+        }
+
+        @Test
+        @DisplayName("should_MissGzipped_When_OnlyPlainStored")
+        void should_MissGzipped_When_OnlyPlainStored() {
+            // Arrange
+            UUID key = UUID.randomUUID();
+            cache.put(key, 1, bytes("plain body"), null);
+
+            // Act & Assert
+            assertThat(read(key, 1, true)).isNull();
+            assertThat(read(key, 1, false)).isEqualTo("plain body");
+        }
+    }
+
+    @Nested
+    @DisplayName("Size Limit Tests")
+    class SizeLimitTests {
+
+        @Test
+        @DisplayName("should_NotCache_When_VariantsTogetherExceedMaxEntrySize")
+        void should_NotCache_When_VariantsTogetherExceedMaxEntrySize() {
+            // Arrange
+            UUID key = UUID.randomUUID();
+
+            // Act
+            cache.put(key, 1, filled(30, 'a'), filled(11, 'z'));
+
+            // Assert
+            assertThat(cache.get(key, 1, false, buffer)).isEqualTo(-1);
+            assertThat(registry.get("cache.size").gauge().value()).isZero();
+        }
+
+        @Test
+        @DisplayName("should_Cache_When_EntryExactlyMaxEntrySize")
+        void should_Cache_When_EntryExactlyMaxEntrySize() {
+            // Arrange
+            UUID key = UUID.randomUUID();
+
+            // Act
+            cache.put(key, 1, filled(MAX_ENTRY_SIZE, 'a'), null);
+
+            // Assert
+            assertThat(cache.get(key, 1, false, buffer)).isEqualTo(MAX_ENTRY_SIZE);
+        }
+
+        @Test
+        @DisplayName("should_RejectConfiguration_When_EntryLargerThanSlab")
+        void should_RejectConfiguration_When_EntryLargerThanSlab() {
+            // Act & Assert
+            assertThatThrownBy(() -> new OffHeapResponseCache(1000, 100, 101))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Recycling Tests")
+    class RecyclingTests {
+
+        @Test
+        @DisplayName("should_EvictOldestSlab_When_AllSlabsFull")
+        void should_EvictOldestSlab_When_AllSlabsFull() {
+            // Arrange
+            // Two 40 byte entries per slab, so the fifth entry recycles the first slab
+            UUID[] keys = new UUID[5];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = UUID.randomUUID();
+                cache.put(keys[i], 1, filled(MAX_ENTRY_SIZE, (char) ('a' + i)), null);
+            }
+
+            // Act & Assert
+            assertThat(cache.get(keys[0], 1, false, buffer)).isEqualTo(-1);
+            assertThat(cache.get(keys[1], 1, false, buffer)).isEqualTo(-1);
+            assertThat(read(keys[2], 1, false)).isEqualTo("c".repeat(MAX_ENTRY_SIZE));
+            assertThat(read(keys[3], 1, false)).isEqualTo("d".repeat(MAX_ENTRY_SIZE));
+            assertThat(read(keys[4], 1, false)).isEqualTo("e".repeat(MAX_ENTRY_SIZE));
+            assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(2);
+            assertThat(registry.get("cache.offheap.bytes").gauge().value()).isEqualTo(2 * SLAB_SIZE);
+        }
+
+        @Test
+        @DisplayName("should_KeepNewerVersion_When_SlabOfOlderVersionRecycled")
+        void should_KeepNewerVersion_When_SlabOfOlderVersionRecycled() {
+            // Arrange
+            // Version 1 lands in the first slab, version 2 in the second
+            UUID key = UUID.randomUUID();
+            cache.put(key, 1, filled(MAX_ENTRY_SIZE, 'a'), null);
+            cache.put(UUID.randomUUID(), 1, filled(MAX_ENTRY_SIZE, 'b'), null);
+            cache.put(key, 2, filled(MAX_ENTRY_SIZE, 'c'), null);
+
+            // Act
+            // Recycles the first slab
+            cache.put(UUID.randomUUID(), 1, filled(MAX_ENTRY_SIZE, 'd'), null);
+            cache.put(UUID.randomUUID(), 1, filled(MAX_ENTRY_SIZE, 'e'), null);
+
+            // Assert
+            assertThat(read(key, 2, false)).isEqualTo("c".repeat(MAX_ENTRY_SIZE));
+            assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should_MissWithoutStaleBytes_When_EntryOverwrittenByRecycling")
+        void should_MissWithoutStaleBytes_When_EntryOverwrittenByRecycling() {
+            // Arrange
+            // A single slab, so each entry that does not fit recycles it
+            OffHeapResponseCache single = new OffHeapResponseCache(SLAB_SIZE, SLAB_SIZE, MAX_ENTRY_SIZE);
+            UUID first = UUID.randomUUID();
+            single.put(first, 1, filled(MAX_ENTRY_SIZE, 'a'), null);
+            single.put(UUID.randomUUID(), 1, filled(MAX_ENTRY_SIZE, 'b'), null);
+
+            // Act
+            UUID third = UUID.randomUUID();
+            single.put(third, 1, filled(MAX_ENTRY_SIZE, 'c'), null);
+
+            // Assert
+            assertThat(single.get(first, 1, false, buffer)).isEqualTo(-1);
+            assertThat(single.get(third, 1, false, buffer)).isEqualTo(MAX_ENTRY_SIZE);
+            assertThat(new String(buffer, StandardCharsets.UTF_8)).isEqualTo("c".repeat(MAX_ENTRY_SIZE));
+        }
+    }
+}
\ No newline at end of file
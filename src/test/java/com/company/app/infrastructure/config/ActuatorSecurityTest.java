@@ -0,0 +1,104 @@
+package com.company.app.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks who may call the actuator endpoints: health is public, everything else is for admins.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Actuator Security Tests")
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Nested
+    @DisplayName("Anonymous Tests")
+    class AnonymousTests {
+
+        @Test
+        @DisplayName("should_AllowHealth_When_Anonymous")
+        void should_AllowHealth_When_Anonymous() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("should_RequireAuthentication_When_AnonymousReadsQueries")
+        void should_RequireAuthentication_When_AnonymousReadsQueries() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get("/actuator/queries")).andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Nested
+    @DisplayName("User Tests")
+    class UserTests {
+
+        @Test
+        @WithMockUser(roles = "USER")
+        @DisplayName("should_Forbid_When_UserReadsQueries")
+        void should_Forbid_When_UserReadsQueries() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get("/actuator/queries")).andExpect(status().isForbidden());
+        }
+
+        @Test
+        @WithMockUser(roles = "USER")
+        @DisplayName("should_Forbid_When_UserResetsQueries")
+        void should_Forbid_When_UserResetsQueries() throws Exception {
+            // Act & Assert
+            mockMvc.perform(delete("/actuator/queries")).andExpect(status().isForbidden());
+        }
+
+        @Test
+        @WithMockUser(roles = "USER")
+        @DisplayName("should_Forbid_When_UserReadsMetrics")
+        void should_Forbid_When_UserReadsMetrics() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+        }
+
+        @Test
+        @WithMockUser(roles = "USER")
+        @DisplayName("should_AllowHealth_When_User")
+        void should_AllowHealth_When_User() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        }
+    }
+
+    @Nested
+    @DisplayName("Admin Tests")
+    class AdminTests {
+
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        @DisplayName("should_Allow_When_AdminReadsQueries")
+        void should_Allow_When_AdminReadsQueries() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get("/actuator/queries")).andExpect(status().isOk());
+        }
+
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        @DisplayName("should_Allow_When_AdminResetsQueries")
+        void should_Allow_When_AdminResetsQueries() throws Exception {
+            // Act & Assert
+            mockMvc.perform(delete("/actuator/queries")).andExpect(status().is2xxSuccessful());
+        }
+    }
+}
\ No newline at end of file
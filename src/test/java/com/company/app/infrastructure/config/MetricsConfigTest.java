@@ -0,0 +1,145 @@
+package com.company.app.infrastructure.config;
+
+import com.company.app.application.customer.DeleteCustomerUseCase;
+import com.company.app.application.customer.DeleteCustomerUseCase.DeleteCustomerCommand;
+import com.company.app.domain.customer.CustomerRepository;
+import com.company.app.domain.customer.CustomerService;
+import com.company.app.infrastructure.metrics.MethodTimingPostProcessor;
+import com.company.app.infrastructure.persistence.QueryProfiler;
+import com.company.app.infrastructure.web.mapper.CustomerMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks which beans the layer timers proxy, using the layers as configured for the application.
+ */
+@DisplayName("MetricsConfig Tests")
+class MetricsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+            .withUserConfiguration(MetricsConfig.class)
+            .withBean(SimpleMeterRegistry.class)
+            .withBean(QueryProfiler.class, () -> new QueryProfiler(10))
+            .withBean(CustomerService.class, () -> mock(CustomerService.class))
+            .withBean(CustomerRepository.class, () -> mock(CustomerRepository.class))
+            .withBean(DeleteCustomerUseCase.class)
+            .withBean(CustomerMapper.class);
+
+    @Nested
+    @DisplayName("Enabled Layer Timer Tests")
+    class EnabledLayerTimerTests {
+
+        @Test
+        @DisplayName("should_TimeUseCases_When_Enabled")
+        void should_TimeUseCases_When_Enabled() {
+            contextRunner.run(context -> {
+                // Act
+                context.getBean(DeleteCustomerUseCase.class).execute(new DeleteCustomerCommand(UUID.randomUUID()));
+
+                // Assert
+                assertThat(AopUtils.isAopProxy(context.getBean(DeleteCustomerUseCase.class))).isTrue();
+                assertThat(context.getBean(MeterRegistry.class).get("app.use-case")
+                        .tag("class", "DeleteCustomerUseCase")
+                        .tag("method", "execute")
+                        .tag("exception", "none")
+                        .timer().count()).isEqualTo(1);
+            });
+        }
+
+        @Test
+        @DisplayName("should_TimeRepositoryPort_When_Enabled")
+        void should_TimeRepositoryPort_When_Enabled() {
+            contextRunner.run(context -> {
+                // Act
+                context.getBean(CustomerRepository.class).findById(UUID.randomUUID());
+
+                // Assert
+                // Tagged with the port, whichever adapter implements it
+                assertThat(AopUtils.isAopProxy(context.getBean(CustomerRepository.class))).isTrue();
+                assertThat(context.getBean(MeterRegistry.class).get("app.repository")
+                        .tag("class", "CustomerRepository")
+                        .tag("method", "findById")
+                        .tag("exception", "none")
+                        .timer().count()).isEqualTo(1);
+                assertThat(context.getBean(MeterRegistry.class).get("app.repository.statements")
+                        .tag("method", "findById")
+                        .summary().count()).isEqualTo(1);
+            });
+        }
+
+        @Test
+        @DisplayName("should_TimeMappers_When_Enabled")
+        void should_TimeMappers_When_Enabled() {
+            contextRunner.run(context -> {
+                // Act
+                context.getBean(CustomerMapper.class).toDto(null);
+
+                // Assert
+                assertThat(AopUtils.isAopProxy(context.getBean(CustomerMapper.class))).isTrue();
+                assertThat(context.getBean(MeterRegistry.class).get("app.mapper")
+                        .tag("class", "CustomerMapper")
+                        .tag("method", "toDto")
+                        .tag("exception", "none")
+                        .timer().count()).isEqualTo(1);
+            });
+        }
+
+        @Test
+        @DisplayName("should_LeaveOtherBeansUnproxied_When_Enabled")
+        void should_LeaveOtherBeansUnproxied_When_Enabled() {
+            contextRunner.run(context -> {
+                // Assert
+                assertThat(AopUtils.isAopProxy(context.getBean(QueryProfiler.class))).isFalse();
+            });
+        }
+
+        @Test
+        @DisplayName("should_SkipStatementSummaries_When_StatementBudgetDisabled")
+        void should_SkipStatementSummaries_When_StatementBudgetDisabled() {
+            contextRunner.withPropertyValues("app.persistence.statement-budget.enabled=false").run(context -> {
+                // Act
+                context.getBean(CustomerRepository.class).findById(UUID.randomUUID());
+
+                // Assert
+                assertThat(context.getBean(MeterRegistry.class).find("app.repository").timer()).isNotNull();
+                assertThat(context.getBean(MeterRegistry.class).find("app.repository.statements").summary()).isNull();
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("Disabled Layer Timer Tests")
+    class DisabledLayerTimerTests {
+
+        @Test
+        @DisplayName("should_ProxyNothing_When_Disabled")
+        void should_ProxyNothing_When_Disabled() {
+            contextRunner.withPropertyValues("app.metrics.layer-timers.enabled=false").run(context -> {
+                // Act
+                context.getBean(DeleteCustomerUseCase.class).execute(new DeleteCustomerCommand(UUID.randomUUID()));
+                context.getBean(CustomerRepository.class).findById(UUID.randomUUID());
+                context.getBean(CustomerMapper.class).toDto(null);
+
+                // Assert
+                assertThat(context).doesNotHaveBean(MethodTimingPostProcessor.class);
+                assertThat(AopUtils.isAopProxy(context.getBean(DeleteCustomerUseCase.class))).isFalse();
+                assertThat(AopUtils.isAopProxy(context.getBean(CustomerRepository.class))).isFalse();
+                assertThat(AopUtils.isAopProxy(context.getBean(CustomerMapper.class))).isFalse();
+                assertThat(context.getBean(MeterRegistry.class).getMeters()).isEmpty();
+            });
+        }
+    }
+}
\ No newline at end of file
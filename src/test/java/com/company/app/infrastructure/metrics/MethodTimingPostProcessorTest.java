@@ -0,0 +1,282 @@
+package com.company.app.infrastructure.metrics;
+
+import com.company.app.infrastructure.metrics.MethodTimingPostProcessor.Layer;
+import com.company.app.infrastructure.persistence.QueryProfiler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MethodTimingPostProcessor Tests")
+class MethodTimingPostProcessorTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private MethodTimingPostProcessor postProcessor(boolean countStatements, Layer... layers) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+        return new MethodTimingPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class),
+                List.of(layers), countStatements);
+    }
+
+    private static Layer greeterLayer(boolean queryOrigin) {
+        return new Layer("test.greeter", type -> Greeter.class.isAssignableFrom(type) ? type : null, queryOrigin);
+    }
+
+    private Timer timer(String method, String exception) {
+        return registry.get("test.greeter")
+                .tag("class", "Greeter")
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer();
+    }
+
+    @Nested
+    @DisplayName("Proxying Tests")
+    class ProxyingTests {
+
+        @Test
+        @DisplayName("should_ProxyByClass_When_BeanInLayer")
+        void should_ProxyByClass_When_BeanInLayer() {
+            // Act
+            Object bean = postProcessor(false, greeterLayer(false))
+                    .postProcessAfterInitialization(new Greeter(), "greeter");
+
+            // Assert
+            assertThat(AopUtils.isCglibProxy(bean)).isTrue();
+            assertThat(bean).isInstanceOf(Greeter.class);
+        }
+
+        @Test
+        @DisplayName("should_ReturnBeanItself_When_BeanInNoLayer")
+        void should_ReturnBeanItself_When_BeanInNoLayer() {
+            // Arrange
+            Unrelated unrelated = new Unrelated();
+
+            // Act
+            Object bean = postProcessor(false, greeterLayer(false)).postProcessAfterInitialization(unrelated, "unrelated");
+
+            // Assert
+            assertThat(bean).isSameAs(unrelated);
+            assertThat(registry.getMeters()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should_AddAdvisorFirst_When_BeanAlreadyProxied")
+        void should_AddAdvisorFirst_When_BeanAlreadyProxied() {
+            // Arrange
+            ProxyFactory proxyFactory = new ProxyFactory(new Greeter());
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+            Object proxy = proxyFactory.getProxy();
+
+            // Act
+            Object bean = postProcessor(false, greeterLayer(false)).postProcessAfterInitialization(proxy, "greeter");
+
+            // Assert
+            assertThat(bean).isSameAs(proxy);
+            assertThat(((Advised) bean).getAdvisors()).hasSize(2);
+            ((Greeter) bean).greet("Jane");
+            assertThat(timer("greet", "none").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should_LeaveProxyUnchanged_When_Frozen")
+        void should_LeaveProxyUnchanged_When_Frozen() {
+            // Arrange
+            ProxyFactory proxyFactory = new ProxyFactory(new Greeter());
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.setFrozen(true);
+            Object proxy = proxyFactory.getProxy();
+
+            // Act
+            Object bean = postProcessor(false, greeterLayer(false)).postProcessAfterInitialization(proxy, "greeter");
+
+            // Assert
+            assertThat(bean).isSameAs(proxy);
+            assertThat(((Advised) bean).getAdvisors()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Timer Tests")
+    class TimerTests {
+
+        @Test
+        @DisplayName("should_TagClassAndMethod_When_CallReturns")
+        void should_TagClassAndMethod_When_CallReturns() {
+            // Arrange
+            Greeter greeter = (Greeter) postProcessor(false, greeterLayer(false))
+                    .postProcessAfterInitialization(new Greeter(), "greeter");
+
+            // Act
+            String greeting = greeter.greet("Jane");
+            greeter.greet("John");
+
+            // Assert
+            assertThat(greeting).isEqualTo("Hello, Jane");
+            assertThat(timer("greet", "none").count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should_TagException_When_CallThrows")
+        void should_TagException_When_CallThrows() {
+            // Arrange
+            Greeter greeter = (Greeter) postProcessor(false, greeterLayer(false))
+                    .postProcessAfterInitialization(new Greeter(), "greeter");
+
+            // Act & Assert
+            assertThatThrownBy(greeter::fail).isInstanceOf(IllegalStateException.class);
+            assertThat(timer("fail", "IllegalStateException").count()).isEqualTo(1);
+            assertThat(timer("fail", "none").count()).isZero();
+        }
+
+        @Test
+        @DisplayName("should_TimeOnlyTypeMethods_When_LayerTimesAnInterface")
+        void should_TimeOnlyTypeMethods_When_LayerTimesAnInterface() {
+            // Arrange
+            Layer layer = new Layer("test.greeting", type -> Greeting.class.isAssignableFrom(type) ? Greeting.class : null,
+                    false);
+            Greeter greeter = (Greeter) postProcessor(false, layer).postProcessAfterInitialization(new Greeter(), "greeter");
+
+            // Act
+            greeter.greet("Jane");
+            greeter.internal();
+
+            // Assert
+            assertThat(registry.get("test.greeting").tag("class", "Greeting").tag("method", "greet").timer().count())
+                    .isEqualTo(1);
+            assertThat(registry.find("test.greeting").tag("method", "internal").timer()).isNull();
+        }
+
+        @Test
+        @DisplayName("should_RecordStatements_When_CountingStatements")
+        void should_RecordStatements_When_CountingStatements() {
+            // Arrange
+            Greeter greeter = (Greeter) postProcessor(true, greeterLayer(false))
+                    .postProcessAfterInitialization(new Greeter(), "greeter");
+
+            // Act
+            greeter.greet("Jane");
+
+            // Assert
+            assertThat(registry.get("test.greeter.statements").tag("method", "greet").summary().count()).isEqualTo(1);
+            assertThat(registry.get("test.greeter.statements").tag("method", "greet").summary().totalAmount()).isZero();
+            assertThat(registry.get("test.greeter.jdbc").tag("method", "greet").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should_NotRecordStatements_When_NotCountingStatements")
+        void should_NotRecordStatements_When_NotCountingStatements() {
+            // Arrange
+            Greeter greeter = (Greeter) postProcessor(false, greeterLayer(false))
+                    .postProcessAfterInitialization(new Greeter(), "greeter");
+
+            // Act
+            greeter.greet("Jane");
+
+            // Assert
+            assertThat(registry.find("test.greeter.statements").summary()).isNull();
+            assertThat(registry.find("test.greeter.jdbc").timer()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Origin Tests")
+    class QueryOriginTests {
+
+        @Test
+        @DisplayName("should_SetOriginDuringCall_When_LayerIsQueryOrigin")
+        void should_SetOriginDuringCall_When_LayerIsQueryOrigin() {
+            // Arrange
+            Greeter greeter = (Greeter) postProcessor(false, greeterLayer(true))
+                    .postProcessAfterInitialization(new Greeter(), "greeter");
+
+            // Act
+            String origin = greeter.origin();
+
+            // Assert
+            assertThat(origin).isEqualTo("Greeter.origin");
+            assertThat(new Greeter().origin()).isNull();
+        }
+
+        @Test
+        @DisplayName("should_RestoreOrigin_When_CallThrows")
+        void should_RestoreOrigin_When_CallThrows() {
+            // Arrange
+            Greeter greeter = (Greeter) postProcessor(false, greeterLayer(true))
+                    .postProcessAfterInitialization(new Greeter(), "greeter");
+            String previous = QueryProfiler.enterOrigin("Caller.call");
+
+            try {
+                // Act
+                assertThatThrownBy(greeter::fail).isInstanceOf(IllegalStateException.class);
+
+                // Assert
+                assertThat(new Greeter().origin()).isEqualTo("Caller.call");
+            } finally {
+                QueryProfiler.exitOrigin(previous);
+            }
+        }
+
+        @Test
+        @DisplayName("should_NotSetOrigin_When_LayerIsNotQueryOrigin")
+        void should_NotSetOrigin_When_LayerIsNotQueryOrigin() {
+            // Arrange
+            Greeter greeter = (Greeter) postProcessor(false, greeterLayer(false))
+                    .postProcessAfterInitialization(new Greeter(), "greeter");
+
+            // Act & Assert
+            assertThat(greeter.origin()).isNull();
+        }
+    }
+
+    interface Greeting {
+
+        String greet(String name);
+    }
+
+    static class Greeter implements Greeting {
+
+        @Override
+        public String greet(String name) {
+            return "Hello, " + name;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("Failed");
+        }
+
+        public void internal() {
+        }
+
+        /**
+         * The origin statements are currently profiled under, read by swapping it out and back.
+         */
+        public String origin() {
+            String origin = QueryProfiler.enterOrigin(null);
+            QueryProfiler.exitOrigin(origin);
+            return origin;
+        }
+    }
+
+    static class Unrelated {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.company.app.infrastructure.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConnectionLimitingDataSource Tests")
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private SimpleMeterRegistry registry;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        dataSource = new ConnectionLimitingDataSource(target, "primary", 2, Duration.ofMillis(50));
+        dataSource.bindTo(registry);
+    }
+
+    private double available() {
+        return registry.get("db.connection.permits.available").tag("pool", "primary").gauge().value();
+    }
+
+    @Nested
+    @DisplayName("Permit Release Tests")
+    class PermitReleaseTests {
+
+        @Test
+        @DisplayName("should_HoldPermitUntilClosed_When_ConnectionObtained")
+        void should_HoldPermitUntilClosed_When_ConnectionObtained() throws SQLException {
+            // Arrange
+            when(target.getConnection()).thenReturn(connection);
+
+            // Act
+            Connection obtained = dataSource.getConnection();
+            double whileOpen = available();
+            obtained.close();
+
+            // Assert
+            assertThat(whileOpen).isEqualTo(1);
+            assertThat(available()).isEqualTo(2);
+            verify(connection).close();
+        }
+
+        @Test
+        @DisplayName("should_ReleaseOnce_When_ConnectionClosedTwice")
+        void should_ReleaseOnce_When_ConnectionClosedTwice() throws SQLException {
+            // Arrange
+            when(target.getConnection()).thenReturn(connection);
+            Connection first = dataSource.getConnection();
+            dataSource.getConnection();
+
+            // Act
+            first.close();
+            first.close();
+
+            // Assert
+            assertThat(available()).isEqualTo(1);
+            verify(connection, times(1)).close();
+        }
+
+        @Test
+        @DisplayName("should_ReleasePermit_When_PoolCloseFails")
+        void should_ReleasePermit_When_PoolCloseFails() throws SQLException {
+            // Arrange
+            when(target.getConnection()).thenReturn(connection);
+            doThrow(new SQLException("Connection reset")).when(connection).close();
+            Connection obtained = dataSource.getConnection();
+
+            // Act & Assert
+            assertThatThrownBy(obtained::close).isInstanceOf(SQLException.class).hasMessage("Connection reset");
+            assertThat(available()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should_ReleasePermit_When_PoolFailsToProvideConnection")
+        void should_ReleasePermit_When_PoolFailsToProvideConnection() throws SQLException {
+            // Arrange
+            when(target.getConnection()).thenThrow(new SQLTransientConnectionException("Pool exhausted"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("Pool exhausted");
+            assertThat(available()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should_ReleasePermit_When_CredentialedAcquisitionFails")
+        void should_ReleasePermit_When_CredentialedAcquisitionFails() throws SQLException {
+            // Arrange
+            when(target.getConnection("user", "secret")).thenThrow(new IllegalStateException("Pool closed"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> dataSource.getConnection("user", "secret")).hasMessage("Pool closed");
+            assertThat(available()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Permit Limit Tests")
+    class PermitLimitTests {
+
+        @Test
+        @DisplayName("should_TimeOutWithoutAskingPool_When_AllPermitsInUse")
+        void should_TimeOutWithoutAskingPool_When_AllPermitsInUse() throws SQLException {
+            // Arrange
+            when(target.getConnection()).thenReturn(connection);
+            dataSource.getConnection();
+            dataSource.getConnection();
+
+            // Act & Assert
+            assertThatThrownBy(() -> dataSource.getConnection())
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("timed out after 50ms");
+            verify(target, times(2)).getConnection();
+            assertThat(registry.get("db.connection.permits.wait").timer().count()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should_AdmitWaiter_When_PermitReleased")
+        void should_AdmitWaiter_When_PermitReleased() throws SQLException {
+            // Arrange
+            dataSource = new ConnectionLimitingDataSource(target, "primary", 1, Duration.ofSeconds(10));
+            when(target.getConnection()).thenReturn(connection);
+            Connection held = dataSource.getConnection();
+            Thread closer = new Thread(() -> {
+                try {
+                    Thread.sleep(50);
+                    held.close();
+                } catch (InterruptedException | SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            closer.start();
+
+            // Act
+            Connection next = dataSource.getConnection();
+
+            // Assert
+            assertThat(next).isNotNull();
+            assertThatCode(closer::join).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("should_FailAndKeepInterruptFlag_When_InterruptedWhileWaiting")
+        void should_FailAndKeepInterruptFlag_When_InterruptedWhileWaiting() {
+            // Arrange
+            Thread.currentThread().interrupt();
+
+            // Act & Assert
+            try {
+                assertThatThrownBy(() -> dataSource.getConnection())
+                        .isInstanceOf(SQLTransientConnectionException.class)
+                        .hasMessageContaining("Interrupted");
+                assertThat(Thread.currentThread().isInterrupted()).isTrue();
+            } finally {
+                Thread.interrupted();
+            }
+            assertThat(available()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Connection Proxy Tests")
+    class ConnectionProxyTests {
+
+        @Test
+        @DisplayName("should_DelegateCalls_When_ConnectionUsed")
+        void should_DelegateCalls_When_ConnectionUsed() throws SQLException {
+            // Arrange
+            when(target.getConnection()).thenReturn(connection);
+            when(connection.getAutoCommit()).thenReturn(false);
+            Connection obtained = dataSource.getConnection();
+
+            // Act & Assert
+            assertThat(obtained.getAutoCommit()).isFalse();
+            assertThat(obtained).isEqualTo(obtained).isNotEqualTo(connection);
+        }
+
+        @Test
+        @DisplayName("should_RethrowTargetException_When_DelegateFails")
+        void should_RethrowTargetException_When_DelegateFails() throws SQLException {
+            // Arrange
+            when(target.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement("SELECT 1")).thenThrow(new SQLException("Syntax"));
+            Connection obtained = dataSource.getConnection();
+
+            // Act & Assert
+            assertThatThrownBy(() -> obtained.prepareStatement("SELECT 1"))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessage("Syntax");
+        }
+
+        @Test
+        @DisplayName("should_ClosePool_When_TargetCloseable")
+        void should_ClosePool_When_TargetCloseable() throws Exception {
+            // Arrange
+            DataSource closeable = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+
+            // Act
+            new ConnectionLimitingDataSource(closeable, "primary", 1, Duration.ofSeconds(1)).close();
+
+            // Assert
+            verify((AutoCloseable) closeable).close();
+        }
+    }
+}
\ No newline at end of file
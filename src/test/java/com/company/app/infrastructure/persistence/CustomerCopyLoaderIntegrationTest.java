@@ -0,0 +1,89 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.domain.customer.Customer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the COPY and merge against PostgreSQL, which the unit test can only mock.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("CustomerCopyLoader Integration Tests")
+class CustomerCopyLoaderIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactions;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private static Customer customer(String companyName, String email) {
+        return new Customer(companyName, "Ann", email, null);
+    }
+
+    @Test
+    @DisplayName("should_SkipExistingAndRepeatedEmails_When_BatchMerged")
+    void should_SkipExistingAndRepeatedEmails_When_BatchMerged() {
+        // Arrange
+        String domain = UUID.randomUUID() + ".example.com";
+        transactions.executeWithoutResult(status -> new CustomerCopyLoader(jdbcTemplate)
+                .load(Map.of(1L, customer("Existing", "taken@" + domain))));
+        Map<Long, Customer> batch = new LinkedHashMap<>();
+        batch.put(10L, customer("Acme", "acme@" + domain));
+        batch.put(11L, customer("Taken", "taken@" + domain));
+        batch.put(12L, customer("Acme Again", "acme@" + domain));
+        batch.put(13L, customer("Say \"Hi\", Inc", "hi@" + domain));
+
+        // Act
+        Set<Long> skipped = transactions.execute(status -> new CustomerCopyLoader(jdbcTemplate).load(batch));
+
+        // Assert
+        assertThat(skipped).containsExactly(11L, 12L);
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT company_name FROM customers WHERE email LIKE ? ORDER BY company_name", String.class, "%@" + domain);
+        assertThat(names).containsExactly("Acme", "Existing", "Say \"Hi\", Inc");
+    }
+
+    @Test
+    @DisplayName("should_ReportEachBatchSeparately_When_BatchesShareATransaction")
+    void should_ReportEachBatchSeparately_When_BatchesShareATransaction() {
+        // Arrange
+        String domain = UUID.randomUUID() + ".example.com";
+        CustomerCopyLoader loader = new CustomerCopyLoader(jdbcTemplate);
+
+        // Act
+        List<Set<Long>> skipped = transactions.execute(status -> List.of(
+                loader.load(Map.of(1L, customer("Acme", "acme@" + domain))),
+                loader.load(Map.of(2L, customer("Acme Again", "acme@" + domain), 3L, customer("Globex", "globex@" + domain)))));
+
+        // Assert
+        assertThat(skipped.get(0)).isEmpty();
+        assertThat(skipped.get(1)).containsExactly(2L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.domain.customer.Address;
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerCopyLoader Tests")
+class CustomerCopyLoaderTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private PreparedStatement mergeStatement;
+
+    @Mock
+    private ResultSet skippedLines;
+
+    private CustomerCopyLoader loader;
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        loader = new CustomerCopyLoader(new JdbcTemplate(dataSource));
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    private void stubCopy() throws Exception {
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(startsWith("COPY customer_import"))).thenReturn(copyIn);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    private void stubMerge() throws Exception {
+        doAnswer(invocation -> {
+            copied.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(connection.prepareStatement(startsWith("WITH inserted AS"))).thenReturn(mergeStatement);
+        when(mergeStatement.executeQuery()).thenReturn(skippedLines);
+    }
+
+    private static Customer customer(String companyName, String email, Address address) {
+        Customer customer = new Customer(companyName, "Ann", email, address);
+        customer.setId(UUID.nameUUIDFromBytes(companyName.getBytes(StandardCharsets.UTF_8)));
+        customer.setStatus(CustomerStatus.ACTIVE);
+        customer.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        customer.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        return customer;
+    }
+
+    @Test
+    @DisplayName("should_ReportLinesReturnedByMerge_When_BatchLoaded")
+    void should_ReportLinesReturnedByMerge_When_BatchLoaded() throws Exception {
+        // Arrange
+        stubCopy();
+        stubMerge();
+        when(skippedLines.next()).thenReturn(true, true, false);
+        when(skippedLines.getLong(1)).thenReturn(3L, 7L);
+        Map<Long, Customer> batch = new LinkedHashMap<>();
+        batch.put(2L, customer("Acme", "ann@acme.com", null));
+        batch.put(3L, customer("Acme 2", "ann@acme.com", null));
+
+        // Act
+        Set<Long> skipped = loader.load(batch);
+
+        // Assert
+        assertThat(skipped).containsExactly(3L, 7L);
+        verify(statement).execute(startsWith("CREATE TEMP TABLE IF NOT EXISTS customer_import"));
+        verify(copyIn).endCopy();
+        verify(statement).execute("TRUNCATE customer_import");
+    }
+
+    @Test
+    @DisplayName("should_QuoteValuesAndLeaveNullsEmpty_When_RowsCopied")
+    void should_QuoteValuesAndLeaveNullsEmpty_When_RowsCopied() throws Exception {
+        // Arrange
+        stubCopy();
+        stubMerge();
+        when(skippedLines.next()).thenReturn(false);
+        Customer quoted = customer("Say \"Hi\", Inc", "hi@example.com",
+                new Address("1 Main St\nSuite 5", "Springfield", null, "62701", "USA"));
+        quoted.setPhone("");
+
+        // Act
+        loader.load(Map.of(4L, quoted));
+
+        // Assert
+        assertThat(copied.toString(StandardCharsets.UTF_8)).isEqualTo("4," + quoted.getId()
+                + ",\"Say \"\"Hi\"\", Inc\",\"Ann\",\"hi@example.com\",\"\",\"1 Main St\nSuite 5\",\"Springfield\",,"
+                + "\"62701\",\"USA\",,\"ACTIVE\",\"2024-01-01T00:00:00Z\",\"2024-01-01T00:00:00Z\"\n");
+    }
+
+    @Test
+    @DisplayName("should_CancelCopy_When_WriteFails")
+    void should_CancelCopy_When_WriteFails() throws Exception {
+        // Arrange
+        stubCopy();
+        doThrow(new SQLException("connection reset")).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(copyIn.isActive()).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> loader.load(Map.of(1L, customer("Acme", "ann@acme.com", null))))
+                .hasRootCauseMessage("connection reset");
+        verify(copyIn).cancelCopy();
+        verify(mergeStatement, never()).executeQuery();
+    }
+
+    @Test
+    @DisplayName("should_Refuse_When_DatabaseNotPostgres")
+    void should_Refuse_When_DatabaseNotPostgres() throws Exception {
+        // Arrange
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> loader.load(Map.of(1L, customer("Acme", "ann@acme.com", null))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Bulk customer import requires PostgreSQL");
+    }
+}
\ No newline at end of file
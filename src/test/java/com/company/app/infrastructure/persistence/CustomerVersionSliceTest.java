@@ -0,0 +1,82 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerRepository;
+import com.company.app.domain.customer.CustomerStatus;
+import com.company.app.domain.customer.CustomerVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks against the in-memory database that the id and version projection returns the same
+ * customers, in the same order, as the full page for the same filters.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Customer Version Slice Tests")
+class CustomerVersionSliceTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final String industry = "Industry " + UUID.randomUUID();
+
+    private Customer insert(String companyName, CustomerStatus status) {
+        return customerRepository.insert(Customer.create(companyName, "Jane Doe",
+                UUID.randomUUID() + "@versions.example.com", null, null, industry, status));
+    }
+
+    @Test
+    @DisplayName("should_MatchFullSlice_When_SameFiltersAndPage")
+    void should_MatchFullSlice_When_SameFiltersAndPage() {
+        // Arrange
+        insert("Charlie Corp", CustomerStatus.ACTIVE);
+        insert("Alpha Corp", CustomerStatus.ACTIVE);
+        insert("Bravo Corp", CustomerStatus.ACTIVE);
+        insert("Delta Corp", CustomerStatus.INACTIVE);
+        PageRequest firstPage = PageRequest.of(0, 2, Sort.by("companyName"));
+
+        // Act
+        Slice<CustomerVersion> versions = customerRepository.findVersionSlice(CustomerStatus.ACTIVE, industry, firstPage);
+        Slice<Customer> customers = customerRepository.findSlice(CustomerStatus.ACTIVE, industry, firstPage);
+
+        // Assert
+        assertThat(versions.getContent())
+                .extracting(CustomerVersion::id)
+                .containsExactlyElementsOf(customers.map(Customer::getId).getContent());
+        assertThat(versions.getContent()).extracting(CustomerVersion::version).containsOnly(0L);
+        assertThat(versions.hasNext()).isTrue();
+        assertThat(customerRepository.count(CustomerStatus.ACTIVE, industry)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should_ReflectNewVersion_When_CustomerUpdated")
+    void should_ReflectNewVersion_When_CustomerUpdated() {
+        // Arrange
+        Customer customer = insert("Echo Corp", CustomerStatus.PROSPECT);
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                customerRepository.updateStatus(List.of(customer.getId()), CustomerStatus.ACTIVE));
+        Slice<CustomerVersion> versions = customerRepository.findVersionSlice(null, industry, PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(versions.getContent()).containsExactly(new CustomerVersion(customer.getId(), 1));
+    }
+}
\ No newline at end of file
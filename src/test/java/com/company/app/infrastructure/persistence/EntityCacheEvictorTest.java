@@ -0,0 +1,101 @@
+package com.company.app.infrastructure.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EntityCacheEvictor Tests")
+class EntityCacheEvictorTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    private EntityCacheEvictor evictor;
+
+    private final UUID id = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        evictor = new EntityCacheEvictor(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("should_EvictEntityOnly_When_NaturalIdUnchanged")
+    void should_EvictEntityOnly_When_NaturalIdUnchanged() {
+        // Act
+        evictor.evict(UserEntity.class, id, false);
+
+        // Assert
+        verify(cache).evictEntityData(UserEntity.class, id);
+        verify(cache, never()).evictNaturalIdData(any(Class.class));
+    }
+
+    @Test
+    @DisplayName("should_EvictNaturalIds_When_NaturalIdChanged")
+    void should_EvictNaturalIds_When_NaturalIdChanged() {
+        // Act
+        evictor.evict(CustomerEntity.class, id, true);
+
+        // Assert
+        verify(cache).evictNaturalIdData(CustomerEntity.class);
+        verify(cache).evictEntityData(CustomerEntity.class, id);
+    }
+
+    @Test
+    @DisplayName("should_EvictAgainAfterCommit_When_InTransaction")
+    void should_EvictAgainAfterCommit_When_InTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        evictor.evict(CustomerEntity.class, id, true);
+        verify(cache, times(1)).evictEntityData(CustomerEntity.class, id);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        verify(cache, times(2)).evictEntityData(CustomerEntity.class, id);
+        verify(cache, times(2)).evictNaturalIdData(CustomerEntity.class);
+    }
+
+    @Test
+    @DisplayName("should_RegisterNothing_When_NoTransaction")
+    void should_RegisterNothing_When_NoTransaction() {
+        // Act
+        evictor.evict(CustomerEntity.class, id, false);
+
+        // Assert
+        assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isFalse();
+        verify(cache, times(1)).evictEntityData(CustomerEntity.class, id);
+    }
+}
\ No newline at end of file
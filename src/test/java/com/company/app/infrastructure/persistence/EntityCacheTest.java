@@ -0,0 +1,131 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerRepository;
+import com.company.app.domain.customer.CustomerStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the second-level cache regions against the in-memory database: that every region is
+ * created up front, that loads fill them and that JPQL bulk statements invalidate them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Entity Cache Tests")
+class EntityCacheTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CacheManager entityCacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private org.hibernate.Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictAllRegions();
+    }
+
+    private Customer createAndLoad() {
+        String email = UUID.randomUUID() + "@cache.example.com";
+        Customer customer = customerRepository.insert(Customer.create("Cached Corporation", "Jane Doe", email,
+                null, null, "Software", CustomerStatus.PROSPECT));
+        cache.evictAllRegions();
+        customerRepository.findById(customer.getId());
+        customerRepository.findByEmail(email);
+        return customer;
+    }
+
+    private long entries(String region) {
+        Cache<Object, Object> regionCache = entityCacheManager.getCache(region);
+        return StreamSupport.stream(regionCache.spliterator(), false).count();
+    }
+
+    @Test
+    @DisplayName("should_CreateMonitoredRegions_When_ContextStarts")
+    void should_CreateMonitoredRegions_When_ContextStarts() {
+        // Arrange
+        List<String> regions = List.of(CustomerEntity.CACHE_REGION, CustomerEntity.NATURAL_ID_CACHE_REGION,
+                UserEntity.CACHE_REGION, UserEntity.NATURAL_ID_CACHE_REGION);
+
+        // Act & Assert
+        for (String region : regions) {
+            assertThat(entityCacheManager.getCache(region)).as(region).isNotNull();
+            assertThat(meterRegistry.find("cache.gets").tag("cache", region).meters()).as(region).isNotEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("should_CacheEntityAndNaturalId_When_Loaded")
+    void should_CacheEntityAndNaturalId_When_Loaded() {
+        // Act
+        Customer customer = createAndLoad();
+
+        // Assert
+        assertThat(cache.containsEntity(CustomerEntity.class, customer.getId())).isTrue();
+        assertThat(entries(CustomerEntity.NATURAL_ID_CACHE_REGION)).isPositive();
+    }
+
+    @Test
+    @DisplayName("should_EvictRegions_When_StatusUpdatedInBulk")
+    void should_EvictRegions_When_StatusUpdatedInBulk() {
+        // Arrange
+        Customer customer = createAndLoad();
+
+        // Act
+        Integer updated = new TransactionTemplate(transactionManager).execute(status ->
+                customerRepository.updateStatus(List.of(customer.getId()), CustomerStatus.ACTIVE));
+
+        // Assert
+        assertThat(updated).isEqualTo(1);
+        assertThat(cache.containsEntity(CustomerEntity.class, customer.getId())).isFalse();
+        assertThat(entries(CustomerEntity.NATURAL_ID_CACHE_REGION)).isZero();
+        assertThat(customerRepository.findById(customer.getId()))
+                .hasValueSatisfying(reloaded -> assertThat(reloaded.getStatus()).isEqualTo(CustomerStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("should_EvictEntity_When_DeletedInBulk")
+    void should_EvictEntity_When_DeletedInBulk() {
+        // Arrange
+        Customer customer = createAndLoad();
+
+        // Act
+        Integer deleted = new TransactionTemplate(transactionManager).execute(status ->
+                customerRepository.deleteAllById(List.of(customer.getId())));
+
+        // Assert
+        assertThat(deleted).isEqualTo(1);
+        assertThat(cache.containsEntity(CustomerEntity.class, customer.getId())).isFalse();
+        assertThat(customerRepository.findById(customer.getId())).isEmpty();
+    }
+}
\ No newline at end of file
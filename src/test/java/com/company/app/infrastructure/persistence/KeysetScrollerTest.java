@@ -0,0 +1,208 @@
+package com.company.app.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeysetScroller Tests")
+class KeysetScrollerTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Row> query;
+
+    private KeysetScroller<Row> scroller;
+
+    private final Row first = new Row(UUID.randomUUID(), Instant.parse("2024-01-01T00:00:00Z"));
+    private final Row second = new Row(UUID.randomUUID(), Instant.parse("2024-01-02T00:00:00Z"));
+    private final Row third = new Row(UUID.randomUUID(), Instant.parse("2024-01-03T00:00:00Z"));
+
+    record Row(UUID id, Instant createdAt) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        scroller = new KeysetScroller<>(entityManager, Row.class, Row::id)
+                .sortableBy("createdAt", Row::createdAt, Instant::parse);
+    }
+
+    private void stubQuery(List<Row> rows) {
+        when(entityManager.createQuery(anyString(), eq(Row.class))).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenReturn(rows);
+    }
+
+    private String capturedJpql() {
+        ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createQuery(jpql.capture(), eq(Row.class));
+        return jpql.getValue();
+    }
+
+    private static KeysetScrollPosition after(Row row) {
+        return ScrollPosition.forward(Map.of("createdAt", row.createdAt().toString(), "id", row.id().toString()));
+    }
+
+    @Nested
+    @DisplayName("Seek Predicate Tests")
+    class SeekPredicateTests {
+
+        @Test
+        @DisplayName("should_OmitSeekPredicate_When_FirstPage")
+        void should_OmitSeekPredicate_When_FirstPage() {
+            // Arrange
+            stubQuery(List.of(first));
+
+            // Act
+            scroller.scroll(Map.of(), ScrollPosition.keyset(), Sort.by("createdAt"), 2);
+
+            // Assert
+            assertThat(capturedJpql()).isEqualTo("select e from Row e order by e.createdAt asc, e.id asc");
+            verify(query, never()).setParameter(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("should_SeekGreaterThan_When_Ascending")
+        void should_SeekGreaterThan_When_Ascending() {
+            // Arrange
+            stubQuery(List.of(second));
+
+            // Act
+            scroller.scroll(Map.of("status", "ACTIVE"), after(first), Sort.by(Sort.Direction.ASC, "createdAt"), 2);
+
+            // Assert
+            assertThat(capturedJpql()).isEqualTo("select e from Row e where e.status = :status "
+                    + "and (e.createdAt, e.id) > (:sortKey, :id) order by e.createdAt asc, e.id asc");
+            verify(query).setParameter("status", "ACTIVE");
+            verify(query).setParameter("sortKey", first.createdAt());
+            verify(query).setParameter("id", first.id());
+        }
+
+        @Test
+        @DisplayName("should_SeekLessThan_When_Descending")
+        void should_SeekLessThan_When_Descending() {
+            // Arrange
+            stubQuery(List.of(first));
+
+            // Act
+            scroller.scroll(Map.of(), after(second), Sort.by(Sort.Direction.DESC, "createdAt"), 2);
+
+            // Assert
+            assertThat(capturedJpql()).isEqualTo("select e from Row e "
+                    + "where (e.createdAt, e.id) < (:sortKey, :id) order by e.createdAt desc, e.id desc");
+        }
+    }
+
+    @Nested
+    @DisplayName("Window Tests")
+    class WindowTests {
+
+        @Test
+        @DisplayName("should_TrimExtraRowAndReportNext_When_MoreRowsThanLimit")
+        void should_TrimExtraRowAndReportNext_When_MoreRowsThanLimit() {
+            // Arrange
+            stubQuery(List.of(first, second, third));
+
+            // Act
+            Window<Row> window = scroller.scroll(Map.of(), ScrollPosition.keyset(), Sort.by("createdAt"), 2);
+
+            // Assert
+            verify(query).setMaxResults(3);
+            assertThat(window.getContent()).containsExactly(first, second);
+            assertThat(window.hasNext()).isTrue();
+            assertThat(((KeysetScrollPosition) window.positionAt(1)).getKeys())
+                    .containsEntry("createdAt", second.createdAt())
+                    .containsEntry("id", second.id());
+        }
+
+        @Test
+        @DisplayName("should_ReportLastPage_When_RowsWithinLimit")
+        void should_ReportLastPage_When_RowsWithinLimit() {
+            // Arrange
+            stubQuery(List.of(first, second));
+
+            // Act
+            Window<Row> window = scroller.scroll(Map.of(), ScrollPosition.keyset(), Sort.by("createdAt"), 2);
+
+            // Assert
+            assertThat(window.getContent()).containsExactly(first, second);
+            assertThat(window.hasNext()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid Cursor Tests")
+    class InvalidCursorTests {
+
+        @Test
+        @DisplayName("should_Reject_When_SortPropertyNotRegistered")
+        void should_Reject_When_SortPropertyNotRegistered() {
+            // Act & Assert
+            assertThatThrownBy(() -> scroller.scroll(Map.of(), ScrollPosition.keyset(), Sort.by("passwordHash"), 2))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(entityManager);
+        }
+
+        @Test
+        @DisplayName("should_Reject_When_CursorKeysDoNotMatchSort")
+        void should_Reject_When_CursorKeysDoNotMatchSort() {
+            // Arrange
+            when(entityManager.createQuery(anyString(), eq(Row.class))).thenReturn(query);
+            KeysetScrollPosition position = ScrollPosition.forward(Map.of("companyName", "Acme", "id", first.id()));
+
+            // Act & Assert
+            assertThatThrownBy(() -> scroller.scroll(Map.of(), position, Sort.by("createdAt"), 2))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cursor does not match the requested sort order");
+        }
+
+        @Test
+        @DisplayName("should_Reject_When_SortKeyUnparseable")
+        void should_Reject_When_SortKeyUnparseable() {
+            // Arrange
+            when(entityManager.createQuery(anyString(), eq(Row.class))).thenReturn(query);
+            KeysetScrollPosition position = ScrollPosition.forward(Map.of("createdAt", "yesterday", "id", first.id()));
+
+            // Act & Assert
+            assertThatThrownBy(() -> scroller.scroll(Map.of(), position, Sort.by("createdAt"), 2))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+
+        @Test
+        @DisplayName("should_Reject_When_IdNotUuid")
+        void should_Reject_When_IdNotUuid() {
+            // Arrange
+            when(entityManager.createQuery(anyString(), eq(Row.class))).thenReturn(query);
+            KeysetScrollPosition position = ScrollPosition.forward(
+                    Map.of("createdAt", first.createdAt().toString(), "id", "42"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> scroller.scroll(Map.of(), position, Sort.by("createdAt"), 2))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+}
\ No newline at end of file
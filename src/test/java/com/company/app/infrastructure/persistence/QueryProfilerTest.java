@@ -0,0 +1,374 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.infrastructure.persistence.QueryProfiler.QueryStats;
+import com.company.app.infrastructure.persistence.QueryProfiler.QueryView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("QueryProfiler Tests")
+class QueryProfilerTest {
+
+    private final QueryProfiler profiler = new QueryProfiler(100);
+
+    private static String shape(String sql) {
+        return new QueryProfiler(10).statsFor(sql).view().sql();
+    }
+
+    private List<QueryView> views() {
+        return profiler.top(Comparator.comparingLong(QueryView::count), 100);
+    }
+
+    private static QueryView record(long... nanos) {
+        QueryStats stats = new QueryProfiler(10).statsFor("SELECT 1");
+        for (long execution : nanos) {
+            stats.recordExecution(execution);
+        }
+        return stats.view();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Nested
+    @DisplayName("Normalization Tests")
+    class NormalizationTests {
+
+        @Test
+        @DisplayName("should_ReplaceLiterals_When_SqlHasStringsAndNumbers")
+        void should_ReplaceLiterals_When_SqlHasStringsAndNumbers() {
+            // Act & Assert
+            assertThat(shape("SELECT * FROM customers WHERE status = 'ACTIVE' AND score > 4.5 LIMIT 20"))
+                    .isEqualTo("SELECT * FROM customers WHERE status = ? AND score > ? LIMIT ?");
+        }
+
+        @Test
+        @DisplayName("should_ReplaceWholeString_When_StringHasEscapedQuotes")
+        void should_ReplaceWholeString_When_StringHasEscapedQuotes() {
+            // Act & Assert
+            assertThat(shape("SELECT * FROM customers WHERE company_name = 'O''Brien 42 Ltd'"))
+                    .isEqualTo("SELECT * FROM customers WHERE company_name = ?");
+        }
+
+        @Test
+        @DisplayName("should_KeepDigitsInNames_When_IdentifiersHaveThem")
+        void should_KeepDigitsInNames_When_IdentifiersHaveThem() {
+            // Act & Assert
+            // Hibernate aliases and positional parameters are part of the shape
+            assertThat(shape("SELECT c1_0.id FROM customers c1_0 WHERE c1_0.email = $1 AND c1_0.version = 3"))
+                    .isEqualTo("SELECT c1_0.id FROM customers c1_0 WHERE c1_0.email = $1 AND c1_0.version = ?");
+        }
+
+        @Test
+        @DisplayName("should_CollapseParameterLists_When_InListsDifferInLength")
+        void should_CollapseParameterLists_When_InListsDifferInLength() {
+            // Act & Assert
+            assertThat(shape("DELETE FROM customers WHERE id IN (?, ?, ?)"))
+                    .isEqualTo(shape("DELETE FROM customers WHERE id IN (?,?)"))
+                    .isEqualTo("DELETE FROM customers WHERE id IN (?...)");
+            assertThat(shape("SELECT * FROM customers WHERE id IN (1, 2, 3)"))
+                    .isEqualTo("SELECT * FROM customers WHERE id IN (?...)");
+        }
+
+        @Test
+        @DisplayName("should_KeepSingleParameter_When_NotAList")
+        void should_KeepSingleParameter_When_NotAList() {
+            // Act & Assert
+            assertThat(shape("SELECT * FROM customers WHERE lower(email) = lower(?)"))
+                    .isEqualTo("SELECT * FROM customers WHERE lower(email) = lower(?)");
+        }
+
+        @Test
+        @DisplayName("should_StripCommentsAndWhitespace_When_SqlFormatted")
+        void should_StripCommentsAndWhitespace_When_SqlFormatted() {
+            // Act & Assert
+            assertThat(shape("/* origin=CustomerRepository.findById */ select c.id\n  from customers c\n"
+                    + "\twhere /* by id\n */ c.id = ?"))
+                    .isEqualTo("select c.id from customers c where c.id = ?");
+        }
+
+        @Test
+        @DisplayName("should_AggregateOneShape_When_OnlyLiteralsDiffer")
+        void should_AggregateOneShape_When_OnlyLiteralsDiffer() {
+            // Act
+            profiler.statsFor("SELECT * FROM customers WHERE id = 1").recordExecution(1_000);
+            profiler.statsFor("SELECT * FROM customers WHERE id = 2").recordExecution(1_000);
+
+            // Assert
+            assertThat(views()).singleElement()
+                    .satisfies(view -> {
+                        assertThat(view.sql()).isEqualTo("SELECT * FROM customers WHERE id = ?");
+                        assertThat(view.count()).isEqualTo(2);
+                    });
+        }
+    }
+
+    @Nested
+    @DisplayName("Key Tests")
+    class KeyTests {
+
+        @Test
+        @DisplayName("should_SeparateShapes_When_OriginsOrEndpointsDiffer")
+        void should_SeparateShapes_When_OriginsOrEndpointsDiffer() {
+            // Arrange
+            String previous = QueryProfiler.enterOrigin("CustomerRepository.findById");
+
+            try {
+                // Act
+                profiler.statsFor("SELECT 1").recordExecution(1_000);
+                QueryProfiler.setEndpoint(() -> "GET /api/v1/customers/{id}");
+                profiler.statsFor("SELECT 1").recordExecution(1_000);
+                profiler.statsFor("SELECT 1").recordExecution(1_000);
+            } finally {
+                QueryProfiler.setEndpoint(null);
+                QueryProfiler.exitOrigin(previous);
+            }
+            profiler.statsFor("SELECT 1").recordExecution(1_000);
+
+            // Assert
+            assertThat(views())
+                    .extracting(QueryView::origin, QueryView::endpoint, QueryView::count)
+                    .containsExactlyInAnyOrder(
+                            tuple("CustomerRepository.findById", "GET /api/v1/customers/{id}", 2L),
+                            tuple("CustomerRepository.findById", "none", 1L),
+                            tuple("none", "none", 1L));
+        }
+
+        @Test
+        @DisplayName("should_CountTogether_When_MaxShapesReachedAcrossOrigins")
+        void should_CountTogether_When_MaxShapesReachedAcrossOrigins() {
+            // Arrange
+            // The limit is on all tracked entries, not on the shapes of one origin
+            QueryProfiler bounded = new QueryProfiler(2);
+            String previous = QueryProfiler.enterOrigin("CustomerRepository.findById");
+
+            try {
+                // Act
+                bounded.statsFor("SELECT 1").recordExecution(1_000);
+                QueryProfiler.enterOrigin("UserRepository.findById");
+                bounded.statsFor("SELECT 1").recordExecution(1_000);
+                bounded.statsFor("SELECT 2 FROM users").recordExecution(1_000);
+                QueryProfiler.enterOrigin("CustomerRepository.findById");
+                bounded.statsFor("SELECT 1").recordExecution(1_000);
+            } finally {
+                QueryProfiler.exitOrigin(previous);
+            }
+
+            // Assert
+            assertThat(bounded.top(Comparator.comparingLong(QueryView::count), 10))
+                    .extracting(QueryView::sql, QueryView::origin, QueryView::count)
+                    .containsExactlyInAnyOrder(
+                            tuple("SELECT ?", "CustomerRepository.findById", 2L),
+                            tuple("SELECT ?", "UserRepository.findById", 1L),
+                            tuple("(other)", "none", 1L));
+        }
+
+        @Test
+        @DisplayName("should_ForgetShapes_When_Reset")
+        void should_ForgetShapes_When_Reset() {
+            // Arrange
+            profiler.statsFor("SELECT 1").recordExecution(1_000);
+
+            // Act
+            profiler.reset();
+
+            // Assert
+            assertThat(views()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should_ReturnHighestFirst_When_LimitedTop")
+        void should_ReturnHighestFirst_When_LimitedTop() {
+            // Arrange
+            profiler.statsFor("SELECT 1").recordExecution(1_000);
+            profiler.statsFor("SELECT 1 FROM customers").recordExecution(5_000);
+            profiler.statsFor("SELECT 1 FROM users").recordExecution(3_000);
+
+            // Act
+            List<QueryView> top = profiler.top(Comparator.comparingDouble(QueryView::totalMs), 2);
+
+            // Assert
+            assertThat(top).extracting(QueryView::sql)
+                    .containsExactly("SELECT ? FROM customers", "SELECT ? FROM users");
+        }
+    }
+
+    @Nested
+    @DisplayName("SQL Comment Tests")
+    class SqlCommentTests {
+
+        @Test
+        @DisplayName("should_LeaveSqlUnchanged_When_CommentsDisabled")
+        void should_LeaveSqlUnchanged_When_CommentsDisabled() {
+            // Act & Assert
+            assertThat(profiler.statsFor("SELECT 1").comment("SELECT 1")).isEqualTo("SELECT 1");
+        }
+
+        @Test
+        @DisplayName("should_PrependOnlyOrigin_When_CommentsEnabled")
+        void should_PrependOnlyOrigin_When_CommentsEnabled() {
+            // Arrange
+            QueryProfiler commenting = new QueryProfiler(100, true);
+            String previous = QueryProfiler.enterOrigin("CustomerRepository.findById");
+
+            try {
+                // Act
+                String withoutEndpoint = commenting.statsFor("SELECT 1").comment("SELECT 1");
+                QueryProfiler.setEndpoint(() -> "GET /api/v1/customers/{id}");
+                String withEndpoint = commenting.statsFor("SELECT 1").comment("SELECT 1");
+
+                // Assert
+                // The same statement text, so the driver prepares it once for both endpoints
+                assertThat(withoutEndpoint).isEqualTo("/* origin=CustomerRepository.findById */ SELECT 1");
+                assertThat(withEndpoint).isEqualTo(withoutEndpoint);
+            } finally {
+                QueryProfiler.setEndpoint(null);
+                QueryProfiler.exitOrigin(previous);
+            }
+        }
+
+        @Test
+        @DisplayName("should_EscapeDelimiters_When_OriginContainsThem")
+        void should_EscapeDelimiters_When_OriginContainsThem() {
+            // Arrange
+            QueryProfiler commenting = new QueryProfiler(100, true);
+            String previous = QueryProfiler.enterOrigin("*/ DROP TABLE users; /*");
+
+            try {
+                // Act
+                String sql = commenting.statsFor("SELECT 1").comment("SELECT 1");
+
+                // Assert
+                assertThat(sql).isEqualTo("/* origin=* / DROP TABLE users; / * */ SELECT 1");
+            } finally {
+                QueryProfiler.exitOrigin(previous);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Statistics Tests")
+    class StatisticsTests {
+
+        @Test
+        @DisplayName("should_SummarizeExecutions_When_Recorded")
+        void should_SummarizeExecutions_When_Recorded() {
+            // Arrange
+            QueryStats stats = profiler.statsFor("SELECT 1");
+
+            // Act
+            stats.recordExecution(2_000_000);
+            stats.recordExecution(4_000_000);
+            stats.recordRows(3);
+            stats.recordRows(5);
+
+            // Assert
+            QueryView view = stats.view();
+            assertThat(view.count()).isEqualTo(2);
+            assertThat(view.totalMs()).isEqualTo(6.0);
+            assertThat(view.meanMs()).isEqualTo(3.0);
+            assertThat(view.maxMs()).isEqualTo(4.0);
+            assertThat(view.rows()).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("should_ReportZeros_When_NothingExecuted")
+        void should_ReportZeros_When_NothingExecuted() {
+            // Act
+            QueryView view = profiler.statsFor("SELECT 1").view();
+
+            // Assert
+            assertThat(view.count()).isZero();
+            assertThat(view.meanMs()).isZero();
+            assertThat(view.p99Ms()).isZero();
+            assertThat(view.maxMs()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Percentile Tests")
+    class PercentileTests {
+
+        @ParameterizedTest
+        @ValueSource(longs = {1, 3, 4, 5, 7, 100, 1_023, 1_024, 1_025, 999_999, 1_000_000, 123_456_789, 30_000_000_000L})
+        @DisplayName("should_BoundP99WithinAQuarter_When_MostExecutionsTakeTheSameTime")
+        void should_BoundP99WithinAQuarter_When_MostExecutionsTakeTheSameTime(long nanos) {
+            // Arrange
+            long[] executions = new long[100];
+            Arrays.fill(executions, nanos);
+            // Slower than the 99th percentile, so it caps neither the rank nor the bucket
+            executions[99] = nanos * 10;
+
+            // Act
+            QueryView view = record(executions);
+
+            // Assert
+            assertThat(view.p99Ms()).isBetween(millis(nanos), millis(nanos) * 1.25);
+        }
+
+        @Test
+        @DisplayName("should_ReturnExactValue_When_AllExecutionsEqual")
+        void should_ReturnExactValue_When_AllExecutionsEqual() {
+            // Act
+            QueryView view = record(5_000_000, 5_000_000, 5_000_000);
+
+            // Assert
+            // The bucket's upper bound is capped by the maximum seen
+            assertThat(view.p99Ms()).isEqualTo(5.0);
+        }
+
+        @Test
+        @DisplayName("should_ReturnMax_When_SingleExecution")
+        void should_ReturnMax_When_SingleExecution() {
+            // Act
+            QueryView view = record(7_777_777);
+
+            // Assert
+            assertThat(view.p99Ms()).isEqualTo(view.maxMs());
+        }
+
+        @Test
+        @DisplayName("should_IgnoreRareOutliers_When_FewerThanOnePercent")
+        void should_IgnoreRareOutliers_When_FewerThanOnePercent() {
+            // Arrange
+            long[] executions = new long[1_005];
+            Arrays.fill(executions, 1_000_000);
+            for (int i = 1_000; i < executions.length; i++) {
+                executions[i] = 1_000_000_000;
+            }
+
+            // Act
+            QueryView view = record(executions);
+
+            // Assert
+            assertThat(view.p99Ms()).isBetween(1.0, 1.25);
+            assertThat(view.maxMs()).isEqualTo(1_000.0);
+        }
+
+        @Test
+        @DisplayName("should_ReflectSlowTail_When_MoreThanOnePercent")
+        void should_ReflectSlowTail_When_MoreThanOnePercent() {
+            // Arrange
+            long[] executions = new long[100];
+            for (int i = 0; i < executions.length; i++) {
+                executions[i] = (i + 1) * 1_000_000L;
+            }
+
+            // Act
+            QueryView view = record(executions);
+
+            // Assert
+            assertThat(view.p99Ms()).isBetween(99.0, 100.0);
+        }
+    }
+}
\ No newline at end of file
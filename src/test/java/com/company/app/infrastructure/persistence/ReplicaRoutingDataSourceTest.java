@@ -0,0 +1,330 @@
+package com.company.app.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstReplicaConnection;
+
+    @Mock
+    private Connection secondReplicaConnection;
+
+    private final AtomicReference<String> client = new AtomicReference<>();
+
+    private ReplicaRoutingDataSource routing(Duration readYourWrites) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica),
+                client::get, readYourWrites);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static void begin(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void complete(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (committed) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(committed
+                ? TransactionSynchronization.STATUS_COMMITTED
+                : TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clear();
+    }
+
+    private Connection readOnlyConnection(ReplicaRoutingDataSource routing) throws SQLException {
+        begin(true);
+        try {
+            return routing.getConnection();
+        } finally {
+            complete(true);
+        }
+    }
+
+    private static Connection unchecked(ConnectionSource source) {
+        try {
+            return source.get();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private void write(ReplicaRoutingDataSource routing, boolean committed) throws SQLException {
+        begin(false);
+        routing.getConnection();
+        complete(committed);
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        lenient().when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        TransactionSynchronizationManager.unbindResourceIfPossible(this);
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("should_UsePrimary_When_TransactionReadWrite")
+        void should_UsePrimary_When_TransactionReadWrite() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5));
+            begin(false);
+
+            // Act
+            Connection connection = routing.getConnection();
+
+            // Assert
+            assertThat(connection).isSameAs(primaryConnection);
+        }
+
+        @Test
+        @DisplayName("should_UsePrimary_When_NoTransaction")
+        void should_UsePrimary_When_NoTransaction() throws SQLException {
+            // Act & Assert
+            assertThat(routing(Duration.ofSeconds(5)).getConnection()).isSameAs(primaryConnection);
+        }
+
+        @Test
+        @DisplayName("should_AlternateReplicas_When_TransactionsReadOnly")
+        void should_AlternateReplicas_When_TransactionsReadOnly() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5));
+
+            // Act & Assert
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+            assertThat(readOnlyConnection(routing)).isSameAs(secondReplicaConnection);
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+            verifyNoInteractions(primary);
+        }
+
+        @Test
+        @DisplayName("should_UsePrimary_When_ReadingForCache")
+        void should_UsePrimary_When_ReadingForCache() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ofSeconds(5));
+
+            // Act
+            Connection connection = ReplicaRoutingDataSource.readFromPrimary(() -> {
+                // A nested call must not end the outer one's hint when it returns
+                ReplicaRoutingDataSource.readFromPrimary(() -> null);
+                return unchecked(() -> readOnlyConnection(routing));
+            });
+
+            // Assert
+            assertThat(connection).isSameAs(primaryConnection);
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+        }
+
+        @Test
+        @DisplayName("should_RejectConfiguration_When_NoReplicas")
+        void should_RejectConfiguration_When_NoReplicas() {
+            // Act & Assert
+            assertThatThrownBy(() -> new ReplicaRoutingDataSource(primary, List.of(), client::get, Duration.ZERO))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should_CloseReplicasOnly_When_Closed")
+        void should_CloseReplicasOnly_When_Closed() throws Exception {
+            // Arrange
+            DataSource closeable = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(closeable, firstReplica),
+                    client::get, Duration.ZERO);
+
+            // Act
+            routing.close();
+
+            // Assert
+            verify((AutoCloseable) closeable).close();
+            verifyNoInteractions(primary);
+        }
+    }
+
+    @Nested
+    @DisplayName("Read Your Writes Tests")
+    class ReadYourWritesTests {
+
+        @Test
+        @DisplayName("should_ReadFromPrimary_When_ClientCommittedWriteWithinWindow")
+        void should_ReadFromPrimary_When_ClientCommittedWriteWithinWindow() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+            client.set("alice");
+            write(routing, true);
+
+            // Act & Assert
+            assertThat(readOnlyConnection(routing)).isSameAs(primaryConnection);
+            client.set("bob");
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+        }
+
+        @Test
+        @DisplayName("should_ReadFromReplica_When_WriteRolledBack")
+        void should_ReadFromReplica_When_WriteRolledBack() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+            client.set("alice");
+            write(routing, false);
+
+            // Act & Assert
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+        }
+
+        @Test
+        @DisplayName("should_ReadFromReplica_When_WriteStillUncommitted")
+        void should_ReadFromReplica_When_WriteStillUncommitted() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+            client.set("alice");
+            begin(false);
+            routing.getConnection();
+            TransactionSynchronizationManager.clear();
+
+            // Act & Assert
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+        }
+
+        @Test
+        @DisplayName("should_ReadFromReplica_When_WriteWasAnonymous")
+        void should_ReadFromReplica_When_WriteWasAnonymous() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ofMinutes(1));
+            write(routing, true);
+
+            // Act & Assert
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+        }
+
+        @Test
+        @DisplayName("should_ReadFromReplica_When_WindowDisabled")
+        void should_ReadFromReplica_When_WindowDisabled() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+            client.set("alice");
+            write(routing, true);
+
+            // Act & Assert
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+        }
+
+        @Test
+        @DisplayName("should_ReadFromReplica_When_WindowExpired")
+        void should_ReadFromReplica_When_WindowExpired() throws Exception {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ofMillis(50));
+            client.set("alice");
+            write(routing, true);
+
+            // Act
+            Thread.sleep(100);
+
+            // Assert
+            assertThat(readOnlyConnection(routing)).isSameAs(firstReplicaConnection);
+        }
+    }
+
+    @Nested
+    @DisplayName("Entity Cache Tests")
+    class EntityCacheTests {
+
+        @Mock
+        private EntityManager entityManager;
+
+        @Mock
+        private Session session;
+
+        @BeforeEach
+        void bindSession() {
+            lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+            TransactionSynchronizationManager.bindResource(ReplicaRoutingDataSourceTest.this,
+                    new EntityManagerHolder(entityManager));
+        }
+
+        @Test
+        @DisplayName("should_OnlyReadEntityCacheUntilCompletion_When_RoutedToReplica")
+        void should_OnlyReadEntityCacheUntilCompletion_When_RoutedToReplica() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+            when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+            when(session.isOpen()).thenReturn(true);
+            begin(true);
+
+            // Act
+            routing.getConnection();
+            verify(session).setCacheMode(CacheMode.GET);
+            complete(true);
+
+            // Assert
+            verify(session).setCacheMode(CacheMode.NORMAL);
+        }
+
+        @Test
+        @DisplayName("should_KeepCacheMode_When_ReadingFromPrimary")
+        void should_KeepCacheMode_When_ReadingFromPrimary() throws SQLException {
+            // Arrange
+            ReplicaRoutingDataSource routing = routing(Duration.ZERO);
+            begin(true);
+
+            // Act
+            ReplicaRoutingDataSource.readFromPrimary(() -> unchecked(routing::getConnection));
+
+            // Assert
+            verify(session, never()).setCacheMode(any());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerRepository;
+import com.company.app.domain.customer.CustomerStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs with read replicas enabled against the in-memory database, the replica pool pointing at the
+ * same database, to check that reads routed to a replica never fill the entity cache while loads
+ * made for a cache still do.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicas",
+        "spring.threads.virtual.enabled=true",
+        "app.persistence.read-replicas.enabled=true",
+        "app.persistence.read-replicas.urls=jdbc:h2:mem:replicas"
+})
+@ActiveProfiles("test")
+@DisplayName("Replica Routing Integration Tests")
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache cache;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        customer = customerRepository.insert(Customer.create("Replicated Corporation", "Jane Doe",
+                UUID.randomUUID() + "@replicas.example.com", null, null, "Industry " + UUID.randomUUID(),
+                CustomerStatus.ACTIVE));
+        cache.evictAllRegions();
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    @Test
+    @DisplayName("should_NotFillEntityCache_When_ReadFromReplica")
+    void should_NotFillEntityCache_When_ReadFromReplica() {
+        // Act
+        transaction(true).executeWithoutResult(status ->
+                customerRepository.findSlice(null, customer.getIndustry(), PageRequest.of(0, 10)));
+
+        // Assert
+        assertThat(cache.containsEntity(CustomerEntity.class, customer.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("should_FillEntityCache_When_QueryRunsOnPrimary")
+    void should_FillEntityCache_When_QueryRunsOnPrimary() {
+        // Act
+        transaction(false).executeWithoutResult(status ->
+                customerRepository.findSlice(null, customer.getIndustry(), PageRequest.of(0, 10)));
+
+        // Assert
+        assertThat(cache.containsEntity(CustomerEntity.class, customer.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("should_FillEntityCache_When_LoadedForCache")
+    void should_FillEntityCache_When_LoadedForCache() {
+        // Act
+        transaction(true).executeWithoutResult(status -> customerRepository.findById(customer.getId()));
+
+        // Assert
+        assertThat(cache.containsEntity(CustomerEntity.class, customer.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("should_FillEntityCacheAgain_When_PrimaryReadFollowsReplicaRead")
+    void should_FillEntityCacheAgain_When_PrimaryReadFollowsReplicaRead() {
+        // Arrange
+        transaction(true).executeWithoutResult(status ->
+                customerRepository.findSlice(null, customer.getIndustry(), PageRequest.of(0, 10)));
+
+        // Act
+        transaction(false).executeWithoutResult(status ->
+                customerRepository.findSlice(null, customer.getIndustry(), PageRequest.of(0, 10)));
+
+        // Assert
+        assertThat(cache.containsEntity(CustomerEntity.class, customer.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("should_PublishPermitMetricsPerPool_When_ReplicasLimited")
+    void should_PublishPermitMetricsPerPool_When_ReplicasLimited() {
+        // Act & Assert
+        assertThat(meterRegistry.find("db.connection.permits.available").tag("pool", "replica-1").gauge()).isNotNull();
+        assertThat(meterRegistry.find("db.connection.permits.available").gauges()).hasSizeGreaterThanOrEqualTo(2);
+    }
+}
\ No newline at end of file
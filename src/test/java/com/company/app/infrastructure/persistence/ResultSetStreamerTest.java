@@ -0,0 +1,113 @@
+package com.company.app.infrastructure.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResultSetStreamer Tests")
+class ResultSetStreamerTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Clock clock;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ResultSetStreamer streamer() {
+        return new ResultSetStreamer(jdbcTemplate, 500, Duration.ofMinutes(10), clock);
+    }
+
+    private RowCallbackHandler captureHandler() {
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(any(PreparedStatementCreator.class), handler.capture());
+        return handler.getValue();
+    }
+
+    @Test
+    @DisplayName("should_PrepareForwardOnlyCursorWithTimeout_When_Streaming")
+    void should_PrepareForwardOnlyCursorWithTimeout_When_Streaming() throws SQLException {
+        // Arrange
+        when(clock.instant()).thenReturn(START);
+        when(connection.prepareStatement("SELECT 1 WHERE ? AND ?", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+                .thenReturn(statement);
+
+        // Act
+        streamer().forEach("SELECT 1 WHERE ? AND ?", (rs, rowNum) -> rowNum, row -> {}, "a", 7);
+
+        // Assert
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        assertThat(creator.getValue().createPreparedStatement(connection)).isSameAs(statement);
+        verify(statement).setFetchSize(500);
+        verify(statement).setQueryTimeout(600);
+        verify(statement).setObject(1, "a");
+        verify(statement).setObject(2, 7);
+    }
+
+    @Test
+    @DisplayName("should_HandOverMappedRows_When_WithinMaxDuration")
+    void should_HandOverMappedRows_When_WithinMaxDuration() throws SQLException {
+        // Arrange
+        when(clock.instant()).thenReturn(START, START.plus(Duration.ofMinutes(10)));
+        when(resultSet.getRow()).thenReturn(1, 2);
+        List<Integer> rows = new ArrayList<>();
+        streamer().forEach("SELECT 1", (rs, rowNum) -> rowNum, rows::add);
+        RowCallbackHandler handler = captureHandler();
+
+        // Act
+        handler.processRow(resultSet);
+        handler.processRow(resultSet);
+
+        // Assert
+        assertThat(rows).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("should_ThrowQueryTimeoutException_When_MaxDurationExceeded")
+    void should_ThrowQueryTimeoutException_When_MaxDurationExceeded() throws SQLException {
+        // Arrange
+        when(clock.instant()).thenReturn(START, START.plus(Duration.ofMinutes(10)).plusMillis(1));
+        List<Integer> rows = new ArrayList<>();
+        streamer().forEach("SELECT 1", (rs, rowNum) -> rowNum, rows::add);
+        RowCallbackHandler handler = captureHandler();
+
+        // Act & Assert
+        assertThatThrownBy(() -> handler.processRow(resultSet))
+                .isInstanceOf(QueryTimeoutException.class)
+                .hasMessageContaining("PT10M");
+        assertThat(rows).isEmpty();
+    }
+}
\ No newline at end of file
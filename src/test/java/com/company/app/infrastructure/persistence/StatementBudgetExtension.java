@@ -0,0 +1,60 @@
+package com.company.app.infrastructure.persistence;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Resolves {@link Budget} parameters, which hold the code under test to a number of SQL statements.
+ * Statements are counted by the application's data source on the test's own thread, so this works
+ * for tests calling into a Spring context backed by a real database.
+ */
+public class StatementBudgetExtension implements ParameterResolver {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == Budget.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return new Budget();
+    }
+
+    public static final class Budget {
+
+        private Budget() {
+        }
+
+        /**
+         * Runs the action and fails if it executed more than the given number of statements.
+         *
+         * @return what the action returned
+         */
+        public <T> T atMost(long statements, Supplier<T> action) {
+            StatementCounter.Snapshot start = StatementCounter.snapshot();
+            T result = action.get();
+            assertExecuted(StatementCounter.snapshot().since(start), statements);
+            return result;
+        }
+
+        /**
+         * Runs the action and fails if it executed more than the given number of statements.
+         */
+        public void atMost(long statements, Runnable action) {
+            StatementCounter.Snapshot start = StatementCounter.snapshot();
+            action.run();
+            assertExecuted(StatementCounter.snapshot().since(start), statements);
+        }
+
+        private static void assertExecuted(StatementCounter.Snapshot executed, long budget) {
+            assertThat(executed.statements())
+                    .as("SQL statements executed")
+                    .isLessThanOrEqualTo(budget);
+        }
+    }
+}
\ No newline at end of file
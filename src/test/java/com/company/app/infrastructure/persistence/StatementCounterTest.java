@@ -0,0 +1,76 @@
+package com.company.app.infrastructure.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StatementCounter Tests")
+class StatementCounterTest {
+
+    @Test
+    @DisplayName("should_ReturnExecutedSinceStart_When_SnapshotsSubtracted")
+    void should_ReturnExecutedSinceStart_When_SnapshotsSubtracted() {
+        // Arrange
+        StatementCounter.Snapshot start = StatementCounter.snapshot();
+
+        // Act
+        StatementCounter.record(100);
+        StatementCounter.record(250);
+
+        // Assert
+        assertThat(StatementCounter.snapshot().since(start)).isEqualTo(new StatementCounter.Snapshot(2, 350));
+    }
+
+    @Test
+    @DisplayName("should_SeeOwnShare_When_ScopesNested")
+    void should_SeeOwnShare_When_ScopesNested() {
+        // Arrange
+        StatementCounter.Snapshot outer = StatementCounter.snapshot();
+        StatementCounter.record(10);
+
+        // Act
+        StatementCounter.Snapshot inner = StatementCounter.snapshot();
+        StatementCounter.record(20);
+        StatementCounter.record(30);
+        StatementCounter.Snapshot innerExecuted = StatementCounter.snapshot().since(inner);
+        StatementCounter.record(40);
+
+        // Assert
+        assertThat(innerExecuted).isEqualTo(new StatementCounter.Snapshot(2, 50));
+        assertThat(StatementCounter.snapshot().since(outer)).isEqualTo(new StatementCounter.Snapshot(4, 100));
+    }
+
+    @Test
+    @DisplayName("should_ReturnNothing_When_NothingExecuted")
+    void should_ReturnNothing_When_NothingExecuted() {
+        // Arrange
+        StatementCounter.Snapshot start = StatementCounter.snapshot();
+
+        // Act & Assert
+        assertThat(StatementCounter.snapshot().since(start)).isEqualTo(new StatementCounter.Snapshot(0, 0));
+    }
+
+    @Test
+    @DisplayName("should_NotCountOtherThreads_When_TheyExecuteStatements")
+    void should_NotCountOtherThreads_When_TheyExecuteStatements() throws InterruptedException {
+        // Arrange
+        StatementCounter.Snapshot start = StatementCounter.snapshot();
+        AtomicReference<StatementCounter.Snapshot> otherExecuted = new AtomicReference<>();
+        Thread other = new Thread(() -> {
+            StatementCounter.Snapshot otherStart = StatementCounter.snapshot();
+            StatementCounter.record(500);
+            otherExecuted.set(StatementCounter.snapshot().since(otherStart));
+        });
+
+        // Act
+        other.start();
+        other.join();
+
+        // Assert
+        assertThat(otherExecuted.get()).isEqualTo(new StatementCounter.Snapshot(1, 500));
+        assertThat(StatementCounter.snapshot().since(start)).isEqualTo(new StatementCounter.Snapshot(0, 0));
+    }
+}
\ No newline at end of file
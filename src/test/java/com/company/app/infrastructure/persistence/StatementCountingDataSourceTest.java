@@ -0,0 +1,349 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.infrastructure.persistence.QueryProfiler.QueryView;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs statements against an in-memory database through the counting data source.
+ */
+@DisplayName("StatementCountingDataSource Tests")
+class StatementCountingDataSourceTest {
+
+    private JdbcDataSource database;
+    private QueryProfiler profiler;
+    private StatementCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("INSERT INTO items VALUES (1, 'one'), (2, 'two'), (3, 'three')");
+        }
+        profiler = new QueryProfiler(100);
+        dataSource = new StatementCountingDataSource(database, profiler);
+    }
+
+    private static long statementsDuring(SqlAction action) throws SQLException {
+        StatementCounter.Snapshot start = StatementCounter.snapshot();
+        action.run();
+        return StatementCounter.snapshot().since(start).statements();
+    }
+
+    private QueryView view(String shape) {
+        return profiler.top(Comparator.comparingLong(QueryView::count), 100).stream()
+                .filter(view -> view.sql().equals(shape))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("Counting Tests")
+    class CountingTests {
+
+        @Test
+        @DisplayName("should_CountExecution_When_PreparedStatementExecuted")
+        void should_CountExecution_When_PreparedStatementExecuted() throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT name FROM items WHERE id = ?")) {
+                // Act
+                long prepared = statementsDuring(() -> {
+                });
+                long executed = statementsDuring(() -> {
+                    statement.setInt(1, 1);
+                    statement.executeQuery().close();
+                    statement.setInt(1, 2);
+                    statement.executeQuery().close();
+                });
+
+                // Assert
+                assertThat(prepared).isZero();
+                assertThat(executed).isEqualTo(2);
+            }
+        }
+
+        @Test
+        @DisplayName("should_CountNothing_When_StatementOnlyPrepared")
+        void should_CountNothing_When_StatementOnlyPrepared() throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                // Act
+                long statements = statementsDuring(() -> connection.prepareStatement("SELECT 1").close());
+
+                // Assert
+                assertThat(statements).isZero();
+            }
+        }
+
+        @Test
+        @DisplayName("should_CountBatchOnce_When_BatchExecuted")
+        void should_CountBatchOnce_When_BatchExecuted() throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("INSERT INTO items VALUES (?, ?)")) {
+                // Act
+                long statements = statementsDuring(() -> {
+                    for (int id = 10; id < 15; id++) {
+                        statement.setInt(1, id);
+                        statement.setString(2, "item" + id);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                });
+
+                // Assert
+                assertThat(statements).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("should_CountEachExecution_When_PlainStatementReused")
+        void should_CountEachExecution_When_PlainStatementReused() throws SQLException {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                // Act
+                long statements = statementsDuring(() -> {
+                    statement.executeQuery("SELECT name FROM items").close();
+                    statement.executeUpdate("UPDATE items SET name = 'uno' WHERE id = 1");
+                    statement.execute("DELETE FROM items WHERE id = 3");
+                });
+
+                // Assert
+                assertThat(statements).isEqualTo(3);
+            }
+        }
+
+        @Test
+        @DisplayName("should_CountExecution_When_StatementFails")
+        void should_CountExecution_When_StatementFails() throws SQLException {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                StatementCounter.Snapshot start = StatementCounter.snapshot();
+
+                // Act & Assert
+                assertThatThrownBy(() -> statement.executeUpdate("INSERT INTO items VALUES (1, 'duplicate')"))
+                        .isInstanceOf(SQLException.class);
+                assertThat(StatementCounter.snapshot().since(start).statements()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("should_CountWithoutProfiling_When_NoProfiler")
+        void should_CountWithoutProfiling_When_NoProfiler() throws SQLException {
+            // Arrange
+            StatementCountingDataSource countingOnly = new StatementCountingDataSource(database);
+
+            try (Connection connection = countingOnly.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT name FROM items")) {
+                // Act
+                long statements = statementsDuring(() -> statement.executeQuery().close());
+
+                // Assert
+                assertThat(statements).isEqualTo(1);
+                assertThat(profiler.top(Comparator.comparingLong(QueryView::count), 10)).isEmpty();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Row Counting Tests")
+    class RowCountingTests {
+
+        @Test
+        @DisplayName("should_RecordRowsRead_When_ResultSetClosed")
+        void should_RecordRowsRead_When_ResultSetClosed() throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT name FROM items ORDER BY id")) {
+                // Act
+                ResultSet resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    resultSet.getString(1);
+                }
+                resultSet.close();
+                // Recorded once, however often it is closed
+                resultSet.close();
+
+                // Assert
+                QueryView view = view("SELECT name FROM items ORDER BY id");
+                assertThat(view.count()).isEqualTo(1);
+                assertThat(view.rows()).isEqualTo(3);
+            }
+        }
+
+        @Test
+        @DisplayName("should_RecordRowsRead_When_ResultSetFetchedFromStatement")
+        void should_RecordRowsRead_When_ResultSetFetchedFromStatement() throws SQLException {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                // Act
+                statement.execute("SELECT name FROM items WHERE id > 1");
+                try (ResultSet resultSet = statement.getResultSet()) {
+                    while (resultSet.next()) {
+                        resultSet.getString(1);
+                    }
+                }
+
+                // Assert
+                assertThat(view("SELECT name FROM items WHERE id > ?").rows()).isEqualTo(2);
+            }
+        }
+
+        @Test
+        @DisplayName("should_RecordRowsChanged_When_UpdateExecuted")
+        void should_RecordRowsChanged_When_UpdateExecuted() throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("UPDATE items SET name = ? WHERE id < ?")) {
+                // Act
+                statement.setString(1, "changed");
+                statement.setInt(2, 3);
+                int updated = statement.executeUpdate();
+
+                // Assert
+                assertThat(updated).isEqualTo(2);
+                assertThat(view("UPDATE items SET name = ? WHERE id < ?").rows()).isEqualTo(2);
+            }
+        }
+
+        @Test
+        @DisplayName("should_SumRowsChanged_When_BatchExecuted")
+        void should_SumRowsChanged_When_BatchExecuted() throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("INSERT INTO items VALUES (?, ?)")) {
+                // Act
+                for (int id = 10; id < 14; id++) {
+                    statement.setInt(1, id);
+                    statement.setString(2, "item" + id);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                // Assert
+                QueryView view = view("INSERT INTO items VALUES (?...)");
+                assertThat(view.count()).isEqualTo(1);
+                assertThat(view.rows()).isEqualTo(4);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Profiling Tests")
+    class ProfilingTests {
+
+        @Test
+        @DisplayName("should_ProfileByOrigin_When_OriginEntered")
+        void should_ProfileByOrigin_When_OriginEntered() throws SQLException {
+            String previous = QueryProfiler.enterOrigin("ItemRepository.findAll");
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT name FROM items")) {
+                // Act
+                statement.executeQuery().close();
+            } finally {
+                QueryProfiler.exitOrigin(previous);
+            }
+
+            // Assert
+            assertThat(view("SELECT name FROM items").origin()).isEqualTo("ItemRepository.findAll");
+        }
+
+        @Test
+        @DisplayName("should_PrependOrigin_When_SqlCommentsEnabled")
+        void should_PrependOrigin_When_SqlCommentsEnabled() throws SQLException {
+            // Arrange
+            DataSource target = mock(DataSource.class);
+            Connection connection = mock(Connection.class);
+            when(target.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+            StatementCountingDataSource commenting = new StatementCountingDataSource(target, new QueryProfiler(100, true));
+            String previous = QueryProfiler.enterOrigin("ItemRepository.findAll");
+
+            try {
+                // Act
+                commenting.getConnection().prepareStatement("SELECT name FROM items");
+            } finally {
+                QueryProfiler.exitOrigin(previous);
+            }
+
+            // Assert
+            verify(connection).prepareStatement("/* origin=ItemRepository.findAll */ SELECT name FROM items");
+        }
+
+        @Test
+        @DisplayName("should_PassSqlUnchanged_When_SqlCommentsDisabled")
+        void should_PassSqlUnchanged_When_SqlCommentsDisabled() throws SQLException {
+            // Arrange
+            DataSource target = mock(DataSource.class);
+            Connection connection = mock(Connection.class);
+            when(target.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+
+            // Act
+            new StatementCountingDataSource(target, profiler).getConnection().prepareStatement("SELECT name FROM items");
+
+            // Assert
+            verify(connection).prepareStatement("SELECT name FROM items");
+        }
+
+        @Test
+        @DisplayName("should_PassSqlUnchanged_When_NotProfiling")
+        void should_PassSqlUnchanged_When_NotProfiling() throws SQLException {
+            // Arrange
+            DataSource target = mock(DataSource.class);
+            Connection connection = mock(Connection.class);
+            when(target.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+
+            // Act
+            new StatementCountingDataSource(target).getConnection().prepareStatement("SELECT name FROM items");
+
+            // Assert
+            verify(connection).prepareStatement("SELECT name FROM items");
+        }
+    }
+
+    @Nested
+    @DisplayName("Proxy Identity Tests")
+    class ProxyIdentityTests {
+
+        @Test
+        @DisplayName("should_CompareByIdentity_When_ProxiesCompared")
+        void should_CompareByIdentity_When_ProxiesCompared() throws SQLException {
+            try (Connection connection = dataSource.getConnection(); Connection other = dataSource.getConnection()) {
+                // Act & Assert
+                assertThat(connection).isEqualTo(connection).isNotEqualTo(other);
+                assertThat(List.of(connection).contains(connection)).isTrue();
+                assertThat(connection.hashCode()).isEqualTo(System.identityHashCode(connection));
+            }
+        }
+
+        @Test
+        @DisplayName("should_KeepStatementType_When_Prepared")
+        void should_KeepStatementType_When_Prepared() throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                // Act & Assert
+                assertThat(connection.createStatement()).isNotInstanceOf(PreparedStatement.class);
+                assertThat(connection.prepareStatement("SELECT 1")).isInstanceOf(PreparedStatement.class);
+                assertThat(connection.prepareCall("SELECT 1")).isInstanceOf(java.sql.CallableStatement.class);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlAction {
+
+        void run() throws SQLException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.company.app.infrastructure.persistence;
+
+import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserAlreadyExistsException;
+import com.company.app.domain.user.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserJpaRepository Tests")
+class UserJpaRepositoryTest {
+
+    @Mock
+    private UserJpaRepositoryInterface jpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcOperations jdbcOperations;
+
+    @Mock
+    private ResultSetStreamer resultSetStreamer;
+
+    @Mock
+    private EntityCacheEvictor cacheEvictor;
+
+    private UserJpaRepository repository;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        repository = new UserJpaRepository(jpaRepository, entityManager, rowCountEstimator, jdbcTemplate,
+                resultSetStreamer, cacheEvictor);
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        users = List.of(
+                new User("ann", "ann@example.com", "Ann", "Lee", "hash", UserRole.USER),
+                new User("bob", "bob@example.com", "Bob", "Ray", "hash", UserRole.USER),
+                new User("cid", "cid@example.com", "Cid", "Moe", "hash", UserRole.ADMIN));
+    }
+
+    @Nested
+    @DisplayName("Insert All Tests")
+    class InsertAllTests {
+
+        @Test
+        @DisplayName("should_TargetUsernameConflicts_When_Inserting")
+        void should_TargetUsernameConflicts_When_Inserting() {
+            // Arrange
+            ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+            when(jdbcOperations.batchUpdate(sql.capture(), any(BatchPreparedStatementSetter.class)))
+                    .thenReturn(new int[] {1, 1, 1});
+
+            // Act
+            repository.insertAll(users);
+
+            // Assert
+            assertThat(sql.getValue()).endsWith("ON CONFLICT (username) DO NOTHING");
+        }
+
+        @Test
+        @DisplayName("should_UseUpdateCounts_When_ReportedPerRow")
+        void should_UseUpdateCounts_When_ReportedPerRow() {
+            // Arrange
+            when(jdbcOperations.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                    .thenReturn(new int[] {1, 0, 1});
+
+            // Act
+            boolean[] inserted = repository.insertAll(users);
+
+            // Assert
+            assertThat(inserted).containsExactly(true, false, true);
+            verify(jdbcTemplate, never()).queryForList(anyString(), any(MapSqlParameterSource.class), eq(UUID.class));
+        }
+
+        @Test
+        @DisplayName("should_LookUpInsertedIds_When_BatchReportsNoInfo")
+        void should_LookUpInsertedIds_When_BatchReportsNoInfo() {
+            // Arrange
+            int noInfo = Statement.SUCCESS_NO_INFO;
+            when(jdbcOperations.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                    .thenReturn(new int[] {noInfo, noInfo, noInfo});
+            ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+            when(jdbcTemplate.queryForList(anyString(), parameters.capture(), eq(UUID.class)))
+                    .thenReturn(List.of(users.get(2).getId(), users.get(0).getId()));
+
+            // Act
+            boolean[] inserted = repository.insertAll(users);
+
+            // Assert
+            assertThat(inserted).containsExactly(true, false, true);
+            assertThat(parameters.getValue().getValue("ids"))
+                    .isEqualTo(users.stream().map(User::getId).toList());
+        }
+
+        @Test
+        @DisplayName("should_FailBatch_When_EmailTakenConcurrently")
+        void should_FailBatch_When_EmailTakenConcurrently() {
+            // Arrange
+            SQLException violation = new SQLException(
+                    "duplicate key value violates unique constraint \"users_email_key\"", "23505");
+            when(jdbcOperations.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                    .thenThrow(new DuplicateKeyException("batch failed", violation));
+
+            // Act & Assert
+            assertThatThrownBy(() -> repository.insertAll(users))
+                    .isInstanceOf(UserAlreadyExistsException.class);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,282 @@
+package com.company.app.infrastructure.search;
+
+import com.company.app.domain.customer.Address;
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerRepository;
+import com.company.app.domain.search.TypeaheadMatch;
+import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserRepository;
+import com.company.app.domain.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryTypeaheadIndex Tests")
+class InMemoryTypeaheadIndexTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private InMemoryTypeaheadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryTypeaheadIndex(customerRepository, userRepository);
+        lenient().when(customerRepository.scroll(any(), any(), any(), any(), anyInt())).thenReturn(window(List.of()));
+        lenient().when(userRepository.scroll(any(), any(), anyInt())).thenReturn(window(List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    private static <T> Window<T> window(List<T> content) {
+        return Window.from(content, i -> ScrollPosition.keyset(), false);
+    }
+
+    private static Customer customer(UUID id, String companyName, String contactPerson) {
+        Customer customer = new Customer(companyName, contactPerson, "info@" + id + ".example.com",
+                new Address("1 Main St", "Springfield", "IL", "62701", "USA"));
+        customer.setId(id);
+        return customer;
+    }
+
+    private static User user(UUID id, String username, String firstName, String lastName) {
+        User user = new User(username, username + "@example.com", firstName, lastName, "hash", UserRole.USER);
+        user.setId(id);
+        return user;
+    }
+
+    private List<String> labels(String prefix) {
+        return index.lookup(prefix, 10).stream().map(TypeaheadMatch::label).toList();
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("should_MatchWholeNameAndLaterWords_When_PrefixGiven")
+        void should_MatchWholeNameAndLaterWords_When_PrefixGiven() {
+            // Arrange
+            index.indexCustomer(customer(UUID.randomUUID(), "Acme Widgets", "Wile Coyote"));
+            index.indexUser(user(UUID.randomUUID(), "jdoe", "John", "Doe"));
+
+            // Act & Assert
+            assertThat(labels("acme")).containsExactly("Acme Widgets");
+            assertThat(labels("WID")).containsExactly("Acme Widgets");
+            assertThat(labels("coyote")).containsExactly("Acme Widgets");
+            assertThat(labels("doe")).containsExactly("John Doe");
+            assertThat(labels("jdo")).containsExactly("John Doe");
+            assertThat(labels("cme")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should_IgnoreCaseAndDiacritics_When_Matching")
+        void should_IgnoreCaseAndDiacritics_When_Matching() {
+            // Arrange
+            index.indexCustomer(customer(UUID.randomUUID(), "Crème Brûlée Ltd", "Zoë Adams"));
+
+            // Act & Assert
+            assertThat(labels("creme bru")).containsExactly("Crème Brûlée Ltd");
+            assertThat(labels("ZOE")).containsExactly("Crème Brûlée Ltd");
+        }
+
+        @Test
+        @DisplayName("should_PutExactMatchFirstAndHonourLimit_When_SeveralMatch")
+        void should_PutExactMatchFirstAndHonourLimit_When_SeveralMatch() {
+            // Arrange
+            index.indexCustomer(customer(UUID.randomUUID(), "Acme Widgets", "Ann"));
+            index.indexCustomer(customer(UUID.randomUUID(), "Acme", "Bob"));
+            index.indexCustomer(customer(UUID.randomUUID(), "Acme Anvils", "Cid"));
+
+            // Act
+            List<TypeaheadMatch> matches = index.lookup("acme", 2);
+
+            // Assert
+            assertThat(matches).extracting(TypeaheadMatch::label).containsExactly("Acme", "Acme Anvils");
+        }
+
+        @Test
+        @DisplayName("should_ReturnEachEntityOnce_When_SeveralTermsMatch")
+        void should_ReturnEachEntityOnce_When_SeveralTermsMatch() {
+            // Arrange
+            index.indexCustomer(customer(UUID.randomUUID(), "Smith Tools", "Sam Smith"));
+
+            // Act & Assert
+            assertThat(labels("smith")).containsExactly("Smith Tools");
+        }
+
+        @Test
+        @DisplayName("should_ReturnNothing_When_PrefixBlankOrLimitZero")
+        void should_ReturnNothing_When_PrefixBlankOrLimitZero() {
+            // Arrange
+            index.indexCustomer(customer(UUID.randomUUID(), "Acme", "Ann"));
+
+            // Act & Assert
+            assertThat(index.lookup("  ", 10)).isEmpty();
+            assertThat(index.lookup("acme", 0)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Overlay Tests")
+    class OverlayTests {
+
+        @Test
+        @DisplayName("should_DropOldTerms_When_EntryReindexedInOverlay")
+        void should_DropOldTerms_When_EntryReindexedInOverlay() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            index.indexCustomer(customer(id, "Acme", "Ann"));
+
+            // Act
+            index.indexCustomer(customer(id, "Globex", "Ann"));
+
+            // Assert
+            assertThat(labels("acme")).isEmpty();
+            assertThat(labels("glob")).containsExactly("Globex");
+        }
+
+        @Test
+        @DisplayName("should_SkipSupersededSnapshotEntry_When_ReindexedAfterRebuild")
+        void should_SkipSupersededSnapshotEntry_When_ReindexedAfterRebuild() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            index.indexCustomer(customer(id, "Acme", "Ann"));
+            index.load();
+
+            // Act
+            index.indexCustomer(customer(id, "Globex", "Ann"));
+
+            // Assert
+            assertThat(labels("acme")).isEmpty();
+            assertThat(labels("ann")).containsExactly("Globex");
+        }
+
+        @Test
+        @DisplayName("should_HideSnapshotEntry_When_RemovedAfterRebuild")
+        void should_HideSnapshotEntry_When_RemovedAfterRebuild() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            index.indexCustomer(customer(id, "Acme", "Ann"));
+            index.load();
+
+            // Act
+            index.remove(id);
+
+            // Assert
+            assertThat(labels("acme")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should_ApplyChangeOnlyAfterCommit_When_TransactionActive")
+        void should_ApplyChangeOnlyAfterCommit_When_TransactionActive() {
+            // Arrange
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                index.indexCustomer(customer(UUID.randomUUID(), "Acme", "Ann"));
+
+                // Act & Assert
+                assertThat(labels("acme")).isEmpty();
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                assertThat(labels("acme")).containsExactly("Acme");
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebuild Tests")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("should_IndexRepositoryRows_When_Loaded")
+        void should_IndexRepositoryRows_When_Loaded() {
+            // Arrange
+            when(customerRepository.scroll(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(window(List.of(customer(UUID.randomUUID(), "Acme", "Ann"))));
+            when(userRepository.scroll(any(), any(), anyInt()))
+                    .thenReturn(window(List.of(user(UUID.randomUUID(), "jdoe", "John", "Doe"))));
+
+            // Act
+            index.load();
+
+            // Assert
+            assertThat(labels("acme")).containsExactly("Acme");
+            assertThat(labels("john")).containsExactly("John Doe");
+        }
+
+        @Test
+        @DisplayName("should_KeepNewerEntry_When_WrittenBeforeLoadReadsTheRow")
+        void should_KeepNewerEntry_When_WrittenBeforeLoadReadsTheRow() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            index.indexCustomer(customer(id, "Globex", "Ann"));
+            when(customerRepository.scroll(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(window(List.of(customer(id, "Acme", "Ann"))));
+
+            // Act
+            index.load();
+
+            // Assert
+            assertThat(labels("acme")).isEmpty();
+            assertThat(labels("globex")).containsExactly("Globex");
+        }
+
+        @Test
+        @DisplayName("should_KeepEveryEntryVisible_When_LookupsRaceARebuild")
+        void should_KeepEveryEntryVisible_When_LookupsRaceARebuild() throws Exception {
+            // Arrange
+            for (int i = 0; i < 2_000; i++) {
+                index.indexCustomer(customer(UUID.randomUUID(), "Company " + i, "Contact " + i));
+            }
+            UUID id = UUID.randomUUID();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+
+            for (int round = 0; round < 50; round++) {
+                // Written to the overlay, then frozen and folded into the snapshot by the concurrent rebuild
+                index.indexCustomer(customer(id, "Initech " + round, "Peter"));
+                Thread rebuild = new Thread(() -> {
+                    try {
+                        index.load();
+                    } catch (Throwable ex) {
+                        failure.set(ex);
+                    }
+                });
+
+                // Act
+                rebuild.start();
+                do {
+                    // Assert
+                    assertThat(labels("initech")).containsExactly("Initech " + round);
+                } while (rebuild.isAlive());
+                rebuild.join();
+            }
+            assertThat(failure.get()).isNull();
+        }
+    }
+}
\ No newline at end of file
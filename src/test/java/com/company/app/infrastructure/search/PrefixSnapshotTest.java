@@ -0,0 +1,75 @@
+package com.company.app.infrastructure.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PrefixSnapshot Tests")
+class PrefixSnapshotTest {
+
+    private static List<String> matching(PrefixSnapshot<Integer> snapshot, String prefix) {
+        List<String> terms = new ArrayList<>();
+        for (int i = snapshot.lowerBound(prefix); i < snapshot.size() && snapshot.startsWith(i, prefix); i++) {
+            terms.add(snapshot.term(i) + "=" + snapshot.value(i));
+        }
+        return terms;
+    }
+
+    @Test
+    @DisplayName("should_FindNothing_When_Empty")
+    void should_FindNothing_When_Empty() {
+        // Arrange
+        PrefixSnapshot<Integer> snapshot = PrefixSnapshot.empty();
+
+        // Act & Assert
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.lowerBound("a")).isZero();
+        assertThat(matching(snapshot, "a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should_ReturnContiguousSortedRange_When_PrefixMatches")
+    void should_ReturnContiguousSortedRange_When_PrefixMatches() {
+        // Arrange
+        PrefixSnapshot<Integer> snapshot = PrefixSnapshot.build(List.of(
+                Map.entry("acme widgets", 1),
+                Map.entry("beta", 2),
+                Map.entry("ac", 3),
+                Map.entry("acme", 4),
+                Map.entry("ab", 5)));
+
+        // Act & Assert
+        assertThat(snapshot.size()).isEqualTo(5);
+        assertThat(matching(snapshot, "ac")).containsExactly("ac=3", "acme=4", "acme widgets=1");
+        assertThat(matching(snapshot, "acme ")).containsExactly("acme widgets=1");
+        assertThat(matching(snapshot, "b")).containsExactly("beta=2");
+    }
+
+    @Test
+    @DisplayName("should_FindNothing_When_PrefixSortsBetweenOrAfterTerms")
+    void should_FindNothing_When_PrefixSortsBetweenOrAfterTerms() {
+        // Arrange
+        PrefixSnapshot<Integer> snapshot = PrefixSnapshot.build(List.of(Map.entry("alpha", 1), Map.entry("gamma", 2)));
+
+        // Act & Assert
+        assertThat(matching(snapshot, "beta")).isEmpty();
+        assertThat(matching(snapshot, "zulu")).isEmpty();
+        assertThat(snapshot.lowerBound("zulu")).isEqualTo(2);
+        assertThat(matching(snapshot, "alphabet")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should_KeepEveryPosting_When_TermSharedByValues")
+    void should_KeepEveryPosting_When_TermSharedByValues() {
+        // Arrange
+        PrefixSnapshot<Integer> snapshot = PrefixSnapshot.build(List.of(Map.entry("smith", 1), Map.entry("smith", 2)));
+
+        // Act & Assert
+        assertThat(matching(snapshot, "smi")).containsExactlyInAnyOrder("smith=1", "smith=2");
+    }
+}
\ No newline at end of file
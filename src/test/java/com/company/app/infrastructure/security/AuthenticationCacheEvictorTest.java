@@ -0,0 +1,134 @@
+package com.company.app.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthenticationCacheEvictor Tests")
+class AuthenticationCacheEvictorTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    @Mock
+    private CachingUserDetailsService userDetailsCache;
+
+    private CachingAuthenticationProvider credentialCache;
+    private AuthenticationCacheEvictor evictor;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new CachingAuthenticationProvider(delegate, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        evictor = new AuthenticationCacheEvictor(userDetailsCache, credentialCache);
+
+        AuthenticatedUser principal = new AuthenticatedUser(userId, "jdoe", "hash", true,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        lenient().when(delegate.authenticate(any())).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated(principal, "secret", principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Authentication login() {
+        return credentialCache.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("jdoe", "secret"));
+    }
+
+    @Test
+    @DisplayName("should_VerifyOnceAndDropCredentials_When_CachedLoginRepeated")
+    void should_VerifyOnceAndDropCredentials_When_CachedLoginRepeated() {
+        // Act
+        Authentication first = login();
+        Authentication second = login();
+
+        // Assert
+        verify(delegate, times(1)).authenticate(any());
+        assertThat(second).isSameAs(first);
+        assertThat(second.getCredentials()).isNull();
+    }
+
+    @Test
+    @DisplayName("should_NotCacheFailure_When_DelegateRejects")
+    void should_NotCacheFailure_When_DelegateRejects() {
+        // Arrange
+        when(delegate.authenticate(any())).thenReturn(null);
+
+        // Act
+        login();
+        login();
+
+        // Assert
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("should_EvictBothCaches_When_NoTransactionActive")
+    void should_EvictBothCaches_When_NoTransactionActive() {
+        // Arrange
+        login();
+
+        // Act
+        evictor.evict(userId);
+
+        // Assert
+        verify(userDetailsCache).evict(userId);
+        login();
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("should_KeepOtherUsersCredentials_When_UserEvicted")
+    void should_KeepOtherUsersCredentials_When_UserEvicted() {
+        // Arrange
+        login();
+
+        // Act
+        evictor.evict(UUID.randomUUID());
+
+        // Assert
+        login();
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("should_EvictAgainAfterCommit_When_TransactionActive")
+    void should_EvictAgainAfterCommit_When_TransactionActive() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        evictor.evict(userId);
+        // A login racing the uncommitted change re-caches the old state
+        login();
+
+        // Act
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        verify(userDetailsCache, times(2)).evict(userId);
+        login();
+        verify(delegate, times(2)).authenticate(any());
+    }
+}
\ No newline at end of file
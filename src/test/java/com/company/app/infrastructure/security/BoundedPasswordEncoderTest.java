@@ -0,0 +1,164 @@
+package com.company.app.infrastructure.security;
+
+import com.company.app.infrastructure.web.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BoundedPasswordEncoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Nested
+    @DisplayName("Hashing Tests")
+    class HashingTests {
+
+        @Test
+        @DisplayName("should_EncodeAndMatch_When_PoolHasCapacity")
+        void should_EncodeAndMatch_When_PoolHasCapacity() {
+            // Arrange
+            encoder = new BoundedPasswordEncoder(4, 2, 4, meterRegistry);
+
+            // Act
+            String hash = encoder.encode("secret");
+
+            // Assert
+            assertThat(hash).startsWith("$2a$04$");
+            assertThat(encoder.matches("secret", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+            assertThat(meterRegistry.get("security.password.hashing.duration").tag("operation", "encode").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should_HashEveryPasswordInOrder_When_BatchLargerThanPool")
+        void should_HashEveryPasswordInOrder_When_BatchLargerThanPool() {
+            // Arrange
+            encoder = new BoundedPasswordEncoder(4, 2, 2, meterRegistry);
+            List<String> passwords = List.of("a", "b", "c", "d", "e", "f", "g");
+
+            // Act
+            List<String> hashes = encoder.encodeAll(passwords);
+
+            // Assert
+            assertThat(hashes).hasSize(passwords.size());
+            for (int i = 0; i < passwords.size(); i++) {
+                assertThat(encoder.matches(passwords.get(i), hashes.get(i))).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("should_RequestUpgrade_When_HashWeakerThanStrength")
+        void should_RequestUpgrade_When_HashWeakerThanStrength() {
+            // Arrange
+            encoder = new BoundedPasswordEncoder(5, 1, 1, meterRegistry);
+            String weak = new BoundedPasswordEncoder(4, 1, 1, new SimpleMeterRegistry()).encode("secret");
+
+            // Act & Assert
+            assertThat(encoder.upgradeEncoding(weak)).isTrue();
+            assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rejection Tests")
+    class RejectionTests {
+
+        @Test
+        @DisplayName("should_RejectImmediately_When_PoolAndQueueFull")
+        void should_RejectImmediately_When_PoolAndQueueFull() throws Exception {
+            // Arrange: one slow hash running and one waiting fill a single thread with a queue of one
+            encoder = new BoundedPasswordEncoder(16, 1, 1, meterRegistry);
+            ExecutorService callers = Executors.newFixedThreadPool(2);
+            try {
+                CompletableFuture<?> running = CompletableFuture.runAsync(() -> encoder.encode("first"), callers);
+                CompletableFuture<?> queued = CompletableFuture.runAsync(() -> encoder.encode("second"), callers);
+                long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+                while ((gauge("security.password.hashing.active") < 1 || gauge("security.password.hashing.queue") < 1)
+                        && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+
+                // Act & Assert
+                assertThatThrownBy(() -> encoder.encode("third"))
+                        .isInstanceOf(PasswordHashingRejectedException.class);
+                assertThat(meterRegistry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+                assertThat(running).isNotDone();
+                assertThat(queued).isNotDone();
+            } finally {
+                encoder.close();
+                callers.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("should_MapToServiceUnavailableWithRetryAfter_When_HashingRejected")
+        void should_MapToServiceUnavailableWithRetryAfter_When_HashingRejected() {
+            // Arrange
+            GlobalExceptionHandler handler = new GlobalExceptionHandler();
+            PasswordHashingRejectedException ex = new PasswordHashingRejectedException("busy");
+
+            // Act
+            ResponseEntity<?> response = handler.handlePasswordHashingRejected(ex,
+                    new ServletWebRequest(new MockHttpServletRequest("POST", "/api/v1/users")));
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        }
+    }
+
+    @Nested
+    @DisplayName("Calibration Tests")
+    class CalibrationTests {
+
+        @Test
+        @DisplayName("should_KeepMinimumStrength_When_TargetBelowOneHash")
+        void should_KeepMinimumStrength_When_TargetBelowOneHash() {
+            // Act & Assert
+            assertThat(BoundedPasswordEncoder.calibrate(Duration.ZERO, 5, 12)).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("should_StopAtMaximumStrength_When_TargetGenerous")
+        void should_StopAtMaximumStrength_When_TargetGenerous() {
+            // Act & Assert
+            assertThat(BoundedPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6)).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("should_StayWithinBounds_When_TargetModerate")
+        void should_StayWithinBounds_When_TargetModerate() {
+            // Act & Assert
+            assertThat(BoundedPasswordEncoder.calibrate(Duration.ofMillis(20), 4, 8)).isBetween(4, 8);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.company.app.infrastructure.security;
+
+import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserRepository;
+import com.company.app.domain.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingUserDetailsService Tests")
+class CachingUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CachingUserDetailsService userDetailsService;
+    private User user;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = service(null);
+        user = new User("jdoe", "jdoe@example.com", "John", "Doe", "hash", UserRole.USER);
+        user.setId(userId);
+    }
+
+    private CachingUserDetailsService service(UserDetailsService fallback) {
+        return new CachingUserDetailsService(userRepository, fallback, TransactionOperations.withoutTransaction(),
+                100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Nested
+    @DisplayName("Load User Tests")
+    class LoadUserTests {
+
+        @Test
+        @DisplayName("should_QueryRepositoryOnce_When_UserLoadedRepeatedly")
+        void should_QueryRepositoryOnce_When_UserLoadedRepeatedly() {
+            // Arrange
+            when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(user));
+
+            // Act
+            UserDetails first = userDetailsService.loadUserByUsername("jdoe");
+            UserDetails second = userDetailsService.loadUserByUsername("jdoe");
+
+            // Assert
+            verify(userRepository, times(1)).findByUsername("jdoe");
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getPassword()).isEqualTo("hash");
+            assertThat(AuthenticatedUser.idOf(second)).isEqualTo(userId);
+        }
+
+        @Test
+        @DisplayName("should_MapAdminToBothRoles_When_UserIsAdmin")
+        void should_MapAdminToBothRoles_When_UserIsAdmin() {
+            // Arrange
+            user.setRole(UserRole.ADMIN);
+            when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(user));
+
+            // Act
+            UserDetails details = userDetailsService.loadUserByUsername("jdoe");
+
+            // Assert
+            assertThat(details.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                    .containsExactly("ROLE_ADMIN", "ROLE_USER");
+        }
+
+        @Test
+        @DisplayName("should_ReturnDisabledAccount_When_UserInactive")
+        void should_ReturnDisabledAccount_When_UserInactive() {
+            // Arrange
+            user.setActive(false);
+            when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(user));
+
+            // Act
+            UserDetails details = userDetailsService.loadUserByUsername("jdoe");
+
+            // Assert
+            assertThat(details.isEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should_NotCacheMiss_When_UsernameUnknown")
+        void should_NotCacheMiss_When_UsernameUnknown() {
+            // Arrange
+            when(userRepository.findByUsername("jdoe")).thenReturn(Optional.empty(), Optional.of(user));
+
+            // Act & Assert
+            assertThatThrownBy(() -> userDetailsService.loadUserByUsername("jdoe"))
+                    .isInstanceOf(UsernameNotFoundException.class);
+            assertThat(userDetailsService.loadUserByUsername("jdoe").getUsername()).isEqualTo("jdoe");
+        }
+
+        @Test
+        @DisplayName("should_UseFallbackAccount_When_UsernameNotInTable")
+        void should_UseFallbackAccount_When_UsernameNotInTable() {
+            // Arrange
+            CachingUserDetailsService withFallback = service(new InMemoryUserDetailsManager(
+                    org.springframework.security.core.userdetails.User.withUsername("admin")
+                            .password("{noop}admin123").roles("ADMIN").build()));
+            when(userRepository.findByUsername("admin")).thenReturn(Optional.empty());
+
+            // Act
+            UserDetails details = withFallback.loadUserByUsername("admin");
+
+            // Assert
+            assertThat(details.getUsername()).isEqualTo("admin");
+            assertThat(AuthenticatedUser.idOf(details)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("should_ReloadUser_When_Evicted")
+        void should_ReloadUser_When_Evicted() {
+            // Arrange
+            User deactivated = new User("jdoe", "jdoe@example.com", "John", "Doe", "hash", UserRole.USER);
+            deactivated.setId(userId);
+            deactivated.setActive(false);
+            when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(user), Optional.of(deactivated));
+            userDetailsService.loadUserByUsername("jdoe");
+
+            // Act
+            userDetailsService.evict(userId);
+
+            // Assert
+            assertThat(userDetailsService.loadUserByUsername("jdoe").isEnabled()).isFalse();
+            verify(userRepository, times(2)).findByUsername("jdoe");
+        }
+
+        @Test
+        @DisplayName("should_StoreHashAndEvict_When_PasswordUpgraded")
+        void should_StoreHashAndEvict_When_PasswordUpgraded() {
+            // Arrange
+            when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(user));
+            UserDetails details = userDetailsService.loadUserByUsername("jdoe");
+
+            // Act
+            UserDetails upgraded = userDetailsService.updatePassword(details, "new-hash");
+
+            // Assert
+            verify(userRepository).updatePasswordHash(userId, "new-hash");
+            assertThat(upgraded.getPassword()).isEqualTo("new-hash");
+            userDetailsService.loadUserByUsername("jdoe");
+            verify(userRepository, times(2)).findByUsername("jdoe");
+        }
+
+        @Test
+        @DisplayName("should_DelegateToFallback_When_UpgradingAccountNotInTable")
+        void should_DelegateToFallback_When_UpgradingAccountNotInTable() {
+            // Arrange
+            UserDetails bootstrap = org.springframework.security.core.userdetails.User.withUsername("admin")
+                    .password("old").roles("ADMIN").build();
+
+            // Act
+            UserDetails result = userDetailsService.updatePassword(bootstrap, "new-hash");
+
+            // Assert
+            assertThat(result).isSameAs(bootstrap);
+            verify(userRepository, never()).updatePasswordHash(any(), anyString());
+        }
+    }
+}
\ No newline at end of file
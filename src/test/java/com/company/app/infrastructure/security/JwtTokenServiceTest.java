@@ -0,0 +1,159 @@
+package com.company.app.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JwtTokenService Tests")
+class JwtTokenServiceTest {
+
+    private static final String SECRET = "kbK2LDgoNrnCAVEtI659fc8mfK48nO9+A19wlL2p37A=";
+    private static final String OTHER_SECRET = "c2Vjb25kLXNpZ25pbmcta2V5LWZvci10ZXN0cy0wMDAwMDA=";
+    private static final String ISSUER = "user-management-app";
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(15);
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private final Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+
+    private static JwtTokenService service(String secret, String issuer, Instant now) {
+        return new JwtTokenService(secret, issuer, TIME_TO_LIVE, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Nested
+    @DisplayName("Issue Tests")
+    class IssueTests {
+
+        @Test
+        @DisplayName("should_RoundTripSubjectAndAuthorities_When_TokenIssued")
+        void should_RoundTripSubjectAndAuthorities_When_TokenIssued() {
+            // Arrange
+            JwtTokenService jwtTokenService = service(SECRET, ISSUER, NOW);
+
+            // Act
+            JwtTokenService.IssuedToken token = jwtTokenService.issue(admin);
+            Authentication result = jwtTokenService.authenticate(token.value());
+
+            // Assert
+            assertThat(token.expiresInSeconds()).isEqualTo(TIME_TO_LIVE.toSeconds());
+            assertThat(result.isAuthenticated()).isTrue();
+            assertThat(result.getName()).isEqualTo("admin");
+            assertThat(result.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                    .containsExactly("ROLE_ADMIN", "ROLE_USER");
+        }
+
+        @Test
+        @DisplayName("should_GenerateRandomKey_When_SecretBlank")
+        void should_GenerateRandomKey_When_SecretBlank() {
+            // Arrange
+            JwtTokenService first = service("", ISSUER, NOW);
+            JwtTokenService second = service("", ISSUER, NOW);
+
+            // Act
+            String token = first.issue(admin).value();
+
+            // Assert
+            assertThat(first.authenticate(token).getName()).isEqualTo("admin");
+            assertThatThrownBy(() -> second.authenticate(token))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+
+        @Test
+        @DisplayName("should_RejectSecret_When_ShorterThan256Bits")
+        void should_RejectSecret_When_ShorterThan256Bits() {
+            // Act & Assert
+            assertThatThrownBy(() -> service("c2hvcnQ=", ISSUER, NOW))
+                    .isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Authenticate Tests")
+    class AuthenticateTests {
+
+        @Test
+        @DisplayName("should_AcceptToken_When_JustBeforeExpiry")
+        void should_AcceptToken_When_JustBeforeExpiry() {
+            // Arrange
+            String token = service(SECRET, ISSUER, NOW).issue(admin).value();
+            JwtTokenService later = service(SECRET, ISSUER, NOW.plus(TIME_TO_LIVE).minusSeconds(1));
+
+            // Act & Assert
+            assertThat(later.authenticate(token).getName()).isEqualTo("admin");
+        }
+
+        @Test
+        @DisplayName("should_RejectToken_When_Expired")
+        void should_RejectToken_When_Expired() {
+            // Arrange
+            String token = service(SECRET, ISSUER, NOW).issue(admin).value();
+            JwtTokenService later = service(SECRET, ISSUER, NOW.plus(TIME_TO_LIVE).plusSeconds(1));
+
+            // Act & Assert
+            assertThatThrownBy(() -> later.authenticate(token))
+                    .isInstanceOf(BadCredentialsException.class)
+                    .hasMessage("Invalid bearer token");
+        }
+
+        @Test
+        @DisplayName("should_RejectToken_When_SignedWithDifferentKey")
+        void should_RejectToken_When_SignedWithDifferentKey() {
+            // Arrange
+            String token = service(OTHER_SECRET, ISSUER, NOW).issue(admin).value();
+
+            // Act & Assert
+            assertThatThrownBy(() -> service(SECRET, ISSUER, NOW).authenticate(token))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+
+        @Test
+        @DisplayName("should_RejectToken_When_SignatureTampered")
+        void should_RejectToken_When_SignatureTampered() {
+            // Arrange
+            JwtTokenService jwtTokenService = service(SECRET, ISSUER, NOW);
+            String token = jwtTokenService.issue(admin).value();
+            char last = token.charAt(token.length() - 1);
+            String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+            // Act & Assert
+            assertThatThrownBy(() -> jwtTokenService.authenticate(tampered))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+
+        @Test
+        @DisplayName("should_RejectToken_When_IssuerDiffers")
+        void should_RejectToken_When_IssuerDiffers() {
+            // Arrange
+            String token = service(SECRET, "someone-else", NOW).issue(admin).value();
+
+            // Act & Assert
+            assertThatThrownBy(() -> service(SECRET, ISSUER, NOW).authenticate(token))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+
+        @Test
+        @DisplayName("should_RejectToken_When_Malformed")
+        void should_RejectToken_When_Malformed() {
+            // Arrange
+            JwtTokenService jwtTokenService = service(SECRET, ISSUER, NOW);
+
+            // Act & Assert
+            assertThatThrownBy(() -> jwtTokenService.authenticate("not-a-jwt"))
+                    .isInstanceOf(BadCredentialsException.class);
+            assertThatThrownBy(() -> jwtTokenService.authenticate(""))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.application.customer.ChangeCustomerStatusUseCase;
+import com.company.app.application.customer.CreateCustomerUseCase;
+import com.company.app.application.customer.DeleteCustomerUseCase;
+import com.company.app.application.customer.DeleteCustomersUseCase;
+import com.company.app.application.customer.UpdateCustomerUseCase;
+import com.company.app.domain.customer.Customer;
+import com.company.app.domain.customer.CustomerService;
+import com.company.app.domain.customer.CustomerStatus;
+import com.company.app.domain.customer.CustomerVersion;
+import com.company.app.infrastructure.cache.OffHeapResponseCache;
+import com.company.app.infrastructure.web.dto.CustomerPage;
+import com.company.app.infrastructure.web.mapper.CustomerMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerController Tests")
+class CustomerControllerTest {
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private CustomerMapper customerMapper;
+
+    private CustomerController controller;
+
+    private Customer customer;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        controller = new CustomerController(mock(CreateCustomerUseCase.class), mock(UpdateCustomerUseCase.class),
+                mock(DeleteCustomerUseCase.class), mock(ChangeCustomerStatusUseCase.class),
+                mock(DeleteCustomersUseCase.class), customerService, customerMapper, mock(OffHeapResponseCache.class));
+        customer = Customer.create("Acme Corporation", "Jane Doe", "jane@acme.example.com", null, null,
+                "Software", CustomerStatus.ACTIVE);
+        pageable = PageableFactory.createPageable(0, 20, null);
+    }
+
+    private void stubVersions(long version) {
+        when(customerService.getCustomerVersions(CustomerStatus.ACTIVE, null, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new CustomerVersion(customer.getId(), version)), pageable, false));
+    }
+
+    private String pageTag(Long total) {
+        return EntityTags.forPage(List.of(customer), Customer::getId, Customer::getVersion, 0, 20, false, total);
+    }
+
+    @Nested
+    @DisplayName("Exact Count Tests")
+    class ExactCountTests {
+
+        @Test
+        @DisplayName("should_ReturnNotModifiedWithoutLoadingPage_When_VersionsUnchanged")
+        void should_ReturnNotModifiedWithoutLoadingPage_When_VersionsUnchanged() {
+            // Arrange
+            when(customerService.countCustomers(CustomerStatus.ACTIVE, null)).thenReturn(1L);
+            stubVersions(customer.getVersion());
+
+            // Act
+            ResponseEntity<CustomerPage> response = controller._customersGet(0, 20, null, "ACTIVE", null, null, null,
+                    pageTag(1L));
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getHeaders().getETag()).isEqualTo(pageTag(1L));
+            verify(customerService, never()).getCustomersByStatus(any(), any());
+            verifyNoInteractions(customerMapper);
+        }
+
+        @Test
+        @DisplayName("should_LoadPageWithSameTagAsProjection_When_VersionChanged")
+        void should_LoadPageWithSameTagAsProjection_When_VersionChanged() {
+            // Arrange
+            String staleTag = pageTag(1L);
+            when(customerService.countCustomers(CustomerStatus.ACTIVE, null)).thenReturn(1L);
+            stubVersions(customer.getVersion() + 1);
+            Customer updated = Customer.rehydrate(customer.getId(), customer.getCompanyName(), customer.getContactPerson(),
+                    customer.getEmail(), null, null, "Software", CustomerStatus.ACTIVE, customer.getCreatedAt(),
+                    customer.getUpdatedAt(), customer.getVersion() + 1);
+            PageImpl<Customer> page = new PageImpl<>(List.of(updated), pageable, 1);
+            when(customerService.getCustomersByStatus(CustomerStatus.ACTIVE, pageable)).thenReturn(page);
+            when(customerMapper.toCustomerPage(page)).thenReturn(new CustomerPage());
+
+            // Act
+            ResponseEntity<CustomerPage> response = controller._customersGet(0, 20, null, "ACTIVE", null, null, null,
+                    staleTag);
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            String expected = EntityTags.forPage(List.of(updated), Customer::getId, Customer::getVersion, 0, 20, false, 1L);
+            assertThat(response.getHeaders().getETag()).isEqualTo(expected).isNotEqualTo(staleTag);
+        }
+
+        @Test
+        @DisplayName("should_SkipProjection_When_NoTagToValidate")
+        void should_SkipProjection_When_NoTagToValidate() {
+            // Arrange
+            PageImpl<Customer> page = new PageImpl<>(List.of(customer), pageable, 1);
+            when(customerService.getCustomersByStatus(CustomerStatus.ACTIVE, pageable)).thenReturn(page);
+            when(customerMapper.toCustomerPage(page)).thenReturn(new CustomerPage());
+
+            // Act
+            ResponseEntity<CustomerPage> response = controller._customersGet(0, 20, null, "ACTIVE", null, null, null, null);
+
+            // Assert
+            assertThat(response.getHeaders().getETag()).isEqualTo(pageTag(1L));
+            verify(customerService, never()).getCustomerVersions(any(), any(), any());
+            verify(customerService, never()).countCustomers(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Uncounted Tests")
+    class UncountedTests {
+
+        @Test
+        @DisplayName("should_ReturnNotModifiedWithoutLoadingSlice_When_VersionsUnchanged")
+        void should_ReturnNotModifiedWithoutLoadingSlice_When_VersionsUnchanged() {
+            // Arrange
+            stubVersions(customer.getVersion());
+
+            // Act
+            ResponseEntity<CustomerPage> response = controller._customersGet(0, 20, null, "ACTIVE", null, null, "none",
+                    pageTag(null));
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            verify(customerService, never()).getCustomerSlice(any(), any(), any());
+            verify(customerService, never()).countCustomers(any(), any());
+        }
+
+        @Test
+        @DisplayName("should_TagSliceLikeProjection_When_Loaded")
+        void should_TagSliceLikeProjection_When_Loaded() {
+            // Arrange
+            SliceImpl<Customer> slice = new SliceImpl<>(List.of(customer), pageable, false);
+            when(customerService.getCustomerSlice(CustomerStatus.ACTIVE, null, pageable)).thenReturn(slice);
+            when(customerMapper.toCustomerPage(slice, null)).thenReturn(new CustomerPage());
+
+            // Act
+            ResponseEntity<CustomerPage> response = controller._customersGet(0, 20, null, "ACTIVE", null, null, "none", null);
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isEqualTo(pageTag(null));
+        }
+    }
+}
\ No newline at end of file
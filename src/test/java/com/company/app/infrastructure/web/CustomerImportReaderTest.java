@@ -0,0 +1,210 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.infrastructure.web.dto.CreateCustomerRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CustomerImportReader Tests")
+class CustomerImportReaderTest {
+
+    private static final String HEADER = "companyName,contactPerson,email,street,city,status\r\n";
+
+    private final ObjectReader objectReader = new ObjectMapper().readerFor(CreateCustomerRequest.class);
+
+    private static List<CustomerImportReader.ParsedRow> readAll(CustomerImportReader reader) {
+        List<CustomerImportReader.ParsedRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static List<CustomerImportReader.ParsedRow> csv(String content) {
+        return readAll(CustomerImportReader.csv(new BufferedReader(new StringReader(content))));
+    }
+
+    private List<CustomerImportReader.ParsedRow> ndjson(String content) {
+        return readAll(CustomerImportReader.ndjson(new BufferedReader(new StringReader(content)), objectReader));
+    }
+
+    @Nested
+    @DisplayName("CSV Tests")
+    class CsvTests {
+
+        @Test
+        @DisplayName("should_MapColumnsByHeader_When_RowsUseCrlf")
+        void should_MapColumnsByHeader_When_RowsUseCrlf() {
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = csv(HEADER
+                    + "Acme,Ann,ann@acme.com,1 Main St,Springfield,ACTIVE\r\n"
+                    + "Globex,Bob,bob@globex.com,,,\r\n");
+
+            // Assert
+            assertThat(rows).extracting(CustomerImportReader.ParsedRow::row).containsExactly(1L, 2L);
+            CreateCustomerRequest acme = rows.get(0).request();
+            assertThat(acme.getCompanyName()).isEqualTo("Acme");
+            assertThat(acme.getEmail()).isEqualTo("ann@acme.com");
+            assertThat(acme.getAddress().getCity()).isEqualTo("Springfield");
+            assertThat(acme.getStatus()).isEqualTo(CreateCustomerRequest.StatusEnum.ACTIVE);
+            CreateCustomerRequest globex = rows.get(1).request();
+            assertThat(globex.getContactPerson()).isEqualTo("Bob");
+            assertThat(globex.getAddress()).isNull();
+        }
+
+        @Test
+        @DisplayName("should_KeepSeparatorsQuotesAndLineBreaks_When_FieldQuoted")
+        void should_KeepSeparatorsQuotesAndLineBreaks_When_FieldQuoted() {
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = csv(HEADER
+                    + "\"Acme, Inc.\",\"Ann \"\"The Boss\"\" Lee\",ann@acme.com,\"Suite 5\r\n1 Main St\",\"\",ACTIVE\n"
+                    + "Globex,Bob,bob@globex.com,,,\n");
+
+            // Assert
+            assertThat(rows).hasSize(2);
+            CreateCustomerRequest acme = rows.get(0).request();
+            assertThat(acme.getCompanyName()).isEqualTo("Acme, Inc.");
+            assertThat(acme.getContactPerson()).isEqualTo("Ann \"The Boss\" Lee");
+            assertThat(acme.getAddress().getStreet()).isEqualTo("Suite 5\r\n1 Main St");
+            assertThat(acme.getAddress().getCity()).isEmpty();
+            assertThat(rows.get(1).row()).isEqualTo(2);
+            assertThat(rows.get(1).request().getCompanyName()).isEqualTo("Globex");
+        }
+
+        @Test
+        @DisplayName("should_SkipBlankLines_When_BetweenRows")
+        void should_SkipBlankLines_When_BetweenRows() {
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = csv(HEADER + "\r\nAcme,Ann,ann@acme.com,,,\n\n");
+
+            // Assert
+            assertThat(rows).hasSize(1);
+            assertThat(rows.get(0).request().getCompanyName()).isEqualTo("Acme");
+        }
+
+        @Test
+        @DisplayName("should_ReportRowError_When_FieldCountOrStatusWrong")
+        void should_ReportRowError_When_FieldCountOrStatusWrong() {
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = csv(HEADER
+                    + "Acme,Ann\n"
+                    + "Globex,Bob,bob@globex.com,,,dormant\n"
+                    + "Initech,Peter,peter@initech.com,,,\n");
+
+            // Assert
+            assertThat(rows.get(0).error()).isEqualTo("Expected 6 fields but found 2");
+            assertThat(rows.get(1).error()).startsWith("status: ");
+            assertThat(rows.get(2).error()).isNull();
+        }
+
+        @Test
+        @DisplayName("should_ReportUnterminatedQuote_When_InputEndsInsideQuotes")
+        void should_ReportUnterminatedQuote_When_InputEndsInsideQuotes() {
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = csv(HEADER + "\"Acme,Ann,ann@acme.com,,,\n");
+
+            // Assert
+            assertThat(rows).singleElement()
+                    .extracting(CustomerImportReader.ParsedRow::error).isEqualTo("Unterminated quoted field");
+        }
+
+        @Test
+        @DisplayName("should_ReportAndResync_When_RowExceedsMaximumLength")
+        void should_ReportAndResync_When_RowExceedsMaximumLength() {
+            // Arrange: a stray quote would otherwise swallow every following line
+            String runaway = "\"Acme,Ann,ann@acme.com,,," + "x".repeat(CustomerImportReader.MAX_ROW_LENGTH) + "\n";
+
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = csv(HEADER + runaway + "Globex,Bob,bob@globex.com,,,\n");
+
+            // Assert
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0).error()).isEqualTo("Row exceeds " + CustomerImportReader.MAX_ROW_LENGTH + " characters");
+            assertThat(rows.get(1).row()).isEqualTo(2);
+            assertThat(rows.get(1).request().getCompanyName()).isEqualTo("Globex");
+        }
+
+        @Test
+        @DisplayName("should_AcceptRow_When_ExactlyMaximumLength")
+        void should_AcceptRow_When_ExactlyMaximumLength() {
+            // Arrange
+            String prefix = "Acme,Ann,ann@acme.com,,,";
+            String row = prefix.replace("Acme", "A".repeat(CustomerImportReader.MAX_ROW_LENGTH - prefix.length() + 4));
+
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = csv(HEADER + row + "\n");
+
+            // Assert
+            assertThat(row).hasSize(CustomerImportReader.MAX_ROW_LENGTH);
+            assertThat(rows).singleElement().extracting(CustomerImportReader.ParsedRow::error).isNull();
+        }
+
+        @Test
+        @DisplayName("should_RejectUpload_When_HeaderMissingOrUnknown")
+        void should_RejectUpload_When_HeaderMissingOrUnknown() {
+            // Act & Assert
+            assertThatThrownBy(() -> csv(""))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("CSV upload must start with a header row");
+            assertThatThrownBy(() -> csv("companyName,nickname\n"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Unknown CSV column: 'nickname'");
+            assertThatThrownBy(() -> csv("email,email\n"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Duplicate CSV column: email");
+        }
+    }
+
+    @Nested
+    @DisplayName("NDJSON Tests")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("should_ParseEachLineAndCountBlankLines_When_Valid")
+        void should_ParseEachLineAndCountBlankLines_When_Valid() {
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = ndjson(
+                    "{\"companyName\":\"Acme\",\"email\":\"ann@acme.com\"}\r\n"
+                    + "\r\n"
+                    + "{\"companyName\":\"Globex\",\"email\":\"bob@globex.com\"}");
+
+            // Assert
+            assertThat(rows).extracting(CustomerImportReader.ParsedRow::row).containsExactly(1L, 3L);
+            assertThat(rows).extracting(row -> row.request().getCompanyName()).containsExactly("Acme", "Globex");
+        }
+
+        @Test
+        @DisplayName("should_ReportRowError_When_LineMalformed")
+        void should_ReportRowError_When_LineMalformed() {
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = ndjson("{\"companyName\":\n{\"companyName\":\"Acme\"}\n");
+
+            // Assert
+            assertThat(rows.get(0).error()).startsWith("Malformed JSON: ");
+            assertThat(rows.get(1).request().getCompanyName()).isEqualTo("Acme");
+        }
+
+        @Test
+        @DisplayName("should_ReportAndSkip_When_LineExceedsMaximumLength")
+        void should_ReportAndSkip_When_LineExceedsMaximumLength() {
+            // Arrange
+            String huge = "{\"companyName\":\"" + "x".repeat(CustomerImportReader.MAX_ROW_LENGTH) + "\"}\n";
+
+            // Act
+            List<CustomerImportReader.ParsedRow> rows = ndjson(huge + "{\"companyName\":\"Acme\"}\n");
+
+            // Assert
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0).error()).isEqualTo("Row exceeds " + CustomerImportReader.MAX_ROW_LENGTH + " characters");
+            assertThat(rows.get(1).row()).isEqualTo(2);
+            assertThat(rows.get(1).request().getCompanyName()).isEqualTo("Acme");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.infrastructure.web.ExportWriter.Column;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ExportWriter Tests")
+class ExportWriterTest {
+
+    private record Row(String name, Object value) {}
+
+    private static final List<Column<Row>> COLUMNS = List.of(
+        new Column<>("name", Row::name),
+        new Column<>("value", Row::value)
+    );
+
+    private static String csv(Row... rows) throws IOException {
+        StringWriter out = new StringWriter();
+        ExportWriter<Row> writer = ExportWriter.csv(out, COLUMNS);
+        for (Row row : rows) {
+            writer.accept(row);
+        }
+        writer.finish();
+        return out.toString();
+    }
+
+    @Nested
+    @DisplayName("CSV Tests")
+    class CsvTests {
+
+        @Test
+        @DisplayName("should_WriteHeaderAndCrlfRows_When_ValuesArePlain")
+        void should_WriteHeaderAndCrlfRows_When_ValuesArePlain() throws IOException {
+            // Act
+            String output = csv(new Row("acme", 42), new Row("globex", "x"));
+
+            // Assert
+            assertThat(output).isEqualTo("name,value\r\nacme,42\r\nglobex,x\r\n");
+        }
+
+        @Test
+        @DisplayName("should_QuoteField_When_ValueContainsCommaOrLineBreak")
+        void should_QuoteField_When_ValueContainsCommaOrLineBreak() throws IOException {
+            // Act
+            String output = csv(new Row("Acme, Inc.", "line\nbreak"), new Row("cr\rhere", "crlf\r\n"));
+
+            // Assert
+            assertThat(output).isEqualTo("name,value\r\n"
+                    + "\"Acme, Inc.\",\"line\nbreak\"\r\n"
+                    + "\"cr\rhere\",\"crlf\r\n\"\r\n");
+        }
+
+        @Test
+        @DisplayName("should_DoubleEmbeddedQuotes_When_ValueContainsQuote")
+        void should_DoubleEmbeddedQuotes_When_ValueContainsQuote() throws IOException {
+            // Act
+            String output = csv(new Row("The \"Best\" Co", "\""));
+
+            // Assert
+            assertThat(output).endsWith("\"The \"\"Best\"\" Co\",\"\"\"\"\r\n");
+        }
+
+        @Test
+        @DisplayName("should_DistinguishNullFromEmpty_When_Written")
+        void should_DistinguishNullFromEmpty_When_Written() throws IOException {
+            // Act
+            String output = csv(new Row(null, ""));
+
+            // Assert
+            assertThat(output).endsWith("\r\n,\"\"\r\n");
+        }
+
+        @Test
+        @DisplayName("should_LeaveOtherCharactersUnquoted_When_NoSpecialCharacters")
+        void should_LeaveOtherCharactersUnquoted_When_NoSpecialCharacters() throws IOException {
+            // Act
+            String output = csv(new Row("Zürich; 'quoted' tab\there", " padded "));
+
+            // Assert
+            assertThat(output).endsWith("\r\nZürich; 'quoted' tab\there, padded \r\n");
+        }
+
+        @Test
+        @DisplayName("should_QuoteHeader_When_ColumnNameNeedsIt")
+        void should_QuoteHeader_When_ColumnNameNeedsIt() throws IOException {
+            // Arrange
+            StringWriter out = new StringWriter();
+
+            // Act
+            ExportWriter.csv(out, List.<Column<Row>>of(new Column<>("a,b", Row::name))).finish();
+
+            // Assert
+            assertThat(out).hasToString("\"a,b\"\r\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("NDJSON Tests")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("should_WriteOneObjectPerLine_When_RowsAccepted")
+        void should_WriteOneObjectPerLine_When_RowsAccepted() throws IOException {
+            // Arrange
+            StringWriter out = new StringWriter();
+            ExportWriter<Row> writer = ExportWriter.ndjson(out, new ObjectMapper().writer(),
+                    row -> Map.of("name", row.name()));
+
+            // Act
+            writer.accept(new Row("line\nbreak", null));
+            writer.accept(new Row("b", null));
+            writer.finish();
+
+            // Assert
+            assertThat(out).hasToString("{\"name\":\"line\\nbreak\"}\n{\"name\":\"b\"}\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure Tests")
+    class FailureTests {
+
+        @Test
+        @DisplayName("should_ThrowUncheckedIOException_When_WriterFails")
+        void should_ThrowUncheckedIOException_When_WriterFails() throws IOException {
+            // Arrange
+            boolean[] broken = {false};
+            Writer failing = new Writer() {
+                @Override
+                public void write(char[] buffer, int offset, int length) throws IOException {
+                    if (broken[0]) {
+                        throw new IOException("Broken pipe");
+                    }
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            ExportWriter<Row> writer = ExportWriter.csv(failing, COLUMNS);
+            broken[0] = true;
+
+            // Act & Assert
+            assertThatThrownBy(() -> writer.accept(new Row("a", "b")))
+                    .isInstanceOf(UncheckedIOException.class)
+                    .hasRootCauseMessage("Broken pipe");
+        }
+    }
+
+    @Nested
+    @DisplayName("Format Tests")
+    class FormatTests {
+
+        @Test
+        @DisplayName("should_ParseFormat_When_ExtensionInAnyCase")
+        void should_ParseFormat_When_ExtensionInAnyCase() {
+            // Act & Assert
+            assertThat(ExportWriter.Format.parse("CSV")).isEqualTo(ExportWriter.Format.CSV);
+            assertThat(ExportWriter.Format.parse("ndjson").mediaType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        }
+
+        @Test
+        @DisplayName("should_ThrowIllegalArgumentException_When_FormatUnknown")
+        void should_ThrowIllegalArgumentException_When_FormatUnknown() {
+            // Act & Assert
+            assertThatThrownBy(() -> ExportWriter.Format.parse("xml"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("xml");
+        }
+    }
+}
\ No newline at end of file
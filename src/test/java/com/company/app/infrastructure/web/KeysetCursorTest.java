@@ -0,0 +1,96 @@
+package com.company.app.infrastructure.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("KeysetCursor Tests")
+class KeysetCursorTest {
+
+    private final UUID lastId = UUID.fromString("0b7c7f8e-1c1d-4b1e-9a55-3d2f1c0e9a01");
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("Round Trip Tests")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("should_DefaultToCreatedAtAscending_When_Unsorted")
+        void should_DefaultToCreatedAtAscending_When_Unsorted() {
+            // Act
+            KeysetCursor cursor = KeysetCursor.first(Sort.unsorted());
+
+            // Assert
+            assertThat(cursor.sort()).isEqualTo(Sort.by(Sort.Direction.ASC, "createdAt"));
+            assertThat(cursor.position().isInitial()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should_RestoreSortAndKeys_When_EncodedCursorDecoded")
+        void should_RestoreSortAndKeys_When_EncodedCursorDecoded() {
+            // Arrange
+            KeysetCursor cursor = KeysetCursor.first(Sort.by(Sort.Direction.DESC, "companyName"));
+            ScrollPosition next = ScrollPosition.forward(Map.of("companyName", "Acme | Sons", "id", lastId));
+
+            // Act
+            String token = cursor.encode(next);
+            KeysetCursor decoded = KeysetCursor.decode(token);
+
+            // Assert
+            assertThat(token).doesNotContain("=", "+", "/");
+            assertThat(decoded.sort()).isEqualTo(Sort.by(Sort.Direction.DESC, "companyName"));
+            assertThat(decoded.position().isInitial()).isFalse();
+            assertThat(decoded.position().getKeys())
+                    .containsEntry("companyName", "Acme | Sons")
+                    .containsEntry("id", lastId.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tampered Cursor Tests")
+    class TamperedCursorTests {
+
+        @Test
+        @DisplayName("should_Reject_When_NotBase64")
+        void should_Reject_When_NotBase64() {
+            // Act & Assert
+            assertThatThrownBy(() -> KeysetCursor.decode("not base64!"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+
+        @Test
+        @DisplayName("should_Reject_When_FieldsMissing")
+        void should_Reject_When_FieldsMissing() {
+            // Act & Assert
+            assertThatThrownBy(() -> KeysetCursor.decode(token("ASC|createdAt|" + lastId)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+            assertThatThrownBy(() -> KeysetCursor.decode(token("ASC||" + lastId + "|x")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> KeysetCursor.decode(token("ASC|createdAt||x")))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should_Reject_When_DirectionUnknown")
+        void should_Reject_When_DirectionUnknown() {
+            // Act & Assert
+            assertThatThrownBy(() -> KeysetCursor.decode(token("SIDEWAYS|createdAt|" + lastId + "|x")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.infrastructure.web.dto.PageInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PageableFactory Tests")
+class PageableFactoryTest {
+
+    @Nested
+    @DisplayName("Count Mode Tests")
+    class CountModeTests {
+
+        @Test
+        @DisplayName("should_DefaultToExact_When_CountModeAbsent")
+        void should_DefaultToExact_When_CountModeAbsent() {
+            // Act & Assert
+            assertThat(PageableFactory.parseCountMode(null)).isEqualTo(PageInfo.CountModeEnum.EXACT);
+        }
+
+        @Test
+        @DisplayName("should_ParseEveryMode_When_ValueKnown")
+        void should_ParseEveryMode_When_ValueKnown() {
+            // Act & Assert
+            assertThat(PageableFactory.parseCountMode("exact")).isEqualTo(PageInfo.CountModeEnum.EXACT);
+            assertThat(PageableFactory.parseCountMode("estimated")).isEqualTo(PageInfo.CountModeEnum.ESTIMATED);
+            assertThat(PageableFactory.parseCountMode("none")).isEqualTo(PageInfo.CountModeEnum.NONE);
+        }
+
+        @Test
+        @DisplayName("should_Reject_When_CountModeUnknown")
+        void should_Reject_When_CountModeUnknown() {
+            // Act & Assert
+            assertThatThrownBy(() -> PageableFactory.parseCountMode("approximate"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> PageableFactory.parseCountMode("ESTIMATED"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Pageable Tests")
+    class PageableTests {
+
+        @Test
+        @DisplayName("should_UseDefaults_When_ParametersAbsent")
+        void should_UseDefaults_When_ParametersAbsent() {
+            // Act
+            Pageable pageable = PageableFactory.createPageable(null, null, null);
+
+            // Assert
+            assertThat(pageable.getPageNumber()).isZero();
+            assertThat(pageable.getPageSize()).isEqualTo(PageableFactory.DEFAULT_PAGE_SIZE);
+            assertThat(pageable.getSort().isUnsorted()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should_ParseDirections_When_SortGiven")
+        void should_ParseDirections_When_SortGiven() {
+            // Act
+            Sort sort = PageableFactory.createSort(List.of("companyName,DESC", "createdAt", "email,sideways"));
+
+            // Assert
+            assertThat(sort).containsExactly(
+                    Sort.Order.desc("companyName"),
+                    Sort.Order.asc("createdAt"),
+                    Sort.Order.asc("email"));
+        }
+    }
+}
\ No newline at end of file
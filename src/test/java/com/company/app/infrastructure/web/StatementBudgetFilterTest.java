@@ -0,0 +1,190 @@
+package com.company.app.infrastructure.web;
+
+import com.company.app.infrastructure.persistence.QueryProfiler;
+import com.company.app.infrastructure.persistence.QueryProfiler.QueryView;
+import com.company.app.infrastructure.persistence.StatementCountingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs requests through the filter whose handlers execute statements against an in-memory database.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("StatementBudgetFilter Tests")
+class StatementBudgetFilterTest {
+
+    private static final String ROUTE = "/api/v1/customers/{id}";
+
+    private SimpleMeterRegistry registry;
+    private QueryProfiler profiler;
+    private StatementCountingDataSource dataSource;
+    private StatementBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:" + UUID.randomUUID());
+        registry = new SimpleMeterRegistry();
+        profiler = new QueryProfiler(100);
+        dataSource = new StatementCountingDataSource(database, profiler);
+        filter = new StatementBudgetFilter(registry, 3);
+    }
+
+    /**
+     * A handler mapped to the route that executes the given number of statements.
+     */
+    private FilterChain handler(int statements) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+            execute(statements);
+        };
+    }
+
+    private void execute(int statements) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (int i = 0; i < statements; i++) {
+                statement.execute("SELECT 1");
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void perform(FilterChain chain) throws ServletException, IOException {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/customers/42"), new MockHttpServletResponse(), chain);
+    }
+
+    @Nested
+    @DisplayName("Metrics Tests")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("should_RecordStatementsPerRoute_When_RequestHandled")
+        void should_RecordStatementsPerRoute_When_RequestHandled() throws Exception {
+            // Act
+            perform(handler(2));
+            perform(handler(1));
+
+            // Assert
+            assertThat(registry.get("app.request.statements").tag("method", "GET").tag("uri", ROUTE).summary())
+                    .satisfies(summary -> {
+                        assertThat(summary.count()).isEqualTo(2);
+                        assertThat(summary.totalAmount()).isEqualTo(3);
+                    });
+            assertThat(registry.get("app.request.jdbc").tag("method", "GET").tag("uri", ROUTE).timer().count())
+                    .isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should_NotCountEarlierStatements_When_ThreadExecutedSomeBefore")
+        void should_NotCountEarlierStatements_When_ThreadExecutedSomeBefore() throws Exception {
+            // Arrange
+            execute(5);
+
+            // Act
+            perform(handler(1));
+
+            // Assert
+            assertThat(registry.get("app.request.statements").summary().totalAmount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should_TagUnknownRoute_When_RequestNotMapped")
+        void should_TagUnknownRoute_When_RequestNotMapped() throws Exception {
+            // Act
+            perform((request, response) -> execute(1));
+
+            // Assert
+            assertThat(registry.get("app.request.statements").tag("uri", "UNKNOWN").summary().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should_RecordStatements_When_HandlerThrows")
+        void should_RecordStatements_When_HandlerThrows() {
+            // Act & Assert
+            assertThatThrownBy(() -> perform((request, response) -> {
+                handler(2).doFilter(request, response);
+                throw new ServletException("Failed");
+            })).isInstanceOf(ServletException.class);
+            assertThat(registry.get("app.request.statements").tag("uri", ROUTE).summary().totalAmount()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Budget Tests")
+    class BudgetTests {
+
+        @Test
+        @DisplayName("should_LogWarning_When_OverBudget")
+        void should_LogWarning_When_OverBudget(CapturedOutput output) throws Exception {
+            // Act
+            perform(handler(4));
+
+            // Assert
+            assertThat(output).contains("GET /api/v1/customers/42 executed 4 SQL statements");
+        }
+
+        @Test
+        @DisplayName("should_NotLog_When_WithinBudget")
+        void should_NotLog_When_WithinBudget(CapturedOutput output) throws Exception {
+            // Act
+            perform(handler(3));
+
+            // Assert
+            assertThat(output).doesNotContain("SQL statements");
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Profiler Tests")
+    class QueryProfilerTests {
+
+        @Test
+        @DisplayName("should_ProfileByEndpoint_When_RequestHandled")
+        void should_ProfileByEndpoint_When_RequestHandled() throws Exception {
+            // Act
+            perform(handler(1));
+
+            // Assert
+            assertThat(profiler.top(Comparator.comparingLong(QueryView::count), 10))
+                    .extracting(QueryView::endpoint)
+                    .containsExactly("GET " + ROUTE);
+        }
+
+        @Test
+        @DisplayName("should_ClearEndpoint_When_RequestCompleted")
+        void should_ClearEndpoint_When_RequestCompleted() throws Exception {
+            // Arrange
+            perform(handler(1));
+
+            // Act
+            execute(1);
+
+            // Assert
+            assertThat(profiler.top(Comparator.comparingLong(QueryView::count), 10))
+                    .extracting(QueryView::endpoint)
+                    .containsExactlyInAnyOrder("GET " + ROUTE, "none");
+        }
+    }
+}
\ No newline at end of file
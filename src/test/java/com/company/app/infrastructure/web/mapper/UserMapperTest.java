@@ -0,0 +1,94 @@
+package com.company.app.infrastructure.web.mapper;
+
+import com.company.app.domain.user.User;
+import com.company.app.domain.user.UserRole;
+import com.company.app.infrastructure.web.dto.PageInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UserMapper Tests")
+class UserMapperTest {
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private static List<User> users(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new User("user" + i, "user" + i + "@example.com", "First", "Last", "hash", UserRole.USER))
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Estimated Page Info Tests")
+    class EstimatedPageInfoTests {
+
+        @Test
+        @DisplayName("should_OmitTotals_When_NoEstimate")
+        void should_OmitTotals_When_NoEstimate() {
+            // Act
+            PageInfo pageInfo = userMapper.toUserPage(new SliceImpl<>(users(10), PageRequest.of(0, 10), true), null)
+                    .getPage();
+
+            // Assert
+            assertThat(pageInfo.getCountMode()).isEqualTo(PageInfo.CountModeEnum.NONE);
+            assertThat(pageInfo.getTotalElements()).isNull();
+            assertThat(pageInfo.getTotalPages()).isNull();
+        }
+
+        @Test
+        @DisplayName("should_UseEstimate_When_ConsistentWithRowsSeen")
+        void should_UseEstimate_When_ConsistentWithRowsSeen() {
+            // Act
+            PageInfo pageInfo = userMapper.toUserPage(new SliceImpl<>(users(10), PageRequest.of(1, 10), true), 95L)
+                    .getPage();
+
+            // Assert
+            assertThat(pageInfo.getCountMode()).isEqualTo(PageInfo.CountModeEnum.ESTIMATED);
+            assertThat(pageInfo.getTotalElements()).isEqualTo(95);
+            assertThat(pageInfo.getTotalPages()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("should_RaiseEstimate_When_MorePagesFollowAStaleEstimate")
+        void should_RaiseEstimate_When_MorePagesFollowAStaleEstimate() {
+            // Act
+            PageInfo pageInfo = userMapper.toUserPage(new SliceImpl<>(users(10), PageRequest.of(2, 10), true), 5L)
+                    .getPage();
+
+            // Assert
+            assertThat(pageInfo.getTotalElements()).isEqualTo(31);
+            assertThat(pageInfo.getTotalPages()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("should_UseExactCount_When_LastPageHasRows")
+        void should_UseExactCount_When_LastPageHasRows() {
+            // Act
+            PageInfo pageInfo = userMapper.toUserPage(new SliceImpl<>(users(3), PageRequest.of(2, 10), false), 500L)
+                    .getPage();
+
+            // Assert
+            assertThat(pageInfo.getTotalElements()).isEqualTo(23);
+            assertThat(pageInfo.getTotalPages()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should_CapEstimate_When_PagePastTheEnd")
+        void should_CapEstimate_When_PagePastTheEnd() {
+            // Act
+            PageInfo pageInfo = userMapper.toUserPage(new SliceImpl<>(List.<User>of(), PageRequest.of(5, 10), false), 500L)
+                    .getPage();
+
+            // Assert
+            assertThat(pageInfo.getTotalElements()).isEqualTo(50);
+            assertThat(pageInfo.getTotalPages()).isEqualTo(5);
+        }
+    }
+}
\ No newline at end of file